@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.runner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.imsweb.algorithms.AlgorithmField;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.layout.Layout;
+import com.imsweb.layout.LayoutFactory;
+import com.imsweb.layout.record.fixed.FixedColumnsField;
+import com.imsweb.layout.record.fixed.FixedColumnsLayout;
+
+/**
+ * Columns of the algorithm fields in a fixed-columns (flat) file, typically a NAACCR flat file.
+ * <br/><br/>
+ * The fields are mapped using their NAACCR item number (see AlgorithmField.getNumber()) and their length (see AlgorithmField.getLength()); only
+ * the registered fields that have a column in the layout can be read and written. A layout is immutable and can be shared between threads.
+ */
+public final class FlatFileLayout {
+
+    // the length of the lines
+    private final int _lineLength;
+
+    // the start (0-based) and length of the fields that have a column, keyed by field ID
+    private final Map<String, Integer> _starts;
+    private final Map<String, Integer> _lengths;
+
+    /**
+     * Creates a layout from the start columns of the fields.
+     * @param startColumns the start column (1-based) of the fields, keyed by NAACCR item number
+     * @param lineLength the length of the lines
+     * @return the layout, containing the registered fields that have a start column
+     */
+    public static FlatFileLayout of(Map<Integer, Integer> startColumns, int lineLength) {
+        if (startColumns == null)
+            throw new IllegalArgumentException("Start columns are required");
+        if (lineLength < 1)
+            throw new IllegalArgumentException("Line length must be at least 1");
+        if (!Algorithms.isInitialized())
+            throw new IllegalStateException("Algorithms have not been initialized!");
+
+        Map<String, Integer> starts = new LinkedHashMap<>();
+        Map<String, Integer> lengths = new HashMap<>();
+        for (AlgorithmField field : Algorithms.getAllFields()) {
+            Integer start = field.getNumber() == null ? null : startColumns.get(field.getNumber());
+            if (start == null || field.getLength() == null)
+                continue;
+            if (start < 1 || start - 1 + field.getLength() > lineLength)
+                throw new IllegalArgumentException("Field '" + field.getId() + "' doesn't fit in a line of " + lineLength + " characters");
+            starts.put(field.getId(), start - 1);
+            lengths.put(field.getId(), field.getLength());
+        }
+
+        return new FlatFileLayout(lineLength, starts, lengths);
+    }
+
+    /**
+     * Creates a layout from a fixed-columns layout of the layout framework (for example "naaccr-23-incidence").
+     * <br/><br/>
+     * Only the NAACCR standard fields are mapped; a field is ignored if its length doesn't match the length of the corresponding layout field.
+     * @param layoutId the ID of the layout
+     * @return the layout, containing the registered fields that are part of the requested layout
+     */
+    public static FlatFileLayout ofNaaccrLayout(String layoutId) {
+        if (!Algorithms.isInitialized())
+            throw new IllegalStateException("Algorithms have not been initialized!");
+
+        Layout layout = LayoutFactory.getLayout(layoutId);
+        if (!(layout instanceof FixedColumnsLayout))
+            throw new IllegalArgumentException("Layout '" + layoutId + "' is not a fixed-columns layout");
+        FixedColumnsLayout fixedColumnsLayout = (FixedColumnsLayout)layout;
+
+        Map<Integer, Integer> startColumns = new HashMap<>();
+        for (AlgorithmField field : Algorithms.getAllFields()) {
+            if (!field.isNaaccrStandard() || field.getNumber() == null || field.getLength() == null)
+                continue;
+            FixedColumnsField layoutField = fixedColumnsLayout.getFieldByNaaccrItemNumber(field.getNumber());
+            if (layoutField != null && layoutField.getEnd() - layoutField.getStart() + 1 == field.getLength())
+                startColumns.put(field.getNumber(), layoutField.getStart());
+        }
+
+        return of(startColumns, fixedColumnsLayout.getLayoutLineLength());
+    }
+
+    private FlatFileLayout(int lineLength, Map<String, Integer> starts, Map<String, Integer> lengths) {
+        _lineLength = lineLength;
+        _starts = starts;
+        _lengths = lengths;
+    }
+
+    /**
+     * Returns the length of the lines.
+     */
+    public int getLineLength() {
+        return _lineLength;
+    }
+
+    /**
+     * Returns the IDs of the fields that have a column in this layout.
+     */
+    public Set<String> getFieldIds() {
+        return Collections.unmodifiableSet(_starts.keySet());
+    }
+
+    /**
+     * Returns true if the requested field has a column in this layout.
+     */
+    public boolean hasField(String fieldId) {
+        return _starts.containsKey(fieldId);
+    }
+
+    /**
+     * Returns the start column (1-based) of the requested field, -1 if the field doesn't have a column in this layout.
+     */
+    public int getStartColumn(String fieldId) {
+        Integer start = _starts.get(fieldId);
+        return start == null ? -1 : start + 1;
+    }
+
+    /**
+     * Returns the length of the requested field, -1 if the field doesn't have a column in this layout.
+     */
+    public int getLength(String fieldId) {
+        Integer length = _lengths.get(fieldId);
+        return length == null ? -1 : length;
+    }
+}
@@ -0,0 +1,593 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.runner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.imsweb.algorithms.AbstractRecord;
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmField;
+import com.imsweb.algorithms.AlgorithmParam;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.AlgorithmsPlan;
+import com.imsweb.algorithms.FieldSchema;
+import com.imsweb.algorithms.PatientRecord;
+
+import static com.imsweb.algorithms.AlgorithmField.DATA_LEVEL_PATIENT;
+import static com.imsweb.algorithms.Algorithms.FIELD_PAT_ID_NUMBER;
+
+/**
+ * Executes a set of registered algorithms on a fixed-columns (flat) file, typically a NAACCR flat file, and writes a copy of the file with the
+ * computed fields spliced in their columns (see FlatFileLayout).
+ * <br/><br/>
+ * The file is streamed: the lines are read in batches of patients (consecutive lines with the same Patient ID Number), the batches are executed
+ * by a pool of threads, and the lines are written in the order of the input file. The files are read and written through NIO channels using
+ * ISO-8859-1 (one byte per character), and the line buffers and records are re-used from one batch to the next, so the only objects created for
+ * every line are the values of the input fields. Only the input fields of the algorithms are read; the output fields that don't have a column in
+ * the layout are not written. The line terminators of the input file are preserved.
+ * <br/><br/>
+ * A runner can be re-used but shouldn't be modified while it's processing a file.
+ */
+public class FlatFileRunner {
+
+    // size of the buffers used to read and write the files
+    private static final int _IO_BUFFER_SIZE = 1 << 16;
+
+    // the plan of the algorithms to execute
+    private final AlgorithmsPlan _plan;
+
+    // the columns of the fields
+    private final FlatFileLayout _layout;
+
+    // the parameters provided to the algorithms
+    private Map<String, Object> _parameters;
+
+    // the number of threads used to execute the algorithms
+    private int _parallelism;
+
+    // the number of patients processed as a single task
+    private int _batchSize;
+
+    /**
+     * Creates a runner executing the requested algorithms; algorithms consuming fields produced by other algorithms are executed after them.
+     * @param algorithmIds the IDs of the algorithms to execute, they must be registered
+     * @param layout the columns of the fields
+     */
+    public FlatFileRunner(List<String> algorithmIds, FlatFileLayout layout) {
+        this(AlgorithmsPlan.of(algorithmIds), layout);
+    }
+
+    /**
+     * Creates a runner executing the provided plan.
+     * @param plan the plan to execute
+     * @param layout the columns of the fields
+     */
+    public FlatFileRunner(AlgorithmsPlan plan, FlatFileLayout layout) {
+        if (plan == null)
+            throw new IllegalArgumentException("Plan is required");
+        if (layout == null)
+            throw new IllegalArgumentException("Layout is required");
+        _plan = plan;
+        _layout = layout;
+        _parallelism = Runtime.getRuntime().availableProcessors();
+        _batchSize = 256;
+    }
+
+    public AlgorithmsPlan getPlan() {
+        return _plan;
+    }
+
+    public FlatFileLayout getLayout() {
+        return _layout;
+    }
+
+    public Map<String, Object> getParameters() {
+        return _parameters;
+    }
+
+    public void setParameters(Map<String, Object> parameters) {
+        _parameters = parameters;
+    }
+
+    public int getParallelism() {
+        return _parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        _parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return _batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        _batchSize = batchSize;
+    }
+
+    /**
+     * Executes the algorithms on the lines of the input file and writes them, with the computed fields, to the output file.
+     * @param input the input file
+     * @param output the output file, it's replaced if it already exists (it can't be the input file)
+     * @return the number of lines that were processed
+     */
+    public long run(Path input, Path output) throws IOException {
+        if (input == null)
+            throw new IllegalArgumentException("Input file is required");
+        if (output == null)
+            throw new IllegalArgumentException("Output file is required");
+        if (Files.exists(output) && Files.isSameFile(input, output))
+            throw new IllegalArgumentException("Output file cannot be the input file");
+
+        Columns columns = new Columns(_plan, _layout);
+        FieldSchema schema = FieldSchema.getDefault();
+        int capacity = _parallelism * 2;
+
+        ExecutorService pool = Executors.newFixedThreadPool(_parallelism);
+        try (FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            LineReader reader = new LineReader(inputChannel);
+            LineWriter writer = new LineWriter(outputChannel);
+
+            // the batches are executed (and written) in the order they are submitted; executed batches are re-used for the next lines
+            Deque<Future<Batch>> submitted = new ArrayDeque<>();
+            Deque<Batch> available = new ArrayDeque<>();
+
+            long numLines = 0;
+            LineBuffer line = new LineBuffer();
+            Batch batch = new Batch(schema);
+            batch.reset(1);
+            while (reader.readLine(line)) {
+                numLines++;
+                boolean newPatient = batch._numLines == 0 || !columns.isSamePatient(batch.getLine(batch.getPatientStart(batch._numPatients - 1)), line);
+                if (newPatient && batch._numPatients == _batchSize) {
+                    Batch toExecute = batch;
+                    submitted.add(pool.submit(() -> execute(toExecute, columns)));
+                    if (submitted.size() >= capacity)
+                        writeBatch(submitted.poll(), writer, available);
+                    batch = available.isEmpty() ? new Batch(schema) : available.poll();
+                    batch.reset(numLines);
+                }
+                line = batch.addLine(line);
+                if (newPatient)
+                    batch.startPatient();
+            }
+            if (batch._numLines > 0) {
+                Batch toExecute = batch;
+                submitted.add(pool.submit(() -> execute(toExecute, columns)));
+            }
+            while (!submitted.isEmpty())
+                writeBatch(submitted.poll(), writer, available);
+            writer.flush();
+
+            return numLines;
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes the algorithms for all the patients of the batch, and writes the output fields into the lines of the batch.
+     */
+    private Batch execute(Batch batch, Columns columns) {
+        PatientRecord record = batch._record;
+        for (int patient = 0; patient < batch._numPatients; patient++) {
+            int start = batch.getPatientStart(patient);
+            int end = batch.getPatientEnd(patient);
+
+            // empty lines are written as-is
+            if (end - start == 1 && batch.getLine(start)._length == 0)
+                continue;
+
+            record.clear();
+            columns._patientInputs.read(batch.getLine(start), record);
+            for (int i = start; i < end; i++)
+                columns._tumorInputs.read(batch.getLine(i), record.addTumor());
+
+            try {
+                _plan.executeInPlace(record, _parameters);
+            }
+            catch (RuntimeException e) {
+                throw new IllegalStateException("Unable to execute algorithms for patient starting on line " + (batch._firstLineNumber + start), e);
+            }
+
+            for (int i = start; i < end; i++) {
+                LineBuffer line = batch.getLine(i);
+                columns._patientOutputs.write(record, line);
+                columns._tumorOutputs.write(record.getTumor(i - start), line);
+            }
+        }
+        return batch;
+    }
+
+    private static void writeBatch(Future<Batch> future, LineWriter writer, Deque<Batch> available) throws IOException {
+        Batch batch;
+        try {
+            batch = future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing algorithms", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            throw new IllegalStateException("Unable to execute algorithms", e.getCause());
+        }
+        for (int i = 0; i < batch._numLines; i++)
+            writer.writeLine(batch.getLine(i));
+        available.add(batch);
+    }
+
+    /**
+     * Command line entry point; the arguments are the layout ID (see FlatFileLayout.ofNaaccrLayout()), the input file, the output file, the IDs of
+     * the algorithms (comma-separated) and optionally the parameters of the algorithms (as "id=value").
+     */
+    @SuppressWarnings("java:S106") // standard outputs
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: FlatFileRunner <layout ID> <input file> <output file> <algorithm IDs (comma-separated)> [<parameter ID>=<value> ...]");
+            System.exit(1);
+        }
+
+        Algorithms.initialize();
+
+        FlatFileRunner runner = new FlatFileRunner(Arrays.asList(args[3].split(",")), FlatFileLayout.ofNaaccrLayout(args[0]));
+
+        // the parameters are converted to the type declared by the algorithms
+        Map<String, AlgorithmParam<?>> params = new HashMap<>();
+        for (Algorithm algorithm : runner.getPlan().getAlgorithms())
+            for (AlgorithmParam<?> param : algorithm.getParameters())
+                params.put(param.getId(), param);
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 4; i < args.length; i++) {
+            String[] parts = args[i].split("=", 2);
+            AlgorithmParam<?> param = params.get(parts[0]);
+            if (parts.length != 2 || param == null)
+                throw new IllegalArgumentException("Invalid parameter: " + args[i]);
+            parameters.put(parts[0], Integer.class.equals(param.getType()) ? Integer.valueOf(parts[1]) : parts[1]);
+        }
+        runner.setParameters(parameters);
+
+        long start = System.currentTimeMillis();
+        long numLines = runner.run(Paths.get(args[1]), Paths.get(args[2]));
+        System.out.println("Processed " + numLines + " lines in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * The columns of the fields read and written by the algorithms, split by data level, resolved once per file.
+     */
+    private static final class Columns {
+
+        private final FieldColumns _patientInputs;
+        private final FieldColumns _tumorInputs;
+        private final FieldColumns _patientOutputs;
+        private final FieldColumns _tumorOutputs;
+
+        // the columns of the Patient ID Number, -1 if not available (then every line is a patient)
+        private final int _patientIdStart;
+        private final int _patientIdLength;
+
+        private Columns(AlgorithmsPlan plan, FlatFileLayout layout) {
+            Map<String, AlgorithmField> inputs = new LinkedHashMap<>();
+            Map<String, AlgorithmField> outputs = new LinkedHashMap<>();
+            for (Algorithm algorithm : plan.getAlgorithms()) {
+                for (AlgorithmField field : algorithm.getInputFields())
+                    if (layout.hasField(field.getId()))
+                        inputs.put(field.getId(), field);
+                for (AlgorithmField field : algorithm.getOutputFields())
+                    if (layout.hasField(field.getId()))
+                        outputs.put(field.getId(), field);
+            }
+
+            FieldSchema schema = FieldSchema.getDefault();
+            _patientInputs = new FieldColumns(schema, layout, inputs.values(), true);
+            _tumorInputs = new FieldColumns(schema, layout, inputs.values(), false);
+            _patientOutputs = new FieldColumns(schema, layout, outputs.values(), true);
+            _tumorOutputs = new FieldColumns(schema, layout, outputs.values(), false);
+
+            _patientIdStart = layout.getStartColumn(FIELD_PAT_ID_NUMBER) - 1;
+            _patientIdLength = layout.getLength(FIELD_PAT_ID_NUMBER);
+        }
+
+        /**
+         * Returns true if the two lines belong to the same patient (same Patient ID Number); empty lines don't belong to any patient.
+         */
+        private boolean isSamePatient(LineBuffer line1, LineBuffer line2) {
+            if (_patientIdStart < 0 || line1._length == 0 || line2._length == 0)
+                return false;
+            for (int i = _patientIdStart; i < _patientIdStart + _patientIdLength; i++)
+                if (line1.getByte(i) != line2.getByte(i))
+                    return false;
+            return true;
+        }
+    }
+
+    /**
+     * The slots (in the record schema) and columns of a list of fields.
+     */
+    private static final class FieldColumns {
+
+        private final String[] _fieldIds;
+        private final int[] _slots;
+        private final int[] _starts;
+        private final int[] _lengths;
+
+        private FieldColumns(FieldSchema schema, FlatFileLayout layout, Iterable<AlgorithmField> fields, boolean patientLevel) {
+            List<AlgorithmField> selected = new ArrayList<>();
+            for (AlgorithmField field : fields)
+                if (DATA_LEVEL_PATIENT.equals(field.getDataLevel()) == patientLevel)
+                    selected.add(field);
+
+            _fieldIds = new String[selected.size()];
+            _slots = new int[selected.size()];
+            _starts = new int[selected.size()];
+            _lengths = new int[selected.size()];
+            for (int i = 0; i < selected.size(); i++) {
+                String fieldId = selected.get(i).getId();
+                _fieldIds[i] = fieldId;
+                _slots[i] = schema.getSlot(fieldId);
+                _starts[i] = layout.getStartColumn(fieldId) - 1;
+                _lengths[i] = layout.getLength(fieldId);
+                if (_slots[i] == -1)
+                    throw new IllegalStateException("Field '" + fieldId + "' is not registered");
+            }
+        }
+
+        /**
+         * Reads the values of the fields from the line into the record; blank values are read as null.
+         */
+        private void read(LineBuffer line, AbstractRecord record) {
+            for (int i = 0; i < _slots.length; i++)
+                record.set(_slots[i], line.readValue(_starts[i], _lengths[i]));
+        }
+
+        /**
+         * Writes the values of the fields from the record into the line; null values are written as blanks.
+         */
+        private void write(AbstractRecord record, LineBuffer line) {
+            for (int i = 0; i < _slots.length; i++)
+                line.writeValue(_starts[i], _lengths[i], record.get(_slots[i]), _fieldIds[i]);
+        }
+    }
+
+    /**
+     * A batch of lines, grouped by patient; batches (with their lines and record) are re-used once they are written.
+     */
+    private static final class Batch {
+
+        private final List<LineBuffer> _lines = new ArrayList<>();
+        private int _numLines;
+
+        // the index of the first line of each patient
+        private int[] _patientStarts = new int[16];
+        private int _numPatients;
+
+        // the line number (1-based) of the first line of the batch, in the input file
+        private long _firstLineNumber;
+
+        // the record used to execute the algorithms for the patients of the batch
+        private final PatientRecord _record;
+
+        private Batch(FieldSchema schema) {
+            _record = new PatientRecord(schema);
+        }
+
+        private void reset(long firstLineNumber) {
+            _numLines = 0;
+            _numPatients = 0;
+            _firstLineNumber = firstLineNumber;
+        }
+
+        /**
+         * Adds the provided line to the batch; returns a line buffer that is not used anymore by the batch (to read the next line into).
+         */
+        private LineBuffer addLine(LineBuffer line) {
+            LineBuffer unused;
+            if (_numLines == _lines.size()) {
+                _lines.add(line);
+                unused = new LineBuffer();
+            }
+            else
+                unused = _lines.set(_numLines, line);
+            _numLines++;
+            return unused;
+        }
+
+        /**
+         * Indicates that the last added line is the first line of a new patient.
+         */
+        private void startPatient() {
+            if (_numPatients == _patientStarts.length)
+                _patientStarts = Arrays.copyOf(_patientStarts, _numPatients * 2);
+            _patientStarts[_numPatients++] = _numLines - 1;
+        }
+
+        private LineBuffer getLine(int index) {
+            return _lines.get(index);
+        }
+
+        private int getPatientStart(int patient) {
+            return _patientStarts[patient];
+        }
+
+        private int getPatientEnd(int patient) {
+            return patient + 1 < _numPatients ? _patientStarts[patient + 1] : _numLines;
+        }
+    }
+
+    /**
+     * A re-usable line (without its terminator), stored as ISO-8859-1 bytes.
+     */
+    private static final class LineBuffer {
+
+        private static final byte _SPACE = ' ';
+
+        private byte[] _bytes = new byte[1024];
+        private int _length;
+
+        // the line terminator: empty for the last line of a file that doesn't end with a terminator
+        private byte[] _terminator;
+
+        private void append(byte[] bytes, int offset, int length) {
+            ensureCapacity(_length + length);
+            System.arraycopy(bytes, offset, _bytes, _length, length);
+            _length += length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > _bytes.length)
+                _bytes = Arrays.copyOf(_bytes, Math.max(capacity, _bytes.length * 2));
+        }
+
+        private byte getByte(int index) {
+            return index < _length ? _bytes[index] : _SPACE;
+        }
+
+        private String readValue(int start, int length) {
+            int end = Math.min(start + length, _length);
+            while (start < end && _bytes[start] == _SPACE)
+                start++;
+            while (end > start && _bytes[end - 1] == _SPACE)
+                end--;
+            return start == end ? null : new String(_bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        private void writeValue(int start, int length, Object value, String fieldId) {
+            String str = value == null ? "" : value.toString();
+            if (str.length() > length)
+                throw new IllegalStateException("Value '" + str + "' is too long for field '" + fieldId + "' (" + length + " characters)");
+
+            // short lines are padded with spaces up to the column
+            ensureCapacity(start + length);
+            if (_length < start + length) {
+                Arrays.fill(_bytes, _length, start + length, _SPACE);
+                _length = start + length;
+            }
+
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                _bytes[start + i] = c <= 0xFF ? (byte)c : (byte)'?';
+            }
+            Arrays.fill(_bytes, start + str.length(), start + length, _SPACE);
+        }
+    }
+
+    /**
+     * Reads the lines of a file through a channel.
+     */
+    private static final class LineReader {
+
+        private static final byte[] _LF = {'\n'};
+        private static final byte[] _CRLF = {'\r', '\n'};
+        private static final byte[] _NONE = {};
+
+        private final FileChannel _channel;
+        private final ByteBuffer _buffer = ByteBuffer.allocate(_IO_BUFFER_SIZE);
+
+        private LineReader(FileChannel channel) {
+            _channel = channel;
+            _buffer.flip();
+        }
+
+        /**
+         * Reads the next line into the provided buffer; returns false if the end of the file was reached.
+         */
+        private boolean readLine(LineBuffer line) throws IOException {
+            line._length = 0;
+            boolean read = false;
+            while (true) {
+                if (!_buffer.hasRemaining()) {
+                    _buffer.clear();
+                    int num = _channel.read(_buffer);
+                    _buffer.flip();
+                    if (num == -1) {
+                        line._terminator = _NONE;
+                        return read;
+                    }
+                }
+
+                read = true;
+                byte[] bytes = _buffer.array();
+                int start = _buffer.position();
+                int end = _buffer.limit();
+                int index = start;
+                while (index < end && bytes[index] != '\n')
+                    index++;
+                line.append(bytes, start, index - start);
+                if (index < end) {
+                    _buffer.position(index + 1);
+                    if (line._length > 0 && line._bytes[line._length - 1] == '\r') {
+                        line._length--;
+                        line._terminator = _CRLF;
+                    }
+                    else
+                        line._terminator = _LF;
+                    return true;
+                }
+                _buffer.position(end);
+            }
+        }
+    }
+
+    /**
+     * Writes lines to a file through a channel.
+     */
+    private static final class LineWriter {
+
+        private final FileChannel _channel;
+        private final ByteBuffer _buffer = ByteBuffer.allocate(_IO_BUFFER_SIZE);
+
+        private LineWriter(FileChannel channel) {
+            _channel = channel;
+        }
+
+        private void writeLine(LineBuffer line) throws IOException {
+            write(line._bytes, line._length);
+            write(line._terminator, line._terminator.length);
+        }
+
+        private void write(byte[] bytes, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!_buffer.hasRemaining())
+                    flush();
+                int num = Math.min(length - offset, _buffer.remaining());
+                _buffer.put(bytes, offset, num);
+                offset += num;
+            }
+        }
+
+        private void flush() throws IOException {
+            _buffer.flip();
+            while (_buffer.hasRemaining())
+                _channel.write(_buffer);
+            _buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.AlgorithmOutput;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.AlgorithmsPlan;
+
+import static com.imsweb.algorithms.Algorithms.ALG_ICCC;
+import static com.imsweb.algorithms.Algorithms.ALG_RACE_1_RECODE;
+import static com.imsweb.algorithms.Algorithms.ALG_SEER_SITE_RECODE;
+import static com.imsweb.algorithms.Algorithms.FIELD_BEHAV_O3;
+import static com.imsweb.algorithms.Algorithms.FIELD_HIST_O3;
+import static com.imsweb.algorithms.Algorithms.FIELD_ICCC;
+import static com.imsweb.algorithms.Algorithms.FIELD_ICCC_EXT;
+import static com.imsweb.algorithms.Algorithms.FIELD_PAT_ID_NUMBER;
+import static com.imsweb.algorithms.Algorithms.FIELD_PRIMARY_SITE;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE1;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE1_RECODE;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE2;
+import static com.imsweb.algorithms.Algorithms.FIELD_SEER_SITE_RECODE;
+import static com.imsweb.algorithms.Algorithms.FIELD_STATE_DX;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMORS;
+
+public class FlatFileRunnerTest {
+
+    @Rule
+    public TemporaryFolder _tmpFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+    }
+
+    // Pat ID (1-8), Site (9-12), Hist (13-16), Behav (17), Race 1 (18-19), Race 2 (20-21), State (22-23), then the outputs
+    private static FlatFileLayout createLayout() {
+        Map<Integer, Integer> startColumns = new HashMap<>();
+        startColumns.put(20, 1);
+        startColumns.put(400, 9);
+        startColumns.put(522, 13);
+        startColumns.put(523, 17);
+        startColumns.put(160, 18);
+        startColumns.put(161, 20);
+        startColumns.put(80, 22);
+        startColumns.put(9410, 24);
+        startColumns.put(9420, 29);
+        startColumns.put(9422, 32);
+        startColumns.put(9460, 35);
+        return FlatFileLayout.of(startColumns, 36);
+    }
+
+    @Test
+    public void testLayout() {
+        FlatFileLayout layout = createLayout();
+        Assert.assertEquals(36, layout.getLineLength());
+        Assert.assertEquals(11, layout.getFieldIds().size());
+        Assert.assertTrue(layout.hasField(FIELD_PRIMARY_SITE));
+        Assert.assertEquals(9, layout.getStartColumn(FIELD_PRIMARY_SITE));
+        Assert.assertEquals(4, layout.getLength(FIELD_PRIMARY_SITE));
+        Assert.assertFalse(layout.hasField(Algorithms.FIELD_NHIA));
+        Assert.assertEquals(-1, layout.getStartColumn(Algorithms.FIELD_NHIA));
+        Assert.assertEquals(-1, layout.getLength(Algorithms.FIELD_NHIA));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> FlatFileLayout.of(Map.of(400, 34), 36));
+        Assert.assertThrows(IllegalArgumentException.class, () -> FlatFileLayout.of(Map.of(400, 0), 36));
+        Assert.assertThrows(IllegalArgumentException.class, () -> FlatFileLayout.of(null, 36));
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int patient = 1; patient <= 25; patient++) {
+            String patientId = StringUtils.leftPad(String.valueOf(patient), 8, '0');
+            for (int tumor = 0; tumor <= patient % 3; tumor++) {
+                String site = new String[] {"C500", "C619", "C340", "C710", "C220"}[(patient + tumor) % 5];
+                String hist = new String[] {"8500", "8140", "8070", "9440", "8970"}[(patient + tumor) % 5];
+                // the state is AK for the second tumor of some patients, which prevents the race recode for all their tumors
+                String state = tumor == 1 && patient % 2 == 0 ? "AK" : "HI";
+                lines.add(patientId + site + hist + "3" + "01" + "02" + state);
+            }
+        }
+        lines.add(5, "");
+
+        Path input = _tmpFolder.newFile("input.txt").toPath();
+        Files.writeString(input, String.join("\r\n", lines) + "\r\n", StandardCharsets.ISO_8859_1);
+        Path output = _tmpFolder.newFile("output.txt").toPath();
+
+        List<String> algorithmIds = List.of(ALG_SEER_SITE_RECODE, ALG_ICCC, ALG_RACE_1_RECODE);
+        FlatFileRunner runner = new FlatFileRunner(algorithmIds, createLayout());
+        runner.setParallelism(3);
+        runner.setBatchSize(2);
+        Assert.assertEquals(lines.size(), runner.run(input, output));
+
+        // the line terminators are preserved
+        String content = Files.readString(output, StandardCharsets.ISO_8859_1);
+        Assert.assertTrue(content.endsWith("\r\n"));
+        List<String> outputLines = List.of(content.split("\r\n", -1)).subList(0, lines.size());
+
+        // the outputs must be the same as executing the algorithms on the patients directly
+        AlgorithmsPlan plan = AlgorithmsPlan.of(algorithmIds);
+        int index = 0;
+        while (index < lines.size()) {
+            String line = lines.get(index);
+            if (line.isEmpty()) {
+                Assert.assertEquals("", outputLines.get(index));
+                index++;
+                continue;
+            }
+
+            List<Map<String, Object>> tumors = new ArrayList<>();
+            int end = index;
+            while (end < lines.size() && !lines.get(end).isEmpty() && lines.get(end).startsWith(line.substring(0, 8))) {
+                Map<String, Object> tumor = new HashMap<>();
+                tumor.put(FIELD_PRIMARY_SITE, lines.get(end).substring(8, 12));
+                tumor.put(FIELD_HIST_O3, lines.get(end).substring(12, 16));
+                tumor.put(FIELD_BEHAV_O3, lines.get(end).substring(16, 17));
+                tumor.put(FIELD_STATE_DX, lines.get(end).substring(21, 23));
+                tumors.add(tumor);
+                end++;
+            }
+            Map<String, Object> patient = new HashMap<>();
+            patient.put(FIELD_PAT_ID_NUMBER, line.substring(0, 8));
+            patient.put(FIELD_RACE1, line.substring(17, 19));
+            patient.put(FIELD_RACE2, line.substring(19, 21));
+            patient.put(FIELD_TUMORS, tumors);
+            AlgorithmInput algorithmInput = new AlgorithmInput();
+            algorithmInput.setPatient(patient);
+            AlgorithmOutput algorithmOutput = plan.execute(algorithmInput);
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> outputTumors = (List<Map<String, Object>>)algorithmOutput.getPatient().get(FIELD_TUMORS);
+
+            for (int i = index; i < end; i++) {
+                Map<String, Object> outputTumor = outputTumors.get(i - index);
+                String expected = lines.get(i)
+                        + StringUtils.rightPad((String)outputTumor.get(FIELD_SEER_SITE_RECODE), 5)
+                        + StringUtils.rightPad((String)outputTumor.get(FIELD_ICCC), 3)
+                        + StringUtils.rightPad((String)outputTumor.get(FIELD_ICCC_EXT), 3)
+                        + algorithmOutput.getPatient().get(FIELD_RACE1_RECODE);
+                Assert.assertEquals("line " + (i + 1), expected, outputLines.get(i));
+            }
+            Assert.assertEquals(tumors.stream().anyMatch(t -> "AK".equals(t.get(FIELD_STATE_DX))) ? "01" : "02", outputLines.get(index).substring(34));
+            index = end;
+        }
+
+        // same thing without a terminator on the last line, with a single thread
+        Files.writeString(input, String.join("\n", lines), StandardCharsets.ISO_8859_1);
+        runner.setParallelism(1);
+        runner.setBatchSize(100);
+        Assert.assertEquals(lines.size(), runner.run(input, output));
+        Assert.assertEquals(String.join("\n", outputLines), Files.readString(output, StandardCharsets.ISO_8859_1));
+
+        // empty file
+        Files.writeString(input, "", StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(0, runner.run(input, output));
+        Assert.assertEquals(0, Files.size(output));
+    }
+
+    @Test
+    public void testValidation() throws IOException {
+        FlatFileLayout layout = createLayout();
+        Assert.assertThrows(IllegalArgumentException.class, () -> new FlatFileRunner(List.of("unknown-id"), layout));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new FlatFileRunner(List.of(ALG_ICCC), null));
+
+        FlatFileRunner runner = new FlatFileRunner(List.of(ALG_ICCC), layout);
+        Assert.assertThrows(IllegalArgumentException.class, () -> runner.setParallelism(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> runner.setBatchSize(0));
+
+        Path input = _tmpFolder.newFile("input.txt").toPath();
+        Assert.assertThrows(IllegalArgumentException.class, () -> runner.run(input, input));
+        Assert.assertThrows(IllegalArgumentException.class, () -> runner.run(null, input));
+    }
+}
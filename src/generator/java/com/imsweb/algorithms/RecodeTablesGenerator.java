@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeUtils;
+import com.imsweb.algorithms.braincnsrecode.BrainCnsRecodeUtils;
+import com.imsweb.algorithms.iccc.IcccRecodeUtils;
+import com.imsweb.algorithms.lymphoma.LymphoidNeoplasmRecodeUtils;
+import com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils;
+
+/**
+ * Generates the lookup tables of the ICD-O-3 recodes from their data files (see IcdO3RuleTable); this is called by the build (see the
+ * generateRecodeTables task), the tables are packaged with the other resources.
+ */
+public final class RecodeTablesGenerator {
+
+    private RecodeTablesGenerator() {
+        // no instances of this class allowed!
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: RecodeTablesGenerator <output directory>");
+
+        Path directory = Paths.get(args[0]);
+        SeerSiteRecodeUtils.writeRuleTables(directory);
+        IcccRecodeUtils.writeRuleTables(directory);
+        AyaSiteRecodeUtils.writeRuleTables(directory);
+        BrainCnsRecodeUtils.writeRuleTables(directory);
+        LymphoidNeoplasmRecodeUtils.writeRuleTables(directory);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.imsweb.algorithms.tractattributes.TractAttributesAlgorithm;
+
+/**
+ * Executes each registered algorithm (and the composite TractAttributesAlgorithm) on the same synthetic patients (see PatientGenerator); the time is per patient.
+ * <br/><br/>
+ * The data used by the algorithms is loaded before the measurements, see ResourceLoadingBenchmark for the cold-start times. A single
+ * algorithm can be benchmarked with "-p _algorithmId=seer-site-recode".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    private static final int _NUM_PATIENTS = 1000;
+
+    @Param({Algorithms.ALG_NHIA, Algorithms.ALG_NAPIIA, Algorithms.ALG_DEATH_CLASSIFICATION, Algorithms.ALG_CENSUS_POVERTY, Algorithms.ALG_RURAL_URBAN,
+            Algorithms.ALG_SURVIVAL_TIME, Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_SEER_SITE_RECODE_2023, Algorithms.ALG_AYA_SITE_RECODE_2008,
+            Algorithms.ALG_AYA_SITE_RECODE_2020, Algorithms.ALG_SEER_BEHAVIOR_RECODE, Algorithms.ALG_ICCC, Algorithms.ALG_IARC, Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS,
+            Algorithms.ALG_PRCDA, Algorithms.ALG_UIHO, Algorithms.ALG_ACS_LINKAGE, Algorithms.ALG_EPHT_SUBCOUNTY, Algorithms.ALG_TRACT_EST_CONGRESS_DIST,
+            Algorithms.ALG_CANCER_REPORTING_ZONE, Algorithms.ALG_PERSISTENT_POVERTY, Algorithms.ALG_SEER_BRAIN_CNS_RECODE, Algorithms.ALG_SEER_LYMPH_NEO_RECODE_2021,
+            Algorithms.ALG_SEER_DERIVED_SUMMARY_STAGE_2018, Algorithms.ALG_SVI, Algorithms.ALG_DAYS_TO_TREATMENT, Algorithms.ALG_TUMOR_SIZE_OVER_TIME,
+            Algorithms.ALG_RACE_1_RECODE, Algorithms.ALG_BREAST_CANCER_CATEGORY, Algorithms.ALG_TRACT_ATTRIBUTES})
+    public String _algorithmId;
+
+    private Algorithm _algorithm;
+
+    private List<AlgorithmInput> _inputs;
+
+    @Setup
+    public void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+        // the composite tract algorithm is not registered
+        _algorithm = Algorithms.ALG_TRACT_ATTRIBUTES.equals(_algorithmId) ? new TractAttributesAlgorithm() : Algorithms.getAlgorithm(_algorithmId);
+        if (_algorithm == null)
+            throw new IllegalStateException("Unknown algorithm: " + _algorithmId);
+
+        // use a fixed seed so the runs can be compared
+        _inputs = new PatientGenerator(42).createInputs(_NUM_PATIENTS);
+
+        // the lazily loaded data shouldn't be part of the measurements
+        _algorithm.executeBatch(_inputs);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(_NUM_PATIENTS)
+    public void execute(Blackhole blackhole) {
+        for (AlgorithmInput input : _inputs)
+            blackhole.consume(_algorithm.execute(input));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(_NUM_PATIENTS)
+    public void executeBatch(Blackhole blackhole) {
+        blackhole.consume(_algorithm.executeBatch(_inputs));
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.imsweb.algorithms.Algorithms.FIELD_BEHAV_O3;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2020;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_CERTAINTY_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_CERTAINTY_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_CERTAINTY_2020;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_CERTAINTY_708090;
+import static com.imsweb.algorithms.Algorithms.FIELD_COD;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTRY_BIRTH;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_1990;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_2020;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_DX;
+import static com.imsweb.algorithms.Algorithms.FIELD_DATE_INITIAL_RX_SEER;
+import static com.imsweb.algorithms.Algorithms.FIELD_DATE_OF_BIRTH;
+import static com.imsweb.algorithms.Algorithms.FIELD_DOLC;
+import static com.imsweb.algorithms.Algorithms.FIELD_DX_DATE;
+import static com.imsweb.algorithms.Algorithms.FIELD_EOD_TUMOR_SIZE;
+import static com.imsweb.algorithms.Algorithms.FIELD_ESTROGEN_RECEPTOR_SUMMARY;
+import static com.imsweb.algorithms.Algorithms.FIELD_GRADE_CLINICAL;
+import static com.imsweb.algorithms.Algorithms.FIELD_GRADE_PATHOLOGICAL;
+import static com.imsweb.algorithms.Algorithms.FIELD_HER2_OVERALL_SUMMARY;
+import static com.imsweb.algorithms.Algorithms.FIELD_HIST_O3;
+import static com.imsweb.algorithms.Algorithms.FIELD_ICD_REV_NUM;
+import static com.imsweb.algorithms.Algorithms.FIELD_IHS;
+import static com.imsweb.algorithms.Algorithms.FIELD_NAME_BIRTH_SURNAME;
+import static com.imsweb.algorithms.Algorithms.FIELD_NAME_LAST;
+import static com.imsweb.algorithms.Algorithms.FIELD_PAT_ID_NUMBER;
+import static com.imsweb.algorithms.Algorithms.FIELD_PRIMARY_SITE;
+import static com.imsweb.algorithms.Algorithms.FIELD_PROGESTERONE_RECEPTOR_SUMMARY;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE1;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE2;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE3;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE4;
+import static com.imsweb.algorithms.Algorithms.FIELD_RACE5;
+import static com.imsweb.algorithms.Algorithms.FIELD_SCHEMA_ID;
+import static com.imsweb.algorithms.Algorithms.FIELD_SEQ_NUM_CTRL;
+import static com.imsweb.algorithms.Algorithms.FIELD_SEX_ASSIGNED_AT_BIRTH;
+import static com.imsweb.algorithms.Algorithms.FIELD_SPAN_HISP_OR;
+import static com.imsweb.algorithms.Algorithms.FIELD_SSF_1;
+import static com.imsweb.algorithms.Algorithms.FIELD_SSF_2;
+import static com.imsweb.algorithms.Algorithms.FIELD_STATE_DX;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMORS;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMOR_MARKER_1;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMOR_MARKER_2;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMOR_SIZE;
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMOR_SIZE_SUMMARY;
+import static com.imsweb.algorithms.Algorithms.FIELD_TYPE_RPT_SRC;
+import static com.imsweb.algorithms.Algorithms.FIELD_VS;
+import static com.imsweb.algorithms.Algorithms.PARAM_NHIA_OPTION;
+import static com.imsweb.algorithms.Algorithms.PARAM_SEER_COD_CLASS_CUTOFF_YEAR;
+import static com.imsweb.algorithms.Algorithms.PARAM_SURV_CUTOFF_YEAR;
+import static com.imsweb.algorithms.nhia.NhiaUtils.NHIA_OPTION_ALL_CASES;
+
+/**
+ * Generates synthetic patients for the benchmarks; the values roughly follow the distributions of a population-based registry (common sites
+ * are more frequent, most patients have a single tumor, etc...). The same seed always generates the same patients, so runs can be compared.
+ */
+public class PatientGenerator {
+
+    // site, histology, behavior, schema ID and weight of the most common cancers
+    private static final String[][] _CANCERS = {
+            {"C509", "8500", "3", "00480", "140"},
+            {"C504", "8520", "3", "00480", "30"},
+            {"C500", "8500", "2", "00480", "20"},
+            {"C341", "8140", "3", "00360", "70"},
+            {"C343", "8070", "3", "00360", "40"},
+            {"C349", "8041", "3", "00360", "20"},
+            {"C619", "8140", "3", "00580", "110"},
+            {"C180", "8140", "3", "00200", "25"},
+            {"C187", "8480", "3", "00200", "20"},
+            {"C209", "8140", "3", "00200", "20"},
+            {"C679", "8120", "2", "00620", "25"},
+            {"C679", "8130", "3", "00620", "20"},
+            {"C443", "8720", "3", "00470", "30"},
+            {"C649", "8312", "3", "00600", "30"},
+            {"C739", "8260", "3", "00730", "25"},
+            {"C541", "8380", "3", "00530", "30"},
+            {"C250", "8500", "3", "00280", "25"},
+            {"C421", "9861", "3", "00830", "15"},
+            {"C421", "9732", "3", "00821", "10"},
+            {"C779", "9680", "3", "00790", "20"},
+            {"C779", "9650", "3", "00795", "5"},
+            {"C710", "9440", "3", "00721", "10"},
+            {"C751", "8272", "0", "00722", "10"},
+            {"C700", "9530", "0", "00722", "10"},
+            {"C220", "8170", "3", "00220", "15"},
+            {"C160", "8140", "3", "00180", "10"},
+            {"C569", "8441", "3", "00551", "10"},
+            {"C530", "8070", "3", "00520", "8"},
+            {"C649", "8960", "3", "00600", "2"},
+            {"C809", "8000", "3", "99999", "10"}
+    };
+
+    // state, county and weight of some counties
+    private static final String[][] _COUNTIES = {
+            {"CA", "037", "60"},
+            {"CA", "073", "20"},
+            {"NY", "061", "15"},
+            {"NY", "047", "15"},
+            {"TX", "201", "25"},
+            {"FL", "086", "15"},
+            {"IL", "031", "30"},
+            {"WA", "033", "15"},
+            {"GA", "121", "10"},
+            {"AZ", "013", "25"},
+            {"MI", "163", "10"},
+            {"NJ", "013", "5"},
+            {"CT", "009", "5"},
+            {"LA", "071", "5"},
+            {"UT", "035", "5"},
+            {"KY", "111", "5"},
+            {"IA", "153", "5"},
+            {"HI", "003", "5"},
+            {"NM", "001", "5"},
+            {"AK", "020", "3"},
+            {"AK", "013", "1"}
+    };
+
+    private static final String[][] _RACES = {{"01", "750"}, {"02", "120"}, {"03", "10"}, {"04", "15"}, {"05", "10"}, {"06", "15"}, {"08", "10"}, {"96", "20"}, {"98", "10"},
+            {"99", "40"}};
+
+    private static final String[][] _CAUSES_OF_DEATH = {{"C349", "30"}, {"C509", "10"}, {"C189", "10"}, {"C61", "8"}, {"C259", "8"}, {"I251", "15"}, {"J449", "8"},
+            {"I64", "5"}, {"E149", "5"}, {"0000", "1"}};
+
+    private static final String[] _LAST_NAMES = {"SMITH", "JOHNSON", "WILLIAMS", "BROWN", "GARCIA", "MARTINEZ", "RODRIGUEZ", "LOPEZ", "NGUYEN", "KIM", "DAVIS",
+            "HERNANDEZ", "MILLER", "GONZALEZ", "WILSON", "TANAKA", "PATEL", "SANCHEZ", "LEE", "TORRES"};
+
+    private final Random _random;
+
+    private final Map<String, Object> _parameters;
+
+    private int _patientId;
+
+    public PatientGenerator(long seed) {
+        _random = new Random(seed);
+        _parameters = new HashMap<>();
+        _parameters.put(PARAM_SURV_CUTOFF_YEAR, 2022);
+        _parameters.put(PARAM_SEER_COD_CLASS_CUTOFF_YEAR, 2022);
+        _parameters.put(PARAM_NHIA_OPTION, NHIA_OPTION_ALL_CASES);
+    }
+
+    /**
+     * Returns the parameters used by the generated inputs (some algorithms require a cutoff year or an option).
+     */
+    public Map<String, Object> getParameters() {
+        return _parameters;
+    }
+
+    /**
+     * Generates the requested number of inputs.
+     */
+    public List<AlgorithmInput> createInputs(int numPatients) {
+        List<AlgorithmInput> inputs = new ArrayList<>(numPatients);
+        for (Map<String, Object> patient : createPatients(numPatients)) {
+            AlgorithmInput input = new AlgorithmInput();
+            input.setParameters(_parameters);
+            input.setPatient(patient);
+            inputs.add(input);
+        }
+        return inputs;
+    }
+
+    /**
+     * Generates the requested number of patients.
+     */
+    public List<Map<String, Object>> createPatients(int numPatients) {
+        List<Map<String, Object>> patients = new ArrayList<>(numPatients);
+        for (int i = 0; i < numPatients; i++)
+            patients.add(createPatient());
+        return patients;
+    }
+
+    /**
+     * Generates a single patient (with one to three tumors).
+     */
+    public Map<String, Object> createPatient() {
+        Map<String, Object> patient = new HashMap<>();
+
+        int birthYear = 1925 + _random.nextInt(70);
+        String lastName = _LAST_NAMES[_random.nextInt(_LAST_NAMES.length)];
+        patient.put(FIELD_PAT_ID_NUMBER, String.format("%08d", ++_patientId));
+        patient.put(FIELD_NAME_LAST, lastName);
+        patient.put(FIELD_NAME_BIRTH_SURNAME, _random.nextInt(10) == 0 ? _LAST_NAMES[_random.nextInt(_LAST_NAMES.length)] : lastName);
+        patient.put(FIELD_DATE_OF_BIRTH, createDate(birthYear));
+        patient.put(FIELD_SEX_ASSIGNED_AT_BIRTH, _random.nextBoolean() ? "1" : "2");
+        patient.put(FIELD_COUNTRY_BIRTH, _random.nextInt(10) == 0 ? "MEX" : _random.nextInt(20) == 0 ? "ZZU" : "USA");
+        patient.put(FIELD_RACE1, pick(_RACES));
+        patient.put(FIELD_RACE2, _random.nextInt(20) == 0 ? pick(_RACES) : "88");
+        patient.put(FIELD_RACE3, "88");
+        patient.put(FIELD_RACE4, "88");
+        patient.put(FIELD_RACE5, "88");
+        patient.put(FIELD_SPAN_HISP_OR, _random.nextInt(100) < 85 ? "0" : String.valueOf(1 + _random.nextInt(8)));
+        patient.put(FIELD_IHS, _random.nextInt(50) == 0 ? "1" : "0");
+
+        // most patients have a single tumor
+        int numTumors = _random.nextInt(100) < 85 ? 1 : 2 + _random.nextInt(2);
+        int dxYear = Math.max(birthYear + 20, 2000 + _random.nextInt(23));
+        List<Map<String, Object>> tumors = new ArrayList<>(numTumors);
+        for (int i = 0; i < numTumors; i++) {
+            tumors.add(createTumor(dxYear, numTumors == 1 ? "00" : String.format("%02d", i + 1)));
+            dxYear = Math.min(2022, dxYear + _random.nextInt(5));
+        }
+        patient.put(FIELD_TUMORS, tumors);
+
+        // about a third of the patients are dead, the last contact is always after the last diagnosis
+        boolean dead = _random.nextInt(3) == 0;
+        patient.put(FIELD_DOLC, createDate(Math.min(2022, dxYear + _random.nextInt(6))));
+        patient.put(FIELD_VS, dead ? "0" : "1");
+        patient.put(FIELD_COD, dead ? pick(_CAUSES_OF_DEATH) : "0000");
+        patient.put(FIELD_ICD_REV_NUM, dead ? "1" : "0");
+
+        return patient;
+    }
+
+    private Map<String, Object> createTumor(int dxYear, String sequenceNumber) {
+        Map<String, Object> tumor = new HashMap<>();
+
+        String[] cancer = pickRow(_CANCERS, 4);
+        tumor.put(FIELD_PRIMARY_SITE, cancer[0]);
+        tumor.put(FIELD_HIST_O3, cancer[1]);
+        tumor.put(FIELD_BEHAV_O3, cancer[2]);
+        tumor.put(FIELD_SCHEMA_ID, dxYear >= 2018 ? cancer[3] : null);
+        tumor.put(FIELD_SEQ_NUM_CTRL, sequenceNumber);
+        tumor.put(FIELD_TYPE_RPT_SRC, _random.nextInt(100) < 90 ? "1" : String.valueOf(2 + _random.nextInt(7)));
+
+        String dxDate = createDate(dxYear);
+        tumor.put(FIELD_DX_DATE, dxDate);
+        tumor.put(FIELD_DATE_INITIAL_RX_SEER, _random.nextInt(4) == 0 ? null : dxDate.substring(0, 4) + String.format("%02d", Math.min(12,
+                Integer.parseInt(dxDate.substring(4, 6)) + _random.nextInt(3))) + "15");
+
+        // geography: the geocodes usually match the county at DX, a few tracts are unknown
+        String[] county = pickRow(_COUNTIES, 2);
+        tumor.put(FIELD_STATE_DX, county[0]);
+        tumor.put(FIELD_COUNTY_DX, county[1]);
+        tumor.put(FIELD_COUNTY_AT_DX_GEOCODE_1990, county[1]);
+        tumor.put(FIELD_COUNTY_AT_DX_GEOCODE_2000, county[1]);
+        tumor.put(FIELD_COUNTY_AT_DX_GEOCODE_2010, county[1]);
+        tumor.put(FIELD_COUNTY_AT_DX_GEOCODE_2020, _random.nextInt(50) == 0 ? "999" : county[1]);
+        String tract = _random.nextInt(20) == 0 ? "999999" : String.format("%04d%02d", 1 + _random.nextInt(2000), _random.nextInt(4) == 0 ? 1 + _random.nextInt(3) : 0);
+        tumor.put(FIELD_CENSUS_2000, tract);
+        tumor.put(FIELD_CENSUS_2010, tract);
+        tumor.put(FIELD_CENSUS_2020, tract);
+        String certainty = "999999".equals(tract) ? "9" : _random.nextInt(10) == 0 ? String.valueOf(2 + _random.nextInt(4)) : "1";
+        tumor.put(FIELD_CENSUS_CERTAINTY_708090, certainty);
+        tumor.put(FIELD_CENSUS_CERTAINTY_2000, certainty);
+        tumor.put(FIELD_CENSUS_CERTAINTY_2010, certainty);
+        tumor.put(FIELD_CENSUS_CERTAINTY_2020, certainty);
+
+        // grade, size and breast-specific factors
+        tumor.put(FIELD_GRADE_CLINICAL, _random.nextInt(3) == 0 ? "9" : String.valueOf(1 + _random.nextInt(3)));
+        tumor.put(FIELD_GRADE_PATHOLOGICAL, _random.nextInt(4) == 0 ? "9" : String.valueOf(1 + _random.nextInt(3)));
+        String size = _random.nextInt(10) == 0 ? "999" : String.format("%03d", 1 + _random.nextInt(80));
+        tumor.put(FIELD_TUMOR_SIZE_SUMMARY, size);
+        tumor.put(FIELD_EOD_TUMOR_SIZE, size);
+        tumor.put(FIELD_TUMOR_SIZE, size);
+        tumor.put(FIELD_ESTROGEN_RECEPTOR_SUMMARY, _random.nextInt(100) < 75 ? "1" : _random.nextBoolean() ? "0" : "9");
+        tumor.put(FIELD_PROGESTERONE_RECEPTOR_SUMMARY, _random.nextInt(100) < 65 ? "1" : _random.nextBoolean() ? "0" : "9");
+        tumor.put(FIELD_HER2_OVERALL_SUMMARY, _random.nextInt(100) < 15 ? "1" : _random.nextInt(10) == 0 ? "9" : "0");
+        tumor.put(FIELD_SSF_1, _random.nextInt(100) < 75 ? "010" : "020");
+        tumor.put(FIELD_SSF_2, _random.nextInt(100) < 65 ? "010" : "020");
+        tumor.put(FIELD_TUMOR_MARKER_1, _random.nextInt(100) < 75 ? "1" : "2");
+        tumor.put(FIELD_TUMOR_MARKER_2, _random.nextInt(100) < 65 ? "1" : "2");
+
+        return tumor;
+    }
+
+    private String createDate(int year) {
+        return String.format("%04d%02d%02d", year, 1 + _random.nextInt(12), 1 + _random.nextInt(28));
+    }
+
+    // picks the first value of a row, using the weights in the last column
+    private String pick(String[][] rows) {
+        return pickRow(rows, 1)[0];
+    }
+
+    private String[] pickRow(String[][] rows, int weightIndex) {
+        int total = 0;
+        for (String[] row : rows)
+            total += Integer.parseInt(row[weightIndex]);
+        int value = _random.nextInt(total);
+        for (String[] row : rows) {
+            value -= Integer.parseInt(row[weightIndex]);
+            if (value < 0)
+                return row;
+        }
+        return rows[rows.length - 1];
+    }
+}
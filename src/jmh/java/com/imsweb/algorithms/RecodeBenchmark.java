@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeUtils;
+import com.imsweb.algorithms.braincnsrecode.BrainCnsRecodeUtils;
+import com.imsweb.algorithms.iccc.IcccRecodeUtils;
+import com.imsweb.algorithms.lymphoma.LymphoidNeoplasmRecodeUtils;
+import com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils;
+
+/**
+ * Measures the time to compute the site recodes based on the ICD-O-3 rule tables (see IcdO3RuleTable), one recode at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecodeBenchmark {
+
+    private static final int _NUM_TUMORS = 1024;
+
+    @Param({"seer-site-recode", "iccc", "aya", "brain-cns", "lymphoid"})
+    public String _recode;
+
+    private String[] _sites;
+    private String[] _histologies;
+    private String[] _behaviors;
+
+    @Setup
+    public void setup() {
+        // use a fixed seed so the runs can be compared
+        Random random = new Random(42);
+        _sites = new String[_NUM_TUMORS];
+        _histologies = new String[_NUM_TUMORS];
+        _behaviors = new String[_NUM_TUMORS];
+        for (int i = 0; i < _NUM_TUMORS; i++) {
+            _sites[i] = String.format("C%03d", random.nextInt(810));
+            _histologies[i] = String.valueOf(8000 + random.nextInt(2000));
+            _behaviors[i] = String.valueOf(random.nextInt(4));
+        }
+
+        // load the data outside of the measurements
+        calculateRecode(0);
+    }
+
+    @Benchmark
+    public void calculate(Blackhole blackhole) {
+        for (int i = 0; i < _NUM_TUMORS; i++)
+            blackhole.consume(calculateRecode(i));
+    }
+
+    private Object calculateRecode(int i) {
+        return switch (_recode) {
+            case "seer-site-recode" -> SeerSiteRecodeUtils.calculateSiteRecode(SeerSiteRecodeUtils.VERSION_2023, _sites[i], _histologies[i], _behaviors[i], "2023");
+            case "iccc" -> IcccRecodeUtils.calculateRecodes(IcccRecodeUtils.VERSION_WHO_2008, _sites[i], _histologies[i], _behaviors[i]);
+            case "aya" -> AyaSiteRecodeUtils.calculateSiteRecode(AyaSiteRecodeUtils.ALG_VERSION_2020, _sites[i], _histologies[i], _behaviors[i]);
+            case "brain-cns" -> BrainCnsRecodeUtils.computeBrainCsnRecode(BrainCnsRecodeUtils.ALG_VERSION_2020, _sites[i], _histologies[i], _behaviors[i]);
+            case "lymphoid" -> LymphoidNeoplasmRecodeUtils.calculateSiteRecode(LymphoidNeoplasmRecodeUtils.ALG_VERSION_2021, _sites[i], _histologies[i]);
+            default -> throw new IllegalStateException("Unknown recode: " + _recode);
+        };
+    }
+}
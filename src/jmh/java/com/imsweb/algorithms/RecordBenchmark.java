@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the map-based execution of an algorithm with the record-based one (see PatientRecord).
+ * <br/><br/>
+ * Run it with the GC profiler ("-prof gc") to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecordBenchmark {
+
+    private static final int _NUM_PATIENTS = 1000;
+
+    @Param({Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_ICCC})
+    public String _algorithmId;
+
+    private Algorithm _algorithm;
+
+    private List<AlgorithmInput> _inputs;
+
+    private List<PatientRecord> _records;
+
+    private PatientRecord _output;
+
+    @Setup
+    public void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+        _algorithm = Algorithms.getAlgorithm(_algorithmId);
+
+        // use a fixed seed so the runs can be compared
+        _inputs = new PatientGenerator(42).createInputs(_NUM_PATIENTS);
+        FieldSchema schema = FieldSchema.getDefault();
+        _records = new ArrayList<>(_NUM_PATIENTS);
+        for (AlgorithmInput input : _inputs)
+            _records.add(PatientRecord.of(schema, input.getPatient()));
+        _output = new PatientRecord(schema);
+    }
+
+    @Benchmark
+    public void maps(Blackhole blackhole) {
+        for (AlgorithmInput input : _inputs)
+            blackhole.consume(_algorithm.execute(input));
+    }
+
+    @Benchmark
+    public void records(Blackhole blackhole) {
+        for (PatientRecord record : _records) {
+            _output.clear();
+            _algorithm.execute(record, null, _output);
+            blackhole.consume(_output);
+        }
+    }
+}
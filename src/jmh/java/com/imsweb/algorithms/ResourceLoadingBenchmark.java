@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.imsweb.algorithms.historicstage.HistoricStageInputDto;
+import com.imsweb.algorithms.historicstage.HistoricStageUtils;
+import com.imsweb.algorithms.icd.IcdUtils;
+import com.imsweb.algorithms.internal.CountryData;
+import com.imsweb.algorithms.surgery.SiteSpecificSurgeryUtils;
+
+/**
+ * Measures the cold-start time of the lazily loaded resources.
+ * <br/><br/>
+ * Most of those resources are cached in static fields for the life of the JVM, so every measurement is a single call done in a new JVM: there
+ * is no warmup, a single iteration per fork, and several forks to get an average. The heap used by the tract data is reported as a secondary
+ * result of its own benchmark since measuring it requires a few garbage collections.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ResourceLoadingBenchmark {
+
+    @Benchmark
+    public void algorithms() {
+        Algorithms.initialize();
+    }
+
+    @Benchmark
+    public void tractDataAllStates() {
+        CountryData.getInstance().initializeAllTractData();
+    }
+
+    @Benchmark
+    public void tractDataAllStatesHeap(HeapUsage heapUsage) {
+        long before = getUsedHeap();
+        CountryData.getInstance().initializeAllTractData();
+        heapUsage.tractDataMegabytes = (getUsedHeap() - before) / 1024 / 1024;
+    }
+
+    @Benchmark
+    public void tractDataSingleState() {
+        CountryData.getInstance().initializeTractData("CA");
+    }
+
+    @Benchmark
+    public Object surgeryTables() {
+        return SiteSpecificSurgeryUtils.getInstance().getTables(2024);
+    }
+
+    @Benchmark
+    public void icdMaps() {
+        IcdUtils.initalize();
+    }
+
+    @Benchmark
+    public void historicStageTables(Blackhole blackhole) {
+        // the tables are loaded only when they are needed, so use one case per coding system
+        List<HistoricStageInputDto> inputs = new ArrayList<>();
+        inputs.add(createHistoricStageInput("2010", null, "C509", "8500"));
+        inputs.add(createHistoricStageInput("1995", "4", "C509", "8500"));
+        inputs.add(createHistoricStageInput("1985", "3", "C619", "8140"));
+        inputs.add(createHistoricStageInput("1980", "2", "C341", "8140"));
+        inputs.add(createHistoricStageInput("1975", "1", "C180", "8140"));
+        inputs.add(createHistoricStageInput("1972", "0", "C180", "8140"));
+        for (HistoricStageInputDto input : inputs)
+            blackhole.consume(HistoricStageUtils.computeHistoricStage(input));
+    }
+
+    /**
+     * Heap used by the loaded data, reported by JMH next to the timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+
+        public long tractDataMegabytes;
+    }
+
+    @SuppressWarnings("java:S1215") // calling System.gc
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static HistoricStageInputDto createHistoricStageInput(String dxYear, String eodCodingSystem, String site, String histology) {
+        HistoricStageInputDto input = new HistoricStageInputDto();
+        input.setDateOfDiagnosisYear(dxYear);
+        input.setPrimarysite(site);
+        input.setHistologyIcdO3(histology);
+        input.setBehaviorIcdO3("3");
+        input.setTypeOfReportingSource("1");
+        input.setEodCodingSys(eodCodingSystem);
+        input.setCsExtension("100");
+        input.setCsLymphNodes("000");
+        input.setCsMetsAtDx("00");
+        input.setEodExtension("10");
+        input.setEodLymphNodeInvolv("0");
+        input.setEodOld4DigitExtent("10");
+        input.setEodOld4DigitNodes("00");
+        input.setEodOld13Digit("1000000000000");
+        input.setEodOld2Digit("10");
+        return input;
+    }
+}
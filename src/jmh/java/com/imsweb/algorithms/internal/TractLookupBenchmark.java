@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares looking up census data through the state, county and tract maps with the packed key lookup (see CensusDataTable).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TractLookupBenchmark {
+
+    private static final int _NUM_LOOKUPS = 1024;
+
+    private String[] _states;
+    private String[] _counties;
+    private String[] _tracts;
+
+    @Setup
+    public void setup() {
+        CountryData.getInstance().initializeAllTractData();
+
+        List<String[]> all = new ArrayList<>();
+        for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String state = String.valueOf(new char[] {c1, c2});
+                StateData stateData = CountryData.getInstance().getTractData(state);
+                if (stateData != null)
+                    for (Entry<String, CountyData> countyEntry : stateData.getData().entrySet())
+                        for (String tract : countyEntry.getValue().getData().keySet())
+                            all.add(new String[] {state, countyEntry.getKey(), tract});
+            }
+        }
+
+        // use a fixed seed so the runs can be compared; some lookups are misses on purpose
+        Random random = new Random(42);
+        _states = new String[_NUM_LOOKUPS];
+        _counties = new String[_NUM_LOOKUPS];
+        _tracts = new String[_NUM_LOOKUPS];
+        for (int i = 0; i < _NUM_LOOKUPS; i++) {
+            String[] values = all.get(random.nextInt(all.size()));
+            _states[i] = values[0];
+            _counties[i] = values[1];
+            _tracts[i] = i % 10 == 0 ? "999999" : values[2];
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        CountryData.getInstance().uninitializeAllData();
+    }
+
+    @Benchmark
+    public void nestedMaps(Blackhole blackhole) {
+        for (int i = 0; i < _NUM_LOOKUPS; i++) {
+            CountyData countyData = CountryData.getInstance().getTractData(_states[i]).getCountyData(_counties[i]);
+            blackhole.consume(countyData == null ? null : countyData.getCensusData(_tracts[i]));
+        }
+    }
+
+    @Benchmark
+    public void packedKey(Blackhole blackhole) {
+        for (int i = 0; i < _NUM_LOOKUPS; i++)
+            blackhole.consume(CountryData.getInstance().getTractCensusData(_states[i], _counties[i], _tracts[i]));
+    }
+}
@@ -5,9 +5,12 @@ package com.imsweb.algorithms;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
+
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2000;
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2010;
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2020;
@@ -28,6 +31,8 @@ public abstract class AbstractAlgorithm implements Algorithm {
 
     protected Map<String, List<String>> _unknownValues;
 
+    protected Map<String, Runnable> _dataLoaders;
+
     protected AbstractAlgorithm(String id, String name, String version) {
         if (id == null)
             throw new IllegalStateException("ID is required");
@@ -46,6 +51,8 @@ public abstract class AbstractAlgorithm implements Algorithm {
         _outputFields = new ArrayList<>();
 
         _unknownValues = new HashMap<>();
+
+        _dataLoaders = new LinkedHashMap<>();
     }
 
     @Override
@@ -88,6 +95,18 @@ public abstract class AbstractAlgorithm implements Algorithm {
         return _unknownValues;
     }
 
+    @Override
+    public Map<String, Runnable> getDataLoaders() {
+        return _dataLoaders;
+    }
+
+    /**
+     * Adds a loader for the requested country dataset; the dataset is loaded for all the states (see CountryDataLoader).
+     */
+    protected void addCountryDataLoader(DatasetKind dataset) {
+        _dataLoaders.put(CountryDataLoader.getName(dataset), new CountryDataLoader(dataset));
+    }
+
     protected StateCountyTractInputDto createStateCountyTractInputDto(Map<String, Object> inputTumor) {
         StateCountyTractInputDto inputDto = new StateCountyTractInputDto();
 
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Array-backed record storing one value per field of a schema (see FieldSchema); a null value means the field is not set.
+ */
+public abstract class AbstractRecord {
+
+    protected final FieldSchema _schema;
+
+    protected final Object[] _values;
+
+    // map view of this record, created the first time it's requested
+    private Map<String, Object> _map;
+
+    protected AbstractRecord(FieldSchema schema) {
+        if (schema == null)
+            throw new IllegalArgumentException("Schema is required");
+        _schema = schema;
+        _values = new Object[schema.size()];
+    }
+
+    public FieldSchema getSchema() {
+        return _schema;
+    }
+
+    /**
+     * Returns the value of the field using the requested slot, null if it's not set (or if the slot is -1).
+     */
+    public Object get(int slot) {
+        return slot == -1 ? null : _values[slot];
+    }
+
+    /**
+     * Sets the value of the field using the requested slot.
+     */
+    public void set(int slot, Object value) {
+        if (slot == -1)
+            throw new IllegalArgumentException("Field is not part of the schema");
+        _values[slot] = value;
+    }
+
+    /**
+     * Returns the value of the requested field, null if it's not set.
+     */
+    public Object get(String fieldId) {
+        return get(_schema.getSlot(fieldId));
+    }
+
+    /**
+     * Sets the value of the requested field, which must be part of the schema.
+     */
+    public void set(String fieldId, Object value) {
+        int slot = _schema.getSlot(fieldId);
+        if (slot == -1)
+            throw new IllegalArgumentException("Field '" + fieldId + "' is not part of the schema");
+        _values[slot] = value;
+    }
+
+    /**
+     * Clears all the values of this record, so it can be re-used.
+     */
+    public void clear() {
+        Arrays.fill(_values, null);
+    }
+
+    /**
+     * Returns a map view of this record, keyed by field IDs; changes to the map are written to the record (and vice-versa).
+     * <br/><br/>
+     * This allows a record to be used with the map-based API (see AlgorithmInput); only the fields of the schema can be added to the map.
+     */
+    public Map<String, Object> asMap() {
+        if (_map == null)
+            _map = new RecordMap();
+        return _map;
+    }
+
+    /**
+     * Copies the values of the provided map into this record; fields that are not part of the schema are ignored.
+     */
+    public void putAll(Map<String, Object> values) {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            int slot = _schema.getSlot(entry.getKey());
+            if (slot != -1)
+                _values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Returns the value of a special (non-schema) entry of the map view, null if there is no such entry.
+     */
+    Object getSpecialEntry(String key) {
+        return null;
+    }
+
+    /**
+     * Sets the value of a special (non-schema) entry of the map view, returns false if the key is not a special entry.
+     */
+    boolean setSpecialEntry(String key, Object value) {
+        return false;
+    }
+
+    /**
+     * Returns the key of the special (non-schema) entry of the map view, null if there is no such entry.
+     */
+    String getSpecialKey() {
+        return null;
+    }
+
+    /**
+     * Map view of the record.
+     */
+    private final class RecordMap extends AbstractMap<String, Object> {
+
+        @Override
+        public Object get(Object key) {
+            if (!(key instanceof String))
+                return null;
+            if (key.equals(getSpecialKey()))
+                return getSpecialEntry((String)key);
+            return AbstractRecord.this.get((String)key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Object previous = get(key);
+            if (!key.equals(getSpecialKey()) || !setSpecialEntry(key, value))
+                set(key, value);
+            return previous;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            Object previous = get(key);
+            if (previous != null)
+                put((String)key, null);
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new RecordIterator();
+                }
+
+                @Override
+                public int size() {
+                    int size = getSpecialKey() != null && getSpecialEntry(getSpecialKey()) != null ? 1 : 0;
+                    for (Object value : _values)
+                        if (value != null)
+                            size++;
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterator over the entries of the map view of the record (the special entry comes last).
+     */
+    private final class RecordIterator implements Iterator<Map.Entry<String, Object>> {
+
+        // next slot to look at (the size of the schema represents the special entry)
+        private int _next;
+
+        // slot of the entry returned by the last call to next()
+        private int _last = -1;
+
+        private RecordIterator() {
+            _next = advance(0);
+        }
+
+        private int advance(int slot) {
+            while (slot < _values.length && _values[slot] == null)
+                slot++;
+            if (slot == _values.length && (getSpecialKey() == null || getSpecialEntry(getSpecialKey()) == null))
+                slot++;
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _next <= _values.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            _last = _next;
+            _next = advance(_next + 1);
+            if (_last == _values.length)
+                return new AbstractMap.SimpleImmutableEntry<>(getSpecialKey(), getSpecialEntry(getSpecialKey()));
+            return new AbstractMap.SimpleImmutableEntry<>(_schema.getFieldId(_last), _values[_last]);
+        }
+
+        @Override
+        public void remove() {
+            if (_last == -1)
+                throw new IllegalStateException();
+            if (_last == _values.length)
+                setSpecialEntry(getSpecialKey(), null);
+            else
+                _values[_last] = null;
+            _last = -1;
+        }
+    }
+}
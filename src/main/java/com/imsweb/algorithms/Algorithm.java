@@ -3,10 +3,14 @@
  */
 package com.imsweb.algorithms;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.imsweb.algorithms.internal.Utils;
+
 /**
  * Abstraction of an "algorithm" that takes input fields, can be executed, and returns output fields.
  */
@@ -57,8 +61,57 @@ public interface Algorithm {
         return Collections.emptyMap();
     }
 
+    /**
+     * Returns the loaders of the reference data this algorithm needs, keyed by data name (data shared by several algorithms uses the same name).
+     * <br/><br/>
+     * The data is lazily loaded during the first execution; running the loaders (see Algorithms.warmUp()) loads it ahead of time. Running a loader
+     * for data that is already loaded does nothing.
+     */
+    default Map<String, Runnable> getDataLoaders() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Executes this algorithm using the given input fields.
      */
     AlgorithmOutput execute(AlgorithmInput input);
+
+    /**
+     * Executes this algorithm for each of the given inputs; the outputs are returned in the same order as the inputs.
+     * <br/><br/>
+     * The default implementation executes the inputs one at a time; algorithms can override it to share their setup and lookups across the inputs.
+     */
+    default List<AlgorithmOutput> executeBatch(List<AlgorithmInput> inputs) {
+        List<AlgorithmOutput> outputs = new ArrayList<>(inputs.size());
+        for (AlgorithmInput input : inputs)
+            outputs.add(execute(input));
+        return outputs;
+    }
+
+    /**
+     * Executes this algorithm using the given input fields, writing the output fields directly into the input patient and tumor maps (which must
+     * be modifiable) instead of returning new maps.
+     * <br/><br/>
+     * The default implementation merges the result of execute() into the input; algorithms can override it to avoid creating the output maps.
+     */
+    default void executeInPlace(AlgorithmInput input) {
+        if (input.getPatient() == null)
+            input.setPatient(new HashMap<>());
+        AlgorithmOutput output = execute(input);
+        if (output != null)
+            Utils.mergeOutput(input.getPatient(), output.getPatient());
+    }
+
+    /**
+     * Executes this algorithm using the given (array-backed) record; the output fields are written to the provided output record, which can be
+     * the input record itself. Both records must use the same schema.
+     * <br/><br/>
+     * The default implementation goes through the map view of the records; algorithms can override it to read and write the fields by slot.
+     */
+    default void execute(PatientRecord input, Map<String, Object> parameters, PatientRecord output) {
+        AlgorithmInput algorithmInput = new AlgorithmInput();
+        algorithmInput.setParameters(parameters);
+        algorithmInput.setPatient(input.asMap());
+        output.putAll(execute(algorithmInput).getPatient());
+    }
 }
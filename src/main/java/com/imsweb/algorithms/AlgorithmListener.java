@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.List;
+
+/**
+ * Listener notified of the executions of the algorithms and of the loading of their data (see Algorithms.setListener()).
+ * <br/><br/>
+ * When a listener is registered, the algorithms returned by Algorithms.getAlgorithm() and Algorithms.getAlgorithms() are instrumented; when no
+ * listener is registered, the algorithms are returned as-is. Listeners are called from the threads executing the algorithms (or loading the
+ * data) and need to be thread-safe; see AlgorithmMetrics for an implementation collecting statistics.
+ */
+public interface AlgorithmListener {
+
+    /**
+     * Called after an algorithm was executed for one patient, or for several patients at once (see Algorithm.executeBatch()).
+     * <br/><br/>
+     * For in-place executions (see Algorithm.executeInPlace()), the outputs are null and the output fields were written into the inputs.
+     * @param algorithm the (non-instrumented) algorithm that was executed
+     * @param inputs the inputs
+     * @param outputs the outputs, in the same order as the inputs, null for in-place executions
+     * @param durationNanos the duration of the execution for all the inputs, in nanoseconds
+     */
+    default void algorithmExecuted(Algorithm algorithm, List<AlgorithmInput> inputs, List<AlgorithmOutput> outputs, long durationNanos) {
+    }
+
+    /**
+     * Called after a data file used by the algorithms was loaded.
+     * @param name the name of the loaded data (usually the resource path)
+     * @param durationNanos the loading time, in nanoseconds
+     * @param numBytes the number of bytes read, -1 if unknown (memory-mapped data for example)
+     */
+    default void dataLoaded(String name, long durationNanos, long numBytes) {
+    }
+}
@@ -6,10 +6,17 @@ package com.imsweb.algorithms;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeAlgorithm2008;
 import com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeAlgorithm2020;
@@ -25,6 +32,7 @@ import com.imsweb.algorithms.derivedgrade.DerivedSummaryGradeAlgorithm2018;
 import com.imsweb.algorithms.ephtsubcounty.EphtSubCountyAlgorithm;
 import com.imsweb.algorithms.iarc.IarcAlgorithm;
 import com.imsweb.algorithms.iccc.IcccAlgorithm;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.lymphoma.LymphoidNeoplasmRecodeAlgorithm2021;
 import com.imsweb.algorithms.napiia.NapiiaAlgorithm;
 import com.imsweb.algorithms.nhia.NhiaAlgorithm;
@@ -88,6 +96,8 @@ public final class Algorithms {
     public static final String ALG_TUMOR_SIZE_OVER_TIME = "tumor-size-over-time";
     public static final String ALG_RACE_1_RECODE = "race-1-recode";
     public static final String ALG_BREAST_CANCER_CATEGORY = "breast-cancer-category";
+    // not registered, see TractAttributesAlgorithm
+    public static final String ALG_TRACT_ATTRIBUTES = "tract-attributes";
 
     // special properties
     public static final String FIELD_TUMORS = "tumors";
@@ -233,14 +243,23 @@ public final class Algorithms {
     public static final String PARAM_SURV_CUTOFF_YEAR = "survivalCutoffYear";
     public static final String PARAM_IARC_REVIEW_MODE = "iarcReviewMode";
 
-    // cached fields
-    private static final Map<String, AlgorithmField> _CACHED_FIELDS = new HashMap<>();
+    // cached fields (immutable snapshot, replaced when the fields change)
+    private static volatile Map<String, AlgorithmField> _CACHED_FIELDS = Collections.emptyMap();
 
-    // cached algorithms
-    private static final Map<String, Algorithm> _CACHED_ALGORITHMS = new HashMap<>();
+    // cached algorithms (immutable snapshot, replaced when the algorithms change)
+    private static volatile Map<String, Algorithm> _CACHED_ALGORITHMS = Collections.emptyMap();
 
-    // lock to control safe access to the caches
-    private static final ReentrantReadWriteLock _LOCK = new ReentrantReadWriteLock();
+    // cached algorithms as a list, returned by getAlgorithms() (always published with the algorithms snapshot)
+    private static volatile List<Algorithm> _CACHED_ALGORITHMS_LIST = Collections.emptyList();
+
+    // lock serializing the changes to the caches; reading them doesn't require any lock
+    private static final Object _LOCK = new Object();
+
+    // optional listener notified of the executions of the algorithms and of the loading of their data
+    private static volatile AlgorithmListener _LISTENER;
+
+    // instrumented versions of the algorithms (used only when a listener is registered)
+    private static final Map<String, InstrumentedAlgorithm> _INSTRUMENTED_ALGORITHMS = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -253,195 +272,205 @@ public final class Algorithms {
      * Initializes the default fields and algorithms.
      */
     public static void initialize() {
-        _LOCK.writeLock().lock();
-        try {
+        synchronized (_LOCK) {
+            Map<String, AlgorithmField> fields = new HashMap<>(_CACHED_FIELDS);
+            Map<String, Algorithm> algorithms = new HashMap<>(_CACHED_ALGORITHMS);
+
             // standard fields
-            addField(AlgorithmField.of(FIELD_PAT_ID_NUMBER, 20, 8, "Patient ID Number", "Pat ID #", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_NAME_LAST, 2230, 40, "Name--Last", "Last", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_NAME_FIRST, 2240, 40, "Name--First", "First", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_NAME_BIRTH_SURNAME, 2232, 40, "Name--Birth Surname", "Birth Sur", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_COUNTRY_BIRTH, 254, 3, "Birthplace--Country", "Birth Country", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_DATE_OF_BIRTH, 240, 8, "Date of Birth", "Birth Dt", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_SEX_ASSIGNED_AT_BIRTH, 225, 1, "Sex Assigned at Birth", "Sex", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_RACE1, 160, 2, "Race 1", "Race 1", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_RACE2, 161, 2, "Race 2", "Race 2", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_RACE3, 162, 2, "Race 3", "Race 3", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_RACE4, 163, 2, "Race 4", "Race 4", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_RACE5, 164, 2, "Race 5", "Race 5", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_SPAN_HISP_OR, 190, 1, "Spanish/Hispanic Origin", "Hisp Orig", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_IHS, 192, 1, "IHS Link", "IHS", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_NHIA, 191, 1, "NHIA Derived Hisp Origin", "NHIA", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_NAPIIA, 193, 2, "Race--NAPIIA(derived API)", "NAPIIA", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_COUNTY_DX, 90, 3, "County at DX Reported", "DX Cty Code", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_STATE_DX, 80, 2, "Addr at DX--State", "DX State", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_DOLC, 1750, 8, "Date of Last Contact", "DOLC", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_VS, 1760, 1, "Vital Status", "VS", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_TYPE_RPT_SRC, 500, 1, "Type of Reporting Source", "Rpt Src", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COD, 1910, 4, "Cause of Death", "COD", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_SEER_COD_CLASS, 1914, 1, "SEER Cause Specific COD", "COD Spec", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SEER_COD_OTHER, 1915, 1, "SEER Other COD", "COD Other", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_ICD_REV_NUM, 1920, 1, "ICD Revision Number", "COD Rev#", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_SEQ_NUM_CTRL, 380, 2, "Sequence Number--Central", "Ctrl Seq#", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_PRIMARY_SITE, 400, 4, "Primary Site", "Site", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_HIST_O3, 522, 4, "Histologic Type ICD-O-3", "Hist(O3)", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_BEHAV_O3, 523, 1, "Behavior Code ICD-O-3", "Behav(O3)", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_DX_DATE, 390, 8, "Date of Diagnosis", "DX Dt", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_2000, 130, 6, "Census Tract 2000", "Cens 2000", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_2010, 135, 6, "Census Tract 2010", "Cens 2010", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_2020, 125, 6, "Census Tract 2020", "Cens 2020", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_POVERTY_INDICTR, 145, 1, "Census Tr Poverty Indictr", "Cens Pov", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_IHS_PRCDA, 194, 1, "IHS Purchased/Referred Care Delivery Area", "IHS PRCDA", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_UIHO, 284, 1, "Urban Indian Organization (UIO)", "UIO", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_UIHO_CITY, 285, 2, "Urban Indian Organization (UIO) Service Area", "UIO Serv Area", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_URIC_2000, 345, 1, "URIC 2000", "URIC 2000", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_URIC_2010, 346, 1, "URIC 2010", "URIC 2010", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_URIC_2020, 347, 1, "URIC 2020", "URIC 2020", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RUCA_2000, 339, 1, "RUCA 2000", "RUCA 2000", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RUCA_2010, 341, 1, "RUCA 2010", "RUCA 2010", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RUCA_2020, 342, 1, "RUCA 2020", "RUCA 2020", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RURAL_CONT_1993, 3300, 2, "RuralUrban Continuum 1993", "Rur Urb Cont 93", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RURAL_CONT_2003, 3310, 2, "RuralUrban Continuum 2003", "Rur Urb Cont 03", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_RURAL_CONT_2013, 3312, 2, "RuralUrban Continuum 2013", "Rur Urb Cont 13", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_VS_RECODE, 1762, 1, "Vital Status Recode", "VS Rec", DATA_LEVEL_PATIENT));
-            addField(AlgorithmField.of(FIELD_SURV_DX_DATE_RECODE, 1788, 8, "Surv-Date DX Recode", "Surv DX", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_DATE_ACTIVE_FUP, 1782, 8, "Surv-Date Active Followup", "Surv Dt", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_DATE_PRESUMED_ALIVE, 1785, 8, "Surv-Date Presumed Alive", "Surv Dt PA", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_MONTH_ACTIVE_FUP, 1784, 4, "Surv-Mos Active Followup", "Surv", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_FLAG_ACTIVE_FUP, 1783, 1, "Surv-Flag Active Followup", "Surv Fg", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_MONTH_PRESUMED_ALIVE, 1787, 4, "Surv-Mos Presumed Alive", "Surv PA", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_FLAG_PRESUMED_ALIVE, 1786, 1, "Surv-Flag Presumed Alive", "Surv Fg PA", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SURV_REC_NUM_RECODE, 1775, 2, "Record Number Recode", "Rec Num", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_1990, 94, 3, "County at DX Geocode 1970/80/90", "Cty DX Geo708090", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2000, 95, 3, "County at DX Geocode2000", "Cty DX Geo00", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2010, 96, 3, "County at DX Geocode2010", "Cty DX Geo10", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2020, 97, 3, "County at DX Geocode2020", "Cty DX Geo20", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_19708090, 81, 2, "State at DX Geocode 1970/80/90", "State DX Geo708090", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2000, 82, 2, "State at DX Geocode 2000", "State Dx Geo00", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2010, 83, 2, "State at DX Geocode 2010", "State Dx Geo10", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2020, 84, 2, "State at DX Geocode 2020", "State Dx Geo20", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_CERTAINTY_708090, 364, 1, "Census Tr Cert 1970/80/90", "Cens Cert 70/80/90", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2000, 365, 1, "Census Tr Certainty 2000", "Cens Cert 2000", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2010, 367, 1, "Census Tr Certainty 2010", "Cens Cert 2010", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2020, 369, 1, "Census Tract Certainty 2020", "Cens Cert 2020", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_ANALYSIS, 89, 3, "County at DX Analysis", "DX Anlys Cty", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_DATE_INITIAL_RX_SEER, 1260, 8, "Date Initial RX SEER", "Dt Init RX", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SCHEMA_ID, 3800, 5, "Schema ID", "Schema Id", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_GRADE_CLINICAL, 3843, 1, "Grade Clinical", "Grade Clin", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_GRADE_PATHOLOGICAL, 3844, 1, "Grade Pathological", "Grade Path", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_TUMOR_SIZE, 2800, 3, "CS Tumor Size", "CS Size", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_EOD_TUMOR_SIZE, 780, 3, "EOD--Tumor Size", "EOD Size", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_TUMOR_SIZE_SUMMARY, 756, 3, "Tumor Size Summary", "Tumor Size Summary", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_DERIVED_SUMMARY_GRADE_2018, 1975, 1, "Derived Summary Grade 2018", "Der Sum Grade 18", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_TUMOR_MARKER_1, 1150, 1, "Tumor Marker 1", "Tum Mark 1", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_TUMOR_MARKER_2, 1160, 1, "Tumor Marker 2", "Tum Mark 2", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_1, 2880, 3, "CS Site-Specific Factor 1", "SSF 1", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_2, 2890, 3, "CS Site-Specific Factor 2", "SSF 2", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_9, 2863, 3, "CS Site-Specific Factor 9", "SSF 9", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_11, 2865, 3, "CS Site-Specific Factor11", "SSF 11", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_13, 2867, 3, "CS Site-Specific Factor13", "SSF 13", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_14, 2868, 3, "CS Site-Specific Factor14", "SSF 14", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_SSF_15, 2869, 3, "CS Site-Specific Factor15", "SSF 15", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_ESTROGEN_RECEPTOR_SUMMARY, 3827, 1, "Estrogen Receptor Summary", "Est Rec Sum", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_PROGESTERONE_RECEPTOR_SUMMARY, 3915, 1, "Progesterone Receptor Summary", "Pro Rec Sum", DATA_LEVEL_TUMOR));
-            addField(AlgorithmField.of(FIELD_HER2_OVERALL_SUMMARY, 3855, 1, "HER2 Overall Summary", "HER2 Ov Sum", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_PAT_ID_NUMBER, 20, 8, "Patient ID Number", "Pat ID #", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_NAME_LAST, 2230, 40, "Name--Last", "Last", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_NAME_FIRST, 2240, 40, "Name--First", "First", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_NAME_BIRTH_SURNAME, 2232, 40, "Name--Birth Surname", "Birth Sur", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_COUNTRY_BIRTH, 254, 3, "Birthplace--Country", "Birth Country", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_DATE_OF_BIRTH, 240, 8, "Date of Birth", "Birth Dt", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_SEX_ASSIGNED_AT_BIRTH, 225, 1, "Sex Assigned at Birth", "Sex", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_RACE1, 160, 2, "Race 1", "Race 1", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_RACE2, 161, 2, "Race 2", "Race 2", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_RACE3, 162, 2, "Race 3", "Race 3", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_RACE4, 163, 2, "Race 4", "Race 4", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_RACE5, 164, 2, "Race 5", "Race 5", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_SPAN_HISP_OR, 190, 1, "Spanish/Hispanic Origin", "Hisp Orig", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_IHS, 192, 1, "IHS Link", "IHS", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_NHIA, 191, 1, "NHIA Derived Hisp Origin", "NHIA", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_NAPIIA, 193, 2, "Race--NAPIIA(derived API)", "NAPIIA", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_DX, 90, 3, "County at DX Reported", "DX Cty Code", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_STATE_DX, 80, 2, "Addr at DX--State", "DX State", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_DOLC, 1750, 8, "Date of Last Contact", "DOLC", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_VS, 1760, 1, "Vital Status", "VS", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_TYPE_RPT_SRC, 500, 1, "Type of Reporting Source", "Rpt Src", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COD, 1910, 4, "Cause of Death", "COD", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_SEER_COD_CLASS, 1914, 1, "SEER Cause Specific COD", "COD Spec", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SEER_COD_OTHER, 1915, 1, "SEER Other COD", "COD Other", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_ICD_REV_NUM, 1920, 1, "ICD Revision Number", "COD Rev#", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_SEQ_NUM_CTRL, 380, 2, "Sequence Number--Central", "Ctrl Seq#", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_PRIMARY_SITE, 400, 4, "Primary Site", "Site", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_HIST_O3, 522, 4, "Histologic Type ICD-O-3", "Hist(O3)", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_BEHAV_O3, 523, 1, "Behavior Code ICD-O-3", "Behav(O3)", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_DX_DATE, 390, 8, "Date of Diagnosis", "DX Dt", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_2000, 130, 6, "Census Tract 2000", "Cens 2000", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_2010, 135, 6, "Census Tract 2010", "Cens 2010", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_2020, 125, 6, "Census Tract 2020", "Cens 2020", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_POVERTY_INDICTR, 145, 1, "Census Tr Poverty Indictr", "Cens Pov", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_IHS_PRCDA, 194, 1, "IHS Purchased/Referred Care Delivery Area", "IHS PRCDA", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_UIHO, 284, 1, "Urban Indian Organization (UIO)", "UIO", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_UIHO_CITY, 285, 2, "Urban Indian Organization (UIO) Service Area", "UIO Serv Area", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_URIC_2000, 345, 1, "URIC 2000", "URIC 2000", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_URIC_2010, 346, 1, "URIC 2010", "URIC 2010", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_URIC_2020, 347, 1, "URIC 2020", "URIC 2020", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RUCA_2000, 339, 1, "RUCA 2000", "RUCA 2000", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RUCA_2010, 341, 1, "RUCA 2010", "RUCA 2010", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RUCA_2020, 342, 1, "RUCA 2020", "RUCA 2020", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RURAL_CONT_1993, 3300, 2, "RuralUrban Continuum 1993", "Rur Urb Cont 93", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RURAL_CONT_2003, 3310, 2, "RuralUrban Continuum 2003", "Rur Urb Cont 03", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_RURAL_CONT_2013, 3312, 2, "RuralUrban Continuum 2013", "Rur Urb Cont 13", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_VS_RECODE, 1762, 1, "Vital Status Recode", "VS Rec", DATA_LEVEL_PATIENT));
+            addField(fields, AlgorithmField.of(FIELD_SURV_DX_DATE_RECODE, 1788, 8, "Surv-Date DX Recode", "Surv DX", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_DATE_ACTIVE_FUP, 1782, 8, "Surv-Date Active Followup", "Surv Dt", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_DATE_PRESUMED_ALIVE, 1785, 8, "Surv-Date Presumed Alive", "Surv Dt PA", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_MONTH_ACTIVE_FUP, 1784, 4, "Surv-Mos Active Followup", "Surv", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_FLAG_ACTIVE_FUP, 1783, 1, "Surv-Flag Active Followup", "Surv Fg", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_MONTH_PRESUMED_ALIVE, 1787, 4, "Surv-Mos Presumed Alive", "Surv PA", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_FLAG_PRESUMED_ALIVE, 1786, 1, "Surv-Flag Presumed Alive", "Surv Fg PA", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SURV_REC_NUM_RECODE, 1775, 2, "Record Number Recode", "Rec Num", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_1990, 94, 3, "County at DX Geocode 1970/80/90", "Cty DX Geo708090", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2000, 95, 3, "County at DX Geocode2000", "Cty DX Geo00", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2010, 96, 3, "County at DX Geocode2010", "Cty DX Geo10", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_GEOCODE_2020, 97, 3, "County at DX Geocode2020", "Cty DX Geo20", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_19708090, 81, 2, "State at DX Geocode 1970/80/90", "State DX Geo708090", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2000, 82, 2, "State at DX Geocode 2000", "State Dx Geo00", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2010, 83, 2, "State at DX Geocode 2010", "State Dx Geo10", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_STATE_AT_DX_GEOCODE_2020, 84, 2, "State at DX Geocode 2020", "State Dx Geo20", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_CERTAINTY_708090, 364, 1, "Census Tr Cert 1970/80/90", "Cens Cert 70/80/90", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2000, 365, 1, "Census Tr Certainty 2000", "Cens Cert 2000", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2010, 367, 1, "Census Tr Certainty 2010", "Cens Cert 2010", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_CENSUS_CERTAINTY_2020, 369, 1, "Census Tract Certainty 2020", "Cens Cert 2020", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_ANALYSIS, 89, 3, "County at DX Analysis", "DX Anlys Cty", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_DATE_INITIAL_RX_SEER, 1260, 8, "Date Initial RX SEER", "Dt Init RX", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SCHEMA_ID, 3800, 5, "Schema ID", "Schema Id", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_GRADE_CLINICAL, 3843, 1, "Grade Clinical", "Grade Clin", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_GRADE_PATHOLOGICAL, 3844, 1, "Grade Pathological", "Grade Path", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_TUMOR_SIZE, 2800, 3, "CS Tumor Size", "CS Size", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_EOD_TUMOR_SIZE, 780, 3, "EOD--Tumor Size", "EOD Size", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_TUMOR_SIZE_SUMMARY, 756, 3, "Tumor Size Summary", "Tumor Size Summary", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_DERIVED_SUMMARY_GRADE_2018, 1975, 1, "Derived Summary Grade 2018", "Der Sum Grade 18", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_TUMOR_MARKER_1, 1150, 1, "Tumor Marker 1", "Tum Mark 1", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_TUMOR_MARKER_2, 1160, 1, "Tumor Marker 2", "Tum Mark 2", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_1, 2880, 3, "CS Site-Specific Factor 1", "SSF 1", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_2, 2890, 3, "CS Site-Specific Factor 2", "SSF 2", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_9, 2863, 3, "CS Site-Specific Factor 9", "SSF 9", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_11, 2865, 3, "CS Site-Specific Factor11", "SSF 11", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_13, 2867, 3, "CS Site-Specific Factor13", "SSF 13", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_14, 2868, 3, "CS Site-Specific Factor14", "SSF 14", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_SSF_15, 2869, 3, "CS Site-Specific Factor15", "SSF 15", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_ESTROGEN_RECEPTOR_SUMMARY, 3827, 1, "Estrogen Receptor Summary", "Est Rec Sum", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_PROGESTERONE_RECEPTOR_SUMMARY, 3915, 1, "Progesterone Receptor Summary", "Pro Rec Sum", DATA_LEVEL_TUMOR));
+            addField(fields, AlgorithmField.of(FIELD_HER2_OVERALL_SUMMARY, 3855, 1, "HER2 Overall Summary", "HER2 Ov Sum", DATA_LEVEL_TUMOR));
 
             // non-standard fields
-            addField(AlgorithmField.of(FIELD_NAPIIA_NEEDS_REVIEW, 9430, 1, "NAPIIA Needs Review", "NAPIIA Rev", DATA_LEVEL_PATIENT, false));
-            addField(AlgorithmField.of(FIELD_NAPIIA_REVIEW_REASON, 9431, 65, "NAPIIA Review Reason", "NAPIIA Rev Res", DATA_LEVEL_PATIENT, false));
-            addField(AlgorithmField.of(FIELD_SEER_SITE_RECODE, 9410, 5, "SEER Site Recode ICD-O-3", "Site Recode", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SEER_SITE_RECODE_2023, 9412, 2, "SEER Site Recode ICD-O-3 2023 Revision", "Site Recode 23", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SEER_SITE_RECODE_2023_EXPANDED, 9413, 2, "SEER Site Recode ICD-O-3 2023 Revision Expanded", "Site Recode 23 Exp", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SEER_BEHAV_RECODE, 9411, 1, "SEER Site Behavior Recode ICD-O-3", "SEER Behav", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_AYA_SITE_RECODE_2008, 9444, 2, "AYA Site Recode 2008", "AYA 08", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_AYA_SITE_RECODE_2020, 9445, 3, "AYA Site Recode 2020", "AYA 20", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ICCC, 9420, 3, "Int Class of Childhood Cancer (ICCC)", "ICCC", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ICCC_EXT, 9422, 3, "Int Class of Childhood Cancer (ICCC) Extended Code", "ICCC Ext", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_IARC_MP_INDICATOR, 9400, 1, "IARC Multiple Primary Indicator", "IARC MP", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_COUNTY_AT_DX_ANALYSIS_FLAG, 9440, 4, "County at DX Analysis Flag", "DX Anlys Cty Fg", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_IHS_PRCDA_2017, 9970, 1, "IHS PRCDA 2017", "IHS PRCDA 2017", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_YOST_QUINTILE_US, 9610, 1, "Yost Quintile (Across States)", "Yost US", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_YOST_QUINTILE_STATE, 9611, 1, "Yost Quintile (State Specific)", "Yost State", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_ALL_RACES, 9612, 6, "ACS Pct Poverty (All Races)", "ACS Pov All", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_WHITE, 9613, 6, "ACS Pct Poverty (2White)", "ACS Pov White", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_BLACK, 9614, 6, "ACS Pct Poverty (Black)", "ACS Pov Black", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_AIAN, 9615, 6, "ACS Pct Poverty (AIAN)", "ACS Pov AIAN", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_ASIAN_NHOPI, 9616, 6, "ACS Pct Poverty (2Asian/NHOPI)", "ACS Pov Asian/NHOPI", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_WHITE_NON_HISP, 9618, 6, "ACS Pct Poverty (White, Non-Hispanic)", "ACS Pov Non-Hispanic", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ACS_POV_HISP, 9619, 6, "ACS Pct Poverty (Hispanic)", "ACS Pov Hispanic", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_EPHT_2010_GEOID_5K, 9993, 11, "EPHT 2010 GEO ID 5K", "EPHT 5K", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_EPHT_2010_GEOID_20K, 9994, 11, "EPHT 2010 GEO ID 20K", "EPHT 20K", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_EPHT_2010_GEOID_50K, 9995, 11, "EPHT 2010 GEO ID 50K", "EPHT 50K", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_TRACT_EST_CONGRESS_DIST_118, 9405, 4, "Tract-Estimated 118th Congressional District", "Tract-Est 118", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_TRACT_EST_CONGRESS_DIST_119, 9406, 4, "Tract-Estimated 119th Congressional District", "Tract-Est 119", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_CANCER_REPORTING_ZONE, 9415, 10, "Cancer Reporting Zone", "Cancer Rpt Zone", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_CANCER_REPORTING_ZONE_TRACT_REQ, 9416, 1, "Census Tract Required for Cancer Reporting Zone", "Cancer Rpt Zone Tract Cert", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_PERSISTENT_POVERTY, 9625, 1, "Persistence Poverty", "Persist Pov", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SEER_BRAIN_CSN_RECODE_2020, 9455, 2, "SEER Brain/CNS Recode 2020", "Brain/CNS", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SEER_LYMPH_NEO_RECODE_2021, 9450, 2, "SEER Lymphoid Neoplasm Recode 2021", "Lymph 21", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_CDC_SVI_2018, 9600, 5, "CDC/ATSDR Social Vulnerability Index 2018", "CDC/ATSDR SVI 18", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_CDC_SVI_2022, 9601, 5, "CDC/ATSDR Social Vulnerability Index 2022", "CDC/ATSDR SVI 22", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_DAYS_TO_TREATMENT, 9750, 3, "Days from Diagnosis to Treatment", "Days to TX", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_TUMOR_SIZE_OVER_TIME, 9650, 3, "Tumor Size Over Time", "Tumor Size Over Time", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_RACE1_RECODE, 9460, 2, "Race 1 Recode", "Race 1 Recode", DATA_LEVEL_PATIENT, false));
-            addField(AlgorithmField.of(FIELD_SURV_DAYS_ACTIVE_FUP, 9753, 5, "Surv-Days Active Followup", "Surv Days", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_SURV_DAYS_PRESUMED_ALIVE, 9754, 5, "Surv-Days Presumed Alive", "Surv Days PA", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_ESTROGEN_RECEPTOR_SUM_RECODE, 9755, 1, "Estrogen Receptor Summary Recode", "ER Recode", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_PROGESTERONE_RECEPTOR_SUM_RECODE, 9756, 1, "Progesterone Receptor Summary Recode", "PR Recode", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_HER2_OVERALL_SUM_RECODE, 9757, 1, "HER2 Overall Summary Recode", "HER2 Recode", DATA_LEVEL_TUMOR, false));
-            addField(AlgorithmField.of(FIELD_BREAST_SUBTYPE, 9758, 1, "Breast Subtype", "Breast Sub", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_NAPIIA_NEEDS_REVIEW, 9430, 1, "NAPIIA Needs Review", "NAPIIA Rev", DATA_LEVEL_PATIENT, false));
+            addField(fields, AlgorithmField.of(FIELD_NAPIIA_REVIEW_REASON, 9431, 65, "NAPIIA Review Reason", "NAPIIA Rev Res", DATA_LEVEL_PATIENT, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_SITE_RECODE, 9410, 5, "SEER Site Recode ICD-O-3", "Site Recode", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_SITE_RECODE_2023, 9412, 2, "SEER Site Recode ICD-O-3 2023 Revision", "Site Recode 23", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_SITE_RECODE_2023_EXPANDED, 9413, 2, "SEER Site Recode ICD-O-3 2023 Revision Expanded", "Site Recode 23 Exp", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_BEHAV_RECODE, 9411, 1, "SEER Site Behavior Recode ICD-O-3", "SEER Behav", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_AYA_SITE_RECODE_2008, 9444, 2, "AYA Site Recode 2008", "AYA 08", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_AYA_SITE_RECODE_2020, 9445, 3, "AYA Site Recode 2020", "AYA 20", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ICCC, 9420, 3, "Int Class of Childhood Cancer (ICCC)", "ICCC", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ICCC_EXT, 9422, 3, "Int Class of Childhood Cancer (ICCC) Extended Code", "ICCC Ext", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_IARC_MP_INDICATOR, 9400, 1, "IARC Multiple Primary Indicator", "IARC MP", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_COUNTY_AT_DX_ANALYSIS_FLAG, 9440, 4, "County at DX Analysis Flag", "DX Anlys Cty Fg", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_IHS_PRCDA_2017, 9970, 1, "IHS PRCDA 2017", "IHS PRCDA 2017", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_YOST_QUINTILE_US, 9610, 1, "Yost Quintile (Across States)", "Yost US", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_YOST_QUINTILE_STATE, 9611, 1, "Yost Quintile (State Specific)", "Yost State", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_ALL_RACES, 9612, 6, "ACS Pct Poverty (All Races)", "ACS Pov All", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_WHITE, 9613, 6, "ACS Pct Poverty (2White)", "ACS Pov White", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_BLACK, 9614, 6, "ACS Pct Poverty (Black)", "ACS Pov Black", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_AIAN, 9615, 6, "ACS Pct Poverty (AIAN)", "ACS Pov AIAN", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_ASIAN_NHOPI, 9616, 6, "ACS Pct Poverty (2Asian/NHOPI)", "ACS Pov Asian/NHOPI", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_WHITE_NON_HISP, 9618, 6, "ACS Pct Poverty (White, Non-Hispanic)", "ACS Pov Non-Hispanic", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ACS_POV_HISP, 9619, 6, "ACS Pct Poverty (Hispanic)", "ACS Pov Hispanic", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_EPHT_2010_GEOID_5K, 9993, 11, "EPHT 2010 GEO ID 5K", "EPHT 5K", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_EPHT_2010_GEOID_20K, 9994, 11, "EPHT 2010 GEO ID 20K", "EPHT 20K", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_EPHT_2010_GEOID_50K, 9995, 11, "EPHT 2010 GEO ID 50K", "EPHT 50K", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_TRACT_EST_CONGRESS_DIST_118, 9405, 4, "Tract-Estimated 118th Congressional District", "Tract-Est 118", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_TRACT_EST_CONGRESS_DIST_119, 9406, 4, "Tract-Estimated 119th Congressional District", "Tract-Est 119", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_CANCER_REPORTING_ZONE, 9415, 10, "Cancer Reporting Zone", "Cancer Rpt Zone", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_CANCER_REPORTING_ZONE_TRACT_REQ, 9416, 1, "Census Tract Required for Cancer Reporting Zone", "Cancer Rpt Zone Tract Cert", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_PERSISTENT_POVERTY, 9625, 1, "Persistence Poverty", "Persist Pov", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_BRAIN_CSN_RECODE_2020, 9455, 2, "SEER Brain/CNS Recode 2020", "Brain/CNS", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SEER_LYMPH_NEO_RECODE_2021, 9450, 2, "SEER Lymphoid Neoplasm Recode 2021", "Lymph 21", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_CDC_SVI_2018, 9600, 5, "CDC/ATSDR Social Vulnerability Index 2018", "CDC/ATSDR SVI 18", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_CDC_SVI_2022, 9601, 5, "CDC/ATSDR Social Vulnerability Index 2022", "CDC/ATSDR SVI 22", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_DAYS_TO_TREATMENT, 9750, 3, "Days from Diagnosis to Treatment", "Days to TX", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_TUMOR_SIZE_OVER_TIME, 9650, 3, "Tumor Size Over Time", "Tumor Size Over Time", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_RACE1_RECODE, 9460, 2, "Race 1 Recode", "Race 1 Recode", DATA_LEVEL_PATIENT, false));
+            addField(fields, AlgorithmField.of(FIELD_SURV_DAYS_ACTIVE_FUP, 9753, 5, "Surv-Days Active Followup", "Surv Days", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_SURV_DAYS_PRESUMED_ALIVE, 9754, 5, "Surv-Days Presumed Alive", "Surv Days PA", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_ESTROGEN_RECEPTOR_SUM_RECODE, 9755, 1, "Estrogen Receptor Summary Recode", "ER Recode", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_PROGESTERONE_RECEPTOR_SUM_RECODE, 9756, 1, "Progesterone Receptor Summary Recode", "PR Recode", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_HER2_OVERALL_SUM_RECODE, 9757, 1, "HER2 Overall Summary Recode", "HER2 Recode", DATA_LEVEL_TUMOR, false));
+            addField(fields, AlgorithmField.of(FIELD_BREAST_SUBTYPE, 9758, 1, "Breast Subtype", "Breast Sub", DATA_LEVEL_TUMOR, false));
+
+            // the algorithms look up their fields when they are created, so the fields need to be published first
+            _CACHED_FIELDS = Collections.unmodifiableMap(fields);
 
             // algorithms
-            addAlgorithm(new NhiaAlgorithm());
-            addAlgorithm(new NapiiaAlgorithm());
-            addAlgorithm(new DeathClassificationAlgorithm());
-            addAlgorithm(new CensusTractPovertyIndicatorAlgorithm());
-            addAlgorithm(new SurvivalTimeAlgorithm());
-            addAlgorithm(new RuralUrbanAlgorithm());
-            addAlgorithm(new SeerSiteRecodeAlgorithm());
-            addAlgorithm(new SeerSiteRecode2023Algorithm());
-            addAlgorithm(new SeerBehaviorRecodeAlgorithm());
-            addAlgorithm(new BrainCnsRecodeAlgorithm2020());
-            addAlgorithm(new AyaSiteRecodeAlgorithm2008());
-            addAlgorithm(new AyaSiteRecodeAlgorithm2020());
-            addAlgorithm(new IcccAlgorithm());
-            addAlgorithm(new IarcAlgorithm());
-            addAlgorithm(new CountyAtDxAnalysisAlgorithm());
-            addAlgorithm(new PrcdaAlgorithm());
-            addAlgorithm(new UihoAlgorithm());
-            addAlgorithm(new YostAcsPovertyAlgorithm());
-            addAlgorithm(new EphtSubCountyAlgorithm());
-            addAlgorithm(new TractEstCongressDistAlgorithm());
-            addAlgorithm(new CancerReportingZoneAlgorithm());
-            addAlgorithm(new PersistentPovertyAlgorithm());
-            addAlgorithm(new LymphoidNeoplasmRecodeAlgorithm2021());
-            addAlgorithm(new SocialVulnerabilityAlgorithm());
-            addAlgorithm(new DaysToTreatmentAlgorithm());
-            addAlgorithm(new DerivedSummaryGradeAlgorithm2018());
-            addAlgorithm(new TumorSizeOverTimeAlgorithm());
-            addAlgorithm(new Race1RecodeAlgorithm());
-            addAlgorithm(new BreastCategoryAlgorithm());
-        }
-        finally {
-            _LOCK.writeLock().unlock();
+            addAlgorithm(algorithms, new NhiaAlgorithm());
+            addAlgorithm(algorithms, new NapiiaAlgorithm());
+            addAlgorithm(algorithms, new DeathClassificationAlgorithm());
+            addAlgorithm(algorithms, new CensusTractPovertyIndicatorAlgorithm());
+            addAlgorithm(algorithms, new SurvivalTimeAlgorithm());
+            addAlgorithm(algorithms, new RuralUrbanAlgorithm());
+            addAlgorithm(algorithms, new SeerSiteRecodeAlgorithm());
+            addAlgorithm(algorithms, new SeerSiteRecode2023Algorithm());
+            addAlgorithm(algorithms, new SeerBehaviorRecodeAlgorithm());
+            addAlgorithm(algorithms, new BrainCnsRecodeAlgorithm2020());
+            addAlgorithm(algorithms, new AyaSiteRecodeAlgorithm2008());
+            addAlgorithm(algorithms, new AyaSiteRecodeAlgorithm2020());
+            addAlgorithm(algorithms, new IcccAlgorithm());
+            addAlgorithm(algorithms, new IarcAlgorithm());
+            addAlgorithm(algorithms, new CountyAtDxAnalysisAlgorithm());
+            addAlgorithm(algorithms, new PrcdaAlgorithm());
+            addAlgorithm(algorithms, new UihoAlgorithm());
+            addAlgorithm(algorithms, new YostAcsPovertyAlgorithm());
+            addAlgorithm(algorithms, new EphtSubCountyAlgorithm());
+            addAlgorithm(algorithms, new TractEstCongressDistAlgorithm());
+            addAlgorithm(algorithms, new CancerReportingZoneAlgorithm());
+            addAlgorithm(algorithms, new PersistentPovertyAlgorithm());
+            addAlgorithm(algorithms, new LymphoidNeoplasmRecodeAlgorithm2021());
+            addAlgorithm(algorithms, new SocialVulnerabilityAlgorithm());
+            addAlgorithm(algorithms, new DaysToTreatmentAlgorithm());
+            addAlgorithm(algorithms, new DerivedSummaryGradeAlgorithm2018());
+            addAlgorithm(algorithms, new TumorSizeOverTimeAlgorithm());
+            addAlgorithm(algorithms, new Race1RecodeAlgorithm());
+            addAlgorithm(algorithms, new BreastCategoryAlgorithm());
+
+            publishAlgorithms(algorithms);
         }
     }
 
-    private static void addField(AlgorithmField field) {
+    private static void addField(Map<String, AlgorithmField> fields, AlgorithmField field) {
         if (field.getId() == null)
             throw new IllegalStateException("Field ID is required!");
-        if (Algorithms._CACHED_FIELDS.containsKey(field.getId()))
+        if (fields.containsKey(field.getId()))
             throw new IllegalStateException("Field ID '" + field.getId() + "' has already been registered!");
 
-        Algorithms._CACHED_FIELDS.put(field.getId(), field);
+        fields.put(field.getId(), field);
     }
 
-    private static void addAlgorithm(Algorithm algorithm) {
+    private static void addAlgorithm(Map<String, Algorithm> algorithms, Algorithm algorithm) {
         if (algorithm.getId() == null)
             throw new IllegalStateException("Algorithm ID is required!");
-        if (Algorithms._CACHED_ALGORITHMS.containsKey(algorithm.getId()))
+        if (algorithms.containsKey(algorithm.getId()))
             throw new IllegalStateException("Algorithm ID '" + algorithm.getId() + "' has already been registered!");
 
-        Algorithms._CACHED_ALGORITHMS.put(algorithm.getId(), algorithm);
+        algorithms.put(algorithm.getId(), algorithm);
+    }
+
+    // must be called while holding the lock
+    private static void publishAlgorithms(Map<String, Algorithm> algorithms) {
+        _CACHED_ALGORITHMS_LIST = Collections.unmodifiableList(new ArrayList<>(algorithms.values()));
+        _CACHED_ALGORITHMS = Collections.unmodifiableMap(algorithms);
     }
 
     /**
@@ -458,12 +487,10 @@ public final class Algorithms {
         if (algorithm.getId() == null)
             throw new IllegalStateException("Algorithm ID is required!");
 
-        _LOCK.writeLock().lock();
-        try {
-            _CACHED_ALGORITHMS.put(algorithm.getId(), algorithm);
-        }
-        finally {
-            _LOCK.writeLock().unlock();
+        synchronized (_LOCK) {
+            Map<String, Algorithm> algorithms = new HashMap<>(_CACHED_ALGORITHMS);
+            algorithms.put(algorithm.getId(), algorithm);
+            publishAlgorithms(algorithms);
         }
     }
 
@@ -474,41 +501,126 @@ public final class Algorithms {
         if (algorithm.getId() == null)
             throw new IllegalStateException("Algorithm ID is required!");
 
-        _LOCK.writeLock().lock();
-        try {
-            _CACHED_ALGORITHMS.remove(algorithm.getId());
-        }
-        finally {
-            _LOCK.writeLock().unlock();
+        synchronized (_LOCK) {
+            Map<String, Algorithm> algorithms = new HashMap<>(_CACHED_ALGORITHMS);
+            algorithms.remove(algorithm.getId());
+            publishAlgorithms(algorithms);
         }
     }
 
     /**
-     * Returns all the registered algorithms.
+     * Returns all the registered algorithms (the returned list is unmodifiable).
      */
     public static List<Algorithm> getAlgorithms() {
-        _LOCK.readLock().lock();
-        try {
-            return new ArrayList<>(_CACHED_ALGORITHMS.values());
-        }
-        finally {
-            _LOCK.readLock().unlock();
-        }
+        List<Algorithm> algorithms = _CACHED_ALGORITHMS_LIST;
+        if (_LISTENER == null)
+            return algorithms;
+
+        List<Algorithm> result = new ArrayList<>(algorithms.size());
+        for (Algorithm algorithm : algorithms)
+            result.add(instrument(algorithm));
+        return Collections.unmodifiableList(result);
     }
 
     /**
      * Returns the algorithm for the requested ID; null if not found.
      */
     public static Algorithm getAlgorithm(String algorithmId) {
-        _LOCK.readLock().lock();
+        Map<String, Algorithm> algorithms = _CACHED_ALGORITHMS;
+        if (algorithms.isEmpty())
+            throw new IllegalStateException("Algorithms have not been initialized!");
+        return instrument(algorithms.get(algorithmId));
+    }
+
+    /**
+     * Loads the reference data needed by the requested algorithms (see Algorithm.getDataLoaders()) instead of lazily loading it during their first
+     * execution; this method blocks until all the data is loaded.
+     * <br/><br/>
+     * The data is loaded in parallel using the provided executor; data shared by several algorithms is loaded only once. The census related
+     * data is loaded for all the states (use CountryData.preload() to load it for specific states only), reading the tract data a single time
+     * for the regular and year-based datasets. When a tract data budget is set (see CountryData.setTractDataBudget()), the tract data is not
+     * loaded (and not reported); the states are lazily loaded during the executions and the budget is respected.
+     * @param algorithmIds IDs of the algorithms to warm up, null means all the registered algorithms
+     * @param executor executor used to load the data, cannot be null
+     * @return the loading time of each data (in nanoseconds), keyed by data name; data that was already loaded is reported with a very small time
+     */
+    public static Map<String, Long> warmUp(Set<String> algorithmIds, Executor executor) {
+        if (executor == null)
+            throw new IllegalArgumentException("Executor is required");
+
+        Map<String, Algorithm> algorithms = _CACHED_ALGORITHMS;
+        if (algorithms.isEmpty())
+            throw new IllegalStateException("Algorithms have not been initialized!");
+
+        // the country datasets are combined so they can be loaded together
+        Map<String, Runnable> loaders = new LinkedHashMap<>();
+        Set<DatasetKind> countryDatasets = EnumSet.noneOf(DatasetKind.class);
+        for (String algorithmId : algorithmIds == null ? algorithms.keySet() : algorithmIds) {
+            Algorithm algorithm = algorithms.get(algorithmId);
+            if (algorithm == null)
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithmId);
+            algorithm.getDataLoaders().forEach((name, loader) -> {
+                if (loader instanceof CountryDataLoader countryDataLoader)
+                    countryDatasets.add(countryDataLoader.getDataset());
+                else
+                    loaders.putIfAbsent(name, loader);
+            });
+        }
+
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(loaders.size());
+        loaders.forEach((name, loader) -> futures.add(CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            loader.run();
+            result.put(name, System.nanoTime() - start);
+        }, executor)));
+        if (!countryDatasets.isEmpty()) {
+            long start = System.nanoTime();
+            futures.add(CountryDataLoader.preload(countryDatasets, executor,
+                    (dataset, numLoaded, numRequested) -> result.put(CountryDataLoader.getName(dataset), System.nanoTime() - start)));
+        }
+
         try {
-            if (_CACHED_ALGORITHMS.isEmpty())
-                throw new IllegalStateException("Algorithms have not been initialized!");
-            return _CACHED_ALGORITHMS.get(algorithmId);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null)
+                cause = cause.getCause();
+            throw new IllegalStateException("Unable to load the data of the algorithms", cause);
         }
-        finally {
-            _LOCK.readLock().unlock();
+
+        return new TreeMap<>(result);
+    }
+
+    /**
+     * Registers the listener notified of the executions of the algorithms and of the loading of their data; null removes the current listener.
+     * <br/><br/>
+     * When a listener is registered, the algorithms returned by getAlgorithm() and getAlgorithms() are instrumented; when no listener is
+     * registered (the default), the algorithms are returned as-is and there is no overhead.
+     */
+    public static void setListener(AlgorithmListener listener) {
+        _LISTENER = listener;
+    }
+
+    /**
+     * Returns the registered listener, null if no listener is registered.
+     */
+    public static AlgorithmListener getListener() {
+        return _LISTENER;
+    }
+
+    private static Algorithm instrument(Algorithm algorithm) {
+        if (algorithm == null || _LISTENER == null)
+            return algorithm;
+
+        // the instrumented algorithms are re-used, unless the algorithm was replaced by a new registration
+        InstrumentedAlgorithm instrumented = _INSTRUMENTED_ALGORITHMS.get(algorithm.getId());
+        if (instrumented == null || instrumented.getDelegate() != algorithm) {
+            instrumented = new InstrumentedAlgorithm(algorithm);
+            _INSTRUMENTED_ALGORITHMS.put(algorithm.getId(), instrumented);
         }
+        return instrumented;
     }
 
     /**
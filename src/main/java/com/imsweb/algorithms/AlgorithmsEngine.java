@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Executes a set of registered algorithms on a stream of patients, using several threads.
+ * <br/><br/>
+ * The patients are read from the provided stream (or iterator) as they are needed: at most "queue capacity" batches of patients are in progress
+ * at any given time, so the entire input never needs to fit in memory. The patients are processed in batches, following the plan of the
+ * algorithms (see AlgorithmsPlan), and the results are provided to a consumer, either in the order of the input patients or as soon as they
+ * are available.
+ * <br/><br/>
+ * The consumer is always called from the thread calling the process() method, so it doesn't need to be thread-safe. An engine can be re-used
+ * but shouldn't be modified while it's processing patients.
+ */
+public class AlgorithmsEngine {
+
+    // the plan of the algorithms to execute
+    private final AlgorithmsPlan _plan;
+
+    // the parameters provided to the algorithms
+    private Map<String, Object> _parameters;
+
+    // the number of threads used to execute the algorithms (ignored if an executor is provided)
+    private int _parallelism;
+
+    // the maximum number of batches in progress (submitted but not yet provided to the consumer); 0 means four times the parallelism
+    private int _queueCapacity;
+
+    // the number of patients processed as a single task
+    private int _batchSize;
+
+    // whether the results need to be provided in the order of the input patients
+    private boolean _preserveOrder;
+
+    // whether the outputs need to be written directly into the input patients and tumors
+    private boolean _inPlace;
+
+    // optional executor; if not provided, a pool of "parallelism" threads is created for every process() call
+    private Executor _executor;
+
+    /**
+     * Creates an engine executing all the registered algorithms.
+     */
+    public AlgorithmsEngine() {
+        this(AlgorithmsPlan.ofAlgorithms(Algorithms.getAlgorithms()));
+    }
+
+    /**
+     * Creates an engine executing the requested algorithms; algorithms consuming fields produced by other algorithms are executed after them.
+     * @param algorithmIds the IDs of the algorithms to execute, they must be registered
+     */
+    public AlgorithmsEngine(List<String> algorithmIds) {
+        this(AlgorithmsPlan.of(algorithmIds));
+    }
+
+    /**
+     * Creates an engine executing the provided plan.
+     * @param plan the plan to execute
+     */
+    public AlgorithmsEngine(AlgorithmsPlan plan) {
+        if (plan == null)
+            throw new IllegalArgumentException("Plan is required");
+        _plan = plan;
+        _parallelism = Runtime.getRuntime().availableProcessors();
+        _batchSize = 64;
+        _preserveOrder = true;
+    }
+
+    public AlgorithmsPlan getPlan() {
+        return _plan;
+    }
+
+    public Map<String, Object> getParameters() {
+        return _parameters;
+    }
+
+    public void setParameters(Map<String, Object> parameters) {
+        _parameters = parameters;
+    }
+
+    public int getParallelism() {
+        return _parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        _parallelism = parallelism;
+    }
+
+    public int getQueueCapacity() {
+        return _queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 0)
+            throw new IllegalArgumentException("Queue capacity cannot be negative");
+        _queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return _batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        _batchSize = batchSize;
+    }
+
+    public boolean isPreserveOrder() {
+        return _preserveOrder;
+    }
+
+    public void setPreserveOrder(boolean preserveOrder) {
+        _preserveOrder = preserveOrder;
+    }
+
+    public boolean isInPlace() {
+        return _inPlace;
+    }
+
+    /**
+     * If set to true, the outputs are written directly into the input patient and tumor maps (see AlgorithmsPlan.executeInPlace()) instead of
+     * being returned as new maps; the consumer then receives the modified input patients with a null output. The input maps must be modifiable.
+     */
+    public void setInPlace(boolean inPlace) {
+        _inPlace = inPlace;
+    }
+
+    public Executor getExecutor() {
+        return _executor;
+    }
+
+    /**
+     * Sets the executor used to execute the algorithms (for example a virtual thread executor); the engine doesn't shut it down. When an executor
+     * is provided, the number of batches executed at the same time is limited by the queue capacity instead of the parallelism.
+     */
+    public void setExecutor(Executor executor) {
+        _executor = executor;
+    }
+
+    /**
+     * Executes the algorithms on the provided patients, and provides each patient with its output to the consumer.
+     * @param patients the patients to process (keyed by field IDs, with the special tumors field)
+     * @param consumer the consumer receiving each input patient with its (combined) output
+     */
+    public void process(Stream<Map<String, Object>> patients, BiConsumer<Map<String, Object>, AlgorithmOutput> consumer) {
+        process(patients.iterator(), consumer);
+    }
+
+    /**
+     * Executes the algorithms on the provided patients, and provides each patient with its output to the consumer.
+     * <br/><br/>
+     * The output of a patient combines the outputs of all the algorithms (see AlgorithmsPlan.executeBatch()); the input patients are not modified,
+     * unless the engine is in in-place mode (see setInPlace()), in which case the outputs are written into the input patients and the consumer
+     * receives a null output.
+     * @param patients the patients to process (keyed by field IDs, with the special tumors field)
+     * @param consumer the consumer receiving each input patient with its (combined) output
+     */
+    public void process(Iterator<Map<String, Object>> patients, BiConsumer<Map<String, Object>, AlgorithmOutput> consumer) {
+        if (patients == null)
+            throw new IllegalArgumentException("Patients are required");
+        if (consumer == null)
+            throw new IllegalArgumentException("Consumer is required");
+
+        ExecutorService pool = _executor == null ? Executors.newFixedThreadPool(_parallelism) : null;
+        Executor executor = _executor == null ? pool : _executor;
+        int capacity = _queueCapacity == 0 ? _parallelism * 4 : _queueCapacity;
+        try {
+            BlockingQueue<ExecutedBatch> executed = new LinkedBlockingQueue<>();
+            Map<Long, ExecutedBatch> pending = new HashMap<>();
+            long numSubmitted = 0;
+            long numDelivered = 0;
+            while (true) {
+                // submit new batches as long as there is room for them
+                if (numSubmitted - numDelivered < capacity && patients.hasNext()) {
+                    List<Map<String, Object>> batch = new ArrayList<>(_batchSize);
+                    while (batch.size() < _batchSize && patients.hasNext())
+                        batch.add(patients.next());
+                    long index = numSubmitted++;
+                    CompletableFuture.supplyAsync(() -> execute(batch), executor).whenComplete((outputs, error) -> executed.add(new ExecutedBatch(index, batch, outputs, error)));
+                    continue;
+                }
+                if (numSubmitted == numDelivered)
+                    break;
+
+                // wait for the next executed batch and provide all the results that can be provided
+                ExecutedBatch batch = executed.take();
+                if (batch._error != null)
+                    throw new IllegalStateException("Unable to execute algorithms", batch._error instanceof CompletionException ? batch._error.getCause() : batch._error);
+                if (!_preserveOrder) {
+                    batch.deliver(consumer);
+                    numDelivered++;
+                }
+                else {
+                    pending.put(batch._index, batch);
+                    while (pending.containsKey(numDelivered))
+                        pending.remove(numDelivered++).deliver(consumer);
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing algorithms", e);
+        }
+        finally {
+            if (pool != null)
+                pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes the algorithms on the provided patients, returns the combined outputs (in the same order as the patients), or null in in-place mode.
+     */
+    private List<AlgorithmOutput> execute(List<Map<String, Object>> patients) {
+        List<AlgorithmInput> inputs = new ArrayList<>(patients.size());
+        for (Map<String, Object> patient : patients) {
+            AlgorithmInput input = new AlgorithmInput();
+            input.setParameters(_parameters);
+            input.setPatient(patient);
+            inputs.add(input);
+        }
+        if (_inPlace) {
+            _plan.executeInPlace(inputs);
+            return null;
+        }
+        return _plan.executeBatch(inputs);
+    }
+
+    /**
+     * A batch of patients that was executed (successfully or not).
+     */
+    private static final class ExecutedBatch {
+
+        private final long _index;
+        private final List<Map<String, Object>> _patients;
+        private final List<AlgorithmOutput> _outputs;
+        private final Throwable _error;
+
+        private ExecutedBatch(long index, List<Map<String, Object>> patients, List<AlgorithmOutput> outputs, Throwable error) {
+            _index = index;
+            _patients = patients;
+            _outputs = outputs;
+            _error = error;
+        }
+
+        private void deliver(BiConsumer<Map<String, Object>, AlgorithmOutput> consumer) {
+            for (int i = 0; i < _patients.size(); i++)
+                consumer.accept(_patients.get(i), _outputs == null ? null : _outputs.get(i));
+        }
+    }
+}
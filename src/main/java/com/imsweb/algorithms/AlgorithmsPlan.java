@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.imsweb.algorithms.internal.Utils;
+
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMORS;
+
+/**
+ * Execution plan of several algorithms, some of them consuming fields produced by others.
+ * <br/><br/>
+ * The plan is built from the input and output fields of the algorithms: if an algorithm consumes a field produced by another algorithm of the
+ * plan, the producer is executed first and its output is fed to the consumer. The algorithms are executed in a topological order of those
+ * dependencies; algorithms that don't depend on each other are executed in the requested order.
+ * <br/><br/>
+ * A plan is immutable and can be shared between threads.
+ */
+public class AlgorithmsPlan {
+
+    // the algorithms, in the order they need to be executed
+    private final List<Algorithm> _algorithms;
+
+    // the dependencies of each algorithm (keyed by algorithm ID), the values are the IDs of the algorithms it depends on
+    private final Map<String, Set<String>> _dependencies;
+
+    /**
+     * Creates the plan for the requested algorithms.
+     * @param algorithmIds the IDs of the algorithms to execute, they must be registered
+     * @return the corresponding plan
+     */
+    public static AlgorithmsPlan of(Collection<String> algorithmIds) {
+        if (algorithmIds == null)
+            throw new IllegalArgumentException("Algorithm IDs are required");
+
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(algorithmIds)) {
+            Algorithm algorithm = Algorithms.getAlgorithm(id);
+            if (algorithm == null)
+                throw new IllegalArgumentException("Unknown algorithm: " + id);
+            algorithms.add(algorithm);
+        }
+
+        return ofAlgorithms(algorithms);
+    }
+
+    /**
+     * Creates the plan for the provided algorithms (they don't need to be registered).
+     * @param algorithms the algorithms to execute
+     * @return the corresponding plan
+     */
+    public static AlgorithmsPlan ofAlgorithms(Collection<Algorithm> algorithms) {
+        if (algorithms == null || algorithms.isEmpty())
+            throw new IllegalArgumentException("At least one algorithm is required");
+
+        // find which algorithm produces each field
+        Map<String, List<String>> producers = new HashMap<>();
+        Map<String, Algorithm> algorithmsById = new LinkedHashMap<>();
+        for (Algorithm algorithm : algorithms) {
+            if (algorithmsById.put(algorithm.getId(), algorithm) != null)
+                throw new IllegalArgumentException("Algorithm '" + algorithm.getId() + "' was provided more than once");
+            for (AlgorithmField field : algorithm.getOutputFields())
+                producers.computeIfAbsent(field.getId(), k -> new ArrayList<>()).add(algorithm.getId());
+        }
+
+        // an algorithm depends on all the (other) algorithms producing one of its input fields
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        for (Algorithm algorithm : algorithmsById.values()) {
+            Set<String> dependsOn = new LinkedHashSet<>();
+            for (AlgorithmField field : algorithm.getInputFields()) {
+                List<String> fieldProducers = new ArrayList<>(producers.getOrDefault(field.getId(), Collections.emptyList()));
+                fieldProducers.remove(algorithm.getId());
+                if (fieldProducers.size() > 1)
+                    throw new IllegalStateException("Field '" + field.getId() + "' needed by '" + algorithm.getId() + "' is produced by several algorithms: " + fieldProducers);
+                dependsOn.addAll(fieldProducers);
+            }
+            dependencies.put(algorithm.getId(), Collections.unmodifiableSet(dependsOn));
+        }
+
+        // topological sort; the requested order is kept for the algorithms that don't depend on each other
+        List<Algorithm> sorted = new ArrayList<>();
+        Set<String> done = new LinkedHashSet<>();
+        while (sorted.size() < algorithmsById.size()) {
+            Algorithm next = null;
+            for (Algorithm algorithm : algorithmsById.values()) {
+                if (!done.contains(algorithm.getId()) && done.containsAll(dependencies.get(algorithm.getId()))) {
+                    next = algorithm;
+                    break;
+                }
+            }
+            if (next == null) {
+                List<String> remaining = new ArrayList<>(algorithmsById.keySet());
+                remaining.removeAll(done);
+                throw new IllegalStateException("Circular dependency between algorithms: " + remaining);
+            }
+            sorted.add(next);
+            done.add(next.getId());
+        }
+
+        return new AlgorithmsPlan(sorted, dependencies);
+    }
+
+    private AlgorithmsPlan(List<Algorithm> algorithms, Map<String, Set<String>> dependencies) {
+        _algorithms = Collections.unmodifiableList(algorithms);
+        _dependencies = Collections.unmodifiableMap(dependencies);
+    }
+
+    /**
+     * Returns the algorithms, in the order they will be executed.
+     */
+    public List<Algorithm> getAlgorithms() {
+        return _algorithms;
+    }
+
+    /**
+     * Returns the IDs of the algorithms the requested algorithm depends on (empty if it doesn't depend on any other algorithm of this plan).
+     */
+    public Set<String> getDependencies(String algorithmId) {
+        return _dependencies.getOrDefault(algorithmId, Collections.emptySet());
+    }
+
+    /**
+     * Executes the algorithms of this plan for the given input; the provided input is not modified.
+     * @param input the input
+     * @return the combined output of all the algorithms
+     */
+    public AlgorithmOutput execute(AlgorithmInput input) {
+        return executeBatch(Collections.singletonList(input)).getFirst();
+    }
+
+    /**
+     * Executes the algorithms of this plan for each of the given inputs; the provided inputs are not modified.
+     * <br/><br/>
+     * The output of each input combines the outputs of all the algorithms: the patient-level fields are in the patient map, the tumor-level
+     * fields are in the maps of the tumors list (in the same order as the input tumors).
+     * @param inputs the inputs
+     * @return the combined outputs, in the same order as the inputs
+     */
+    public List<AlgorithmOutput> executeBatch(List<AlgorithmInput> inputs) {
+        boolean feedForward = _dependencies.values().stream().anyMatch(dependsOn -> !dependsOn.isEmpty());
+
+        // the outputs are fed to the next algorithms using copies of the input patients
+        List<AlgorithmInput> workingInputs = new ArrayList<>(inputs.size());
+        List<Map<String, Object>> outputPatients = new ArrayList<>(inputs.size());
+        for (AlgorithmInput input : inputs) {
+            if (feedForward) {
+                AlgorithmInput workingInput = new AlgorithmInput();
+                workingInput.setParameters(input.getParameters());
+                workingInput.setPatient(copyPatient(Utils.extractPatient(input)));
+                workingInputs.add(workingInput);
+            }
+            else
+                workingInputs.add(input);
+            outputPatients.add(Utils.createPatientOutput());
+        }
+
+        for (Algorithm algorithm : _algorithms) {
+            List<AlgorithmOutput> outputs = algorithm.executeBatch(workingInputs);
+            for (int i = 0; i < outputs.size(); i++) {
+                Utils.mergeOutput(outputPatients.get(i), outputs.get(i).getPatient());
+                if (feedForward)
+                    Utils.mergeOutput(workingInputs.get(i).getPatient(), outputs.get(i).getPatient());
+            }
+        }
+
+        List<AlgorithmOutput> result = new ArrayList<>(outputPatients.size());
+        for (Map<String, Object> outputPatient : outputPatients)
+            result.add(AlgorithmOutput.of(outputPatient));
+        return result;
+    }
+
+    /**
+     * Executes the algorithms of this plan for each of the given inputs, writing the outputs directly into the input patients and tumors (see
+     * Algorithm.executeInPlace()); the outputs are naturally fed to the next algorithms.
+     * @param inputs the inputs, their patient and tumor maps must be modifiable
+     */
+    public void executeInPlace(List<AlgorithmInput> inputs) {
+        for (Algorithm algorithm : _algorithms)
+            for (AlgorithmInput input : inputs)
+                algorithm.executeInPlace(input);
+    }
+
+    /**
+     * Executes the algorithms of this plan for the given record, writing the outputs directly into the record.
+     * @param record the record
+     * @param parameters the parameters, can be null
+     */
+    public void executeInPlace(PatientRecord record, Map<String, Object> parameters) {
+        for (Algorithm algorithm : _algorithms)
+            algorithm.execute(record, parameters, record);
+    }
+
+    private static Map<String, Object> copyPatient(Map<String, Object> patient) {
+        Map<String, Object> copy = new HashMap<>(patient);
+        List<Map<String, Object>> tumors = new ArrayList<>();
+        for (Map<String, Object> tumor : Utils.extractTumors(patient))
+            tumors.add(new HashMap<>(tumor));
+        copy.put(FIELD_TUMORS, tumors);
+        return copy;
+    }
+}
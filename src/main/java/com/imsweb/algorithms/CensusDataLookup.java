@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.Objects;
+
+import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
+import com.imsweb.algorithms.internal.CensusData;
+import com.imsweb.algorithms.internal.CountryData;
+
+/**
+ * Resolves the census data of a tumor, remembering the last few state/county/tract combinations so several tract-based algorithms computed for
+ * the same tumor don't have to look up the same census data every time (see the utility methods of those algorithms that accept a lookup).
+ * <br/><br/>
+ * A lookup is meant to be created for a single tumor and then discarded: it is not thread-safe, and it keeps returning the census data it
+ * resolved even if the census data is changed afterward (for example, because a new tract data source is registered). The regular and
+ * year-based tract data are remembered separately since they can be initialized at different times.
+ * <br/><br/>
+ * The DIRECT lookup doesn't remember anything and always goes to the registered census data; it's the one to use when the data is resolved only once.
+ */
+public final class CensusDataLookup {
+
+    /**
+     * A lookup that doesn't remember anything (and therefore can be shared by any thread).
+     */
+    public static final CensusDataLookup DIRECT = new CensusDataLookup(false);
+
+    // a tumor uses up to three tracts (2000, 2010 and 2020)
+    private static final int _CACHE_SIZE = 4;
+
+    // resolved regular tract data, null for the direct lookup
+    private final Memo _tractData;
+
+    // resolved year-based tract data, null for the direct lookup
+    private final Memo _yearBasedTractData;
+
+    /**
+     * Creates a lookup for a single tumor.
+     */
+    public CensusDataLookup() {
+        this(true);
+    }
+
+    private CensusDataLookup(boolean cached) {
+        _tractData = cached ? new Memo() : null;
+        _yearBasedTractData = cached ? new Memo() : null;
+    }
+
+    /**
+     * Returns the census data for the provided input and census tract, null if it can't be found.
+     */
+    public CensusData getCensusData(StateCountyTractInputDto input, CensusTract censusTract) {
+        String tract;
+        if (censusTract == CensusTract.CENSUS_2000)
+            tract = input.getCensusTract2000();
+        else if (censusTract == CensusTract.CENSUS_2010)
+            tract = input.getCensusTract2010();
+        else if (censusTract == CensusTract.CENSUS_2020)
+            tract = input.getCensusTract2020();
+        else
+            throw new IllegalArgumentException("Unsupported census tract: " + censusTract);
+
+        return getCensusData(input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), tract);
+    }
+
+    /**
+     * Returns the census data (regular tract data) for the provided state, county and tract, null if it can't be found.
+     */
+    public CensusData getCensusData(String state, String county, String tract) {
+        if (_tractData != null) {
+            int idx = _tractData.indexOf(state, county, tract);
+            if (idx >= 0)
+                return _tractData._values[idx];
+        }
+
+        CountryData countryData = CountryData.getInstance();
+        if (!countryData.isTractDataInitialized(state))
+            countryData.initializeTractData(state);
+
+        CensusData result = countryData.getTractCensusData(state, county, tract);
+        if (_tractData != null)
+            _tractData.put(state, county, tract, result);
+        return result;
+    }
+
+    /**
+     * Returns the census data (year-based tract data) for the provided state, county and tract, null if it can't be found.
+     */
+    public CensusData getYearBasedCensusData(String state, String county, String tract) {
+        if (_yearBasedTractData != null) {
+            int idx = _yearBasedTractData.indexOf(state, county, tract);
+            if (idx >= 0)
+                return _yearBasedTractData._values[idx];
+        }
+
+        CountryData countryData = CountryData.getInstance();
+        if (!countryData.isYearBasedTractDataInitialized(state))
+            countryData.initializeYearBasedTractData(state);
+
+        CensusData result = countryData.getYearBasedTractCensusData(state, county, tract);
+        if (_yearBasedTractData != null)
+            _yearBasedTractData.put(state, county, tract, result);
+        return result;
+    }
+
+    // a few state/county/tract combinations and their (possibly null) census data, the oldest entry is replaced when it's full
+    private static final class Memo {
+
+        private final String[] _states = new String[_CACHE_SIZE];
+
+        private final String[] _counties = new String[_CACHE_SIZE];
+
+        private final String[] _tracts = new String[_CACHE_SIZE];
+
+        private final CensusData[] _values = new CensusData[_CACHE_SIZE];
+
+        private int _size;
+
+        private int _next;
+
+        private int indexOf(String state, String county, String tract) {
+            // the values of a given tumor are usually the same instances, so the comparisons are very cheap
+            for (int i = 0; i < _size; i++)
+                if (Objects.equals(_tracts[i], tract) && Objects.equals(_counties[i], county) && Objects.equals(_states[i], state))
+                    return i;
+            return -1;
+        }
+
+        private void put(String state, String county, String tract, CensusData value) {
+            _states[_next] = state;
+            _counties[_next] = county;
+            _tracts[_next] = tract;
+            _values[_next] = value;
+            _next = (_next + 1) % _CACHE_SIZE;
+            if (_size < _CACHE_SIZE)
+                _size++;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.imsweb.algorithms.internal.CountryData;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
+import com.imsweb.algorithms.internal.CountryData.PreloadListener;
+
+/**
+ * Loader of a country dataset (see AbstractAlgorithm.addCountryDataLoader()); the dataset is loaded for all the states.
+ * <br/><br/>
+ * Algorithms.warmUp() combines the country loaders of all the requested algorithms into a single preload, so the tract data is read only once.
+ * The tract datasets are skipped when a tract data budget is set (see CountryData.setTractDataBudget()) since loading every state would defeat
+ * the budget; the states are then lazily loaded when they are needed.
+ */
+final class CountryDataLoader implements Runnable {
+
+    private final DatasetKind _dataset;
+
+    CountryDataLoader(DatasetKind dataset) {
+        _dataset = dataset;
+    }
+
+    DatasetKind getDataset() {
+        return _dataset;
+    }
+
+    /**
+     * Returns the data name of the provided dataset (see Algorithm.getDataLoaders()).
+     */
+    static String getName(DatasetKind dataset) {
+        return "country-data/" + dataset.name().toLowerCase().replace('_', '-');
+    }
+
+    @Override
+    public void run() {
+        preload(EnumSet.of(_dataset), Runnable::run, null).join();
+    }
+
+    /**
+     * Loads the requested datasets for all the states, except the tract datasets if a tract data budget is set.
+     */
+    static CompletableFuture<Void> preload(Set<DatasetKind> datasets, Executor executor, PreloadListener listener) {
+        CountryData countryData = CountryData.getInstance();
+        Set<DatasetKind> toLoad = EnumSet.noneOf(DatasetKind.class);
+        toLoad.addAll(datasets);
+        if (countryData.isTractDataBudgetEnabled()) {
+            toLoad.remove(DatasetKind.TRACT);
+            toLoad.remove(DatasetKind.YEAR_BASED_TRACT);
+        }
+        return countryData.preload(null, toLoad, executor, listener);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled list of fields, assigning each field a slot index; the slots are used by the array-backed records (see PatientRecord and TumorRecord)
+ * so the fields can be read and written without hashing their IDs every time.
+ * <br/><br/>
+ * A schema is immutable and can be shared between threads; the slots of the fields should be resolved once (for example when an algorithm
+ * starts processing a patient) and then re-used.
+ */
+public final class FieldSchema {
+
+    // default schema, built from the registered fields the first time it's requested
+    private static volatile FieldSchema _DEFAULT;
+
+    // field IDs, indexed by slot
+    private final String[] _fieldIds;
+
+    // slots, keyed by field ID
+    private final Map<String, Integer> _slots;
+
+    /**
+     * Returns the schema of all the registered fields (see Algorithms.getAllFields()).
+     */
+    public static FieldSchema getDefault() {
+        FieldSchema schema = _DEFAULT;
+        if (schema == null) {
+            if (!Algorithms.isInitialized())
+                throw new IllegalStateException("Algorithms have not been initialized!");
+            // several threads might create the schema at the same time, that's OK since they all create the same schema
+            schema = of(Algorithms.getAllFields());
+            _DEFAULT = schema;
+        }
+        return schema;
+    }
+
+    /**
+     * Creates a schema for the provided fields; the slots are assigned in the order of the fields.
+     */
+    public static FieldSchema of(Collection<AlgorithmField> fields) {
+        if (fields == null)
+            throw new IllegalArgumentException("Fields are required");
+        return new FieldSchema(fields.stream().map(AlgorithmField::getId).toArray(String[]::new));
+    }
+
+    private FieldSchema(String[] fieldIds) {
+        _slots = new HashMap<>();
+        for (int i = 0; i < fieldIds.length; i++) {
+            if (fieldIds[i] == null || Algorithms.FIELD_TUMORS.equals(fieldIds[i]))
+                throw new IllegalArgumentException("Invalid field ID: " + fieldIds[i]);
+            if (_slots.put(fieldIds[i], i) != null)
+                throw new IllegalArgumentException("Field '" + fieldIds[i] + "' was provided more than once");
+        }
+        _fieldIds = fieldIds;
+    }
+
+    /**
+     * Returns the number of slots of this schema.
+     */
+    public int size() {
+        return _fieldIds.length;
+    }
+
+    /**
+     * Returns the slot of the requested field, -1 if the field is not part of this schema.
+     */
+    public int getSlot(String fieldId) {
+        Integer slot = _slots.get(fieldId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the ID of the field using the requested slot.
+     */
+    public String getFieldId(int slot) {
+        return _fieldIds[slot];
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Algorithm notifying the registered listener (see Algorithms.setListener()) of the executions of the algorithm it wraps.
+ * <br/><br/>
+ * The listener is looked up for every execution, so an instrumented algorithm simply delegates to the wrapped algorithm once the listener is removed.
+ */
+final class InstrumentedAlgorithm implements Algorithm {
+
+    private final Algorithm _delegate;
+
+    InstrumentedAlgorithm(Algorithm delegate) {
+        _delegate = delegate;
+    }
+
+    Algorithm getDelegate() {
+        return _delegate;
+    }
+
+    @Override
+    public String getId() {
+        return _delegate.getId();
+    }
+
+    @Override
+    public String getName() {
+        return _delegate.getName();
+    }
+
+    @Override
+    public String getVersion() {
+        return _delegate.getVersion();
+    }
+
+    @Override
+    public String getDocumentationUrl() {
+        return _delegate.getDocumentationUrl();
+    }
+
+    @Override
+    public List<AlgorithmParam<?>> getParameters() {
+        return _delegate.getParameters();
+    }
+
+    @Override
+    public List<AlgorithmField> getInputFields() {
+        return _delegate.getInputFields();
+    }
+
+    @Override
+    public List<AlgorithmField> getOutputFields() {
+        return _delegate.getOutputFields();
+    }
+
+    @Override
+    public Map<String, List<String>> getUnknownValues() {
+        return _delegate.getUnknownValues();
+    }
+
+    @Override
+    public Map<String, Runnable> getDataLoaders() {
+        return _delegate.getDataLoaders();
+    }
+
+    @Override
+    public AlgorithmOutput execute(AlgorithmInput input) {
+        AlgorithmListener listener = Algorithms.getListener();
+        if (listener == null)
+            return _delegate.execute(input);
+
+        long start = System.nanoTime();
+        AlgorithmOutput output = _delegate.execute(input);
+        listener.algorithmExecuted(_delegate, Collections.singletonList(input), Collections.singletonList(output), System.nanoTime() - start);
+        return output;
+    }
+
+    @Override
+    public List<AlgorithmOutput> executeBatch(List<AlgorithmInput> inputs) {
+        AlgorithmListener listener = Algorithms.getListener();
+        if (listener == null)
+            return _delegate.executeBatch(inputs);
+
+        long start = System.nanoTime();
+        List<AlgorithmOutput> outputs = _delegate.executeBatch(inputs);
+        listener.algorithmExecuted(_delegate, inputs, outputs, System.nanoTime() - start);
+        return outputs;
+    }
+
+    @Override
+    public void executeInPlace(AlgorithmInput input) {
+        AlgorithmListener listener = Algorithms.getListener();
+        if (listener == null) {
+            _delegate.executeInPlace(input);
+            return;
+        }
+
+        long start = System.nanoTime();
+        _delegate.executeInPlace(input);
+        listener.algorithmExecuted(_delegate, Collections.singletonList(input), null, System.nanoTime() - start);
+    }
+
+    @Override
+    public void execute(PatientRecord input, Map<String, Object> parameters, PatientRecord output) {
+        AlgorithmListener listener = Algorithms.getListener();
+        if (listener == null) {
+            _delegate.execute(input, parameters, output);
+            return;
+        }
+
+        long start = System.nanoTime();
+        _delegate.execute(input, parameters, output);
+        long duration = System.nanoTime() - start;
+
+        // the listener receives the map views of the records
+        AlgorithmInput algorithmInput = new AlgorithmInput();
+        algorithmInput.setParameters(parameters);
+        algorithmInput.setPatient(input.asMap());
+        listener.algorithmExecuted(_delegate, Collections.singletonList(algorithmInput), Collections.singletonList(AlgorithmOutput.of(output.asMap())), duration);
+    }
+}
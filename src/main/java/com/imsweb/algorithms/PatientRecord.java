@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.imsweb.algorithms.Algorithms.FIELD_TUMORS;
+
+/**
+ * Array-backed patient record (see FieldSchema), containing a list of tumor records.
+ * <br/><br/>
+ * Records are an alternative to the patient and tumor maps of the map-based API (see AlgorithmInput and AlgorithmOutput): the fields are read
+ * and written by slot, and a record (with its tumors) can be cleared and re-used for the next patient, so processing many patients doesn't
+ * require allocating new maps for every patient and tumor. The map view of a record (see asMap()) contains the special tumors field and can
+ * be used wherever a patient map is expected.
+ */
+public final class PatientRecord extends AbstractRecord {
+
+    // the tumors of this patient
+    private final List<TumorRecord> _tumors = new ArrayList<>();
+
+    // the number of tumors currently used (tumor records are kept when the record is cleared so they can be re-used)
+    private int _numTumors;
+
+    // map view of the tumors, created the first time it's requested
+    private List<Map<String, Object>> _tumorMaps;
+
+    public PatientRecord(FieldSchema schema) {
+        super(schema);
+    }
+
+    /**
+     * Creates a patient record from the provided patient map (including its tumors); fields that are not part of the schema are ignored.
+     */
+    public static PatientRecord of(FieldSchema schema, Map<String, Object> patient) {
+        PatientRecord record = new PatientRecord(schema);
+        record.putAll(patient);
+        return record;
+    }
+
+    /**
+     * Returns the tumors of this patient.
+     */
+    public List<TumorRecord> getTumors() {
+        return Collections.unmodifiableList(_tumors.subList(0, _numTumors));
+    }
+
+    /**
+     * Returns the number of tumors of this patient.
+     */
+    public int getNumTumors() {
+        return _numTumors;
+    }
+
+    /**
+     * Returns the requested tumor.
+     */
+    public TumorRecord getTumor(int index) {
+        if (index < 0 || index >= _numTumors)
+            throw new IndexOutOfBoundsException("Invalid tumor index: " + index);
+        return _tumors.get(index);
+    }
+
+    /**
+     * Adds a new (empty) tumor to this patient, and returns it.
+     */
+    public TumorRecord addTumor() {
+        if (_numTumors == _tumors.size())
+            _tumors.add(new TumorRecord(_schema));
+        return _tumors.get(_numTumors++);
+    }
+
+    /**
+     * Makes sure this patient has at least the requested number of tumors, adding empty tumors if needed.
+     */
+    public void ensureTumors(int numTumors) {
+        while (_numTumors < numTumors)
+            addTumor();
+    }
+
+    /**
+     * Clears all the values of this record and removes its tumors; the tumor records are kept internally and re-used by addTumor().
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        for (int i = 0; i < _numTumors; i++)
+            _tumors.get(i).clear();
+        _numTumors = 0;
+    }
+
+    /**
+     * Copies the values of the provided patient map into this record; the tumors of the map are copied into the tumors of this record
+     * (in the same order, adding tumors if needed). Fields that are not part of the schema are ignored.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(Map<String, Object> patient) {
+        super.putAll(patient);
+        Object tumors = patient.get(FIELD_TUMORS);
+        if (tumors instanceof List) {
+            List<Map<String, Object>> tumorMaps = (List<Map<String, Object>>)tumors;
+            ensureTumors(tumorMaps.size());
+            for (int i = 0; i < tumorMaps.size(); i++)
+                _tumors.get(i).putAll(tumorMaps.get(i));
+        }
+    }
+
+    @Override
+    String getSpecialKey() {
+        return FIELD_TUMORS;
+    }
+
+    @Override
+    Object getSpecialEntry(String key) {
+        if (_tumorMaps == null)
+            _tumorMaps = new TumorMaps();
+        return _tumorMaps;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    boolean setSpecialEntry(String key, Object value) {
+        if (value != null && value == _tumorMaps)
+            return true;
+        for (int i = 0; i < _numTumors; i++)
+            _tumors.get(i).clear();
+        _numTumors = 0;
+        if (value instanceof List)
+            for (Map<String, Object> tumor : (List<Map<String, Object>>)value)
+                addTumor().putAll(tumor);
+        return true;
+    }
+
+    /**
+     * Map view of the tumors; adding a map to the list adds a tumor to the record.
+     */
+    private final class TumorMaps extends AbstractList<Map<String, Object>> {
+
+        @Override
+        public Map<String, Object> get(int index) {
+            return getTumor(index).asMap();
+        }
+
+        @Override
+        public int size() {
+            return _numTumors;
+        }
+
+        @Override
+        public void add(int index, Map<String, Object> tumor) {
+            if (index != _numTumors)
+                throw new UnsupportedOperationException("Tumors can only be added at the end of the list");
+            addTumor().putAll(tumor);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+/**
+ * Array-backed tumor record (see FieldSchema); tumor records are created by their patient record (see PatientRecord.addTumor()).
+ */
+public final class TumorRecord extends AbstractRecord {
+
+    TumorRecord(FieldSchema schema) {
+        super(schema);
+    }
+}
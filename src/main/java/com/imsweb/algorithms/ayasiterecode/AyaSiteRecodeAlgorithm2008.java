@@ -33,6 +33,8 @@ public class AyaSiteRecodeAlgorithm2008 extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_AYA_SITE_RECODE_2008));
 
         _unknownValues.put(FIELD_AYA_SITE_RECODE_2008, Collections.singletonList(AyaSiteRecodeUtils.AYA_SITE_RECODE_UNKNOWN_2008));
+
+        _dataLoaders.put("ayasiterecode/ayarecodewho2008.bin", () -> AyaSiteRecodeUtils.getTable(AyaSiteRecodeUtils.ALG_VERSION_2008));
     }
 
     @Override
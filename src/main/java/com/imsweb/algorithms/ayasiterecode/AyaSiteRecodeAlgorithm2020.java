@@ -33,6 +33,8 @@ public class AyaSiteRecodeAlgorithm2020 extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_AYA_SITE_RECODE_2020));
 
         _unknownValues.put(FIELD_AYA_SITE_RECODE_2020, Collections.singletonList(AyaSiteRecodeUtils.AYA_SITE_RECODE_UNKNOWN_2020));
+
+        _dataLoaders.put("ayasiterecode/ayarecode-2020revision.bin", () -> AyaSiteRecodeUtils.getTable(AyaSiteRecodeUtils.ALG_VERSION_2020));
     }
 
     @Override
@@ -8,14 +8,22 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 
 import de.siegmar.fastcsv.reader.CsvReader;
 import de.siegmar.fastcsv.reader.CsvRecord;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+import com.imsweb.algorithms.internal.Utils;
+
 public final class AyaSiteRecodeUtils {
 
     public static final String ALG_NAME = "SEER Adolescents and Young Adults (AYA) Site Recode";
@@ -29,6 +37,9 @@ public final class AyaSiteRecodeUtils {
     private static List<AyaSiteRecodeData> _DATA_2008;
     private static List<AyaSiteRecodeData> _DATA_2020;
 
+    // compiled data, used for the values in the standard format (lazy)
+    private static final Map<String, IcdO3RuleTable<String>> _TABLES = new ConcurrentHashMap<>();
+
     private AyaSiteRecodeUtils() {
         // no instances of this class allowed!
     }
@@ -54,6 +65,15 @@ public final class AyaSiteRecodeUtils {
         if (StringUtils.isBlank(site) || StringUtils.isBlank(histology) || StringUtils.isBlank(behavior))
             return unknownValue;
 
+        int s = IcdO3RuleTable.parseFixedCode(site, "C", 3);
+        int h = IcdO3RuleTable.parseFixedCode(histology, "", 4);
+        int b = IcdO3RuleTable.parseFixedCode(behavior, "", 1);
+        if (s != -1 && h != -1 && b != -1) {
+            String recode = getTable(version).lookup(s, h, b, -1);
+            return recode == null ? unknownValue : recode;
+        }
+
+        // the values using other formats are compared as strings
         if (!isDataInitialized())
             initializeData();
 
@@ -75,7 +95,7 @@ public final class AyaSiteRecodeUtils {
         return _DATA_2020 != null;
     }
 
-    private static synchronized void initializeData() {
+    static synchronized void initializeData() {
         if (_DATA_2020 != null)
             return;
 
@@ -83,6 +103,44 @@ public final class AyaSiteRecodeUtils {
         _DATA_2020 = readData("ayarecode-2020revision.csv");
     }
 
+    static IcdO3RuleTable<String> getTable(String version) {
+        return _TABLES.computeIfAbsent(version, AyaSiteRecodeUtils::loadTable);
+    }
+
+    /**
+     * Compiles the data of every version into lookup tables and writes them in the provided directory; this is called at build time, the tables
+     * are then read from the resources instead of the data files.
+     * @param directory the directory to write to (the tables are written under their resource path)
+     */
+    public static void writeRuleTables(Path directory) throws IOException {
+        for (String version : List.of(ALG_VERSION_2008, ALG_VERSION_2020))
+            Utils.writeRuleTable(directory, getRuleTableFile(version), new IcdO3RuleTable<>(createRules(version)), Function.identity());
+    }
+
+    // the table is read from the resources generated at build time (see writeRuleTables()), the data file is only read if it's not available
+    private static IcdO3RuleTable<String> loadTable(String version) {
+        IcdO3RuleTable<String> table = Utils.readInternalRuleTable(getRuleTableFile(version), Function.identity(), () -> createRules(version));
+        return table != null ? table : new IcdO3RuleTable<>(createRules(version));
+    }
+
+    private static String getRuleTableFile(String version) {
+        return ALG_VERSION_2008.equals(version) ? "ayasiterecode/ayarecodewho2008.bin" : "ayasiterecode/ayarecode-2020revision.bin";
+    }
+
+    static List<AyaSiteRecodeData> getData(String version) {
+        if (!isDataInitialized())
+            initializeData();
+
+        return ALG_VERSION_2008.equals(version) ? _DATA_2008 : _DATA_2020;
+    }
+
+    private static List<IcdO3Rule<String>> createRules(String version) {
+        List<IcdO3Rule<String>> rules = new ArrayList<>();
+        for (AyaSiteRecodeData row : getData(version))
+            rules.add(row.toRule());
+        return rules;
+    }
+
     @SuppressWarnings("SameParameterValue")
     private static List<AyaSiteRecodeData> readData(String filename) {
         List<AyaSiteRecodeData> result = new ArrayList<>();
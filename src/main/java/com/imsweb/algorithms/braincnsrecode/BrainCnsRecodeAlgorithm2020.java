@@ -31,6 +31,8 @@ public class BrainCnsRecodeAlgorithm2020 extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_SEER_BRAIN_CSN_RECODE_2020));
 
         _unknownValues.put(FIELD_SEER_BRAIN_CSN_RECODE_2020, Collections.singletonList(BrainCnsRecodeUtils.UNKNOWN_2020));
+
+        _dataLoaders.put("braincnsrecode/brain-cnsrecode-2020revision.bin", BrainCnsRecodeUtils::getTable);
     }
 
     @Override
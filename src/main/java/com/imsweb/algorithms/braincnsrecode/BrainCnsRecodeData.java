@@ -10,6 +10,8 @@ import java.util.Objects;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+
 public class BrainCnsRecodeData {
 
     private final List<Object> _siteInclusions;
@@ -83,6 +85,19 @@ public class BrainCnsRecodeData {
         return _recode;
     }
 
+    /**
+     * Returns the rule corresponding to this row, for the values using the standard format (C and 3 digits for the site, 4 digits for the histology
+     * and 1 digit for the behavior); empty inclusions accept any value.
+     */
+    IcdO3Rule<String> toRule() {
+        IcdO3Rule<String> rule = new IcdO3Rule<>(_recode);
+        rule.setSiteInclusions(_siteInclusions.isEmpty() ? null : IcdO3Rule.toCodeRanges(_siteInclusions, "C", 3));
+        rule.setHistologyInclusions(_histologyInclusions.isEmpty() ? null : IcdO3Rule.toCodeRanges(_histologyInclusions, "", 4));
+        rule.setHistologyExclusions(_histologyExclusions.isEmpty() ? null : IcdO3Rule.toCodeRanges(_histologyExclusions, "", 4));
+        rule.setBehaviorInclusions(_behaviorInclusions.isEmpty() ? null : IcdO3Rule.toCodeRanges(_behaviorInclusions, "", 1));
+        return rule;
+    }
+
     private List<Object> parseValue(String value) {
         List<Object> result = new ArrayList<>();
         for (String val : StringUtils.split(value.replace(".", ""), ',')) {
@@ -3,11 +3,16 @@
  */
 package com.imsweb.algorithms.braincnsrecode;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
 import com.imsweb.algorithms.internal.Utils;
 
 public final class BrainCnsRecodeUtils {
@@ -20,6 +25,11 @@ public final class BrainCnsRecodeUtils {
 
     private static List<BrainCnsRecodeData> _DATA_2020;
 
+    // compiled data, used for the values in the standard format (lazy)
+    private static volatile IcdO3RuleTable<String> _TABLE_2020;
+
+    private static final String _RULE_TABLE_FILE = "braincnsrecode/brain-cnsrecode-2020revision.bin";
+
     private BrainCnsRecodeUtils() {
         // no instances of this class allowed!
     }
@@ -35,6 +45,15 @@ public final class BrainCnsRecodeUtils {
         if (StringUtils.isBlank(site) || StringUtils.isBlank(histology) || StringUtils.isBlank(behavior))
             return unknownValue;
 
+        int s = IcdO3RuleTable.parseFixedCode(site, "C", 3);
+        int h = IcdO3RuleTable.parseFixedCode(histology, "", 4);
+        int b = IcdO3RuleTable.parseFixedCode(behavior, "", 1);
+        if (s != -1 && h != -1 && b != -1) {
+            String recode = getTable().lookup(s, h, b, -1);
+            return recode == null ? unknownValue : recode;
+        }
+
+        // the values using other formats are compared as strings
         if (!isDataInitialized())
             initializeData();
 
@@ -49,13 +68,52 @@ public final class BrainCnsRecodeUtils {
         return _DATA_2020 != null;
     }
 
-    private static synchronized void initializeData() {
+    static synchronized void initializeData() {
         if (_DATA_2020 != null)
             return;
 
         _DATA_2020 = readData("brain-cnsrecode-2020revision.csv");
     }
 
+    static IcdO3RuleTable<String> getTable() {
+        IcdO3RuleTable<String> table = _TABLE_2020;
+        if (table == null)
+            table = loadTable();
+        return table;
+    }
+
+    /**
+     * Compiles the data into a lookup table and writes it in the provided directory; this is called at build time, the table is then read from
+     * the resources instead of the data file.
+     * @param directory the directory to write to (the table is written under its resource path)
+     */
+    public static void writeRuleTables(Path directory) throws IOException {
+        Utils.writeRuleTable(directory, _RULE_TABLE_FILE, new IcdO3RuleTable<>(createRules()), Function.identity());
+    }
+
+    // the table is read from the resources generated at build time (see writeRuleTables()), the data file is only read if it's not available
+    private static synchronized IcdO3RuleTable<String> loadTable() {
+        if (_TABLE_2020 == null) {
+            IcdO3RuleTable<String> table = Utils.readInternalRuleTable(_RULE_TABLE_FILE, Function.identity(), BrainCnsRecodeUtils::createRules);
+            _TABLE_2020 = table != null ? table : new IcdO3RuleTable<>(createRules());
+        }
+        return _TABLE_2020;
+    }
+
+    private static List<IcdO3Rule<String>> createRules() {
+        List<IcdO3Rule<String>> rules = new ArrayList<>();
+        for (BrainCnsRecodeData row : getData())
+            rules.add(row.toRule());
+        return rules;
+    }
+
+    static List<BrainCnsRecodeData> getData() {
+        if (!isDataInitialized())
+            initializeData();
+
+        return _DATA_2020;
+    }
+
     @SuppressWarnings("SameParameterValue")
     private static List<BrainCnsRecodeData> readData(String filename) {
         List<BrainCnsRecodeData> result = new ArrayList<>();
@@ -12,6 +12,7 @@ import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
 import com.imsweb.algorithms.StateCountyTractInputDto;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CANCER_REPORTING_ZONE;
@@ -36,6 +37,8 @@ public class CancerReportingZoneAlgorithm extends AbstractAlgorithm {
 
         _unknownValues.put(FIELD_CANCER_REPORTING_ZONE, Arrays.asList(CANCER_REPORTING_ZONE_UNK_A, CANCER_REPORTING_ZONE_UNK_D));
         _unknownValues.put(FIELD_CANCER_REPORTING_ZONE_TRACT_REQ, Arrays.asList(CANCER_REPORTING_ZONE_UNK_A, CANCER_REPORTING_ZONE_UNK_D));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
@@ -3,10 +3,10 @@
  */
 package com.imsweb.algorithms.cancerreportingzone;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
 
 public final class CancerReportingZoneUtils {
 
@@ -46,6 +46,17 @@ public final class CancerReportingZoneUtils {
      * @return the computed Cancer Reporting Zone value
      */
     public static CancerReportingZoneOutputDto computeCancerReportingZone(StateCountyTractInputDto input) {
+        return computeCancerReportingZone(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeCancerReportingZone(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed output
+     */
+    public static CancerReportingZoneOutputDto computeCancerReportingZone(StateCountyTractInputDto input, CensusDataLookup lookup) {
         CancerReportingZoneOutputDto result = new CancerReportingZoneOutputDto();
 
         input.applyRecodes();
@@ -63,7 +74,7 @@ public final class CancerReportingZoneUtils {
             result.setCancerReportingZoneTractReq(CANCER_REPORTING_ZONE_UNK_B);
         }
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2010);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2010);
             if (censusData != null) {
                 result.setCancerReportingZone(censusData.getCancerReportingZone());
                 result.setCancerReportingZoneTractReq(censusData.getCancerReportingZoneTractCert());
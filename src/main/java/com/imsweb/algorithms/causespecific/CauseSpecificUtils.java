@@ -233,7 +233,7 @@ public final class CauseSpecificUtils {
         return result;
     }
 
-    private static synchronized List<CauseSpecificDataDto> getData(String version, boolean useFixed2008data) {
+    static synchronized List<CauseSpecificDataDto> getData(String version, boolean useFixed2008data) {
         if (SeerSiteRecodeUtils.VERSION_2008.equals(version)) {
             if (useFixed2008data) {
                 if (_DATA_SITE_SPECIFIC_2008_POST_BUG_FIX.isEmpty())
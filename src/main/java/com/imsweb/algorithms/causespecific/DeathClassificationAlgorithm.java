@@ -14,6 +14,7 @@ import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.AlgorithmParam;
 import com.imsweb.algorithms.Algorithms;
 import com.imsweb.algorithms.internal.Utils;
+import com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_COD;
 import static com.imsweb.algorithms.Algorithms.FIELD_DOLC;
@@ -46,6 +47,9 @@ public class DeathClassificationAlgorithm extends AbstractAlgorithm {
 
         _unknownValues.put(FIELD_SEER_COD_CLASS, Arrays.asList(CauseSpecificUtils.MISSING_UNKNOWN_DEATH_OF_CODE, CauseSpecificUtils.SEQUENCE_NOT_APPLICABLE));
         _unknownValues.put(FIELD_SEER_COD_OTHER, Arrays.asList(CauseSpecificUtils.MISSING_UNKNOWN_DEATH_OF_CODE, CauseSpecificUtils.SEQUENCE_NOT_APPLICABLE));
+
+        _dataLoaders.put("seersiterecode/site-recode-data-2008.bin", () -> SeerSiteRecodeUtils.calculateSiteRecode(SeerSiteRecodeUtils.VERSION_2008, "C000", "8000"));
+        _dataLoaders.put("causespecific/data_2008_pre_bug_fix.txt", () -> CauseSpecificUtils.getData(SeerSiteRecodeUtils.VERSION_2008, false));
     }
 
     @Override
@@ -10,6 +10,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2000;
@@ -37,6 +38,8 @@ public class CensusTractPovertyIndicatorAlgorithm extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_CENSUS_POVERTY_INDICTR));
 
         _unknownValues.put(FIELD_CENSUS_POVERTY_INDICTR, Collections.singletonList(CensusTractPovertyIndicatorUtils.POVERTY_INDICATOR_UNKNOWN));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
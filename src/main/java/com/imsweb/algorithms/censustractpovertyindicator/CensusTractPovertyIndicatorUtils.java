@@ -7,9 +7,9 @@ import java.time.LocalDate;
 
 import org.apache.commons.lang3.math.NumberUtils;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
 import com.imsweb.algorithms.yostacspoverty.YostAcsPovertyInputDto;
 import com.imsweb.algorithms.yostacspoverty.YostAcsPovertyUtils;
 
@@ -51,6 +51,17 @@ public final class CensusTractPovertyIndicatorUtils {
      * @return the computed poverty indicator value
      */
     public static CensusTractPovertyIndicatorOutputDto computePovertyIndicator(CensusTractPovertyIndicatorInputDto input) {
+        return computePovertyIndicator(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computePovertyIndicator(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>CensusTractPovertyIndicatorInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed output
+     */
+    public static CensusTractPovertyIndicatorOutputDto computePovertyIndicator(CensusTractPovertyIndicatorInputDto input, CensusDataLookup lookup) {
         CensusTractPovertyIndicatorOutputDto result = new CensusTractPovertyIndicatorOutputDto();
 
         // if poverty indicator can not be calculated set it to unknown
@@ -71,7 +82,7 @@ public final class CensusTractPovertyIndicatorUtils {
 
         int year = Integer.parseInt(dxYear);
         if (year >= 1995 && year <= 2005) {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2000);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2000);
             if (censusData != null)
                 result.setCensusTractPovertyIndicator(year <= 2004 ? censusData.getNaaccrPovertyIndicator9504() : censusData.getNaaccrPovertyIndicator0507());
         }
@@ -82,7 +93,7 @@ public final class CensusTractPovertyIndicatorUtils {
             yostAcsPovertyInput.setCensusTract2010(input.getCensusTract2010());
             yostAcsPovertyInput.setCensusTract2020(input.getCensusTract2020());
             yostAcsPovertyInput.setDateOfDiagnosis(dxYear);
-            result.setCensusTractPovertyIndicator(deriveValueFromPercentage(YostAcsPovertyUtils.computeYostAcsPovertyData(yostAcsPovertyInput).getAcsPctPovAllRaces()));
+            result.setCensusTractPovertyIndicator(deriveValueFromPercentage(YostAcsPovertyUtils.computeYostAcsPovertyData(yostAcsPovertyInput, lookup).getAcsPctPovAllRaces()));
         }
 
         // safety net - never return a null value
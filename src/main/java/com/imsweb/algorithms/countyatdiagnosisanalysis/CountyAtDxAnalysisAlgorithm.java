@@ -3,13 +3,17 @@
  */
 package com.imsweb.algorithms.countyatdiagnosisanalysis;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_CERTAINTY_2000;
@@ -47,27 +51,45 @@ public class CountyAtDxAnalysisAlgorithm extends AbstractAlgorithm {
 
         _outputFields.add(Algorithms.getField(FIELD_COUNTY_AT_DX_ANALYSIS));
         _outputFields.add(Algorithms.getField(FIELD_COUNTY_AT_DX_ANALYSIS_FLAG));
+
+        addCountryDataLoader(DatasetKind.COUNTY_AT_DX_ANALYSIS);
     }
 
     @Override
     public AlgorithmOutput execute(AlgorithmInput input) {
+        return execute(input, new CountyAtDxAnalysisInputDto());
+    }
+
+    @Override
+    public List<AlgorithmOutput> executeBatch(List<AlgorithmInput> inputs) {
+        // initialize the valid state/county combinations once for the entire batch
+        if (!CountryData.getInstance().isCountyAtDxAnalysisInitialized())
+            CountryData.getInstance().initializeCountyAtDxAnalysisData(CountyAtDxAnalysisUtils.loadCountyAtDxAnalysisData());
+
+        // every field of the input DTO is set for each tumor, so the same DTO can be re-used for the entire batch
+        CountyAtDxAnalysisInputDto inputDto = new CountyAtDxAnalysisInputDto();
+
+        List<AlgorithmOutput> outputs = new ArrayList<>(inputs.size());
+        for (AlgorithmInput input : inputs)
+            outputs.add(execute(input, inputDto));
+        return outputs;
+    }
+
+    @Override
+    public void executeInPlace(AlgorithmInput input) {
+        CountyAtDxAnalysisInputDto inputDto = new CountyAtDxAnalysisInputDto();
+        for (Map<String, Object> tumor : Utils.extractTumors(input)) {
+            CountyAtDxAnalysisOutputDto output = computeCountyAtDiagnosis(tumor, inputDto);
+            tumor.put(FIELD_COUNTY_AT_DX_ANALYSIS, output.getCountyAtDxAnalysis());
+            tumor.put(FIELD_COUNTY_AT_DX_ANALYSIS_FLAG, output.getCountyAtDxAnalysisFlag());
+        }
+    }
+
+    private AlgorithmOutput execute(AlgorithmInput input, CountyAtDxAnalysisInputDto inputDto) {
         Map<String, Object> outputPatient = Utils.createPatientOutput();
 
         for (Map<String, Object> inputTumor : Utils.extractTumors(input)) {
-            CountyAtDxAnalysisInputDto inputDto = new CountyAtDxAnalysisInputDto();
-            inputDto.setDateOfDiagnosis((String)inputTumor.get(FIELD_DX_DATE));
-            inputDto.setAddrAtDxState((String)inputTumor.get(FIELD_STATE_DX));
-            inputDto.setCountyAtDx((String)inputTumor.get(FIELD_COUNTY_DX));
-            inputDto.setCountyAtDxGeocode1990((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_1990));
-            inputDto.setCountyAtDxGeocode2000((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2000));
-            inputDto.setCountyAtDxGeocode2010((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2010));
-            inputDto.setCountyAtDxGeocode2020((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2020));
-            inputDto.setCensusTrCert19708090((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_708090));
-            inputDto.setCensusTrCertainty2000((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2000));
-            inputDto.setCensusTrCertainty2010((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2010));
-            inputDto.setCensusTrCertainty2020((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2020));
-
-            CountyAtDxAnalysisOutputDto output = CountyAtDxAnalysisUtils.computeCountyAtDiagnosis(inputDto);
+            CountyAtDxAnalysisOutputDto output = computeCountyAtDiagnosis(inputTumor, inputDto);
 
             Map<String, Object> outputTumor = new HashMap<>();
             outputTumor.put(FIELD_COUNTY_AT_DX_ANALYSIS, output.getCountyAtDxAnalysis());
@@ -78,4 +100,20 @@ public class CountyAtDxAnalysisAlgorithm extends AbstractAlgorithm {
         return AlgorithmOutput.of(outputPatient);
 
     }
+
+    private static CountyAtDxAnalysisOutputDto computeCountyAtDiagnosis(Map<String, Object> inputTumor, CountyAtDxAnalysisInputDto inputDto) {
+        inputDto.setDateOfDiagnosis((String)inputTumor.get(FIELD_DX_DATE));
+        inputDto.setAddrAtDxState((String)inputTumor.get(FIELD_STATE_DX));
+        inputDto.setCountyAtDx((String)inputTumor.get(FIELD_COUNTY_DX));
+        inputDto.setCountyAtDxGeocode1990((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_1990));
+        inputDto.setCountyAtDxGeocode2000((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2000));
+        inputDto.setCountyAtDxGeocode2010((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2010));
+        inputDto.setCountyAtDxGeocode2020((String)inputTumor.get(FIELD_COUNTY_AT_DX_GEOCODE_2020));
+        inputDto.setCensusTrCert19708090((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_708090));
+        inputDto.setCensusTrCertainty2000((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2000));
+        inputDto.setCensusTrCertainty2010((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2010));
+        inputDto.setCensusTrCertainty2020((String)inputTumor.get(FIELD_CENSUS_CERTAINTY_2020));
+
+        return CountyAtDxAnalysisUtils.computeCountyAtDiagnosis(inputDto);
+    }
 }
@@ -178,8 +178,11 @@ public final class CountyAtDxAnalysisUtils {
         return allNines;
     }
 
+    /**
+     * Loads the valid state/county combinations; the result is meant to be registered in CountryData.
+     */
     @SuppressWarnings("ConstantConditions")
-    private static Map<String, Map<String, CountyData>> loadCountyAtDxAnalysisData() {
+    public static Map<String, Map<String, CountyData>> loadCountyAtDxAnalysisData() {
         Map<String, java.util.Map<String, CountyData>> result = new HashMap<>();
 
         Utils.processInternalFile("countyatdxanalysis/state-county-map.csv", line ->
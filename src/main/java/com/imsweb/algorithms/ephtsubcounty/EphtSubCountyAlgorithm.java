@@ -13,6 +13,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2010;
@@ -40,6 +41,8 @@ public class EphtSubCountyAlgorithm extends AbstractAlgorithm {
         _unknownValues.put(FIELD_EPHT_2010_GEOID_5K, Arrays.asList(EPHT_2010_GEO_ID_UNK_A, EPHT_2010_GEO_ID_UNK_D));
         _unknownValues.put(FIELD_EPHT_2010_GEOID_20K, Arrays.asList(EPHT_2010_GEO_ID_UNK_A, EPHT_2010_GEO_ID_UNK_D));
         _unknownValues.put(FIELD_EPHT_2010_GEOID_50K, Arrays.asList(EPHT_2010_GEO_ID_UNK_A, EPHT_2010_GEO_ID_UNK_D));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
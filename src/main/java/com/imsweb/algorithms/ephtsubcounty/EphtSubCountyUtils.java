@@ -3,10 +3,10 @@
  */
 package com.imsweb.algorithms.ephtsubcounty;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
 
 /**
  * This class can be used to calculate EPHT 2010 GEO ID 5K and EPHT 2010 GEO ID 20K.
@@ -48,6 +48,17 @@ public final class EphtSubCountyUtils {
      * @return a <code>EphtSubCountyOutputDto</code> object
      */
     public static EphtSubCountyOutputDto computeEphtSubCounty(StateCountyTractInputDto input) {
+        return computeEphtSubCounty(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeEphtSubCounty(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed output
+     */
+    public static EphtSubCountyOutputDto computeEphtSubCounty(StateCountyTractInputDto input, CensusDataLookup lookup) {
         EphtSubCountyOutputDto result = new EphtSubCountyOutputDto();
 
         input.applyRecodes();
@@ -68,7 +79,7 @@ public final class EphtSubCountyUtils {
             result.setEpht2010GeoId50k(EPHT_2010_GEO_ID_UNK_B);
         }
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2010);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2010);
             if (censusData != null) {
                 result.setEpht2010GeoId5k(censusData.getEpht2010GeoId5k());
                 result.setEpht2010GeoId20k(censusData.getEpht2010GeoId20k());
@@ -13,6 +13,7 @@ import java.util.Set;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.imsweb.algorithms.internal.IntRangeSet;
 import com.imsweb.algorithms.internal.Utils;
 
 /**
@@ -38,26 +39,26 @@ public final class IarcUtils {
     private static final Set<String> _SITE_GROUP_C41 = new HashSet<>(Arrays.asList("C40", "C41"));
     private static final Set<String> _SITE_GROUP_C68 = new HashSet<>(Arrays.asList("C65", "C66", "C67", "C68"));
 
-    private static final List<Pair<List<Object>, Integer>> _HISTOLOGY_RANGES = new ArrayList<>();
+    private static final List<Pair<IntRangeSet, Integer>> _HISTOLOGY_RANGES = new ArrayList<>();
 
     static {
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8051-8084,8120-8131"), 1));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8090-8110"), 2));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8140-8149,8160-8162,8190-8221,8260-8337,8350-8551,8570-8576,8940-8941"), 3));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8030-8046,8150-8157,8170-8180,8230-8255,8340-8347,8560-8562,8580-8671"), 4));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8010-8015,8020-8022,8050"), 5));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8680-8713,8800-8921,8990-8991,9040-9044,9120-9125,9130-9136,9141-9252,9370-9373,9540-9582"), 6));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9050-9055"), 7));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9840,9861-9931,9945-9946,9950,9961-9964,9980-9987,9991-9992"), 8));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9597,9670-9699,9712,9728,9731-9738,9761-9767,9769,9811-9818,9823-9826,9833,9836,9940"), 9));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9700-9726,9729,9768,9827-9831,9834,9837,9948"), 10));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9650-9667"), 11));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9740-9742"), 12));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9750-9759"), 13));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9590-9591,9596,9727,9760,9800-9809,9820,9832,9835,9860,9960,9965-9975,9989"), 14));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("9140"), 15));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8720-8790,8930-8936,8950-8983,9000-9030,9060-9110,9260-9365,9380-9539"), 16));
-        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsIntegers("8000-8005"), 17));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8051-8084,8120-8131"), 1));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8090-8110"), 2));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8140-8149,8160-8162,8190-8221,8260-8337,8350-8551,8570-8576,8940-8941"), 3));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8030-8046,8150-8157,8170-8180,8230-8255,8340-8347,8560-8562,8580-8671"), 4));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8010-8015,8020-8022,8050"), 5));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8680-8713,8800-8921,8990-8991,9040-9044,9120-9125,9130-9136,9141-9252,9370-9373,9540-9582"), 6));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9050-9055"), 7));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9840,9861-9931,9945-9946,9950,9961-9964,9980-9987,9991-9992"), 8));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9597,9670-9699,9712,9728,9731-9738,9761-9767,9769,9811-9818,9823-9826,9833,9836,9940"), 9));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9700-9726,9729,9768,9827-9831,9834,9837,9948"), 10));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9650-9667"), 11));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9740-9742"), 12));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9750-9759"), 13));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9590-9591,9596,9727,9760,9800-9809,9820,9832,9835,9860,9960,9965-9975,9989"), 14));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("9140"), 15));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8720-8790,8930-8936,8950-8983,9000-9030,9060-9110,9260-9365,9380-9539"), 16));
+        _HISTOLOGY_RANGES.add(Pair.of(Utils.expandHistologiesAsRangeSet("8000-8005"), 17));
     }
 
     private IarcUtils() {
@@ -172,8 +173,8 @@ public final class IarcUtils {
 
         if (NumberUtils.isDigits(histology)) {
             int hist = NumberUtils.toInt(histology);
-            for (Pair<List<Object>, Integer> pair : _HISTOLOGY_RANGES) {
-                if (Utils.isContained(pair.getLeft(), hist)) {
+            for (Pair<IntRangeSet, Integer> pair : _HISTOLOGY_RANGES) {
+                if (pair.getLeft().contains(hist)) {
                     histologyGroup = pair.getRight();
                     break;
                 }
@@ -11,6 +11,9 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.FieldSchema;
+import com.imsweb.algorithms.PatientRecord;
+import com.imsweb.algorithms.TumorRecord;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_BEHAV_O3;
@@ -35,6 +38,8 @@ public class IcccAlgorithm extends AbstractAlgorithm {
 
         _unknownValues.put(FIELD_ICCC, Collections.singletonList(IcccRecodeUtils.ICCC_UNKNOWN_RECODE));
         _unknownValues.put(FIELD_ICCC_EXT, Collections.singletonList(IcccRecodeUtils.ICCC_UNKNOWN_RECODE));
+
+        _dataLoaders.put("iccc/iccc-data-third-edition-iarc-2017.bin", () -> IcccRecodeUtils.getTable(IcccRecodeUtils.VERSION_THIRD_EDITION_IARC_2017));
     }
 
     @Override
@@ -46,16 +51,48 @@ public class IcccAlgorithm extends AbstractAlgorithm {
             String hist = (String)inputTumor.get(FIELD_HIST_O3);
             String beh = (String)inputTumor.get(FIELD_BEHAV_O3);
 
-            String icccCode = IcccRecodeUtils.calculateSiteRecode(getVersion(), site, hist, beh, false);
-            String icccExtCode = IcccRecodeUtils.calculateSiteRecode(getVersion(), site, hist, beh, true);
-
+            IcccRecodeOutputDto recodes = IcccRecodeUtils.calculateRecodes(getVersion(), site, hist, beh);
             Map<String, Object> outputTumor = new HashMap<>();
-            outputTumor.put(FIELD_ICCC, icccCode);
-            outputTumor.put(FIELD_ICCC_EXT, icccExtCode);
+            outputTumor.put(FIELD_ICCC, recodes.getRecode());
+            outputTumor.put(FIELD_ICCC_EXT, recodes.getRecodeExtended());
             Utils.addTumorOutput(outputPatient, outputTumor);
         }
 
         return AlgorithmOutput.of(outputPatient);
+    }
 
+    @Override
+    public void executeInPlace(AlgorithmInput input) {
+        for (Map<String, Object> tumor : Utils.extractTumors(input)) {
+            String site = (String)tumor.get(FIELD_PRIMARY_SITE);
+            String hist = (String)tumor.get(FIELD_HIST_O3);
+            String beh = (String)tumor.get(FIELD_BEHAV_O3);
+            IcccRecodeOutputDto recodes = IcccRecodeUtils.calculateRecodes(getVersion(), site, hist, beh);
+            tumor.put(FIELD_ICCC, recodes.getRecode());
+            tumor.put(FIELD_ICCC_EXT, recodes.getRecodeExtended());
+        }
+    }
+
+    @Override
+    public void execute(PatientRecord input, Map<String, Object> parameters, PatientRecord output) {
+        FieldSchema schema = input.getSchema();
+        int siteSlot = schema.getSlot(FIELD_PRIMARY_SITE);
+        int histSlot = schema.getSlot(FIELD_HIST_O3);
+        int behSlot = schema.getSlot(FIELD_BEHAV_O3);
+        int icccSlot = schema.getSlot(FIELD_ICCC);
+        int icccExtSlot = schema.getSlot(FIELD_ICCC_EXT);
+
+        output.ensureTumors(input.getNumTumors());
+        for (int i = 0; i < input.getNumTumors(); i++) {
+            TumorRecord inputTumor = input.getTumor(i);
+            String site = (String)inputTumor.get(siteSlot);
+            String hist = (String)inputTumor.get(histSlot);
+            String beh = (String)inputTumor.get(behSlot);
+
+            IcccRecodeOutputDto recodes = IcccRecodeUtils.calculateRecodes(getVersion(), site, hist, beh);
+            TumorRecord outputTumor = output.getTumor(i);
+            outputTumor.set(icccSlot, recodes.getRecode());
+            outputTumor.set(icccExtSlot, recodes.getRecodeExtended());
+        }
     }
 }
@@ -1,8 +1,6 @@
 package com.imsweb.algorithms.iccc;
 
-import java.util.List;
-
-import com.imsweb.algorithms.internal.Utils;
+import com.imsweb.algorithms.internal.IntRangeSet;
 
 /**
  * Internal site group DTO used to calculate the recode, this class should not be used outside of SEER*Utils...
@@ -25,27 +23,27 @@ public class IcccExecutableSiteGroupDto {
     /**
      * Site inclusions (single integer values or ranges)
      */
-    private List<Object> _siteInclusions;
+    private IntRangeSet _siteInclusions;
 
     /**
      * Site exclusions (single integer values or ranges)
      */
-    private List<Object> _siteExclusions;
+    private IntRangeSet _siteExclusions;
 
     /**
      * Histology inclusions (single integer values or ranges)
      */
-    private List<Object> _histologyInclusions;
+    private IntRangeSet _histologyInclusions;
 
     /**
      * Histology exclusions (single integer values or ranges)
      */
-    private List<Object> _histologyExclusions;
+    private IntRangeSet _histologyExclusions;
 
     /**
      * Behavior inclusions (single integer values
      */
-    private List<Object> _behaviorInclusions;
+    private IntRangeSet _behaviorInclusions;
 
     /**
      * Recode
@@ -62,23 +60,23 @@ public class IcccExecutableSiteGroupDto {
         return _name;
     }
 
-    public List<Object> getSiteInclusions() {
+    public IntRangeSet getSiteInclusions() {
         return _siteInclusions;
     }
 
-    public List<Object> getSiteExclusions() {
+    public IntRangeSet getSiteExclusions() {
         return _siteExclusions;
     }
 
-    public List<Object> getHistologyInclusions() {
+    public IntRangeSet getHistologyInclusions() {
         return _histologyInclusions;
     }
 
-    public List<Object> getHistologyExclusions() {
+    public IntRangeSet getHistologyExclusions() {
         return _histologyExclusions;
     }
 
-    public List<Object> getBehaviorInclusions() {
+    public IntRangeSet getBehaviorInclusions() {
         return _behaviorInclusions;
     }
 
@@ -94,23 +92,23 @@ public class IcccExecutableSiteGroupDto {
         _id = id;
     }
 
-    public void setSiteInclusions(List<Object> siteInclusions) {
+    public void setSiteInclusions(IntRangeSet siteInclusions) {
         _siteInclusions = siteInclusions;
     }
 
-    public void setSiteExclusions(List<Object> siteExclusions) {
+    public void setSiteExclusions(IntRangeSet siteExclusions) {
         _siteExclusions = siteExclusions;
     }
 
-    public void setHistologyInclusions(List<Object> histologyInclusions) {
+    public void setHistologyInclusions(IntRangeSet histologyInclusions) {
         _histologyInclusions = histologyInclusions;
     }
 
-    public void setHistologyExclusions(List<Object> histologyExclusions) {
+    public void setHistologyExclusions(IntRangeSet histologyExclusions) {
         _histologyExclusions = histologyExclusions;
     }
 
-    public void setBehaviorInclusions(List<Object> behaviorInclusions) {
+    public void setBehaviorInclusions(IntRangeSet behaviorInclusions) {
         _behaviorInclusions = behaviorInclusions;
     }
 
@@ -145,36 +143,30 @@ public class IcccExecutableSiteGroupDto {
     }
 
     public boolean matches(Integer site, Integer histology, Integer behavior) {
-        boolean siteOk;
-        boolean histOk = false;
-        boolean behavOk = false;
+        return matchesSite(site) && matchesHistology(histology) && matchesBehavior(behavior);
+    }
 
-        // check site
+    public boolean matchesSite(Integer site) {
         if (_siteInclusions != null)
-            siteOk = Utils.isContained(_siteInclusions, site);
-        else if (_siteExclusions != null)
-            siteOk = !Utils.isContained(_siteExclusions, site);
-        else
-            siteOk = true;
-
-        // check histology (only if site matched)
-        if (siteOk) {
-            if (_histologyInclusions != null)
-                histOk = Utils.isContained(_histologyInclusions, histology);
-            else if (_histologyExclusions != null)
-                histOk = !Utils.isContained(_histologyExclusions, histology);
-            else
-                histOk = true;
-        }
-
-        //Check the behavior
-        if (siteOk && histOk) {
-            if (_behaviorInclusions != null)
-                behavOk = Utils.isContained(_behaviorInclusions, behavior);
-            else
-                behavOk = true;
-        }
-
-        return siteOk && histOk && behavOk;
+            return isContained(_siteInclusions, site);
+        if (_siteExclusions != null)
+            return !isContained(_siteExclusions, site);
+        return true;
+    }
+
+    public boolean matchesHistology(Integer histology) {
+        if (_histologyInclusions != null)
+            return isContained(_histologyInclusions, histology);
+        if (_histologyExclusions != null)
+            return !isContained(_histologyExclusions, histology);
+        return true;
+    }
+
+    public boolean matchesBehavior(Integer behavior) {
+        return _behaviorInclusions == null || isContained(_behaviorInclusions, behavior);
+    }
+
+    private static boolean isContained(IntRangeSet set, Integer value) {
+        return value != null && set.contains(value);
     }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.iccc;
+
+/**
+ * The ICCC recode, extended recode and major category of a tumor; the instances are shared and can't be modified.
+ */
+public final class IcccRecodeOutputDto {
+
+    private final String _recode;
+
+    private final String _recodeExtended;
+
+    private final String _majorCategory;
+
+    IcccRecodeOutputDto(String recode, String recodeExtended, String majorCategory) {
+        _recode = recode;
+        _recodeExtended = recodeExtended;
+        _majorCategory = majorCategory;
+    }
+
+    public String getRecode() {
+        return _recode;
+    }
+
+    public String getRecodeExtended() {
+        return _recodeExtended;
+    }
+
+    public String getMajorCategory() {
+        return _majorCategory;
+    }
+}
@@ -1,5 +1,7 @@
 package com.imsweb.algorithms.iccc;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -8,11 +10,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
 import com.imsweb.algorithms.internal.Utils;
 
 /**
@@ -56,6 +61,12 @@ public final class IcccRecodeUtils {
     // cached runtime data
     private static final Map<String, List<IcccExecutableSiteGroupDto>> _INTERNAL_DATA = new HashMap<>();
 
+    // compiled runtime data, used for the calculation
+    private static final Map<String, IcdO3RuleTable<IcccRecodeOutputDto>> _TABLES = new ConcurrentHashMap<>();
+
+    // unknown recodes
+    private static final IcccRecodeOutputDto _UNKNOWN_RECODES = new IcccRecodeOutputDto(ICCC_UNKNOWN_RECODE, ICCC_UNKNOWN_RECODE, ICCC_UNKNOWN_MAJOR_CATEGORY);
+
     // cached regexes
     private static final Pattern _SITE_REGEX = Pattern.compile("C\\d+");
 
@@ -121,36 +132,33 @@ public final class IcccRecodeUtils {
      * @return the calculated site recode/ recode extended for the provided parameters, unknown if it can't be calculated
      */
     public static String calculateSiteRecode(String version, String site, String histology, String behavior, boolean recodeExtended) {
-        String result = ICCC_UNKNOWN_RECODE;
+        IcccRecodeOutputDto recodes = calculateRecodes(version, site, histology, behavior);
+        return recodeExtended ? recodes.getRecodeExtended() : recodes.getRecode();
+    }
 
+    /**
+     * Returns the calculated site recode, extended recode and major category for the provided parameters, unknown if they can't be calculated.
+     * @param version data version
+     * @param site site
+     * @param histology histology
+     * @param behavior behavior
+     * @return the calculated recodes for the provided parameters (never null), the returned object is shared and can't be modified
+     */
+    public static IcccRecodeOutputDto calculateRecodes(String version, String site, String histology, String behavior) {
         if (StringUtils.isBlank(site) || !_SITE_REGEX.matcher(site).matches() || StringUtils.isBlank(histology) || !NumberUtils.isDigits(histology))
-            return result;
+            return _UNKNOWN_RECODES;
 
         // behavior is not required for all versions...
         if (!VERSION_THIRD_EDITION.equals(version) && (StringUtils.isBlank(behavior) || !NumberUtils.isDigits(behavior)))
-            return result;
-
-        ensureVersion(version);
-
-        Integer s = Integer.valueOf(site.substring(1));
-        Integer h = Integer.valueOf(histology);
-        Integer b = -1;
+            return _UNKNOWN_RECODES;
 
+        int b = -1;
         if (!StringUtils.isBlank(behavior))
-            b = Integer.valueOf(behavior);
-
-        for (IcccExecutableSiteGroupDto dto : _INTERNAL_DATA.get(version)) {
-            if (dto.matches(s, h, b)) {
-                if (recodeExtended) {
-                    result = StringUtils.isEmpty(dto.getRecodeExtended()) ? ICCC_UNKNOWN_RECODE : dto.getRecodeExtended();
-                }
-                else
-                    result = dto.getRecode();
-                break;
-            }
-        }
+            b = Integer.parseInt(behavior);
+
+        IcccRecodeOutputDto recodes = getTable(version).lookup(Integer.parseInt(site, 1, site.length(), 10), Integer.parseInt(histology), b, -1);
 
-        return result;
+        return recodes == null ? _UNKNOWN_RECODES : recodes;
     }
 
     public static List<IcccSiteGroupDto> getRawData(String version) {
@@ -159,19 +167,42 @@ public final class IcccRecodeUtils {
         return _DATA.get(version);
     }
 
-    private static synchronized void ensureVersion(String version) {
-        if (_DATA.containsKey(version))
-            return;
+    static List<IcccExecutableSiteGroupDto> getInternalData(String version) {
+        ensureVersion(version);
 
-        String file;
+        return _INTERNAL_DATA.get(version);
+    }
+
+    static IcdO3RuleTable<IcccRecodeOutputDto> getTable(String version) {
+        return _TABLES.computeIfAbsent(version, IcccRecodeUtils::loadTable);
+    }
+
+    /**
+     * Compiles the data of every version into lookup tables and writes them in the provided directory; this is called at build time, the tables
+     * are then read from the resources instead of the data files.
+     * @param directory the directory to write to (the tables are written under their resource path)
+     */
+    public static void writeRuleTables(Path directory) throws IOException {
+        for (String version : _VERSIONS)
+            Utils.writeRuleTable(directory, getRuleTableFile(version), new IcdO3RuleTable<>(createRules(version)), IcccRecodeUtils::formatRecodes);
+    }
+
+    private static String getDataFile(String version) {
         if (VERSION_THIRD_EDITION.equals(version))
-            file = "iccc/iccc-data-third-edition.csv";
+            return "iccc/iccc-data-third-edition.csv";
         else if (VERSION_WHO_2008.equals(version))
-            file = "iccc/iccc-data-who-2008.csv";
+            return "iccc/iccc-data-who-2008.csv";
         else if (VERSION_THIRD_EDITION_IARC_2017.equals(version))
-            file = "iccc/iccc-data-third-edition-iarc-2017.csv";
+            return "iccc/iccc-data-third-edition-iarc-2017.csv";
         else
             throw new IllegalStateException("Unsupported version: " + version);
+    }
+
+    private static synchronized void ensureVersion(String version) {
+        if (_DATA.containsKey(version))
+            return;
+
+        String file = getDataFile(version);
 
         List<IcccSiteGroupDto> groups = new ArrayList<>();
         _DATA.put(version, groups);
@@ -227,16 +258,61 @@ public final class IcccRecodeUtils {
 
                 IcccExecutableSiteGroupDto executable = new IcccExecutableSiteGroupDto();
                 executable.setId(id);
-                executable.setSiteInclusions(Utils.expandSitesAsIntegers(siteIn));
-                executable.setSiteExclusions(Utils.expandSitesAsIntegers(siteOut));
-                executable.setHistologyInclusions(Utils.expandHistologiesAsIntegers(histIn));
-                executable.setHistologyExclusions(Utils.expandHistologiesAsIntegers(histOut));
-                executable.setBehaviorInclusions(Utils.expandBehaviorsAsIntegers(behaviorInclusions));
+                executable.setSiteInclusions(Utils.expandSitesAsRangeSet(siteIn));
+                executable.setSiteExclusions(Utils.expandSitesAsRangeSet(siteOut));
+                executable.setHistologyInclusions(Utils.expandHistologiesAsRangeSet(histIn));
+                executable.setHistologyExclusions(Utils.expandHistologiesAsRangeSet(histOut));
+                executable.setBehaviorInclusions(Utils.expandBehaviorsAsRangeSet(behaviorInclusions));
                 executable.setRecode(recode);
                 executable.setRecodeExtended(recodeExtended);
 
                 executables.add(executable);
             }
         });
+
+    }
+
+    // the table is read from the resources generated at build time (see writeRuleTables()), the data file is only read if it's not available
+    private static IcdO3RuleTable<IcccRecodeOutputDto> loadTable(String version) {
+        IcdO3RuleTable<IcccRecodeOutputDto> table = Utils.readInternalRuleTable(getRuleTableFile(version), IcccRecodeUtils::parseRecodes, () -> createRules(version));
+        return table != null ? table : new IcdO3RuleTable<>(createRules(version));
+    }
+
+    private static String getRuleTableFile(String version) {
+        return StringUtils.removeEnd(getDataFile(version), ".csv") + ".bin";
+    }
+
+    private static List<IcdO3Rule<IcccRecodeOutputDto>> createRules(String version) {
+        ensureVersion(version);
+
+        List<IcdO3Rule<IcccRecodeOutputDto>> rules = new ArrayList<>();
+        for (IcccExecutableSiteGroupDto executable : _INTERNAL_DATA.get(version))
+            rules.add(createRule(executable));
+        return rules;
+    }
+
+    // the recodes are written as "recode,extended recode" in the tables, the major category is computed from the recode
+    private static String formatRecodes(IcccRecodeOutputDto recodes) {
+        return recodes.getRecode() + "," + recodes.getRecodeExtended();
+    }
+
+    private static IcccRecodeOutputDto parseRecodes(String value) {
+        int index = value.indexOf(',');
+        String recode = value.substring(0, index);
+        return new IcccRecodeOutputDto(recode, value.substring(index + 1), calculateIcccMajorCategory(recode));
+    }
+
+    // the inclusions of the groups take precedence over their exclusions
+    private static IcdO3Rule<IcccRecodeOutputDto> createRule(IcccExecutableSiteGroupDto group) {
+        String recodeExtended = StringUtils.isEmpty(group.getRecodeExtended()) ? ICCC_UNKNOWN_RECODE : group.getRecodeExtended();
+        IcdO3Rule<IcccRecodeOutputDto> rule = new IcdO3Rule<>(new IcccRecodeOutputDto(group.getRecode(), recodeExtended, calculateIcccMajorCategory(group.getRecode())));
+        rule.setSiteInclusions(group.getSiteInclusions());
+        if (group.getSiteInclusions() == null)
+            rule.setSiteExclusions(group.getSiteExclusions());
+        rule.setHistologyInclusions(group.getHistologyInclusions());
+        if (group.getHistologyInclusions() == null)
+            rule.setHistologyExclusions(group.getHistologyExclusions());
+        rule.setBehaviorInclusions(group.getBehaviorInclusions());
+        return rule;
     }
 }
@@ -3,40 +3,51 @@
  */
 package com.imsweb.algorithms.internal;
 
-import java.util.HashMap;
-import java.util.Map;
+import org.apache.commons.lang3.math.NumberUtils;
 
+/**
+ * Census tract data.
+ * <br/><br/>
+ * To keep the memory footprint low, the low-cardinality codes are stored as 16-bit codes in a shared dictionary, and the year-based data
+ * is stored in primitive arrays indexed by (year - CountryData.TRACT_YEAR_MIN_VAL); the (high-cardinality) identifiers are kept as strings.
+ */
 public class CensusData {
 
+    // dictionary used for all the low-cardinality codes
+    private static final CodeDictionary _CODES = new CodeDictionary();
+
+    // rough size (in bytes) of an instance without the identifiers and the year-based data, including its entry (and key) in the county map
+    private static final long _ESTIMATED_BASE_SIZE = 144;
+
     // RUCA 2000
-    private String _commutingArea2000;
+    private char _commutingArea2000;
 
     // RUCA 2010
-    private String _commutingArea2010;
+    private char _commutingArea2010;
 
     // RUCA 2020
-    private String _commutingArea2020;
+    private char _commutingArea2020;
 
     // URIC 2000
-    private String _indicatorCode2000;
+    private char _indicatorCode2000;
 
     // URIC 2010
-    private String _indicatorCode2010;
+    private char _indicatorCode2010;
 
     // URIC 2020
-    private String _indicatorCode2020;
+    private char _indicatorCode2020;
 
     // poverty indicator data (1995-2004)
-    private String _naaccrPovertyIndicator9504;
+    private char _naaccrPovertyIndicator9504;
 
     // poverty indicator data (2005-2007)
-    private String _naaccrPovertyIndicator0507;
+    private char _naaccrPovertyIndicator0507;
 
     // Cancer Reporting Zone
     private String _cancerReportingZone;
 
     // Cancer Reporting Zone Tract Certainty
-    private String _cancerReportingZoneTractCert;
+    private char _cancerReportingZoneTractCert;
 
     // EPHT SubCounty 5K
     private String _epht2010GeoId5k;
@@ -48,85 +59,115 @@ public class CensusData {
     private String _epht2010GeoId50k;
 
     // Social Vulnerability Index (2018)
-    private String _sviOverallStateBased2018;
+    private char _sviOverallStateBased2018;
 
     // Social Vulnerability Index (2022)
-    private String _sviOverallStateBased2022;
+    private char _sviOverallStateBased2022;
 
     // Congressional district (118)
-    private String _congressionalDistrict118;
+    private char _congressionalDistrict118;
 
     // Congressional district (119)
-    private String _congressionalDistrict119;
+    private char _congressionalDistrict119;
 
     // Persistent Poverty
-    private String _persistentPoverty;
+    private char _persistentPoverty;
 
-    // year data keyed by DX year
-    private final Map<String, YearData> _yearData = new HashMap<>();
+    // year-based data (see YearData), null until that data is initialized
+    private char[] _yearQuintiles;
+    private short[] _yearPovertyValues;
+
+    public CensusData() {
+    }
+
+    /**
+     * Creates a copy of the provided data; package private so it's only used during initialization.
+     */
+    CensusData(CensusData other) {
+        _commutingArea2000 = other._commutingArea2000;
+        _commutingArea2010 = other._commutingArea2010;
+        _commutingArea2020 = other._commutingArea2020;
+        _indicatorCode2000 = other._indicatorCode2000;
+        _indicatorCode2010 = other._indicatorCode2010;
+        _indicatorCode2020 = other._indicatorCode2020;
+        _naaccrPovertyIndicator9504 = other._naaccrPovertyIndicator9504;
+        _naaccrPovertyIndicator0507 = other._naaccrPovertyIndicator0507;
+        _cancerReportingZone = other._cancerReportingZone;
+        _cancerReportingZoneTractCert = other._cancerReportingZoneTractCert;
+        _epht2010GeoId5k = other._epht2010GeoId5k;
+        _epht2010GeoId20k = other._epht2010GeoId20k;
+        _epht2010GeoId50k = other._epht2010GeoId50k;
+        _sviOverallStateBased2018 = other._sviOverallStateBased2018;
+        _sviOverallStateBased2022 = other._sviOverallStateBased2022;
+        _congressionalDistrict118 = other._congressionalDistrict118;
+        _congressionalDistrict119 = other._congressionalDistrict119;
+        _persistentPoverty = other._persistentPoverty;
+        _yearQuintiles = other._yearQuintiles == null ? null : other._yearQuintiles.clone();
+        _yearPovertyValues = other._yearPovertyValues == null ? null : other._yearPovertyValues.clone();
+    }
 
     public String getIndicatorCode2000() {
-        return _indicatorCode2000;
+        return _CODES.decode(_indicatorCode2000);
     }
 
     public void setIndicatorCode2000(String indicatorCode2000) {
-        _indicatorCode2000 = indicatorCode2000;
+        _indicatorCode2000 = _CODES.encode(indicatorCode2000);
     }
 
     public String getCommutingArea2000() {
-        return _commutingArea2000;
+        return _CODES.decode(_commutingArea2000);
     }
 
     public void setCommutingArea2000(String commutingArea2000) {
-        _commutingArea2000 = commutingArea2000;
+        _commutingArea2000 = _CODES.encode(commutingArea2000);
     }
 
     public String getIndicatorCode2010() {
-        return _indicatorCode2010;
+        return _CODES.decode(_indicatorCode2010);
     }
 
     public void setIndicatorCode2010(String indicatorCode2010) {
-        _indicatorCode2010 = indicatorCode2010;
+        _indicatorCode2010 = _CODES.encode(indicatorCode2010);
     }
 
     public String getCommutingArea2010() {
-        return _commutingArea2010;
+        return _CODES.decode(_commutingArea2010);
     }
 
     public void setCommutingArea2010(String commutingArea2010) {
-        _commutingArea2010 = commutingArea2010;
+        _commutingArea2010 = _CODES.encode(commutingArea2010);
     }
 
     public String getIndicatorCode2020() {
-        return _indicatorCode2020;
+        return _CODES.decode(_indicatorCode2020);
     }
 
     public void setIndicatorCode2020(String indicatorCode2020) {
-        _indicatorCode2020 = indicatorCode2020;
+        _indicatorCode2020 = _CODES.encode(indicatorCode2020);
     }
 
     public String getCommutingArea2020() {
-        return _commutingArea2020;
+        return _CODES.decode(_commutingArea2020);
     }
 
     public void setCommutingArea2020(String commutingArea2020) {
-        _commutingArea2020 = commutingArea2020;
+        _commutingArea2020 = _CODES.encode(commutingArea2020);
     }
 
     public String getNaaccrPovertyIndicator9504() {
-        return _naaccrPovertyIndicator9504;
+        return _CODES.decode(_naaccrPovertyIndicator9504);
     }
 
     public void setNaaccrPovertyIndicator9504(String naaccrPovertyIndicator9504) {
-        _naaccrPovertyIndicator9504 = naaccrPovertyIndicator9504;
+        _naaccrPovertyIndicator9504 = _CODES.encode(naaccrPovertyIndicator9504);
     }
 
     public String getNaaccrPovertyIndicator0507() {
-        return _naaccrPovertyIndicator0507;
+        return _CODES.decode(_naaccrPovertyIndicator0507);
     }
 
     public void setNaaccrPovertyIndicator0507(String naaccrPovertyIndicator0507) {
-        _naaccrPovertyIndicator0507 = naaccrPovertyIndicator0507;
+        _naaccrPovertyIndicator0507 = _CODES.encode(naaccrPovertyIndicator0507);
     }
 
     public String getEpht2010GeoId20k() {
@@ -162,64 +203,89 @@ public class CensusData {
     }
 
     public String getCancerReportingZoneTractCert() {
-        return _cancerReportingZoneTractCert;
+        return _CODES.decode(_cancerReportingZoneTractCert);
     }
 
     public void setCancerReportingZoneTractCert(String cancerReportingZoneTractCert) {
-        _cancerReportingZoneTractCert = cancerReportingZoneTractCert;
+        _cancerReportingZoneTractCert = _CODES.encode(cancerReportingZoneTractCert);
     }
 
     public String getSviOverallStateBased2018() {
-        return _sviOverallStateBased2018;
+        return _CODES.decode(_sviOverallStateBased2018);
     }
 
     public void setSviOverallStateBased2018(String sviOverallStateBased2018) {
-        _sviOverallStateBased2018 = sviOverallStateBased2018;
+        _sviOverallStateBased2018 = _CODES.encode(sviOverallStateBased2018);
     }
 
     public String getSviOverallStateBased2022() {
-        return _sviOverallStateBased2022;
+        return _CODES.decode(_sviOverallStateBased2022);
     }
 
     public void setSviOverallStateBased2022(String sviOverallStateBased2022) {
-        _sviOverallStateBased2022 = sviOverallStateBased2022;
+        _sviOverallStateBased2022 = _CODES.encode(sviOverallStateBased2022);
     }
 
     public String getCongressionalDistrict118() {
-        return _congressionalDistrict118;
+        return _CODES.decode(_congressionalDistrict118);
     }
 
     public void setCongressionalDistrict118(String congressionalDistrict118) {
-        _congressionalDistrict118 = congressionalDistrict118;
+        _congressionalDistrict118 = _CODES.encode(congressionalDistrict118);
     }
 
     public String getCongressionalDistrict119() {
-        return _congressionalDistrict119;
+        return _CODES.decode(_congressionalDistrict119);
     }
 
     public void setCongressionalDistrict119(String congressionalDistrict119) {
-        _congressionalDistrict119 = congressionalDistrict119;
+        _congressionalDistrict119 = _CODES.encode(congressionalDistrict119);
     }
 
     public String getPersistentPoverty() {
-        return _persistentPoverty;
+        return _CODES.decode(_persistentPoverty);
     }
 
     public void setPersistentPoverty(String persistentPoverty) {
-        _persistentPoverty = persistentPoverty;
+        _persistentPoverty = _CODES.encode(persistentPoverty);
     }
 
     /**
      * Returns the census data for a given census tract code, null if not found.
      */
     public YearData getYearData(String year) {
-        return _yearData.get(year);
+        if (_yearPovertyValues == null || year == null || year.length() != 4 || !NumberUtils.isDigits(year))
+            return null;
+        int yearVal = Integer.parseInt(year);
+        if (yearVal < CountryData.TRACT_YEAR_MIN_VAL || yearVal > CountryData.TRACT_YEAR_MAX_VAL)
+            return null;
+        return new YearData(_yearQuintiles, _yearPovertyValues, yearVal - CountryData.TRACT_YEAR_MIN_VAL);
+    }
+
+    /**
+     * Returns the year data for the requested year, creating the year-based data if needed; package private so it's only used during initialization.
+     */
+    YearData getOrCreateYearData(int year) {
+        if (_yearPovertyValues == null) {
+            int numYears = CountryData.TRACT_YEAR_MAX_VAL - CountryData.TRACT_YEAR_MIN_VAL + 1;
+            _yearQuintiles = YearData.createQuintiles(numYears);
+            _yearPovertyValues = YearData.createPovertyValues(numYears);
+        }
+        return new YearData(_yearQuintiles, _yearPovertyValues, year - CountryData.TRACT_YEAR_MIN_VAL);
     }
 
     /**
-     * Returns all the data; package private so it's only used during initialization.
+     * Returns a rough estimate of the memory used by this data, in bytes.
      */
-    Map<String, YearData> getData() {
-        return _yearData;
+    long getEstimatedSize() {
+        long size = _ESTIMATED_BASE_SIZE;
+        for (String identifier : new String[] {_cancerReportingZone, _epht2010GeoId5k, _epht2010GeoId20k, _epht2010GeoId50k})
+            if (identifier != null)
+                size += 40 + identifier.length();
+        if (_yearQuintiles != null)
+            size += 16 + (long)Character.BYTES * _yearQuintiles.length;
+        if (_yearPovertyValues != null)
+            size += 16 + (long)Short.BYTES * _yearPovertyValues.length;
+        return size;
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.Map.Entry;
+
+/**
+ * Flat, read-only lookup table of the census data of a state; this is used instead of going through the county and tract maps when a census
+ * data needs to be found (see CountryData). The table is created lazily by its state data (see StateData), so a state that didn't change
+ * keeps its table when new data is published.
+ * <br/><br/>
+ * The state abbreviation, county and tract are packed into a single long key (5 bits per state letter, 10 bits for the county, 20 bits for the
+ * tract), and the keys are stored in an open-addressing table (linear probing) so a lookup doesn't require any allocation.
+ */
+final class CensusDataTable {
+
+    // returned when the values can't be packed into a key (such values can only be found using the regular maps)
+    static final long NO_KEY = -1L;
+
+    // value used for the empty slots, a valid key can never be 0 since the state letters are never 0
+    private static final long _EMPTY_SLOT = 0L;
+
+    private final long[] _keys;
+
+    private final CensusData[] _values;
+
+    private final int _mask;
+
+    CensusDataTable(String state, StateData stateData) {
+        int size = 0;
+        for (CountyData countyData : stateData.getData().values())
+            size += countyData.getData().size();
+
+        // keep the load factor under 50%
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 4 - 1);
+        _keys = new long[capacity];
+        _values = new CensusData[capacity];
+        _mask = capacity - 1;
+
+        for (Entry<String, CountyData> countyEntry : stateData.getData().entrySet()) {
+            for (Entry<String, CensusData> tractEntry : countyEntry.getValue().getData().entrySet()) {
+                long key = key(state, countyEntry.getKey(), tractEntry.getKey());
+                if (key == NO_KEY)
+                    continue;
+                int index = index(key);
+                while (_keys[index] != _EMPTY_SLOT)
+                    index = (index + 1) & _mask;
+                _keys[index] = key;
+                _values[index] = tractEntry.getValue();
+            }
+        }
+    }
+
+    /**
+     * Returns the census data for the provided key, null if not found.
+     */
+    CensusData get(long key) {
+        int index = index(key);
+        while (true) {
+            long existingKey = _keys[index];
+            if (existingKey == key)
+                return _values[index];
+            if (existingKey == _EMPTY_SLOT)
+                return null;
+            index = (index + 1) & _mask;
+        }
+    }
+
+    private int index(long key) {
+        // 64-bit finalizer from MurmurHash3, the packed keys are very regular
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int)h & _mask;
+    }
+
+    /**
+     * Packs the provided state abbreviation (2 uppercase letters), county (3 digits) and tract (6 digits) into a single key, without any allocation.
+     * @return the key, NO_KEY if the values don't have the expected format
+     */
+    static long key(String state, String county, String tract) {
+        if (state == null || county == null || tract == null || state.length() != 2 || county.length() != 3 || tract.length() != 6)
+            return NO_KEY;
+
+        long key = 0;
+        for (int i = 0; i < 2; i++) {
+            char c = state.charAt(i);
+            if (c < 'A' || c > 'Z')
+                return NO_KEY;
+            key = (key << 5) | (c - 'A' + 1);
+        }
+        int countyValue = parseDigits(county);
+        int tractValue = parseDigits(tract);
+        if (countyValue < 0 || tractValue < 0)
+            return NO_KEY;
+
+        return (((key << 10) | countyValue) << 20) | tractValue;
+    }
+
+    private static int parseDigits(String value) {
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Small dictionary assigning a 16-bit code to each distinct string value; used to store low-cardinality codes of the census tract data
+ * without keeping one string instance per tract.
+ * <br/><br/>
+ * The code 0 is reserved for null. Encoding is synchronized (it only happens when the data is initialized) while decoding doesn't require any lock.
+ */
+final class CodeDictionary {
+
+    // distinct values mapped to their code
+    private final Map<String, Character> _codes = new HashMap<>();
+
+    // values indexed by their code (the array is replaced when it needs to grow)
+    private volatile String[] _values = new String[16];
+
+    // number of used codes (including the one reserved for null)
+    private int _size = 1;
+
+    /**
+     * Returns the code of the provided value, assigning a new code if the value was never seen before.
+     */
+    synchronized char encode(String value) {
+        if (value == null)
+            return 0;
+
+        Character code = _codes.get(value);
+        if (code == null) {
+            if (_size > Character.MAX_VALUE)
+                throw new IllegalStateException("Too many distinct values for dictionary");
+            code = (char)_size;
+            String[] values = _values;
+            if (_size == values.length)
+                values = Arrays.copyOf(values, Math.min(values.length * 2, Character.MAX_VALUE + 1));
+            values[_size++] = value;
+            _values = values;
+            _codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the value corresponding to the provided code.
+     */
+    String decode(char code) {
+        return _values[code];
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream counting the number of bytes read from the wrapped stream.
+ */
+public final class CountingInputStream extends FilterInputStream {
+
+    private long _count;
+
+    public CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     */
+    public long getCount() {
+        return _count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1)
+            _count++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int num = super.read(b, off, len);
+        if (num > 0)
+            _count += num;
+        return num;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long num = super.skip(n);
+        _count += num;
+        return num;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
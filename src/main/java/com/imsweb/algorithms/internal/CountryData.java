@@ -3,21 +3,30 @@
  */
 package com.imsweb.algorithms.internal;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +34,10 @@ import org.apache.commons.lang3.math.NumberUtils;
 
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
+import com.imsweb.algorithms.countyatdiagnosisanalysis.CountyAtDxAnalysisUtils;
+import com.imsweb.algorithms.prcda.PrcdaDataProvider;
+import com.imsweb.algorithms.ruralurban.RuralUrbanDataProvider;
+import com.imsweb.algorithms.uiho.UihoDataProvider;
 
 /**
  * Several algorithms need to use data related to either states, counties or census trace codes.
@@ -35,9 +48,9 @@ import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
  * CountryData -> StateData -> CountyData -> CensusData
  * Algorithms can register data at either one of those levels.
  * <br/><br/>
- * This class provides concurrency to safely register the data and use it in a thread-safe manner.
- * But it is the responsibility of the algorithms to check that the data has been properly
- * initialized before it's being accessed.
+ * This class provides concurrency to safely register the data and use it in a thread-safe manner; the registered data is
+ * published as an immutable snapshot (copy-on-write) so accessing it doesn't require any lock. But it is the responsibility
+ * of the algorithms to check that the data has been properly initialized before it's being accessed.
  */
 @SuppressWarnings("BooleanMethodIsAlwaysInverted")
 public final class CountryData {
@@ -46,8 +59,6 @@ public final class CountryData {
         // static utility class
     }
 
-    private static final String _SEER_CENSUS_DATA_FILE = "tract/tract-data.txt.gz";
-
     private static final Map<String, Integer> _TRACT_FIELDS = new LinkedHashMap<>();
 
     static {
@@ -75,6 +86,9 @@ public final class CountryData {
         _TRACT_FIELDS.put("persistentPoverty", 1);
     }
 
+    // offset of each field within a line of the data file
+    private static final Map<String, Integer> _TRACT_FIELD_OFFSETS = computeOffsets(_TRACT_FIELDS);
+
     public static Map<String, Integer> getTractFields() {
         return Collections.unmodifiableMap(_TRACT_FIELDS);
     }
@@ -93,33 +107,66 @@ public final class CountryData {
         _TRACT_YEAR_BASED_FIELDS.put("percentBelowPovertyHisp", 5);
     }
 
+    // offset of each year-based field within the data of a single year, and the length of that data
+    private static final Map<String, Integer> _TRACT_YEAR_BASED_FIELD_OFFSETS = computeOffsets(_TRACT_YEAR_BASED_FIELDS);
+    private static final int _TRACT_YEAR_LENGTH = _TRACT_YEAR_BASED_FIELDS.values().stream().mapToInt(Integer::intValue).sum();
+
+    // name used when notifying the listener that the tract data was loaded
+    private static final String _TRACT_DATA_NAME = "tract/tract-data";
+
     public static Map<String, Integer> getTractYearBasedFields() {
         return Collections.unmodifiableMap(_TRACT_YEAR_BASED_FIELDS);
     }
 
+    private static Map<String, Integer> computeOffsets(Map<String, Integer> fields) {
+        Map<String, Integer> offsets = new HashMap<>();
+        int offset = 0;
+        for (Entry<String, Integer> entry : fields.entrySet()) {
+            offsets.put(entry.getKey(), offset);
+            offset += entry.getValue();
+        }
+        return offsets;
+    }
+
     public static final int TRACT_YEAR_MIN_VAL = 2008;
     public static final int TRACT_YEAR_MAX_VAL = 2021;
 
     public static CensusData getCensusData(StateCountyTractInputDto input, CensusTract censusTract) {
+        String tract;
+        if (censusTract == CensusTract.CENSUS_2000)
+            tract = input.getCensusTract2000();
+        else if (censusTract == CensusTract.CENSUS_2010)
+            tract = input.getCensusTract2010();
+        else if (censusTract == CensusTract.CENSUS_2020)
+            tract = input.getCensusTract2020();
+        else
+            throw new IllegalArgumentException("Unsupported census tract: " + censusTract);
+
         if (!CountryData.getInstance().isTractDataInitialized(input.getAddressAtDxState()))
             CountryData.getInstance().initializeTractData(input.getAddressAtDxState());
 
-        StateData stateData = CountryData.getInstance().getTractData(input.getAddressAtDxState());
-        if (stateData != null) {
-            CountyData countyData = stateData.getCountyData(input.getCountyAtDxAnalysis());
-            if (countyData != null) {
-                if (censusTract == CensusTract.CENSUS_2000)
-                    return countyData.getCensusData(input.getCensusTract2000());
-                else if (censusTract == CensusTract.CENSUS_2010)
-                    return countyData.getCensusData(input.getCensusTract2010());
-                else if (censusTract == CensusTract.CENSUS_2020)
-                    return countyData.getCensusData(input.getCensusTract2020());
-                else
-                    throw new IllegalArgumentException("Unsupported census tract: " + censusTract);
-            }
-        }
+        return CountryData.getInstance().getTractCensusData(input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), tract);
+    }
+
+    /**
+     * The different datasets that can be preloaded (see preload method).
+     */
+    public enum DatasetKind {
+        TRACT,
+        YEAR_BASED_TRACT,
+        CONTINUUM,
+        PRCDA,
+        UIHO,
+        COUNTY_AT_DX_ANALYSIS
+    }
 
-        return null;
+    /**
+     * Listener notified every time a preloaded dataset is available; it is called from the thread that loaded the dataset.
+     */
+    @FunctionalInterface
+    public interface PreloadListener {
+
+        void datasetLoaded(DatasetKind dataset, int numLoadedDatasets, int numRequestedDatasets);
     }
 
     // singleton instance
@@ -130,222 +177,569 @@ public final class CountryData {
         return _INSTANCE;
     }
 
-    // shared internal data structure; sates mapped by state abbreviation
-    private final Map<String, StateData> _stateData = new HashMap<>();
+    // shared internal data structure, published as an immutable snapshot so it can be read without any lock
+    private volatile RegisteredData _data = new RegisteredData();
 
-    // the states that had their census-related data initialized
-    private final Set<String> _stateTractDataInitialized = new HashSet<>();
+    // where the census-related data is read from
+    private volatile TractDataSource _tractDataSource = TractDataSource.ofResources();
 
-    // the states that had their year-based census-related data initialized
-    private final Set<String> _stateTractDataYearBasedInitialized = new HashSet<>();
+    // lock used to prevent several changes of the data source from happening at the same time
+    private final Object _tractDataSourceLock = new Object();
 
-    // the states that had their Continuum 1993/2003/2013 data initialized
-    private final Set<String> _continuumStateInitialized = new HashSet<>();
-    private boolean _countyAtDxAnalysisInitialized = false;
-    private boolean _prcdaInitialized = false;
-    private boolean _uihoInitialized = false;
+    // optional budget for the census-related data (0 means no limit), the least recently used states are evicted when it's exceeded
+    private int _maxTractDataStates = 0;
+    private long _maxTractDataSize = 0;
+    private volatile boolean _tractDataBudgetEnabled = false;
 
-    // internal lock to control concurrency
-    private final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+    // number of states that were evicted because of the budget, and number of evicted states that were reloaded
+    private final AtomicLong _numTractDataEvictions = new AtomicLong();
+    private final AtomicLong _numTractDataReloads = new AtomicLong();
 
     /**
      * Unregister all data.
      */
-    public void uninitializeAllData() {
-        _lock.writeLock().lock();
-        try {
-            _stateData.clear();
-            _stateTractDataInitialized.clear();
-            _stateTractDataYearBasedInitialized.clear();
-            _continuumStateInitialized.clear();
-            _countyAtDxAnalysisInitialized = false;
-            _prcdaInitialized = false;
-            _uihoInitialized = false;
+    public synchronized void uninitializeAllData() {
+        _data = new RegisteredData();
+    }
+
+    /**
+     * Returns the source the census tract data is read from.
+     */
+    public TractDataSource getTractDataSource() {
+        return _tractDataSource;
+    }
+
+    /**
+     * Changes the source the census tract data is read from.
+     * <br/><br/>
+     * The tract data that is currently loaded is read again from the new source, and then replaced atomically; the data can still be used
+     * while the new data is read, and the lookups that are in progress when the data is replaced complete using the previous data. States that
+     * were evicted because of the budget (see setTractDataBudget) are reloaded from the new source the next time they are accessed.
+     * @param source the new source, cannot be null
+     */
+    public void setTractDataSource(TractDataSource source) {
+        if (source == null)
+            throw new IllegalArgumentException("Source is required");
+
+        synchronized (_tractDataSourceLock) {
+            // this is the expensive part, it's done without holding the lock protecting the data
+            RegisteredData newData = new RegisteredData();
+            readMissingTractData(source, newData, _data);
+
+            synchronized (this) {
+                // some states might have been initialized from the previous source while the new data was read
+                readMissingTractData(source, newData, _data);
+
+                RegisteredData data = new RegisteredData(_data);
+                data.replaceTractData(newData);
+                applyTractDataBudget(data, Collections.emptySet());
+
+                _tractDataSource = source;
+                _data = data;
+            }
+        }
+    }
+
+    /**
+     * Reads the (regular and year-based) tract data of the states that are initialized in the reference data but not in the target data, and registers
+     * it in the target data (which must not be published yet).
+     */
+    private void readMissingTractData(TractDataSource source, RegisteredData target, RegisteredData reference) {
+        boolean tractDataNeeded = reference._allStatesTractDataInitialized ? !target._allStatesTractDataInitialized
+                : !target._allStatesTractDataInitialized && !target._stateTractDataInitialized.containsAll(reference._stateTractDataInitialized);
+        boolean yearBasedDataNeeded = reference._allStatesYearBasedTractDataInitialized ? !target._allStatesYearBasedTractDataInitialized
+                : !target._allStatesYearBasedTractDataInitialized && !target._stateTractDataYearBasedInitialized.containsAll(reference._stateTractDataYearBasedInitialized);
+        if (!tractDataNeeded && !yearBasedDataNeeded)
+            return;
+
+        readTractData(source, target,
+                state -> tractDataNeeded && reference.isTractDataInitialized(state) && !target.isTractDataInitialized(state),
+                state -> yearBasedDataNeeded && reference.isYearBasedTractDataInitialized(state) && !target.isYearBasedTractDataInitialized(state));
+
+        if (reference._allStatesTractDataInitialized)
+            target._allStatesTractDataInitialized = true;
+        else
+            target._stateTractDataInitialized.addAll(reference._stateTractDataInitialized);
+        if (reference._allStatesYearBasedTractDataInitialized)
+            target._allStatesYearBasedTractDataInitialized = true;
+        else
+            target._stateTractDataYearBasedInitialized.addAll(reference._stateTractDataYearBasedInitialized);
+    }
+
+    /**
+     * Sets a memory budget for the census tract data (regular and year-based); when the budget is exceeded, the data of the least recently used
+     * states is evicted. Evicted states are transparently reloaded the next time they are accessed.
+     * <br/><br/>
+     * The size of the data is an estimate, it doesn't take into account the data that is not related to census tracts (continuum, PRCDA, UIHO, etc...).
+     * @param maxStates maximum number of states that can have their tract data loaded at the same time (0 means no limit)
+     * @param maxEstimatedSize maximum estimated size (in bytes) of the tract data (0 means no limit)
+     */
+    public synchronized void setTractDataBudget(int maxStates, long maxEstimatedSize) {
+        if (maxStates < 0 || maxEstimatedSize < 0)
+            throw new IllegalArgumentException("Budget cannot be negative");
+
+        _maxTractDataStates = maxStates;
+        _maxTractDataSize = maxEstimatedSize;
+        _tractDataBudgetEnabled = maxStates > 0 || maxEstimatedSize > 0;
+
+        RegisteredData data = new RegisteredData(_data);
+        if (applyTractDataBudget(data, Collections.emptySet()))
+            _data = data;
+    }
+
+    /**
+     * Returns true if a budget is set for the census tract data (see setTractDataBudget).
+     */
+    public boolean isTractDataBudgetEnabled() {
+        return _tractDataBudgetEnabled;
+    }
+
+    /**
+     * Returns the number of times the tract data of a state was evicted because of the budget (see setTractDataBudget).
+     */
+    public long getNumTractDataEvictions() {
+        return _numTractDataEvictions.get();
+    }
+
+    /**
+     * Returns the number of times the tract data of a previously evicted state was reloaded (see setTractDataBudget).
+     */
+    public long getNumTractDataReloads() {
+        return _numTractDataReloads.get();
+    }
+
+    /**
+     * Returns a rough estimate of the memory used by the census tract data that is currently loaded, in bytes.
+     */
+    public long getEstimatedTractDataSize() {
+        long size = 0;
+        for (StateData stateData : _data._stateData.values())
+            size += stateData.getEstimatedTractDataSize();
+        return size;
+    }
+
+    /**
+     * Loads the requested datasets ahead of time, instead of lazily loading them when the first record of a given state is processed.
+     * @param states the states to load the data for, null means all the states
+     * @param datasets the datasets to load, cannot be null
+     * @param executor the executor used to load the datasets, cannot be null
+     * @return a future completed once all the datasets are available
+     */
+    public CompletableFuture<Void> preload(Collection<String> states, Set<DatasetKind> datasets, Executor executor) {
+        return preload(states, datasets, executor, null);
+    }
+
+    /**
+     * Loads the requested datasets ahead of time, instead of lazily loading them when the first record of a given state is processed.
+     * <br/><br/>
+     * The different datasets are loaded in parallel; the regular and year-based tract data are loaded using a single pass over the tract data file.
+     * @param states the states to load the data for, null means all the states
+     * @param datasets the datasets to load, cannot be null
+     * @param executor the executor used to load the datasets, cannot be null
+     * @param listener optional listener notified every time a dataset is available
+     * @return a future completed once all the datasets are available (or completed exceptionally if any of them fails to load)
+     */
+    public CompletableFuture<Void> preload(Collection<String> states, Set<DatasetKind> datasets, Executor executor, PreloadListener listener) {
+        if (datasets == null)
+            throw new IllegalArgumentException("Datasets are required");
+        if (executor == null)
+            throw new IllegalArgumentException("Executor is required");
+
+        Set<String> requestedStates = states == null ? null : new HashSet<>(states);
+        AtomicInteger numLoaded = new AtomicInteger();
+        Consumer<DatasetKind> notifier = dataset -> {
+            int num = numLoaded.incrementAndGet();
+            if (listener != null)
+                listener.datasetLoaded(dataset, num, datasets.size());
+        };
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        boolean tractData = datasets.contains(DatasetKind.TRACT);
+        boolean yearBasedTractData = datasets.contains(DatasetKind.YEAR_BASED_TRACT);
+        if (tractData || yearBasedTractData) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                initializeTractData(requestedStates, tractData, yearBasedTractData);
+                if (tractData)
+                    notifier.accept(DatasetKind.TRACT);
+                if (yearBasedTractData)
+                    notifier.accept(DatasetKind.YEAR_BASED_TRACT);
+            }, executor));
+        }
+
+        if (datasets.contains(DatasetKind.CONTINUUM)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                Map<String, Map<String, CountyData>> data = RuralUrbanDataProvider.loadRuralUrbanContinuumData();
+                for (String state : requestedStates == null ? data.keySet() : requestedStates)
+                    initializeContinuumData(state, data);
+                notifier.accept(DatasetKind.CONTINUUM);
+            }, executor));
+        }
+
+        if (datasets.contains(DatasetKind.PRCDA)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (!isPrcdaDataInitialized())
+                    initializePrcdaData(PrcdaDataProvider.loadPrcdaData());
+                notifier.accept(DatasetKind.PRCDA);
+            }, executor));
+        }
+
+        if (datasets.contains(DatasetKind.UIHO)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (!isUihoDataInitialized())
+                    initializeUihoData(UihoDataProvider.loadUihoData());
+                notifier.accept(DatasetKind.UIHO);
+            }, executor));
         }
-        finally {
-            _lock.writeLock().unlock();
+
+        if (datasets.contains(DatasetKind.COUNTY_AT_DX_ANALYSIS)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (!isCountyAtDxAnalysisInitialized())
+                    initializeCountyAtDxAnalysisData(CountyAtDxAnalysisUtils.loadCountyAtDxAnalysisData());
+                notifier.accept(DatasetKind.COUNTY_AT_DX_ANALYSIS);
+            }, executor));
         }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
 
     public boolean isTractDataInitialized(String requestedState) {
-        _lock.readLock().lock();
-        try {
-            return _stateTractDataInitialized.contains(requestedState);
+        return _data.isTractDataInitialized(requestedState);
+    }
+
+    public void initializeTractData(String requestedState) {
+        initializeTractData(Collections.singleton(requestedState), true, false);
+    }
+
+    /**
+     * Initializes the tract data for all the requested states using a single pass over the data file; this is much faster than initializing
+     * the states one at a time when many states need to be processed. States that were already initialized are ignored.
+     * @param requestedStates states to initialize, cannot be null
+     * @param includeYearBasedData if true, the year-based tract data will also be initialized (during the same pass)
+     */
+    public void initializeTractData(Collection<String> requestedStates, boolean includeYearBasedData) {
+        if (requestedStates == null)
+            throw new IllegalArgumentException("Requested states are required");
+        initializeTractData(requestedStates, true, includeYearBasedData);
+    }
+
+    /**
+     * Initializes the tract data (including the year-based data) for all the states available in the data file, using a single pass over that file.
+     */
+    public void initializeAllTractData() {
+        initializeTractData(null, true, true);
+    }
+
+    /**
+     * Initializes the regular and/or year-based tract data for the requested states (null means all the states) using a single pass over the data file.
+     */
+    private synchronized void initializeTractData(Collection<String> requestedStates, boolean tractData, boolean yearBasedData) {
+        RegisteredData data = new RegisteredData(_data);
+        Set<String> states = requestedStates == null ? null : new HashSet<>(requestedStates);
+
+        boolean tractDataNeeded = tractData && !data._allStatesTractDataInitialized
+                && (states == null || !data._stateTractDataInitialized.containsAll(states));
+        boolean yearBasedDataNeeded = yearBasedData && !data._allStatesYearBasedTractDataInitialized
+                && (states == null || !data._stateTractDataYearBasedInitialized.containsAll(states));
+        if (!tractDataNeeded && !yearBasedDataNeeded)
+            return;
+
+        readTractData(_tractDataSource, data,
+                state -> tractDataNeeded && (states == null || states.contains(state)) && !data._stateTractDataInitialized.contains(state),
+                state -> yearBasedDataNeeded && (states == null || states.contains(state)) && !data._stateTractDataYearBasedInitialized.contains(state));
+
+        if (tractDataNeeded) {
+            if (states == null)
+                data._allStatesTractDataInitialized = true;
+            else
+                data._stateTractDataInitialized.addAll(states);
+            _numTractDataReloads.addAndGet(removeEvictedStates(data._evictedTractDataStates, states));
         }
-        finally {
-            _lock.readLock().unlock();
+        if (yearBasedDataNeeded) {
+            if (states == null)
+                data._allStatesYearBasedTractDataInitialized = true;
+            else
+                data._stateTractDataYearBasedInitialized.addAll(states);
+            _numTractDataReloads.addAndGet(removeEvictedStates(data._evictedYearBasedTractDataStates, states));
         }
+
+        // the states that were just loaded are the most recently used ones
+        for (String state : data._updatedStates)
+            data._stateData.get(state).recordAccess();
+        applyTractDataBudget(data, data._updatedStates);
+
+        _data = data;
     }
 
-    public void initializeTractData(String requestedState) {
-        _lock.writeLock().lock();
-        try {
-            if (!_stateTractDataInitialized.contains(requestedState)) {
-                try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(_SEER_CENSUS_DATA_FILE)) {
-                    if (is == null)
-                        throw new IllegalStateException("Unable to get SEER census tract data file");
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(is), StandardCharsets.US_ASCII))) {
-                        String line = reader.readLine();
-                        while (line != null) {
-
-                            int index = 0;
-                            Map<String, String> values = new HashMap<>();
-                            for (Entry<String, Integer> entry : _TRACT_FIELDS.entrySet()) {
-                                values.put(entry.getKey(), line.substring(index, index + entry.getValue()));
-                                index += entry.getValue();
-                            }
-
-                            String state = values.get("stateAbbreviation");
-                            String county = values.get("countyFips");
-                            String tract = values.get("censusTract");
-
-                            if (Objects.equals(state, requestedState)) {
-                                StateData stateData = _stateData.computeIfAbsent(state, k -> new StateData());
-                                CountyData countyData = stateData.getData().computeIfAbsent(county, k -> new CountyData());
-                                CensusData censusData = countyData.getData().computeIfAbsent(tract, k -> new CensusData());
-
-                                // NAACCR Poverty Indicator (only "old" years, the "recent" years are computed from the ACS poverty percentages for "all races")
-                                censusData.setNaaccrPovertyIndicator9504(StringUtils.trimToNull(values.get("naaccrPovertyIndicator9504")));
-                                censusData.setNaaccrPovertyIndicator0507(StringUtils.trimToNull(values.get("naaccrPovertyIndicator0507")));
-
-                                // RUCA
-                                censusData.setCommutingArea2000(Objects.toString(StringUtils.trimToNull(values.get("ruca2000")), "9"));
-                                censusData.setCommutingArea2010(Objects.toString(StringUtils.trimToNull(values.get("ruca2010")), "9"));
-                                censusData.setCommutingArea2020(Objects.toString(StringUtils.trimToNull(values.get("ruca2020")), "9"));
-
-                                // URIC
-                                censusData.setIndicatorCode2000(Objects.toString(StringUtils.trimToNull(values.get("uric2000")), "9"));
-                                censusData.setIndicatorCode2010(Objects.toString(StringUtils.trimToNull(values.get("uric2010")), "9"));
-                                censusData.setIndicatorCode2020(Objects.toString(StringUtils.trimToNull(values.get("uric2020")), "9"));
-
-                                // NPCR EPHT SubCounty
-                                censusData.setEpht2010GeoId5k(StringUtils.leftPad(StringUtils.trimToNull(values.get("npcrEphtSubcounty5k")), 11, '0'));
-                                censusData.setEpht2010GeoId20k(StringUtils.leftPad(StringUtils.trimToNull(values.get("npcrEphtSubcounty20k")), 11, '0'));
-                                censusData.setEpht2010GeoId50k(StringUtils.leftPad(StringUtils.trimToNull(values.get("npcrEphtSubcounty50k")), 11, '0'));
-
-                                // Cancer Reporting Zone
-                                censusData.setCancerReportingZone(StringUtils.trimToNull(values.get("cancerReportingZone")));
-                                censusData.setCancerReportingZoneTractCert(StringUtils.trimToNull(values.get("cancerReportingZoneTractCert")));
-
-                                // Social Vulnerability Index (SVI)
-                                censusData.setSviOverallStateBased2018(StringUtils.trimToNull(values.get("sviOverallStateBased2018")));
-                                censusData.setSviOverallStateBased2022(StringUtils.trimToNull(values.get("sviOverallStateBased2022")));
-
-                                // Congressional District
-                                censusData.setCongressionalDistrict118(StringUtils.trimToNull(values.get("congressionalDistrict118")));
-                                censusData.setCongressionalDistrict119(StringUtils.trimToNull(values.get("congressionalDistrict119")));
-
-                                // persistence poverty
-                                censusData.setPersistentPoverty(StringUtils.trimToNull(values.get("persistentPoverty")));
-                            }
-
-                            line = reader.readLine();
-                        }
-                    }
-                }
-                catch (IOException e) {
-                    throw new IllegalStateException("Unable to initialize tract data", e);
-                }
+    private static int removeEvictedStates(Set<String> evictedStates, Set<String> loadedStates) {
+        int count = 0;
+        if (loadedStates == null) {
+            count = evictedStates.size();
+            evictedStates.clear();
+        }
+        else
+            for (String state : loadedStates)
+                if (evictedStates.remove(state))
+                    count++;
+        return count;
+    }
+
+    /**
+     * Evicts the tract data of the least recently used states until the budget is respected (or until only protected states are left).
+     * <br/><br/>
+     * This method must be called from a synchronized method; it returns true if any state was evicted.
+     */
+    private boolean applyTractDataBudget(RegisteredData data, Set<String> protectedStates) {
+        if (!_tractDataBudgetEnabled)
+            return false;
+
+        Map<String, Long> sizes = new HashMap<>();
+        long totalSize = 0;
+        for (Entry<String, StateData> entry : data._stateData.entrySet()) {
+            if (entry.getValue().hasTractData()) {
+                long size = _maxTractDataSize > 0 ? entry.getValue().getEstimatedTractDataSize() : 0;
+                sizes.put(entry.getKey(), size);
+                totalSize += size;
             }
-            _stateTractDataInitialized.add(requestedState);
         }
-        finally {
-            _lock.writeLock().unlock();
+
+        List<String> candidates = new ArrayList<>(sizes.keySet());
+        candidates.removeAll(protectedStates);
+        candidates.sort(Comparator.comparingLong(state -> data._stateData.get(state).getLastAccessTime()));
+
+        int numStates = sizes.size();
+        boolean evicted = false;
+        for (String state : candidates) {
+            if ((_maxTractDataStates == 0 || numStates <= _maxTractDataStates) && (_maxTractDataSize == 0 || totalSize <= _maxTractDataSize))
+                break;
+            data.evictTractData(state);
+            numStates--;
+            totalSize -= sizes.get(state);
+            _numTractDataEvictions.incrementAndGet();
+            evicted = true;
         }
+
+        return evicted;
     }
 
     public StateData getTractData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!isTractDataInitialized(state))
+        RegisteredData data = _data;
+        if (!data._allStatesTractDataInitialized && !data._stateTractDataInitialized.contains(state)) {
+            // data that was evicted because of the budget is transparently reloaded
+            if (!data._evictedTractDataStates.contains(state))
                 throw new IllegalStateException("Census tract data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
+            initializeTractData(state);
+            data = _data;
         }
+        return recordAccess(data._stateData.get(state));
+    }
+
+    /**
+     * Returns the census data (regular tract data) for the requested state, county and tract, null if it can't be found.
+     * <br/><br/>
+     * This is equivalent to going through the state, county and tract maps but uses a single (packed) key lookup in the table of the state when possible.
+     */
+    public CensusData getTractCensusData(String state, String county, String tract) {
+        RegisteredData data = _data;
+        long key = CensusDataTable.key(state, county, tract);
+        if (key == CensusDataTable.NO_KEY || !data.isTractDataInitialized(state))
+            return getCensusData(getTractData(state), county, tract);
+        StateData stateData = recordAccess(data._stateData.get(state));
+        return stateData == null ? null : stateData.getCensusDataTable(state).get(key);
+    }
+
+    /**
+     * Returns the census data (year-based tract data) for the requested state, county and tract, null if it can't be found.
+     * <br/><br/>
+     * This is equivalent to going through the state, county and tract maps but uses a single (packed) key lookup in the table of the state when possible.
+     */
+    public CensusData getYearBasedTractCensusData(String state, String county, String tract) {
+        RegisteredData data = _data;
+        long key = CensusDataTable.key(state, county, tract);
+        if (key == CensusDataTable.NO_KEY || !data.isYearBasedTractDataInitialized(state))
+            return getCensusData(getYearBasedTractData(state), county, tract);
+        StateData stateData = recordAccess(data._stateData.get(state));
+        return stateData == null ? null : stateData.getCensusDataTable(state).get(key);
+    }
+
+    private static CensusData getCensusData(StateData stateData, String county, String tract) {
+        if (stateData == null)
+            return null;
+        CountyData countyData = stateData.getCountyData(county);
+        return countyData == null ? null : countyData.getCensusData(tract);
+    }
+
+    private StateData recordAccess(StateData stateData) {
+        if (stateData != null && _tractDataBudgetEnabled)
+            stateData.recordAccess();
+        return stateData;
     }
 
     public boolean isYearBasedTractDataInitialized(String requestedState) {
-        _lock.readLock().lock();
+        return _data.isYearBasedTractDataInitialized(requestedState);
+    }
+
+    public void initializeYearBasedTractData(String requestedState) {
+        initializeTractData(Collections.singleton(requestedState), false, true);
+    }
+
+    /**
+     * Reads the tract data once from the provided source, and registers the regular and/or year-based data of the records that belong to the
+     * accepted states; the data is registered in the provided (not yet published) data.
+     */
+    private void readTractData(TractDataSource source, RegisteredData data, Predicate<String> tractDataStates, Predicate<String> yearBasedDataStates) {
+        long start = System.nanoTime();
         try {
-            return _stateTractDataYearBasedInitialized.contains(requestedState);
+            TractDataSnapshot snapshot = source.getSnapshot();
+            if (snapshot != null) {
+                readTractDataFromSnapshot(data, snapshot, tractDataStates, yearBasedDataStates);
+                Utils.notifyDataLoaded(_TRACT_DATA_NAME, System.nanoTime() - start, -1);
+            }
+            else {
+                long[] numBytes = {0};
+                source.readTextData(tractDataStates.or(yearBasedDataStates), is -> {
+                    CountingInputStream countingIs = new CountingInputStream(is);
+                    readTractDataFromText(data, countingIs, tractDataStates, yearBasedDataStates);
+                    numBytes[0] += countingIs.getCount();
+                });
+                Utils.notifyDataLoaded(_TRACT_DATA_NAME, System.nanoTime() - start, numBytes[0]);
+            }
         }
-        finally {
-            _lock.readLock().unlock();
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to initialize tract data", e);
         }
     }
 
-    public void initializeYearBasedTractData(String requestedState) {
-        _lock.writeLock().lock();
-        try {
-            if (!_stateTractDataYearBasedInitialized.contains(requestedState)) {
-                try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(_SEER_CENSUS_DATA_FILE)) {
-                    if (is == null)
-                        throw new IllegalStateException("Unable to get year-based SEER census tract data file");
-                    try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(new GZIPInputStream(is), StandardCharsets.US_ASCII))) {
-                        String line = reader.readLine();
-                        while (line != null) {
-                            int lineNum = reader.getLineNumber();
-
-                            int index = 0;
-                            Map<String, String> values = new HashMap<>();
-                            for (Entry<String, Integer> entry : _TRACT_FIELDS.entrySet()) {
-                                values.put(entry.getKey(), line.substring(index, index + entry.getValue()));
-                                index += entry.getValue();
-                            }
-
-                            String state = values.get("stateAbbreviation");
-                            String county = values.get("countyFips");
-                            String tract = values.get("censusTract");
-                            String rawYearData = values.get("yearData");
-
-                            if (Objects.equals(state, requestedState)) {
-                                StateData stateData = _stateData.computeIfAbsent(state, k -> new StateData());
-                                CountyData countyData = stateData.getData().computeIfAbsent(county, k -> new CountyData());
-                                CensusData censusData = countyData.getData().computeIfAbsent(tract, k -> new CensusData());
-
-                                index = 0;
-                                for (int year = TRACT_YEAR_MIN_VAL; year <= TRACT_YEAR_MAX_VAL; year++) {
-                                    YearData yearData = censusData.getData().computeIfAbsent(String.valueOf(year), k -> new YearData());
-
-                                    Map<String, String> yearValues = new HashMap<>();
-                                    for (Entry<String, Integer> entry : _TRACT_YEAR_BASED_FIELDS.entrySet()) {
-                                        yearValues.put(entry.getKey(), rawYearData.substring(index, index + entry.getValue()));
-                                        index += entry.getValue();
-                                    }
-
-                                    // YOST
-                                    yearData.setYostQuintileState(StringUtils.trim(yearValues.get("yostStateBasedQuintile")));
-                                    yearData.setYostQuintileUS(StringUtils.trim(yearValues.get("yostUsBasedQuintile")));
-
-                                    // ACS Poverty
-                                    yearData.setAcsPctPovAllRaces(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyAllRaces"))));
-                                    yearData.setAcsPctPovWhite(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyWhite"))));
-                                    yearData.setAcsPctPovBlack(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyBlack"))));
-                                    yearData.setAcsPctPovAIAN(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyAmIndian"))));
-                                    yearData.setAcsPctPovAsianNHOPI(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyAsian"))));
-                                    yearData.setAcsPctPovWhiteNonHisp(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyWhiteNotHisp"))));
-                                    yearData.setAcsPctPovHispanic(cleanPoverty(lineNum, StringUtils.trim(yearValues.get("percentBelowPovertyHisp"))));
-                                }
-
-                            }
-
-                            line = reader.readLine();
-                        }
+    private void readTractDataFromText(RegisteredData data, InputStream is, Predicate<String> tractDataStates, Predicate<String> yearBasedDataStates) throws IOException {
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(new GZIPInputStream(is), StandardCharsets.US_ASCII))) {
+            int yearDataOffset = _TRACT_FIELD_OFFSETS.get("yearData");
+            String line = reader.readLine();
+            while (line != null) {
+                String rawLine = line;
+
+                // the state is always first, no need to look at the rest of the line if it's not needed
+                String state = getRawTractValue(rawLine, "stateAbbreviation");
+                boolean tractDataNeeded = tractDataStates.test(state);
+                boolean yearBasedDataNeeded = yearBasedDataStates.test(state);
+
+                if (tractDataNeeded || yearBasedDataNeeded) {
+                    CensusData censusData = getOrCreateCensusData(data, state, getRawTractValue(rawLine, "countyFips"), getRawTractValue(rawLine, "censusTract"));
+                    if (tractDataNeeded)
+                        applyTractValues(censusData, field -> getRawTractValue(rawLine, field));
+                    if (yearBasedDataNeeded) {
+                        applyYearBasedTractValues(censusData, (year, field) -> {
+                            int start = yearDataOffset + (year - TRACT_YEAR_MIN_VAL) * _TRACT_YEAR_LENGTH + _TRACT_YEAR_BASED_FIELD_OFFSETS.get(field);
+                            return rawLine.substring(start, start + _TRACT_YEAR_BASED_FIELDS.get(field));
+                        }, reader.getLineNumber());
                     }
                 }
-                catch (IOException e) {
-                    throw new IllegalStateException("Unable to initialize year based tract data", e);
-                }
+
+                line = reader.readLine();
             }
-            _stateTractDataYearBasedInitialized.add(requestedState);
         }
-        finally {
-            _lock.writeLock().unlock();
+    }
+
+    private void readTractDataFromSnapshot(RegisteredData data, TractDataSnapshot snapshot, Predicate<String> tractDataStates, Predicate<String> yearBasedDataStates) {
+        TractDataSnapshot.RecordReader reader = snapshot.newRecordReader();
+        for (String state : snapshot.getStates()) {
+            boolean tractDataNeeded = tractDataStates.test(state);
+            boolean yearBasedDataNeeded = yearBasedDataStates.test(state);
+            if (!tractDataNeeded && !yearBasedDataNeeded)
+                continue;
+
+            // the year-based values are decoded directly (no text representation), the regular values are shared between the records
+            int firstRecord = snapshot.getFirstRecord(state);
+            for (int record = firstRecord; record < firstRecord + snapshot.getNumRecords(state); record++) {
+                int rec = record;
+                CensusData censusData = getOrCreateCensusData(data, state, reader.getTractValue(rec, "countyFips"), reader.getTractValue(rec, "censusTract"));
+                if (tractDataNeeded)
+                    applyTractValues(censusData, field -> reader.getTractValue(rec, field));
+                if (yearBasedDataNeeded)
+                    reader.readYearBasedValues(rec, censusData);
+            }
+        }
+    }
+
+    private static String getRawTractValue(String line, String field) {
+        int start = _TRACT_FIELD_OFFSETS.get(field);
+        return line.substring(start, start + _TRACT_FIELDS.get(field));
+    }
+
+    /**
+     * Returns the census data to write the values of a tract into; an existing census data might be shared with the published data, so it's
+     * copied first.
+     */
+    private CensusData getOrCreateCensusData(RegisteredData data, String state, String county, String tract) {
+        StateData stateData = data.getStateDataForUpdate(state);
+        CountyData countyData = stateData.getData().computeIfAbsent(county, k -> new CountyData());
+        return countyData.getData().compute(tract, (k, existingData) -> existingData == null ? new CensusData() : new CensusData(existingData));
+    }
+
+    private void applyTractValues(CensusData censusData, UnaryOperator<String> values) {
+
+        // NAACCR Poverty Indicator (only "old" years, the "recent" years are computed from the ACS poverty percentages for "all races")
+        censusData.setNaaccrPovertyIndicator9504(StringUtils.trimToNull(values.apply("naaccrPovertyIndicator9504")));
+        censusData.setNaaccrPovertyIndicator0507(StringUtils.trimToNull(values.apply("naaccrPovertyIndicator0507")));
+
+        // RUCA
+        censusData.setCommutingArea2000(Objects.toString(StringUtils.trimToNull(values.apply("ruca2000")), "9"));
+        censusData.setCommutingArea2010(Objects.toString(StringUtils.trimToNull(values.apply("ruca2010")), "9"));
+        censusData.setCommutingArea2020(Objects.toString(StringUtils.trimToNull(values.apply("ruca2020")), "9"));
+
+        // URIC
+        censusData.setIndicatorCode2000(Objects.toString(StringUtils.trimToNull(values.apply("uric2000")), "9"));
+        censusData.setIndicatorCode2010(Objects.toString(StringUtils.trimToNull(values.apply("uric2010")), "9"));
+        censusData.setIndicatorCode2020(Objects.toString(StringUtils.trimToNull(values.apply("uric2020")), "9"));
+
+        // NPCR EPHT SubCounty
+        censusData.setEpht2010GeoId5k(StringUtils.leftPad(StringUtils.trimToNull(values.apply("npcrEphtSubcounty5k")), 11, '0'));
+        censusData.setEpht2010GeoId20k(StringUtils.leftPad(StringUtils.trimToNull(values.apply("npcrEphtSubcounty20k")), 11, '0'));
+        censusData.setEpht2010GeoId50k(StringUtils.leftPad(StringUtils.trimToNull(values.apply("npcrEphtSubcounty50k")), 11, '0'));
+
+        // Cancer Reporting Zone
+        censusData.setCancerReportingZone(StringUtils.trimToNull(values.apply("cancerReportingZone")));
+        censusData.setCancerReportingZoneTractCert(StringUtils.trimToNull(values.apply("cancerReportingZoneTractCert")));
+
+        // Social Vulnerability Index (SVI)
+        censusData.setSviOverallStateBased2018(StringUtils.trimToNull(values.apply("sviOverallStateBased2018")));
+        censusData.setSviOverallStateBased2022(StringUtils.trimToNull(values.apply("sviOverallStateBased2022")));
+
+        // Congressional District
+        censusData.setCongressionalDistrict118(StringUtils.trimToNull(values.apply("congressionalDistrict118")));
+        censusData.setCongressionalDistrict119(StringUtils.trimToNull(values.apply("congressionalDistrict119")));
+
+        // persistence poverty
+        censusData.setPersistentPoverty(StringUtils.trimToNull(values.apply("persistentPoverty")));
+    }
+
+    private void applyYearBasedTractValues(CensusData censusData, YearBasedValues values, int lineNum) {
+        for (int year = TRACT_YEAR_MIN_VAL; year <= TRACT_YEAR_MAX_VAL; year++) {
+            YearData yearData = censusData.getOrCreateYearData(year);
+
+            // YOST
+            yearData.setYostQuintileState(StringUtils.trim(values.get(year, "yostStateBasedQuintile")));
+            yearData.setYostQuintileUS(StringUtils.trim(values.get(year, "yostUsBasedQuintile")));
+
+            // ACS Poverty
+            yearData.setAcsPctPovAllRaces(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyAllRaces"))));
+            yearData.setAcsPctPovWhite(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyWhite"))));
+            yearData.setAcsPctPovBlack(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyBlack"))));
+            yearData.setAcsPctPovAIAN(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyAmIndian"))));
+            yearData.setAcsPctPovAsianNHOPI(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyAsian"))));
+            yearData.setAcsPctPovWhiteNonHisp(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyWhiteNotHisp"))));
+            yearData.setAcsPctPovHispanic(cleanPoverty(lineNum, StringUtils.trim(values.get(year, "percentBelowPovertyHisp"))));
         }
     }
 
+    /**
+     * Provides the raw value of a year-based field for a given year.
+     */
+    @FunctionalInterface
+    private interface YearBasedValues {
+
+        String get(int year, String field);
+    }
+
     private String cleanPoverty(int lineNum, String value) {
         if (value.isEmpty())
             return value;
@@ -365,212 +759,280 @@ public final class CountryData {
     }
 
     public StateData getYearBasedTractData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!isYearBasedTractDataInitialized(state))
+        RegisteredData data = _data;
+        if (!data._allStatesYearBasedTractDataInitialized && !data._stateTractDataYearBasedInitialized.contains(state)) {
+            // data that was evicted because of the budget is transparently reloaded
+            if (!data._evictedYearBasedTractDataStates.contains(state))
                 throw new IllegalStateException("Year-based census tract data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
+            initializeYearBasedTractData(state);
+            data = _data;
         }
+        return recordAccess(data._stateData.get(state));
     }
 
     /**
      * Returns requested state data to be used by the Continuum algorithm.
      */
     public StateData getContinuumStateData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!_continuumStateInitialized.contains(state))
-                throw new IllegalStateException("Continuum data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        RegisteredData data = _data;
+        if (!data._continuumStateInitialized.contains(state))
+            throw new IllegalStateException("Continuum data cannot be access before it has been initialized!");
+        return data._stateData.get(state);
     }
 
     /**
      * Returns true if the Continuum data has been initialized, false otherwise.
      */
     public boolean isContinuumDataInitialized(String requestedState) {
-        _lock.readLock().lock();
-        try {
-            return _continuumStateInitialized.contains(requestedState);
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        return _data._continuumStateInitialized.contains(requestedState);
     }
 
     /**
-     * Initializes the given Continuum data (this call will make all other access to the data structure block).
+     * Initializes the given Continuum data (this call will make all other initialization calls block, but it doesn't block any access to the data).
      */
-    public void initializeContinuumData(String requestedState, Map<String, Map<String, CountyData>> data) {
-        _lock.writeLock().lock();
-        try {
-            if (!_continuumStateInitialized.contains(requestedState)) {
-                for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
-                    if (!Objects.equals(stateEntry.getKey(), requestedState))
-                        continue;
-                    StateData stateData = _stateData.computeIfAbsent(stateEntry.getKey(), k -> new StateData());
-                    for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
-                        CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
-                        countyData.setUrbanContinuum1993(countyEntry.getValue().getUrbanContinuum1993());
-                        countyData.setUrbanContinuum2003(countyEntry.getValue().getUrbanContinuum2003());
-                        countyData.setUrbanContinuum2013(countyEntry.getValue().getUrbanContinuum2013());
-                    }
-                }
+    public synchronized void initializeContinuumData(String requestedState, Map<String, Map<String, CountyData>> data) {
+        if (_data._continuumStateInitialized.contains(requestedState))
+            return;
+
+        RegisteredData newData = new RegisteredData(_data);
+        for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
+            if (!Objects.equals(stateEntry.getKey(), requestedState))
+                continue;
+            StateData stateData = newData.getStateDataForUpdate(stateEntry.getKey());
+            for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
+                CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
+                countyData.setUrbanContinuum1993(countyEntry.getValue().getUrbanContinuum1993());
+                countyData.setUrbanContinuum2003(countyEntry.getValue().getUrbanContinuum2003());
+                countyData.setUrbanContinuum2013(countyEntry.getValue().getUrbanContinuum2013());
             }
-            _continuumStateInitialized.add(requestedState);
-        }
-        finally {
-            _lock.writeLock().unlock();
         }
+        newData._continuumStateInitialized.add(requestedState);
+        _data = newData;
     }
 
     /**
      * Returns requested state data to be used by the county at diagnosis analysis algorithm
      */
     public StateData getCountyAtDxAnalysisData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!_countyAtDxAnalysisInitialized)
-                throw new IllegalStateException("County at diagnosis analysis data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        RegisteredData data = _data;
+        if (!data._countyAtDxAnalysisInitialized)
+            throw new IllegalStateException("County at diagnosis analysis data cannot be access before it has been initialized!");
+        return data._stateData.get(state);
     }
 
     public boolean isCountyAtDxAnalysisInitialized() {
-        _lock.readLock().lock();
-        try {
-            return _countyAtDxAnalysisInitialized;
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        return _data._countyAtDxAnalysisInitialized;
     }
 
-    public void initializeCountyAtDxAnalysisData(Map<String, Map<String, CountyData>> data) {
-        _lock.writeLock().lock();
-        try {
-            if (!_countyAtDxAnalysisInitialized) {
-                for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
-                    StateData stateData = _stateData.computeIfAbsent(stateEntry.getKey(), k -> new StateData());
-                    for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet())
-                        stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
-                }
-            }
-            _countyAtDxAnalysisInitialized = true;
-        }
-        finally {
-            _lock.writeLock().unlock();
+    public synchronized void initializeCountyAtDxAnalysisData(Map<String, Map<String, CountyData>> data) {
+        if (_data._countyAtDxAnalysisInitialized)
+            return;
+
+        RegisteredData newData = new RegisteredData(_data);
+        for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
+            StateData stateData = newData.getStateDataForUpdate(stateEntry.getKey());
+            for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet())
+                stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
         }
+        newData._countyAtDxAnalysisInitialized = true;
+        _data = newData;
     }
 
     /**
      * Returns requested state data to be used by the PRCDA algorithm.
      */
     public StateData getPrcdaData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!_prcdaInitialized)
-                throw new IllegalStateException("PRCDA data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        RegisteredData data = _data;
+        if (!data._prcdaInitialized)
+            throw new IllegalStateException("PRCDA data cannot be access before it has been initialized!");
+        return data._stateData.get(state);
     }
 
     /**
      * Returns true if the PRCDA data has been initialized, false otherwise.
      */
     public boolean isPrcdaDataInitialized() {
-        _lock.readLock().lock();
-        try {
-            return _prcdaInitialized;
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        return _data._prcdaInitialized;
     }
 
     /**
-     * Initializes the given PRCDA data (this call will make all other access to the data structure block).
+     * Initializes the given PRCDA data (this call will make all other initialization calls block, but it doesn't block any access to the data).
      */
-    public void initializePrcdaData(Map<String, Map<String, CountyData>> data) {
-        _lock.writeLock().lock();
-        try {
-            if (!_prcdaInitialized) {
-                for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
-                    StateData stateData = _stateData.computeIfAbsent(stateEntry.getKey(), k -> new StateData());
-                    for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
-                        CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
-                        countyData.setPrcda(countyEntry.getValue().getPrcda());
-                        countyData.setPrcda2017(countyEntry.getValue().getPrcda2017());
-                    }
-                }
+    public synchronized void initializePrcdaData(Map<String, Map<String, CountyData>> data) {
+        if (_data._prcdaInitialized)
+            return;
+
+        RegisteredData newData = new RegisteredData(_data);
+        for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
+            StateData stateData = newData.getStateDataForUpdate(stateEntry.getKey());
+            for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
+                CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
+                countyData.setPrcda(countyEntry.getValue().getPrcda());
+                countyData.setPrcda2017(countyEntry.getValue().getPrcda2017());
             }
-            _prcdaInitialized = true;
-        }
-        finally {
-            _lock.writeLock().unlock();
         }
+        newData._prcdaInitialized = true;
+        _data = newData;
     }
 
     /**
      * Returns requested state data to be used by the UIHO algorithm.
      */
     public StateData getUihoData(String state) {
-        _lock.readLock().lock();
-        try {
-            if (!_uihoInitialized)
-                throw new IllegalStateException("UIHO data cannot be access before it has been initialized!");
-            return _stateData.get(state);
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        RegisteredData data = _data;
+        if (!data._uihoInitialized)
+            throw new IllegalStateException("UIHO data cannot be access before it has been initialized!");
+        return data._stateData.get(state);
     }
 
     /**
      * Returns true if the UIHO data has been initialized, false otherwise.
      */
     public boolean isUihoDataInitialized() {
-        _lock.readLock().lock();
-        try {
-            return _uihoInitialized;
-        }
-        finally {
-            _lock.readLock().unlock();
+        return _data._uihoInitialized;
+    }
+
+    /**
+     * Initializes the given UIHO data (this call will make all other initialization calls block, but it doesn't block any access to the data).
+     */
+    public synchronized void initializeUihoData(Map<String, Map<String, CountyData>> data) {
+        if (_data._uihoInitialized)
+            return;
+
+        RegisteredData newData = new RegisteredData(_data);
+        for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
+            StateData stateData = newData.getStateDataForUpdate(stateEntry.getKey());
+            for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
+                CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
+                countyData.setUiho(countyEntry.getValue().getUiho());
+                countyData.setUihoCity(countyEntry.getValue().getUihoCity());
+            }
         }
+        newData._uihoInitialized = true;
+        _data = newData;
     }
 
     /**
-     * Initializes the given UIHO data (this call will make all other access to the data structure block).
+     * The registered data and the initialization flags.
+     * <br/><br/>
+     * An instance is never modified once it has been published: the initialization methods create a copy of the current instance,
+     * register the new data in that copy and then publish it (copy-on-write). This allows the data to be accessed without any lock.
      */
-    public void initializeUihoData(Map<String, Map<String, CountyData>> data) {
-        _lock.writeLock().lock();
-        try {
-            if (!_uihoInitialized) {
-                for (Map.Entry<String, Map<String, CountyData>> stateEntry : data.entrySet()) {
-                    StateData stateData = _stateData.computeIfAbsent(stateEntry.getKey(), k -> new StateData());
-                    for (Map.Entry<String, CountyData> countyEntry : stateEntry.getValue().entrySet()) {
-                        CountyData countyData = stateData.getData().computeIfAbsent(countyEntry.getKey(), k -> new CountyData());
-                        countyData.setUiho(countyEntry.getValue().getUiho());
-                        countyData.setUihoCity(countyEntry.getValue().getUihoCity());
-                    }
+    private static final class RegisteredData {
+
+        // states mapped by state abbreviation
+        private final Map<String, StateData> _stateData;
+
+        // the states that have been created or copied for the current update (the other states are shared with the previous instance)
+        private final Set<String> _updatedStates = new HashSet<>();
+
+        // the states that had their census-related data initialized
+        private final Set<String> _stateTractDataInitialized;
+
+        // the states that had their year-based census-related data initialized
+        private final Set<String> _stateTractDataYearBasedInitialized;
+
+        // whether the (year-based) census-related data was initialized for all the states at once
+        private boolean _allStatesTractDataInitialized;
+        private boolean _allStatesYearBasedTractDataInitialized;
+
+        // the states that had their (year-based) census-related data evicted because of the budget
+        private final Set<String> _evictedTractDataStates;
+        private final Set<String> _evictedYearBasedTractDataStates;
+
+        // the states that had their Continuum 1993/2003/2013 data initialized
+        private final Set<String> _continuumStateInitialized;
+        private boolean _countyAtDxAnalysisInitialized;
+        private boolean _prcdaInitialized;
+        private boolean _uihoInitialized;
+
+        private RegisteredData() {
+            _stateData = new HashMap<>();
+            _stateTractDataInitialized = new HashSet<>();
+            _stateTractDataYearBasedInitialized = new HashSet<>();
+            _evictedTractDataStates = new HashSet<>();
+            _evictedYearBasedTractDataStates = new HashSet<>();
+            _continuumStateInitialized = new HashSet<>();
+        }
+
+        private RegisteredData(RegisteredData other) {
+            _stateData = new HashMap<>(other._stateData);
+            _stateTractDataInitialized = new HashSet<>(other._stateTractDataInitialized);
+            _stateTractDataYearBasedInitialized = new HashSet<>(other._stateTractDataYearBasedInitialized);
+            _allStatesTractDataInitialized = other._allStatesTractDataInitialized;
+            _allStatesYearBasedTractDataInitialized = other._allStatesYearBasedTractDataInitialized;
+            _evictedTractDataStates = new HashSet<>(other._evictedTractDataStates);
+            _evictedYearBasedTractDataStates = new HashSet<>(other._evictedYearBasedTractDataStates);
+            _continuumStateInitialized = new HashSet<>(other._continuumStateInitialized);
+            _countyAtDxAnalysisInitialized = other._countyAtDxAnalysisInitialized;
+            _prcdaInitialized = other._prcdaInitialized;
+            _uihoInitialized = other._uihoInitialized;
+        }
+
+        private boolean isTractDataInitialized(String state) {
+            return _allStatesTractDataInitialized || _stateTractDataInitialized.contains(state);
+        }
+
+        private boolean isYearBasedTractDataInitialized(String state) {
+            return _allStatesYearBasedTractDataInitialized || _stateTractDataYearBasedInitialized.contains(state);
+        }
+
+        /**
+         * Returns the data for the requested state, making sure it can be safely modified; must only be called on an instance that hasn't been published yet.
+         */
+        private StateData getStateDataForUpdate(String state) {
+            if (_updatedStates.add(state)) {
+                StateData existingData = _stateData.get(state);
+                _stateData.put(state, existingData == null ? new StateData() : new StateData(existingData));
+            }
+            return _stateData.get(state);
+        }
+
+        /**
+         * Replaces all the (regular and year-based) census tract data by the one registered in the provided data; must only be called on an instance
+         * that hasn't been published yet. The provided data is not copied, so it can't be used anymore after this call.
+         */
+        private void replaceTractData(RegisteredData other) {
+            for (Entry<String, StateData> entry : _stateData.entrySet()) {
+                if (entry.getValue().hasTractData()) {
+                    entry.setValue(new StateData(entry.getValue(), false));
+                    _updatedStates.add(entry.getKey());
                 }
             }
-            _uihoInitialized = true;
+            other._stateData.forEach((state, otherStateData) -> {
+                StateData stateData = getStateDataForUpdate(state);
+                otherStateData.getData().forEach((county, otherCountyData) -> stateData.getData().computeIfAbsent(county, k -> new CountyData()).getData().putAll(otherCountyData.getData()));
+            });
+
+            _allStatesTractDataInitialized = other._allStatesTractDataInitialized;
+            _allStatesYearBasedTractDataInitialized = other._allStatesYearBasedTractDataInitialized;
+            _stateTractDataInitialized.clear();
+            _stateTractDataInitialized.addAll(other._stateTractDataInitialized);
+            _stateTractDataYearBasedInitialized.clear();
+            _stateTractDataYearBasedInitialized.addAll(other._stateTractDataYearBasedInitialized);
         }
-        finally {
-            _lock.writeLock().unlock();
+
+        /**
+         * Removes the (regular and year-based) census tract data of the requested state; must only be called on an instance that hasn't been published yet.
+         */
+        private void evictTractData(String state) {
+            // the "all states" flags can't be used anymore, they need to be replaced by the individual states
+            if (_allStatesTractDataInitialized) {
+                _stateTractDataInitialized.addAll(_stateData.keySet());
+                _allStatesTractDataInitialized = false;
+            }
+            if (_allStatesYearBasedTractDataInitialized) {
+                _stateTractDataYearBasedInitialized.addAll(_stateData.keySet());
+                _allStatesYearBasedTractDataInitialized = false;
+            }
+
+            _stateData.put(state, new StateData(_stateData.get(state), false));
+            _updatedStates.add(state);
+
+            if (_stateTractDataInitialized.remove(state))
+                _evictedTractDataStates.add(state);
+            if (_stateTractDataYearBasedInitialized.remove(state))
+                _evictedYearBasedTractDataStates.add(state);
         }
     }
 }
@@ -23,7 +23,27 @@ public class CountyData {
     private String _urbanContinuum2013;
 
     // census data keyed by census tract code
-    private Map<String, CensusData> _censusData = new HashMap<>();
+    private final Map<String, CensusData> _censusData = new HashMap<>();
+
+    public CountyData() {
+    }
+
+    /**
+     * Creates a copy of the provided data, optionally ignoring the census tract data; package private so it's only used during initialization.
+     * <br/><br/>
+     * The census data instances are shared with the provided data, they must be copied before being modified (see CensusData(CensusData)).
+     */
+    CountyData(CountyData other, boolean includeTractData) {
+        _prcda = other._prcda;
+        _prcda2017 = other._prcda2017;
+        _uiho = other._uiho;
+        _uihoCity = other._uihoCity;
+        _urbanContinuum1993 = other._urbanContinuum1993;
+        _urbanContinuum2003 = other._urbanContinuum2003;
+        _urbanContinuum2013 = other._urbanContinuum2013;
+        if (includeTractData)
+            _censusData.putAll(other._censusData);
+    }
 
     public String getPrcda() {
         return _prcda;
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.Range;
+
+/**
+ * A row of an ICD-O-3 rule table (see IcdO3RuleTable): the sites, histologies, behaviors and DX years the rule applies to, and its result.
+ * <br/><br/>
+ * The sites are the digits of the primary site (500 for C500). The codes are provided as sets of ranges (see IntRangeSet); null
+ * inclusions accept any value, null exclusions don't exclude any value. A behavior or DX year of -1 means the value is not available; it never
+ * matches behavior inclusions or DX year limits.
+ * @param <T> the type of result
+ */
+public final class IcdO3Rule<T> {
+
+    private final T _result;
+
+    private IntRangeSet _siteInclusions;
+
+    private IntRangeSet _siteExclusions;
+
+    private IntRangeSet _histologyInclusions;
+
+    private IntRangeSet _histologyExclusions;
+
+    private IntRangeSet _behaviorInclusions;
+
+    // the DX year limits (inclusive), -1 if not set
+    private int _minDxYear = -1;
+
+    private int _maxDxYear = -1;
+
+    public IcdO3Rule(T result) {
+        _result = result;
+    }
+
+    public T getResult() {
+        return _result;
+    }
+
+    public void setSiteInclusions(IntRangeSet siteInclusions) {
+        _siteInclusions = siteInclusions;
+    }
+
+    public void setSiteExclusions(IntRangeSet siteExclusions) {
+        _siteExclusions = siteExclusions;
+    }
+
+    public void setHistologyInclusions(IntRangeSet histologyInclusions) {
+        _histologyInclusions = histologyInclusions;
+    }
+
+    public void setHistologyExclusions(IntRangeSet histologyExclusions) {
+        _histologyExclusions = histologyExclusions;
+    }
+
+    public void setBehaviorInclusions(IntRangeSet behaviorInclusions) {
+        _behaviorInclusions = behaviorInclusions;
+    }
+
+    public int getMinDxYear() {
+        return _minDxYear;
+    }
+
+    public void setMinDxYear(int minDxYear) {
+        _minDxYear = minDxYear;
+    }
+
+    public int getMaxDxYear() {
+        return _maxDxYear;
+    }
+
+    public void setMaxDxYear(int maxDxYear) {
+        _maxDxYear = maxDxYear;
+    }
+
+    public boolean matches(int site, int histology, int behavior, int dxYear) {
+        return matchesSite(site) && matchesHistology(histology) && matchesBehavior(behavior) && matchesDxYear(dxYear);
+    }
+
+    public boolean matchesSite(int site) {
+        return (_siteInclusions == null || _siteInclusions.contains(site)) && (_siteExclusions == null || !_siteExclusions.contains(site));
+    }
+
+    public boolean matchesHistology(int histology) {
+        return (_histologyInclusions == null || _histologyInclusions.contains(histology)) && (_histologyExclusions == null || !_histologyExclusions.contains(
+                histology));
+    }
+
+    public boolean matchesBehavior(int behavior) {
+        return _behaviorInclusions == null || (behavior != -1 && _behaviorInclusions.contains(behavior));
+    }
+
+    public boolean matchesDxYear(int dxYear) {
+        return matchesDxYear(_minDxYear, _maxDxYear, dxYear);
+    }
+
+    static boolean matchesDxYear(int minDxYear, int maxDxYear, int dxYear) {
+        if (minDxYear != -1 && (dxYear == -1 || dxYear < minDxYear))
+            return false;
+        return maxDxYear == -1 || (dxYear != -1 && dxYear <= maxDxYear);
+    }
+
+    public boolean dependsOnDxYear() {
+        return _minDxYear != -1 || _maxDxYear != -1;
+    }
+
+    /**
+     * Converts string codes and string ranges (compared as strings) to the set of the corresponding codes made of the given prefix followed by
+     * the requested number of digits (for example "C" and 3 for the sites); returns null if the values are null.
+     * <br/><br/>
+     * Those codes are ordered the same way as strings and as numbers, so the conversion is exact for them; values that don't have that format
+     * (like "C50") are only used as bounds, and they are not included as single values.
+     */
+    @SuppressWarnings("unchecked")
+    public static IntRangeSet toCodeRanges(List<Object> values, String prefix, int numDigits) {
+        if (values == null)
+            return null;
+        int maxValue = (int)Math.pow(10, numDigits) - 1;
+        int[] ranges = new int[values.size() * 2];
+        int length = 0;
+        for (Object value : values) {
+            int low;
+            int high;
+            if (value instanceof Range) {
+                low = findFirstCode(((Range<String>)value).getMinimum(), prefix, numDigits, maxValue);
+                high = findFirstCode(((Range<String>)value).getMaximum(), prefix, numDigits, maxValue);
+                // the high bound is included if it's a code, otherwise the range stops at the previous code
+                if (high > maxValue || !formatCode(high, prefix, numDigits).equals(((Range<String>)value).getMaximum()))
+                    high--;
+            }
+            else {
+                low = IcdO3RuleTable.parseFixedCode((String)value, prefix, numDigits);
+                high = low;
+            }
+            if (low != -1 && low <= high) {
+                ranges[length++] = low;
+                ranges[length++] = high;
+            }
+        }
+        return IntRangeSet.of(length == ranges.length ? ranges : Arrays.copyOf(ranges, length));
+    }
+
+    // returns the first code greater or equal to the provided value (maxValue + 1 if there is none)
+    private static int findFirstCode(String value, String prefix, int numDigits, int maxValue) {
+        int low = 0;
+        int high = maxValue + 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (formatCode(middle, prefix, numDigits).compareTo(value) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    private static String formatCode(int value, String prefix, int numDigits) {
+        StringBuilder buf = new StringBuilder(prefix);
+        String digits = String.valueOf(value);
+        for (int i = digits.length(); i < numDigits; i++)
+            buf.append('0');
+        return buf.append(digits).toString();
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compiled version of a list of ICD-O-3 rules, returning the result of the first matching rule with a few array lookups.
+ * <br/><br/>
+ * The sites (and histologies and behaviors) for which the same rules match are grouped into classes; the table is indexed by site class, histology
+ * class and behavior class. A cell contains either the index of the first matching rule, or (when the first matching rules also depend on the DX
+ * year) a short list of the rules to check, in order. The values outside of the table are checked against the rules directly.
+ * @param <T> the type of result
+ */
+public final class IcdO3RuleTable<T> {
+
+    // the values covered by the table (a behavior of -1 means not available)
+    public static final int MAX_SITE = 999;
+    public static final int MAX_HISTOLOGY = 9999;
+    public static final int MAX_BEHAVIOR = 9;
+
+    // header of the binary format (see write()), needs to be changed every time the format changes
+    private static final String _HEADER = "#icdo3-rule-table;1";
+
+    // cell values: a rule index, no matching rule, or (-index - 2) for a residual list
+    private static final int _NO_MATCH = -1;
+
+    // the results and DX year limits of the rules
+    private final List<T> _results;
+    private final int[] _minDxYears;
+    private final int[] _maxDxYears;
+
+    private final short[] _siteClasses;
+    private final short[] _histologyClasses;
+    private final byte[] _behaviorClasses;
+    private final int _numSiteClasses;
+    private final int _numHistologyClasses;
+    private final int _numBehaviorClasses;
+
+    private final int[] _cells;
+
+    // the rule indexes to check for the cells that depend on the DX year
+    private final int[][] _residuals;
+
+    // the rules are only needed for the values outside of the table, they are provided lazily when the table is read
+    private final Supplier<List<IcdO3Rule<T>>> _rulesSupplier;
+    private volatile List<IcdO3Rule<T>> _rules;
+
+    public IcdO3RuleTable(List<IcdO3Rule<T>> rules) {
+        _rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        _rulesSupplier = null;
+
+        List<T> results = new ArrayList<>();
+        _minDxYears = new int[_rules.size()];
+        _maxDxYears = new int[_rules.size()];
+        for (int i = 0; i < _rules.size(); i++) {
+            results.add(_rules.get(i).getResult());
+            _minDxYears[i] = _rules.get(i).getMinDxYear();
+            _maxDxYears[i] = _rules.get(i).getMaxDxYear();
+        }
+        _results = Collections.unmodifiableList(results);
+
+        List<BitSet> siteSignatures = new ArrayList<>();
+        _siteClasses = toShorts(computeClasses(0, MAX_SITE, siteSignatures, (rule, value) -> rule.matchesSite(value)));
+        List<BitSet> histologySignatures = new ArrayList<>();
+        _histologyClasses = toShorts(computeClasses(0, MAX_HISTOLOGY, histologySignatures, (rule, value) -> rule.matchesHistology(value)));
+        List<BitSet> behaviorSignatures = new ArrayList<>();
+        int[] behaviorClasses = computeClasses(-1, MAX_BEHAVIOR, behaviorSignatures, (rule, value) -> rule.matchesBehavior(value));
+        _behaviorClasses = new byte[behaviorClasses.length];
+        for (int i = 0; i < behaviorClasses.length; i++)
+            _behaviorClasses[i] = (byte)behaviorClasses[i];
+        _numSiteClasses = siteSignatures.size();
+        _numHistologyClasses = histologySignatures.size();
+        _numBehaviorClasses = behaviorSignatures.size();
+
+        _cells = new int[_numSiteClasses * _numHistologyClasses * _numBehaviorClasses];
+        List<int[]> residuals = new ArrayList<>();
+        Map<List<Integer>, Integer> residualIndexes = new HashMap<>();
+        for (int siteClass = 0; siteClass < _numSiteClasses; siteClass++) {
+            for (int histologyClass = 0; histologyClass < _numHistologyClasses; histologyClass++) {
+                BitSet siteAndHistology = (BitSet)siteSignatures.get(siteClass).clone();
+                siteAndHistology.and(histologySignatures.get(histologyClass));
+                for (int behaviorClass = 0; behaviorClass < _numBehaviorClasses; behaviorClass++) {
+                    BitSet matching = (BitSet)siteAndHistology.clone();
+                    matching.and(behaviorSignatures.get(behaviorClass));
+
+                    // keep the rules up to (and including) the first one that doesn't depend on the DX year
+                    List<Integer> candidates = new ArrayList<>();
+                    for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                        candidates.add(i);
+                        if (!_rules.get(i).dependsOnDxYear())
+                            break;
+                    }
+
+                    int cell;
+                    if (candidates.isEmpty())
+                        cell = _NO_MATCH;
+                    else if (!_rules.get(candidates.getFirst()).dependsOnDxYear())
+                        cell = candidates.getFirst();
+                    else {
+                        Integer index = residualIndexes.get(candidates);
+                        if (index == null) {
+                            index = residuals.size();
+                            residuals.add(candidates.stream().mapToInt(Integer::intValue).toArray());
+                            residualIndexes.put(candidates, index);
+                        }
+                        cell = -index - 2;
+                    }
+                    _cells[(siteClass * _numHistologyClasses + histologyClass) * _numBehaviorClasses + behaviorClass] = cell;
+                }
+            }
+        }
+        _residuals = residuals.toArray(new int[0][]);
+    }
+
+    @SuppressWarnings("java:S107")
+    private IcdO3RuleTable(List<T> results, int[] minDxYears, int[] maxDxYears, short[] siteClasses, short[] histologyClasses, byte[] behaviorClasses, int numSiteClasses,
+            int numHistologyClasses, int numBehaviorClasses, int[] cells, int[][] residuals, Supplier<List<IcdO3Rule<T>>> rulesSupplier) {
+        _results = results;
+        _minDxYears = minDxYears;
+        _maxDxYears = maxDxYears;
+        _siteClasses = siteClasses;
+        _histologyClasses = histologyClasses;
+        _behaviorClasses = behaviorClasses;
+        _numSiteClasses = numSiteClasses;
+        _numHistologyClasses = numHistologyClasses;
+        _numBehaviorClasses = numBehaviorClasses;
+        _cells = cells;
+        _residuals = residuals;
+        _rulesSupplier = rulesSupplier;
+    }
+
+    /**
+     * Returns the rules of this table; for a table that was read, the rules are requested from the supplier provided when reading it.
+     */
+    public List<IcdO3Rule<T>> getRules() {
+        List<IcdO3Rule<T>> rules = _rules;
+        if (rules == null) {
+            rules = Collections.unmodifiableList(new ArrayList<>(_rulesSupplier.get()));
+            if (rules.size() != _results.size())
+                throw new IllegalStateException("Expected " + _results.size() + " rules, got " + rules.size());
+            _rules = rules;
+        }
+        return rules;
+    }
+
+    /**
+     * Returns the result of the first rule matching the provided values, null if no rule matches.
+     * @param site site (without the leading "C")
+     * @param histology histology
+     * @param behavior behavior, -1 if not available
+     * @param dxYear DX year, -1 if not available
+     */
+    public T lookup(int site, int histology, int behavior, int dxYear) {
+        if (site < 0 || site > MAX_SITE || histology < 0 || histology > MAX_HISTOLOGY || behavior < -1 || behavior > MAX_BEHAVIOR) {
+            for (IcdO3Rule<T> rule : getRules())
+                if (rule.matches(site, histology, behavior, dxYear))
+                    return rule.getResult();
+            return null;
+        }
+
+        int cell = _cells[(_siteClasses[site] * _numHistologyClasses + _histologyClasses[histology]) * _numBehaviorClasses + _behaviorClasses[behavior + 1]];
+        if (cell >= 0)
+            return _results.get(cell);
+        if (cell == _NO_MATCH)
+            return null;
+        for (int rule : _residuals[-cell - 2])
+            if (IcdO3Rule.matchesDxYear(_minDxYears[rule], _maxDxYears[rule], dxYear))
+                return _results.get(rule);
+        return null;
+    }
+
+    /**
+     * Writes this table using a compact (GZipped) binary format; the results are written as strings using the provided formatter.
+     * <br/><br/>
+     * The rules themselves are not written, they are only needed for the values outside of the table (see read()).
+     */
+    public void write(OutputStream os, Function<T, String> formatter) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(os);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+        out.writeUTF(_HEADER);
+        out.writeInt(_results.size());
+        for (int i = 0; i < _results.size(); i++) {
+            String result = _results.get(i) == null ? null : formatter.apply(_results.get(i));
+            out.writeBoolean(result != null);
+            if (result != null)
+                out.writeUTF(result);
+            out.writeInt(_minDxYears[i]);
+            out.writeInt(_maxDxYears[i]);
+        }
+        out.writeInt(_numSiteClasses);
+        out.writeInt(_numHistologyClasses);
+        out.writeInt(_numBehaviorClasses);
+        for (short value : _siteClasses)
+            out.writeShort(value);
+        for (short value : _histologyClasses)
+            out.writeShort(value);
+        out.write(_behaviorClasses);
+        for (int cell : _cells)
+            out.writeInt(cell);
+        out.writeInt(_residuals.length);
+        for (int[] residual : _residuals) {
+            out.writeInt(residual.length);
+            for (int rule : residual)
+                out.writeInt(rule);
+        }
+        out.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Reads a table written with write(); the results are parsed from their strings using the provided parser.
+     * @param is the stream to read from
+     * @param parser the parser for the results
+     * @param rulesSupplier provides the rules the table was created from, called only if values outside of the table are looked up
+     */
+    public static <T> IcdO3RuleTable<T> read(InputStream is, Function<String, T> parser, Supplier<List<IcdO3Rule<T>>> rulesSupplier) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(is)));
+        if (!_HEADER.equals(in.readUTF()))
+            throw new IllegalStateException("Invalid or unsupported ICD-O-3 rule table");
+        int numRules = in.readInt();
+        List<T> results = new ArrayList<>(numRules);
+        int[] minDxYears = new int[numRules];
+        int[] maxDxYears = new int[numRules];
+        for (int i = 0; i < numRules; i++) {
+            results.add(in.readBoolean() ? parser.apply(in.readUTF()) : null);
+            minDxYears[i] = in.readInt();
+            maxDxYears[i] = in.readInt();
+        }
+        int numSiteClasses = in.readInt();
+        int numHistologyClasses = in.readInt();
+        int numBehaviorClasses = in.readInt();
+        short[] siteClasses = new short[MAX_SITE + 1];
+        for (int i = 0; i < siteClasses.length; i++)
+            siteClasses[i] = in.readShort();
+        short[] histologyClasses = new short[MAX_HISTOLOGY + 1];
+        for (int i = 0; i < histologyClasses.length; i++)
+            histologyClasses[i] = in.readShort();
+        byte[] behaviorClasses = new byte[MAX_BEHAVIOR + 2];
+        in.readFully(behaviorClasses);
+        int[] cells = new int[numSiteClasses * numHistologyClasses * numBehaviorClasses];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = in.readInt();
+        int[][] residuals = new int[in.readInt()][];
+        for (int i = 0; i < residuals.length; i++) {
+            residuals[i] = new int[in.readInt()];
+            for (int j = 0; j < residuals[i].length; j++)
+                residuals[i][j] = in.readInt();
+        }
+        return new IcdO3RuleTable<>(Collections.unmodifiableList(results), minDxYears, maxDxYears, siteClasses, histologyClasses, behaviorClasses, numSiteClasses,
+                numHistologyClasses, numBehaviorClasses, cells, residuals, rulesSupplier);
+    }
+
+    /**
+     * Parses a code made of the given prefix followed by exactly the requested number of digits (for example "C500" for a site), returns -1 if the
+     * value doesn't have that format.
+     */
+    public static int parseFixedCode(String value, String prefix, int numDigits) {
+        if (value == null || value.length() != prefix.length() + numDigits || !value.startsWith(prefix))
+            return -1;
+        int result = 0;
+        for (int i = prefix.length(); i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private interface RuleMatcher {
+
+        boolean matches(IcdO3Rule<?> rule, int value);
+    }
+
+    private int[] computeClasses(int minValue, int maxValue, List<BitSet> signatures, RuleMatcher matcher) {
+        List<IcdO3Rule<T>> rules = _rules;
+        int[] classes = new int[maxValue - minValue + 1];
+        Map<BitSet, Integer> classIndexes = new HashMap<>();
+        for (int value = minValue; value <= maxValue; value++) {
+            BitSet signature = new BitSet(rules.size());
+            for (int i = 0; i < rules.size(); i++)
+                if (matcher.matches(rules.get(i), value))
+                    signature.set(i);
+            Integer index = classIndexes.get(signature);
+            if (index == null) {
+                index = signatures.size();
+                signatures.add(signature);
+                classIndexes.put(signature, index);
+            }
+            classes[value - minValue] = index;
+        }
+        return classes;
+    }
+
+    private static short[] toShorts(int[] values) {
+        short[] result = new short[values.length];
+        for (int i = 0; i < values.length; i++)
+            result[i] = (short)values[i];
+        return result;
+    }
+}
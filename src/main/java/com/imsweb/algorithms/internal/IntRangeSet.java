@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of integers made of ranges (inclusive); the ranges are sorted and merged when the set is created, so looking up a value is a
+ * binary search over primitive arrays.
+ */
+public final class IntRangeSet {
+
+    public static final IntRangeSet EMPTY = new IntRangeSet(new int[0], new int[0]);
+
+    // the starts and ends (inclusive) of the ranges, sorted and non-overlapping
+    private final int[] _starts;
+
+    private final int[] _ends;
+
+    private IntRangeSet(int[] starts, int[] ends) {
+        _starts = starts;
+        _ends = ends;
+    }
+
+    /**
+     * Creates a set from the provided bounds, given as pairs of low/high values (inclusive); the ranges can be provided in any order and can overlap.
+     * @param bounds the bounds of the ranges (low1, high1, low2, high2, etc...)
+     * @return the corresponding set
+     */
+    public static IntRangeSet of(int... bounds) {
+        if (bounds.length % 2 != 0)
+            throw new IllegalArgumentException("Expected pairs of low/high values, got " + bounds.length + " values");
+
+        int numRanges = bounds.length / 2;
+        long[] ranges = new long[numRanges];
+        for (int i = 0; i < numRanges; i++) {
+            int low = bounds[i * 2];
+            int high = bounds[i * 2 + 1];
+            if (low > high)
+                throw new IllegalArgumentException("Invalid range: " + low + "-" + high);
+            // the low is packed in the upper bits so the ranges are sorted by their lows
+            ranges[i] = ((long)low << 32) | (high & 0xFFFFFFFFL);
+        }
+        Arrays.sort(ranges);
+
+        int[] starts = new int[numRanges];
+        int[] ends = new int[numRanges];
+        int length = 0;
+        for (long range : ranges) {
+            int low = (int)(range >> 32);
+            int high = (int)range;
+            // overlapping and adjacent ranges are merged
+            if (length > 0 && (long)low <= (long)ends[length - 1] + 1)
+                ends[length - 1] = Math.max(ends[length - 1], high);
+            else {
+                starts[length] = low;
+                ends[length] = high;
+                length++;
+            }
+        }
+
+        if (length == 0)
+            return EMPTY;
+        return new IntRangeSet(Arrays.copyOf(starts, length), Arrays.copyOf(ends, length));
+    }
+
+    public boolean contains(int value) {
+        int idx = Arrays.binarySearch(_starts, value);
+        if (idx >= 0)
+            return true;
+        // the range starting right before the value
+        idx = -idx - 2;
+        return idx >= 0 && value <= _ends[idx];
+    }
+
+    public boolean isEmpty() {
+        return _starts.length == 0;
+    }
+
+    public int getNumRanges() {
+        return _starts.length;
+    }
+
+    public int getStart(int rangeIdx) {
+        return _starts[rangeIdx];
+    }
+
+    public int getEnd(int rangeIdx) {
+        return _ends[rangeIdx];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        IntRangeSet other = (IntRangeSet)o;
+        return Arrays.equals(_starts, other._starts) && Arrays.equals(_ends, other._ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(_starts) + Arrays.hashCode(_ends);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < _starts.length; i++) {
+            if (i > 0)
+                buf.append(',');
+            buf.append(_starts[i]);
+            if (_ends[i] != _starts[i])
+                buf.append('-').append(_ends[i]);
+        }
+        return buf.toString();
+    }
+}
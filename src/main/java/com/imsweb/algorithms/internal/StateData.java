@@ -11,8 +11,36 @@ import java.util.Map;
  */
 public class StateData {
 
+    // minimum time (in nanoseconds) between two updates of the last access time
+    private static final long _ACCESS_TIME_RESOLUTION = 1_000_000L;
+
     // counties, map by county code
-    private Map<String, CountyData> _countyData = new HashMap<>();
+    private final Map<String, CountyData> _countyData = new HashMap<>();
+
+    // last time (System.nanoTime) this data was accessed; only maintained when a tract data budget is used (see CountryData)
+    private volatile long _lastAccessTime;
+
+    // flat lookup table of the census data, created lazily once this data is published (a copy never shares it)
+    private volatile CensusDataTable _censusDataTable;
+
+    public StateData() {
+        _lastAccessTime = System.nanoTime();
+    }
+
+    /**
+     * Creates a copy of the provided data (the census data instances are shared, see CountyData); package private so it's only used during initialization.
+     */
+    StateData(StateData other) {
+        this(other, true);
+    }
+
+    /**
+     * Creates a copy of the provided data, optionally ignoring the census tract data; package private so it's only used during initialization.
+     */
+    StateData(StateData other, boolean includeTractData) {
+        other._countyData.forEach((county, data) -> _countyData.put(county, new CountyData(data, includeTractData)));
+        _lastAccessTime = other._lastAccessTime;
+    }
 
     /**
      * Returns the county data for a given county, null if not found.
@@ -27,4 +55,56 @@ public class StateData {
     Map<String, CountyData> getData() {
         return _countyData;
     }
+
+    /**
+     * Returns the flat lookup table of the census data of this state; the table is created the first time it's requested, which must only happen
+     * once this data has been published.
+     */
+    CensusDataTable getCensusDataTable(String state) {
+        CensusDataTable table = _censusDataTable;
+        if (table == null) {
+            // several threads might create the table at the same time, that's OK since they all create the same table
+            table = new CensusDataTable(state, this);
+            _censusDataTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Records an access to this data.
+     */
+    void recordAccess() {
+        long now = System.nanoTime();
+        // avoid writing the (shared) field on every single access
+        if (now - _lastAccessTime > _ACCESS_TIME_RESOLUTION)
+            _lastAccessTime = now;
+    }
+
+    /**
+     * Returns the last time (System.nanoTime) this data was accessed.
+     */
+    long getLastAccessTime() {
+        return _lastAccessTime;
+    }
+
+    /**
+     * Returns true if this data contains any census tract data.
+     */
+    boolean hasTractData() {
+        for (CountyData countyData : _countyData.values())
+            if (!countyData.getData().isEmpty())
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns a rough estimate of the memory used by the census tract data of this state, in bytes.
+     */
+    long getEstimatedTractDataSize() {
+        long size = 0;
+        for (CountyData countyData : _countyData.values())
+            for (CensusData censusData : countyData.getData().values())
+                size += censusData.getEstimatedSize();
+        return size;
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Index of the census tract data file (see CountryData) when that file is made of one independently GZipped block per state; the index allows
+ * the data of a single state to be inflated without reading the entire file.
+ * <br/><br/>
+ * Concatenated GZip blocks still form a valid GZip file, so the data file can always be read as a whole, with or without its index.
+ * <br/><br/>
+ * The index is a small text file; the first line is a header, followed by one line per state containing the state abbreviation, the offset
+ * of its block and the (compressed) length of that block, separated by semicolons. Both files are created by the TractDataLab class.
+ */
+public final class TractDataIndex {
+
+    // header of the index, needs to be changed every time the format changes
+    private static final String _HEADER = "#tract-data-index;1";
+
+    // states mapped to the offset and length of their block
+    private final Map<String, long[]> _blocks;
+
+    private TractDataIndex(Map<String, long[]> blocks) {
+        _blocks = blocks;
+    }
+
+    /**
+     * Reads the index from the provided stream.
+     */
+    public static TractDataIndex read(InputStream is) throws IOException {
+        Map<String, long[]> blocks = new LinkedHashMap<>();
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(is, StandardCharsets.US_ASCII))) {
+            if (!_HEADER.equals(reader.readLine()))
+                throw new IllegalStateException("Invalid or unsupported tract data index");
+            String line = reader.readLine();
+            while (line != null) {
+                String[] parts = line.split(";");
+                if (parts.length != 3 || parts[0].length() != 2 || !NumberUtils.isDigits(parts[1]) || !NumberUtils.isDigits(parts[2]))
+                    throw new IllegalStateException("Line " + reader.getLineNumber() + ": invalid tract data index entry: " + line);
+                blocks.put(parts[0], new long[] {Long.parseLong(parts[1]), Long.parseLong(parts[2])});
+                line = reader.readLine();
+            }
+        }
+        return new TractDataIndex(blocks);
+    }
+
+    /**
+     * Returns the states available in this index.
+     */
+    public Set<String> getStates() {
+        return Collections.unmodifiableSet(_blocks.keySet());
+    }
+
+    /**
+     * Returns the offset of the block of the requested state (-1 if the state is not available).
+     */
+    long getOffset(String state) {
+        long[] block = _blocks.get(state);
+        return block == null ? -1 : block[0];
+    }
+
+    /**
+     * Returns the (compressed) length of the block of the requested state (0 if the state is not available).
+     */
+    int getLength(String state) {
+        long[] block = _blocks.get(state);
+        return block == null ? 0 : (int)block[1];
+    }
+
+    /**
+     * Re-writes the provided text data file (GZipped) as one GZip block per state, and creates the corresponding index.
+     * @param textFile the (GZipped) text data file, lines are expected to be sorted by state
+     * @param indexFile the index to create
+     */
+    public static void write(Path textFile, Path indexFile) throws IOException {
+        Path tmpFile = textFile.resolveSibling(textFile.getFileName() + ".tmp");
+        try (InputStream is = Files.newInputStream(textFile); OutputStream os = Files.newOutputStream(tmpFile); OutputStream indexOs = Files.newOutputStream(indexFile)) {
+            write(is, os, indexOs);
+        }
+        Files.move(tmpFile, textFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes the provided text data (GZipped) as one GZip block per state, and writes the corresponding index.
+     * @param textData the (GZipped) text data, lines are expected to be sorted by state
+     * @param output where the text data needs to be written (one GZip block per state)
+     * @param indexOutput where the index needs to be written
+     */
+    public static void write(InputStream textData, OutputStream output, OutputStream indexOutput) throws IOException {
+        Map<String, List<String>> states = new LinkedHashMap<>();
+        try (LineNumberReader reader = new LineNumberReader(new BufferedReader(new InputStreamReader(new GZIPInputStream(textData), StandardCharsets.US_ASCII)))) {
+            String previousState = null;
+            String line = reader.readLine();
+            while (line != null) {
+                String state = line.substring(0, CountryData.getTractFields().get("stateAbbreviation"));
+                if (!state.equals(previousState) && states.containsKey(state))
+                    throw new IllegalStateException("Line " + reader.getLineNumber() + ": lines are not sorted by state");
+                states.computeIfAbsent(state, k -> new ArrayList<>()).add(line);
+                previousState = state;
+                line = reader.readLine();
+            }
+        }
+
+        Writer indexWriter = new OutputStreamWriter(indexOutput, StandardCharsets.US_ASCII);
+        indexWriter.write(_HEADER + "\n");
+        long offset = 0;
+        for (Entry<String, List<String>> entry : states.entrySet()) {
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(block), StandardCharsets.US_ASCII)) {
+                for (String line : entry.getValue())
+                    writer.write(line + "\n");
+            }
+            block.writeTo(output);
+            indexWriter.write(entry.getKey() + ";" + offset + ";" + block.size() + "\n");
+            offset += block.size();
+        }
+        output.flush();
+        indexWriter.flush();
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Compact binary representation of the census tract data file (see CountryData); it is meant to be memory-mapped so the data of a given state
+ * can be read without inflating and parsing the entire text file.
+ * <br/><br/>
+ * The snapshot is made of a header (magic number, format version, fields layout, number of years and records), followed by an index of the
+ * states (abbreviation, index of the first record, number of records), followed by fixed-size records sorted by state, county and tract.
+ * <br/><br/>
+ * A record contains the county and tract codes and the regular tract fields, all stored as ASCII bytes using the same length as in the text file;
+ * it then contains the year-based fields for each year, the ACS poverty percentages being stored as a short value (-1 for blank values).
+ * <br/><br/>
+ * The records are decoded by a RecordReader: the year-based values are written directly into the census data as fixed-point values and
+ * dictionary codes, and the values of the regular fields are shared between all the records having the same raw bytes.
+ * <br/><br/>
+ * Snapshots are created from the text data file by the TractDataLab class.
+ */
+public final class TractDataSnapshot {
+
+    // magic number at the beginning of any snapshot ("TRCT")
+    private static final int _MAGIC_NUMBER = 0x54524354;
+
+    // version of the format, needs to be incremented every time the format changes
+    private static final int _FORMAT_VERSION = 1;
+
+    // short value used for blank poverty values
+    private static final short _BLANK_POVERTY = -1;
+
+    // maximum length of the regular fields (their raw bytes are packed into two longs when looking up the shared values)
+    private static final int _MAX_CACHED_LENGTH = 2 * Long.BYTES;
+
+    // the underlying (read-only) data
+    private final ByteBuffer _buffer;
+
+    // the position of the first record
+    private final int _dataOffset;
+
+    // the length of a single record
+    private final int _recordLength;
+
+    // states mapped to their first record index and number of records
+    private final Map<String, int[]> _states;
+
+    // offsets of the fields within a record
+    private final Map<String, Integer> _tractFieldOffsets;
+    private final int _yearBasedDataOffset;
+    private final int _yearLength;
+
+    // offsets of the year-based fields within the data of a single year, the poverty offsets use the order of the poverty fields
+    private final int _yostQuintileStateOffset;
+    private final int _yostQuintileUsOffset;
+    private final int[] _povertyOffsets;
+
+    private TractDataSnapshot(ByteBuffer buffer) {
+        _buffer = buffer;
+
+        _tractFieldOffsets = new LinkedHashMap<>();
+        int recordLength = 0;
+        for (Entry<String, Integer> entry : CountryData.getTractFields().entrySet()) {
+            if (isRegularTractField(entry.getKey())) {
+                if (entry.getValue() > _MAX_CACHED_LENGTH)
+                    throw new IllegalStateException("Tract field is too long: " + entry.getKey());
+                _tractFieldOffsets.put(entry.getKey(), recordLength);
+                recordLength += entry.getValue();
+            }
+        }
+        Map<String, Integer> yearBasedFieldOffsets = new LinkedHashMap<>();
+        List<Integer> povertyOffsets = new ArrayList<>();
+        int yearLength = 0;
+        for (Entry<String, Integer> entry : CountryData.getTractYearBasedFields().entrySet()) {
+            yearBasedFieldOffsets.put(entry.getKey(), yearLength);
+            if (isPovertyField(entry.getKey()))
+                povertyOffsets.add(yearLength);
+            yearLength += isPovertyField(entry.getKey()) ? Short.BYTES : entry.getValue();
+        }
+        _yostQuintileStateOffset = yearBasedFieldOffsets.get("yostStateBasedQuintile");
+        _yostQuintileUsOffset = yearBasedFieldOffsets.get("yostUsBasedQuintile");
+        _povertyOffsets = povertyOffsets.stream().mapToInt(Integer::intValue).toArray();
+        _yearBasedDataOffset = recordLength;
+        _yearLength = yearLength;
+        _recordLength = recordLength + (CountryData.TRACT_YEAR_MAX_VAL - CountryData.TRACT_YEAR_MIN_VAL + 1) * yearLength;
+
+        int pos = 0;
+        if (buffer.getInt(pos) != _MAGIC_NUMBER)
+            throw new IllegalStateException("Invalid tract data snapshot");
+        pos += Integer.BYTES;
+        if (buffer.getInt(pos) != _FORMAT_VERSION)
+            throw new IllegalStateException("Unsupported tract data snapshot version: " + buffer.getInt(pos));
+        pos += Integer.BYTES;
+
+        // the layout of the snapshot needs to agree with the fields defined in CountryData
+        StringBuilder layout = new StringBuilder();
+        int layoutLength = buffer.getInt(pos);
+        pos += Integer.BYTES;
+        for (int i = 0; i < layoutLength; i++)
+            layout.append((char)buffer.get(pos++));
+        if (!getLayout().contentEquals(layout))
+            throw new IllegalStateException("Tract data snapshot was created for a different layout of the data");
+
+        int numStates = buffer.getInt(pos);
+        pos += Integer.BYTES;
+        _states = new LinkedHashMap<>();
+        for (int i = 0; i < numStates; i++) {
+            String state = new String(new byte[] {buffer.get(pos), buffer.get(pos + 1)}, StandardCharsets.US_ASCII);
+            _states.put(state, new int[] {buffer.getInt(pos + 2), buffer.getInt(pos + 6)});
+            pos += 10;
+        }
+        _dataOffset = pos;
+    }
+
+    /**
+     * Memory-maps the provided snapshot file.
+     */
+    public static TractDataSnapshot map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new TractDataSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the snapshot from the provided stream; this should be used only when the snapshot can't be memory-mapped (for example when it's inside a JAR file).
+     * The data is copied to a direct buffer so it doesn't count against the heap.
+     */
+    public static TractDataSnapshot read(InputStream is) throws IOException {
+        byte[] bytes = is.readAllBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        return new TractDataSnapshot(buffer.asReadOnlyBuffer());
+    }
+
+    /**
+     * Returns the states available in this snapshot.
+     */
+    public Set<String> getStates() {
+        return Collections.unmodifiableSet(_states.keySet());
+    }
+
+    /**
+     * Returns the index of the first record for the requested state (-1 if the state is not available).
+     */
+    int getFirstRecord(String state) {
+        int[] range = _states.get(state);
+        return range == null ? -1 : range[0];
+    }
+
+    /**
+     * Returns the number of records for the requested state (0 if the state is not available).
+     */
+    int getNumRecords(String state) {
+        int[] range = _states.get(state);
+        return range == null ? 0 : range[1];
+    }
+
+    /**
+     * Creates a new reader for the records of this snapshot.
+     */
+    RecordReader newRecordReader() {
+        return new RecordReader();
+    }
+
+    private String readAscii(int pos, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+            bytes[i] = _buffer.get(pos + i);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Creates a snapshot from the provided text data file (GZipped).
+     * @param textFile the (GZipped) text data file, lines are expected to be sorted by state
+     * @param snapshotFile the snapshot to create
+     */
+    public static void write(Path textFile, Path snapshotFile) throws IOException {
+        try (InputStream is = Files.newInputStream(textFile); OutputStream os = Files.newOutputStream(snapshotFile)) {
+            write(is, os);
+        }
+    }
+
+    /**
+     * Creates a snapshot from the provided text data (GZipped).
+     * @param textData the (GZipped) text data, lines are expected to be sorted by state
+     * @param output where the snapshot needs to be written
+     */
+    public static void write(InputStream textData, OutputStream output) throws IOException {
+        List<String> lines = new ArrayList<>();
+        Map<String, int[]> states = new LinkedHashMap<>();
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(new GZIPInputStream(textData), StandardCharsets.US_ASCII))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String state = line.substring(0, CountryData.getTractFields().get("stateAbbreviation"));
+                int[] range = states.get(state);
+                if (range == null)
+                    states.put(state, new int[] {lines.size(), 1});
+                else if (range[0] + range[1] != lines.size())
+                    throw new IllegalStateException("Line " + reader.getLineNumber() + ": lines are not sorted by state");
+                else
+                    range[1]++;
+                lines.add(line);
+                line = reader.readLine();
+            }
+        }
+
+        DataOutputStream os = new DataOutputStream(new BufferedOutputStream(output));
+        os.writeInt(_MAGIC_NUMBER);
+        os.writeInt(_FORMAT_VERSION);
+        String layout = getLayout();
+        os.writeInt(layout.length());
+        os.writeBytes(layout);
+        os.writeInt(states.size());
+        for (Entry<String, int[]> entry : states.entrySet()) {
+            os.writeBytes(entry.getKey());
+            os.writeInt(entry.getValue()[0]);
+            os.writeInt(entry.getValue()[1]);
+        }
+
+        for (int lineIdx = 0; lineIdx < lines.size(); lineIdx++) {
+            String line = lines.get(lineIdx);
+            String yearData = null;
+            int index = 0;
+            for (Entry<String, Integer> entry : CountryData.getTractFields().entrySet()) {
+                String value = line.substring(index, index + entry.getValue());
+                if ("yearData".equals(entry.getKey()))
+                    yearData = value;
+                else if (isRegularTractField(entry.getKey()))
+                    os.writeBytes(value);
+                index += entry.getValue();
+            }
+            if (yearData == null)
+                throw new IllegalStateException("Unable to find year-based data");
+            index = 0;
+            for (int year = CountryData.TRACT_YEAR_MIN_VAL; year <= CountryData.TRACT_YEAR_MAX_VAL; year++) {
+                for (Entry<String, Integer> entry : CountryData.getTractYearBasedFields().entrySet()) {
+                    String value = yearData.substring(index, index + entry.getValue());
+                    if (!isPovertyField(entry.getKey()))
+                        os.writeBytes(value);
+                    else if (value.isBlank())
+                        os.writeShort(_BLANK_POVERTY);
+                    else if (NumberUtils.isDigits(value) && Integer.parseInt(value) <= Short.MAX_VALUE)
+                        os.writeShort(Integer.parseInt(value));
+                    else
+                        throw new IllegalStateException("Line " + (lineIdx + 1) + ": invalid ACS poverty value: " + value);
+                    index += entry.getValue();
+                }
+            }
+        }
+        os.flush();
+    }
+
+    /**
+     * Decodes the records of the snapshot; a reader keeps the values it already decoded so it shouldn't be shared between threads.
+     */
+    final class RecordReader {
+
+        // shared values of each regular field, keyed by their raw bytes
+        private final Map<String, ValueCache> _values = new HashMap<>();
+
+        // dictionary codes of the Yost quintiles, indexed by their raw byte (0 if not computed yet)
+        private final char[] _quintileCodes = new char[256];
+
+        private RecordReader() {
+        }
+
+        /**
+         * Returns the trimmed value (null if blank) of the requested regular tract field; "countyFips" and "censusTract" are also supported.
+         * The same instance is returned for all the records having the same value.
+         */
+        String getTractValue(int record, String field) {
+            Integer offset = _tractFieldOffsets.get(field);
+            if (offset == null)
+                throw new IllegalArgumentException("Unknown tract field: " + field);
+            int pos = _dataOffset + record * _recordLength + offset;
+            int length = CountryData.getTractFields().get(field);
+
+            long key1 = 0;
+            long key2 = 0;
+            for (int i = 0; i < length; i++) {
+                long b = _buffer.get(pos + i) & 0xFF;
+                if (i < Long.BYTES)
+                    key1 = (key1 << 8) | b;
+                else
+                    key2 = (key2 << 8) | b;
+            }
+
+            ValueCache cache = _values.computeIfAbsent(field, k -> new ValueCache());
+            int slot = cache.find(key1, key2);
+            if (slot >= 0)
+                return cache.getValue(slot);
+            String value = StringUtils.trimToNull(readAscii(pos, length));
+            cache.add(key1, key2, value);
+            return value;
+        }
+
+        /**
+         * Writes the year-based values of the requested record into the provided census data, without going through their text representation.
+         */
+        void readYearBasedValues(int record, CensusData censusData) {
+            int pos = _dataOffset + record * _recordLength + _yearBasedDataOffset;
+            for (int year = CountryData.TRACT_YEAR_MIN_VAL; year <= CountryData.TRACT_YEAR_MAX_VAL; year++) {
+                YearData yearData = censusData.getOrCreateYearData(year);
+                yearData.setYostQuintileCodes(getQuintileCode(pos + _yostQuintileStateOffset), getQuintileCode(pos + _yostQuintileUsOffset));
+                for (int i = 0; i < _povertyOffsets.length; i++)
+                    yearData.setAcsPctPovFixedPoint(i, _buffer.getShort(pos + _povertyOffsets[i]));
+                pos += _yearLength;
+            }
+        }
+
+        private char getQuintileCode(int pos) {
+            int b = _buffer.get(pos) & 0xFF;
+            char code = _quintileCodes[b];
+            if (code == 0) {
+                code = YearData.encodeQuintile(String.valueOf((char)b).trim());
+                _quintileCodes[b] = code;
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Open-addressing table of the values of a single field, keyed by their raw bytes packed into two longs.
+     */
+    private static final class ValueCache {
+
+        private long[] _keys1 = new long[64];
+        private long[] _keys2 = new long[64];
+        private String[] _cachedValues = new String[64];
+        private boolean[] _used = new boolean[64];
+        private int _size;
+
+        /**
+         * Returns the slot of the provided key, or a negative value if the key is not in the table.
+         */
+        int find(long key1, long key2) {
+            int mask = _used.length - 1;
+            int slot = hash(key1, key2) & mask;
+            while (_used[slot]) {
+                if (_keys1[slot] == key1 && _keys2[slot] == key2)
+                    return slot;
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        String getValue(int slot) {
+            return _cachedValues[slot];
+        }
+
+        void add(long key1, long key2, String value) {
+            if (2 * (_size + 1) > _used.length) {
+                long[] keys1 = _keys1;
+                long[] keys2 = _keys2;
+                String[] values = _cachedValues;
+                boolean[] used = _used;
+                _keys1 = new long[keys1.length * 2];
+                _keys2 = new long[keys2.length * 2];
+                _cachedValues = new String[values.length * 2];
+                _used = new boolean[used.length * 2];
+                _size = 0;
+                for (int i = 0; i < used.length; i++)
+                    if (used[i])
+                        add(keys1[i], keys2[i], values[i]);
+            }
+            int mask = _used.length - 1;
+            int slot = hash(key1, key2) & mask;
+            while (_used[slot])
+                slot = (slot + 1) & mask;
+            _keys1[slot] = key1;
+            _keys2[slot] = key2;
+            _cachedValues[slot] = value;
+            _used[slot] = true;
+            _size++;
+        }
+
+        private static int hash(long key1, long key2) {
+            int h = Long.hashCode(key1 * 31 + key2);
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private static boolean isRegularTractField(String field) {
+        return !"stateAbbreviation".equals(field) && !"yearData".equals(field);
+    }
+
+    private static boolean isPovertyField(String field) {
+        return field.startsWith("percentBelowPoverty");
+    }
+
+    private static String getLayout() {
+        StringBuilder buf = new StringBuilder();
+        CountryData.getTractFields().forEach((name, length) -> buf.append(name).append(':').append(length).append(';'));
+        buf.append(CountryData.TRACT_YEAR_MIN_VAL).append('-').append(CountryData.TRACT_YEAR_MAX_VAL).append(';');
+        CountryData.getTractYearBasedFields().forEach((name, length) -> buf.append(name).append(':').append(length).append(';'));
+        return buf.toString();
+    }
+}
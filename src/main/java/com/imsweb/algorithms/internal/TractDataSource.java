@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Where the census tract data (see CountryData) is read from.
+ * <br/><br/>
+ * By default, the data is read from the resources of the library (the binary snapshot if available, the GZipped text file otherwise), but
+ * it can also be read from an external GZipped text file (optionally indexed), a directory of per-state GZipped text files, or an external
+ * binary snapshot. The source can be changed at runtime (see CountryData.setTractDataSource()), which allows updated data to be used without
+ * re-deploying the library.
+ */
+public abstract class TractDataSource {
+
+    private static final String _RESOURCE_TEXT_FILE = "tract/tract-data.txt.gz";
+
+    // optional binary version of the data file (see TractDataSnapshot); the text file is used if it's not available
+    private static final String _RESOURCE_SNAPSHOT = "tract/tract-data.bin";
+
+    // optional index of the data file (see TractDataIndex), allows the data of a single state to be read without inflating the entire file
+    private static final String _RESOURCE_INDEX = "tract/tract-data.idx";
+
+    // suffix of the files of a directory source, the file names are expected to be the state abbreviation followed by that suffix
+    private static final String _DIRECTORY_FILE_SUFFIX = ".txt.gz";
+
+    /**
+     * Consumes GZipped text data; used to read the text data from the source without knowing how it's stored.
+     */
+    @FunctionalInterface
+    interface TextDataConsumer {
+
+        void accept(InputStream gzippedData) throws IOException;
+    }
+
+    /**
+     * Returns the default source, reading the data from the resources of the library.
+     */
+    public static TractDataSource ofResources() {
+        return new ResourcesSource();
+    }
+
+    /**
+     * Returns a source reading the data from the provided (GZipped) text file.
+     */
+    public static TractDataSource ofTextFile(Path textFile) {
+        return ofTextFile(textFile, null);
+    }
+
+    /**
+     * Returns a source reading the data from the provided (GZipped) text file, using the provided index (see TractDataIndex).
+     * @param textFile the GZipped text file, cannot be null
+     * @param indexFile the index of that file, can be null
+     */
+    public static TractDataSource ofTextFile(Path textFile, Path indexFile) {
+        if (textFile == null)
+            throw new IllegalArgumentException("Text file is required");
+        return new TextFileSource(textFile, indexFile);
+    }
+
+    /**
+     * Returns a source reading the data from a directory containing one (GZipped) text file per state; the files must be named using the state
+     * abbreviation followed by ".txt.gz" (for example "AL.txt.gz").
+     */
+    public static TractDataSource ofDirectory(Path directory) {
+        if (directory == null)
+            throw new IllegalArgumentException("Directory is required");
+        return new DirectorySource(directory);
+    }
+
+    /**
+     * Returns a source reading the data from the provided binary snapshot (see TractDataSnapshot); the snapshot is memory-mapped.
+     */
+    public static TractDataSource ofSnapshot(Path snapshotFile) {
+        if (snapshotFile == null)
+            throw new IllegalArgumentException("Snapshot file is required");
+        return new SnapshotSource(snapshotFile);
+    }
+
+    /**
+     * Returns the binary snapshot of this source, null if the data is only available as text.
+     */
+    abstract TractDataSnapshot getSnapshot() throws IOException;
+
+    /**
+     * Provides the (GZipped) text data to the consumer; the provided data contains at least the requested states, but it might contain other states too.
+     */
+    abstract void readTextData(Predicate<String> states, TextDataConsumer consumer) throws IOException;
+
+    /**
+     * Reads the blocks of the requested states (see TractDataIndex) from the data available at the provided URL.
+     */
+    private static void readBlocks(URL url, TractDataIndex index, Predicate<String> states, TextDataConsumer consumer) throws IOException {
+        List<String> requestedStates = new ArrayList<>();
+        for (String state : index.getStates())
+            if (states.test(state))
+                requestedStates.add(state);
+        if (requestedStates.isEmpty())
+            return;
+
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(toPath(url), StandardOpenOption.READ)) {
+                for (String state : requestedStates) {
+                    ByteBuffer block = ByteBuffer.allocate(index.getLength(state));
+                    while (block.hasRemaining())
+                        if (channel.read(block, index.getOffset(state) + block.position()) < 0)
+                            throw new IllegalStateException("Tract data file doesn't agree with its index");
+                    consumer.accept(new ByteArrayInputStream(block.array()));
+                }
+            }
+        }
+        else {
+            // the data can't be accessed randomly (it's probably inside a JAR file), but only the needed blocks need to be inflated
+            requestedStates.sort(Comparator.comparingLong(index::getOffset));
+            try (InputStream is = url.openStream()) {
+                long position = 0;
+                for (String state : requestedStates) {
+                    is.skipNBytes(index.getOffset(state) - position);
+                    byte[] block = is.readNBytes(index.getLength(state));
+                    if (block.length != index.getLength(state))
+                        throw new IllegalStateException("Tract data file doesn't agree with its index");
+                    position = index.getOffset(state) + block.length;
+                    consumer.accept(new ByteArrayInputStream(block));
+                }
+            }
+        }
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        }
+        catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Source reading the data from the resources of the library.
+     */
+    private static final class ResourcesSource extends TractDataSource {
+
+        // the binary snapshot and the index (if available), and whether they were already looked up
+        private TractDataSnapshot _snapshot;
+        private boolean _snapshotLookedUp;
+        private TractDataIndex _index;
+        private boolean _indexLookedUp;
+
+        @Override
+        synchronized TractDataSnapshot getSnapshot() throws IOException {
+            if (!_snapshotLookedUp) {
+                URL url = Thread.currentThread().getContextClassLoader().getResource(_RESOURCE_SNAPSHOT);
+                if (url != null) {
+                    if ("file".equals(url.getProtocol()))
+                        _snapshot = TractDataSnapshot.map(toPath(url));
+                    else {
+                        try (InputStream is = url.openStream()) {
+                            _snapshot = TractDataSnapshot.read(is);
+                        }
+                    }
+                }
+                _snapshotLookedUp = true;
+            }
+            return _snapshot;
+        }
+
+        private synchronized TractDataIndex getIndex() throws IOException {
+            if (!_indexLookedUp) {
+                try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(_RESOURCE_INDEX)) {
+                    if (is != null)
+                        _index = TractDataIndex.read(is);
+                }
+                _indexLookedUp = true;
+            }
+            return _index;
+        }
+
+        @Override
+        void readTextData(Predicate<String> states, TextDataConsumer consumer) throws IOException {
+            URL url = Thread.currentThread().getContextClassLoader().getResource(_RESOURCE_TEXT_FILE);
+            if (url == null)
+                throw new IllegalStateException("Unable to get SEER census tract data file");
+
+            TractDataIndex index = getIndex();
+            if (index != null)
+                readBlocks(url, index, states, consumer);
+            else {
+                try (InputStream is = url.openStream()) {
+                    consumer.accept(is);
+                }
+            }
+        }
+    }
+
+    /**
+     * Source reading the data from an external (GZipped) text file, optionally indexed.
+     */
+    private static final class TextFileSource extends TractDataSource {
+
+        private final Path _textFile;
+        private final Path _indexFile;
+
+        // the index (if any), and whether it was already read
+        private TractDataIndex _index;
+        private boolean _indexRead;
+
+        private TextFileSource(Path textFile, Path indexFile) {
+            _textFile = textFile;
+            _indexFile = indexFile;
+        }
+
+        @Override
+        TractDataSnapshot getSnapshot() {
+            return null;
+        }
+
+        private synchronized TractDataIndex getIndex() throws IOException {
+            if (!_indexRead) {
+                if (_indexFile != null) {
+                    try (InputStream is = Files.newInputStream(_indexFile)) {
+                        _index = TractDataIndex.read(is);
+                    }
+                }
+                _indexRead = true;
+            }
+            return _index;
+        }
+
+        @Override
+        void readTextData(Predicate<String> states, TextDataConsumer consumer) throws IOException {
+            TractDataIndex index = getIndex();
+            if (index != null)
+                readBlocks(_textFile.toUri().toURL(), index, states, consumer);
+            else {
+                try (InputStream is = Files.newInputStream(_textFile)) {
+                    consumer.accept(is);
+                }
+            }
+        }
+    }
+
+    /**
+     * Source reading the data from a directory of per-state (GZipped) text files.
+     */
+    private static final class DirectorySource extends TractDataSource {
+
+        private final Path _directory;
+
+        private DirectorySource(Path directory) {
+            _directory = directory;
+        }
+
+        @Override
+        TractDataSnapshot getSnapshot() {
+            return null;
+        }
+
+        @Override
+        void readTextData(Predicate<String> states, TextDataConsumer consumer) throws IOException {
+            if (!Files.isDirectory(_directory))
+                throw new IllegalStateException("Unable to find tract data directory " + _directory);
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(_directory, "*" + _DIRECTORY_FILE_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String state = name.substring(0, name.length() - _DIRECTORY_FILE_SUFFIX.length());
+                    if (states.test(state)) {
+                        try (InputStream is = Files.newInputStream(file)) {
+                            consumer.accept(is);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Source reading the data from an external binary snapshot.
+     */
+    private static final class SnapshotSource extends TractDataSource {
+
+        private final Path _snapshotFile;
+
+        // the memory-mapped snapshot, mapped the first time it's needed
+        private TractDataSnapshot _snapshot;
+
+        private SnapshotSource(Path snapshotFile) {
+            _snapshotFile = snapshotFile;
+        }
+
+        @Override
+        synchronized TractDataSnapshot getSnapshot() throws IOException {
+            if (_snapshot == null)
+                _snapshot = TractDataSnapshot.map(_snapshotFile);
+            return _snapshot;
+        }
+
+        @Override
+        void readTextData(Predicate<String> states, TextDataConsumer consumer) {
+            throw new IllegalStateException("Snapshot source doesn't provide any text data");
+        }
+    }
+}
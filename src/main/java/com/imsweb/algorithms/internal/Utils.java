@@ -6,17 +6,21 @@ package com.imsweb.algorithms.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -26,6 +30,7 @@ import de.siegmar.fastcsv.reader.CsvRecord;
 import de.siegmar.fastcsv.reader.NamedCsvRecord;
 
 import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.AlgorithmListener;
 import com.imsweb.algorithms.Algorithms;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_TUMORS;
@@ -43,12 +48,12 @@ public final class Utils {
     }
 
     public static void processInternalFile(String file, Consumer<NamedCsvRecord> consumer) {
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(file)) {
-            if (is == null)
-                throw new IllegalStateException("Unable to find " + file);
+        long start = System.nanoTime();
+        try (CountingInputStream is = openInternalFile(file)) {
             try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8); CsvReader<NamedCsvRecord> csvReader = CsvReader.builder().ofNamedCsvRecord(reader)) {
                 csvReader.stream().forEach(consumer);
             }
+            notifyDataLoaded(file, System.nanoTime() - start, is.getCount());
         }
         catch (IOException e) {
             throw new IllegalStateException("Unable to read " + file, e);
@@ -56,18 +61,68 @@ public final class Utils {
     }
 
     public static void processInternalFileNoHeaders(String file, Consumer<CsvRecord> consumer) {
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(file)) {
-            if (is == null)
-                throw new IllegalStateException("Unable to find " + file);
+        long start = System.nanoTime();
+        try (CountingInputStream is = openInternalFile(file)) {
             try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8); CsvReader<CsvRecord> csvReader = CsvReader.builder().ofCsvRecord(reader)) {
                 csvReader.stream().forEach(consumer);
             }
+            notifyDataLoaded(file, System.nanoTime() - start, is.getCount());
         }
         catch (IOException e) {
             throw new IllegalStateException("Unable to read " + file, e);
         }
     }
 
+    private static CountingInputStream openInternalFile(String file) {
+        InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
+        if (is == null)
+            throw new IllegalStateException("Unable to find " + file);
+        return new CountingInputStream(is);
+    }
+
+    /**
+     * Reads the requested ICD-O-3 rule table (see IcdO3RuleTable.write()), returns null if that file is not available (the rule tables are generated
+     * at build time, so they are not available when running from the sources).
+     */
+    public static <T> IcdO3RuleTable<T> readInternalRuleTable(String file, Function<String, T> parser, Supplier<List<IcdO3Rule<T>>> rulesSupplier) {
+        InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
+        if (stream == null)
+            return null;
+
+        long start = System.nanoTime();
+        try (CountingInputStream is = new CountingInputStream(stream)) {
+            IcdO3RuleTable<T> table = IcdO3RuleTable.read(is, parser, rulesSupplier);
+            notifyDataLoaded(file, System.nanoTime() - start, is.getCount());
+            return table;
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + file, e);
+        }
+    }
+
+    /**
+     * Writes the provided ICD-O-3 rule table under the requested directory, using the provided file (resource path).
+     */
+    public static <T> void writeRuleTable(Path directory, String file, IcdO3RuleTable<T> table, Function<T, String> formatter) throws IOException {
+        Path path = directory.resolve(file);
+        Files.createDirectories(path.getParent());
+        try (OutputStream os = Files.newOutputStream(path)) {
+            table.write(os, formatter);
+        }
+    }
+
+    /**
+     * Notifies the registered listener (if any) that a data file was loaded (see Algorithms.setListener()).
+     * @param name the name of the loaded data
+     * @param durationNanos the loading time, in nanoseconds
+     * @param numBytes the number of bytes read, -1 if unknown
+     */
+    public static void notifyDataLoaded(String name, long durationNanos, long numBytes) {
+        AlgorithmListener listener = Algorithms.getListener();
+        if (listener != null)
+            listener.dataLoaded(name, durationNanos, numBytes);
+    }
+
     /**
      * Expands the provided string of sites into a list of sites, individual elements or ranges should be comma separated.
      * <p/>
@@ -132,83 +187,70 @@ public final class Utils {
     }
 
     /**
-     * Expands the provided primary sites as either individual integer codes, or as ranges.
+     * Expands the provided primary sites (like "C500-C509,C619") as a set of integer codes (without the leading "C").
      * @param toExpand sites to expand
-     * @return expanded sites
+     * @return expanded sites, null if the provided value is blank
      */
-    public static List<Object> expandSitesAsIntegers(String toExpand) {
+    public static IntRangeSet expandSitesAsRangeSet(String toExpand) {
         if (StringUtils.isBlank(toExpand))
             return null;
-        List<Object> result = new ArrayList<>();
-        for (String s : StringUtils.split(toExpand, ',')) {
-            if (!s.contains("-"))
-                result.add(Integer.valueOf(s.substring(1)));
+        String[] values = StringUtils.split(toExpand, ',');
+        int[] bounds = new int[values.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            String s = values[i];
+            if (!s.contains("-")) {
+                bounds[i * 2] = Integer.parseInt(s.substring(1));
+                bounds[i * 2 + 1] = bounds[i * 2];
+            }
             else {
                 String[] parts = StringUtils.split(s, '-');
-                result.add(Range.of(Integer.valueOf(parts[0].substring(1)), Integer.valueOf(parts[1].substring(1))));
+                bounds[i * 2] = Integer.parseInt(parts[0].substring(1));
+                bounds[i * 2 + 1] = Integer.parseInt(parts[1].substring(1));
             }
         }
-        return result;
+        return IntRangeSet.of(bounds);
     }
 
     /**
-     * Expands the provided histology codes as either individual integer codes, or as ranges.
-     * @param toExpand sites to expand
-     * @return expanded sites
+     * Expands the provided histology codes (like "8000-8005,8010") as a set of integer codes.
+     * @param toExpand histologies to expand
+     * @return expanded histologies, null if the provided value is blank
      */
-    public static List<Object> expandHistologiesAsIntegers(String toExpand) {
-        if (StringUtils.isBlank(toExpand))
-            return null;
-        List<Object> result = new ArrayList<>();
-        for (String s : StringUtils.split(toExpand, ',')) {
-            if (!s.contains("-")) {
-                if (!_HIST_PATTERN.matcher(s).matches())
-                    throw new IllegalStateException("Invalid histology code: " + s);
-                result.add(Integer.valueOf(s));
-            }
-            else {
-                if (!_HIST_RANGE_PATTERN.matcher(s).matches())
-                    throw new IllegalStateException("Invalid histology range: " + s);
-                String[] parts = StringUtils.split(s, '-');
-                result.add(Range.of(Integer.valueOf(parts[0]), Integer.valueOf(parts[1])));
-            }
-        }
-        return result;
+    public static IntRangeSet expandHistologiesAsRangeSet(String toExpand) {
+        return expandCodesAsRangeSet(toExpand, _HIST_PATTERN, _HIST_RANGE_PATTERN, "histology");
     }
 
     /**
-     * Expands the provided behaviors as either individual integer codes, or as ranges.
+     * Expands the provided behaviors (like "2-3") as a set of integer codes.
      * @param toExpand behaviors to expand
-     * @return expanded behaviors
+     * @return expanded behaviors, null if the provided value is blank
      */
-    public static List<Object> expandBehaviorsAsIntegers(String toExpand) {
+    public static IntRangeSet expandBehaviorsAsRangeSet(String toExpand) {
+        return expandCodesAsRangeSet(toExpand, _BEH_PATTERN, _BEH_RANGE_PATTERN, "behavior");
+    }
+
+    private static IntRangeSet expandCodesAsRangeSet(String toExpand, Pattern codePattern, Pattern rangePattern, String label) {
         if (StringUtils.isBlank(toExpand))
             return null;
-        List<Object> result = new ArrayList<>();
-        for (String s : StringUtils.split(toExpand, ',')) {
+        String[] values = StringUtils.split(toExpand, ',');
+        int[] bounds = new int[values.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            String s = values[i];
             if (!s.contains("-")) {
-                if (!_BEH_PATTERN.matcher(s).matches())
-                    throw new IllegalStateException("Invalid behavior code: " + s);
-                result.add(Integer.valueOf(s));
+                if (!codePattern.matcher(s).matches())
+                    throw new IllegalStateException("Invalid " + label + " code: " + s);
+                bounds[i * 2] = Integer.parseInt(s);
+                bounds[i * 2 + 1] = bounds[i * 2];
             }
             else {
-                if (!_BEH_RANGE_PATTERN.matcher(s).matches())
-                    throw new IllegalStateException("Invalid behavior range: " + s);
+                if (!rangePattern.matcher(s).matches())
+                    throw new IllegalStateException("Invalid " + label + " range: " + s);
                 String[] parts = StringUtils.split(s, '-');
-                result.add(Range.of(Integer.valueOf(parts[0]), Integer.valueOf(parts[1])));
+                bounds[i * 2] = Integer.parseInt(parts[0]);
+                bounds[i * 2 + 1] = Integer.parseInt(parts[1]);
             }
         }
-        return result;
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    public static boolean isContained(List<?> list, Integer value) {
-        if (list == null)
-            return false;
-        for (Object obj : list)
-            if ((obj instanceof Range && ((Range)obj).contains(value)) || (obj.equals(value)))
-                return true;
-        return false;
+        return IntRangeSet.of(bounds);
     }
 
     public static Map<String, Object> extractPatient(AlgorithmInput input) {
@@ -244,6 +286,26 @@ public final class Utils {
         tumors.add(tumor);
     }
 
+    /**
+     * Merges the provided output patient (as returned by an algorithm) into the provided patient: the patient-level fields are copied into the
+     * patient, the tumor-level fields are copied into the corresponding tumors (same order), new tumors are added if needed.
+     */
+    public static void mergeOutput(Map<String, Object> patient, Map<String, Object> outputPatient) {
+        if (outputPatient == null)
+            return;
+
+        for (Map.Entry<String, Object> entry : outputPatient.entrySet())
+            if (!FIELD_TUMORS.equals(entry.getKey()))
+                patient.put(entry.getKey(), entry.getValue());
+
+        List<Map<String, Object>> outputTumors = extractTumors(outputPatient);
+        for (int i = 0; i < outputTumors.size(); i++) {
+            if (i == extractTumors(patient).size())
+                addTumorOutput(patient, new HashMap<>());
+            extractTumors(patient).get(i).putAll(outputTumors.get(i));
+        }
+    }
+
     public static String extractYear(String fullDate) {
         if (fullDate == null || fullDate.length() < 4)
             return null;
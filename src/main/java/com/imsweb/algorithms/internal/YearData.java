@@ -3,90 +3,230 @@
  */
 package com.imsweb.algorithms.internal;
 
+import java.util.Arrays;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Year-based census tract data.
+ * <br/><br/>
+ * The data is stored in primitive arrays that contain the values for all the years of a given tract (see CensusData); this class
+ * gives access to the values of one of those years. The Yost quintiles are stored as dictionary codes, and the ACS poverty
+ * percentages as fixed-point values (percentage multiplied by 100). The setters accept any value; the poverty values that can't be
+ * represented as fixed-point values (like "abc" or "12.3") are kept in a dictionary and stored as negative codes.
+ */
 public class YearData {
 
-    // Yost Quintiles
-    private String _yostQuintileState;
-    private String _yostQuintileUS;
+    // dictionary used for the Yost quintiles
+    private static final CodeDictionary _QUINTILES = new CodeDictionary();
+
+    // dictionary used for the ACS poverty values that can't be stored as fixed-point values
+    private static final CodeDictionary _POVERTY_OVERFLOW = new CodeDictionary();
+
+    // number of values per year
+    private static final int _NUM_QUINTILES = 2;
+    private static final int _NUM_POVERTY_VALUES = 7;
+
+    // indexes of the values within a year
+    private static final int _YOST_QUINTILE_STATE = 0;
+    private static final int _YOST_QUINTILE_US = 1;
+    private static final int _ACS_PCT_POV_ALL_RACES = 0;
+    private static final int _ACS_PCT_POV_WHITE = 1;
+    private static final int _ACS_PCT_POV_BLACK = 2;
+    private static final int _ACS_PCT_POV_AIAN = 3;
+    private static final int _ACS_PCT_POV_ASIAN_NHOPI = 4;
+    private static final int _ACS_PCT_POV_WHITE_NON_HISP = 5;
+    private static final int _ACS_PCT_POV_HISPANIC = 6;
+
+    // special fixed-point values (the values between those two are overflow codes)
+    private static final short _NULL_POVERTY = Short.MIN_VALUE;
+    private static final short _BLANK_POVERTY = -1;
+
+    // highest overflow code that doesn't collide with the null value
+    private static final int _MAX_OVERFLOW_CODE = _BLANK_POVERTY - _NULL_POVERTY - 1;
+
+    // Yost Quintiles (dictionary codes)
+    private final char[] _quintiles;
 
-    // ACS Poverty
-    private String _acsPctPovAllRaces;
-    private String _acsPctPovWhite;
-    private String _acsPctPovBlack;
-    private String _acsPctPovAIAN;
-    private String _acsPctPovAsianNHOPI;
-    private String _acsPctPovWhiteNonHisp;
-    private String _acsPctPovHispanic;
+    // ACS Poverty (fixed-point values)
+    private final short[] _povertyValues;
+
+    // index of the year within the arrays
+    private final int _yearIndex;
+
+    public YearData() {
+        this(createQuintiles(1), createPovertyValues(1), 0);
+    }
+
+    YearData(char[] quintiles, short[] povertyValues, int yearIndex) {
+        _quintiles = quintiles;
+        _povertyValues = povertyValues;
+        _yearIndex = yearIndex;
+    }
+
+    /**
+     * Creates the array holding the Yost quintiles for the requested number of years.
+     */
+    static char[] createQuintiles(int numYears) {
+        return new char[numYears * _NUM_QUINTILES];
+    }
+
+    /**
+     * Creates the array holding the ACS poverty percentages for the requested number of years.
+     */
+    static short[] createPovertyValues(int numYears) {
+        short[] values = new short[numYears * _NUM_POVERTY_VALUES];
+        Arrays.fill(values, _NULL_POVERTY);
+        return values;
+    }
 
     public String getYostQuintileState() {
-        return _yostQuintileState;
+        return getQuintile(_YOST_QUINTILE_STATE);
     }
 
     public void setYostQuintileState(String yostQuintileState) {
-        _yostQuintileState = yostQuintileState;
+        setQuintile(_YOST_QUINTILE_STATE, yostQuintileState);
     }
 
     public String getYostQuintileUS() {
-        return _yostQuintileUS;
+        return getQuintile(_YOST_QUINTILE_US);
     }
 
     public void setYostQuintileUS(String yostQuintileUS) {
-        _yostQuintileUS = yostQuintileUS;
+        setQuintile(_YOST_QUINTILE_US, yostQuintileUS);
     }
 
     public String getAcsPctPovAllRaces() {
-        return _acsPctPovAllRaces;
+        return getPoverty(_ACS_PCT_POV_ALL_RACES);
     }
 
     public void setAcsPctPovAllRaces(String acsPctPovAllRaces) {
-        _acsPctPovAllRaces = acsPctPovAllRaces;
+        setPoverty(_ACS_PCT_POV_ALL_RACES, acsPctPovAllRaces);
     }
 
     public String getAcsPctPovWhite() {
-        return _acsPctPovWhite;
+        return getPoverty(_ACS_PCT_POV_WHITE);
     }
 
     public void setAcsPctPovWhite(String acsPctPovWhite) {
-        _acsPctPovWhite = acsPctPovWhite;
+        setPoverty(_ACS_PCT_POV_WHITE, acsPctPovWhite);
     }
 
     public String getAcsPctPovBlack() {
-        return _acsPctPovBlack;
+        return getPoverty(_ACS_PCT_POV_BLACK);
     }
 
     public void setAcsPctPovBlack(String acsPctPovBlack) {
-        _acsPctPovBlack = acsPctPovBlack;
+        setPoverty(_ACS_PCT_POV_BLACK, acsPctPovBlack);
     }
 
     public String getAcsPctPovAIAN() {
-        return _acsPctPovAIAN;
+        return getPoverty(_ACS_PCT_POV_AIAN);
     }
 
     public void setAcsPctPovAIAN(String acsPctPovAIAN) {
-        _acsPctPovAIAN = acsPctPovAIAN;
+        setPoverty(_ACS_PCT_POV_AIAN, acsPctPovAIAN);
     }
 
     public String getAcsPctPovAsianNHOPI() {
-        return _acsPctPovAsianNHOPI;
+        return getPoverty(_ACS_PCT_POV_ASIAN_NHOPI);
     }
 
     public void setAcsPctPovAsianNHOPI(String acsPctPovAsianNHOPI) {
-        _acsPctPovAsianNHOPI = acsPctPovAsianNHOPI;
+        setPoverty(_ACS_PCT_POV_ASIAN_NHOPI, acsPctPovAsianNHOPI);
     }
 
     public String getAcsPctPovWhiteNonHisp() {
-        return _acsPctPovWhiteNonHisp;
+        return getPoverty(_ACS_PCT_POV_WHITE_NON_HISP);
     }
 
     public void setAcsPctPovWhiteNonHisp(String acsPctPovWhiteNonHisp) {
-        _acsPctPovWhiteNonHisp = acsPctPovWhiteNonHisp;
+        setPoverty(_ACS_PCT_POV_WHITE_NON_HISP, acsPctPovWhiteNonHisp);
     }
 
     public String getAcsPctPovHispanic() {
-        return _acsPctPovHispanic;
+        return getPoverty(_ACS_PCT_POV_HISPANIC);
     }
 
     public void setAcsPctPovHispanic(String acsPctPovHispanic) {
-        _acsPctPovHispanic = acsPctPovHispanic;
+        setPoverty(_ACS_PCT_POV_HISPANIC, acsPctPovHispanic);
+    }
+
+    /**
+     * Returns the dictionary code of the provided Yost quintile; package private so it's only used during initialization.
+     */
+    static char encodeQuintile(String value) {
+        return _QUINTILES.encode(value);
+    }
+
+    /**
+     * Sets both Yost quintiles from their dictionary codes (see encodeQuintile); package private so it's only used during initialization.
+     */
+    void setYostQuintileCodes(char yostQuintileState, char yostQuintileUS) {
+        _quintiles[_yearIndex * _NUM_QUINTILES + _YOST_QUINTILE_STATE] = yostQuintileState;
+        _quintiles[_yearIndex * _NUM_QUINTILES + _YOST_QUINTILE_US] = yostQuintileUS;
+    }
+
+    /**
+     * Sets an ACS poverty percentage from its fixed-point value (-1 for a blank value); the index follows the order of the poverty fields in
+     * CountryData.getTractYearBasedFields(). Package private so it's only used during initialization.
+     */
+    void setAcsPctPovFixedPoint(int index, short value) {
+        if (index < 0 || index >= _NUM_POVERTY_VALUES)
+            throw new IllegalArgumentException("Invalid ACS poverty index: " + index);
+        if (value < _BLANK_POVERTY)
+            throw new IllegalArgumentException("Invalid fixed-point ACS poverty value: " + value);
+        _povertyValues[_yearIndex * _NUM_POVERTY_VALUES + index] = value;
+    }
+
+    private String getQuintile(int index) {
+        return _QUINTILES.decode(_quintiles[_yearIndex * _NUM_QUINTILES + index]);
+    }
+
+    private void setQuintile(int index, String value) {
+        _quintiles[_yearIndex * _NUM_QUINTILES + index] = _QUINTILES.encode(value);
+    }
+
+    private String getPoverty(int index) {
+        short value = _povertyValues[_yearIndex * _NUM_POVERTY_VALUES + index];
+        if (value == _NULL_POVERTY)
+            return null;
+        if (value == _BLANK_POVERTY)
+            return "";
+        if (value < 0)
+            return _POVERTY_OVERFLOW.decode((char)(_BLANK_POVERTY - value));
+        int decimals = value % 100;
+        return (value / 100) + (decimals < 10 ? ".0" : ".") + decimals;
+    }
+
+    private void setPoverty(int index, String value) {
+        _povertyValues[_yearIndex * _NUM_POVERTY_VALUES + index] = encodePoverty(value);
+    }
+
+    /**
+     * Converts a poverty percentage into its fixed-point value; the values that wouldn't be returned unchanged by getPoverty() (anything other
+     * than blank or a positive number with exactly two decimals like "12.34") are stored as overflow codes instead.
+     */
+    private static short encodePoverty(String value) {
+        if (value == null)
+            return _NULL_POVERTY;
+        if (value.isEmpty())
+            return _BLANK_POVERTY;
+
+        int dotIdx = value.indexOf('.');
+        if (dotIdx > 0 && dotIdx == value.length() - 3 && dotIdx <= 3 && (dotIdx == 1 || value.charAt(0) != '0')) {
+            String left = value.substring(0, dotIdx);
+            String right = value.substring(dotIdx + 1);
+            if (NumberUtils.isDigits(left) && NumberUtils.isDigits(right)) {
+                int result = Integer.parseInt(left) * 100 + Integer.parseInt(right);
+                if (result <= Short.MAX_VALUE)
+                    return (short)result;
+            }
+        }
+
+        int code = _POVERTY_OVERFLOW.encode(value);
+        if (code > _MAX_OVERFLOW_CODE)
+            throw new IllegalStateException("Too many distinct ACS poverty values that can't be stored as percentages");
+        return (short)(_BLANK_POVERTY - code);
     }
 }
@@ -31,6 +31,8 @@ public class LymphoidNeoplasmRecodeAlgorithm2021 extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_SEER_LYMPH_NEO_RECODE_2021));
 
         _unknownValues.put(FIELD_SEER_LYMPH_NEO_RECODE_2021, Collections.singletonList(LymphoidNeoplasmRecodeUtils.UNKNOWN));
+
+        _dataLoaders.put("lymphoma/lymphoma-2021revision.bin", LymphoidNeoplasmRecodeUtils::getTable);
     }
 
     @Override
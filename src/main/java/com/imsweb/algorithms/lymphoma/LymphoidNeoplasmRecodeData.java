@@ -10,6 +10,8 @@ import java.util.Objects;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+
 public class LymphoidNeoplasmRecodeData {
 
     private final List<Object> _siteInclusions;
@@ -50,6 +52,16 @@ public class LymphoidNeoplasmRecodeData {
         return _recode;
     }
 
+    /**
+     * Returns the rule corresponding to this row, for the values using the standard format (C and 3 digits for the site, 4 digits for the histology).
+     */
+    IcdO3Rule<String> toRule() {
+        IcdO3Rule<String> rule = new IcdO3Rule<>(_recode);
+        rule.setSiteInclusions(IcdO3Rule.toCodeRanges(_siteInclusions, "C", 3));
+        rule.setHistologyInclusions(IcdO3Rule.toCodeRanges(_histologyInclusions, "", 4));
+        return rule;
+    }
+
     private List<Object> parseValue(String value, boolean isSite) {
         List<Object> result = new ArrayList<>();
         for (String val : StringUtils.split(value, ',')) {
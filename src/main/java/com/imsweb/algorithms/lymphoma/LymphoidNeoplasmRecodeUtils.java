@@ -3,12 +3,17 @@
  */
 package com.imsweb.algorithms.lymphoma;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
 import com.imsweb.algorithms.internal.Utils;
 
 public final class LymphoidNeoplasmRecodeUtils {
@@ -21,6 +26,11 @@ public final class LymphoidNeoplasmRecodeUtils {
 
     private static List<LymphoidNeoplasmRecodeData> _DATA_2021;
 
+    // compiled data, used for the values in the standard format (lazy)
+    private static volatile IcdO3RuleTable<String> _TABLE_2021;
+
+    private static final String _RULE_TABLE_FILE = "lymphoma/lymphoma-2021revision.bin";
+
     private LymphoidNeoplasmRecodeUtils() {
         // no instances of this class allowed!
     }
@@ -43,6 +53,14 @@ public final class LymphoidNeoplasmRecodeUtils {
         if (!NumberUtils.isDigits(unformattedSite))
             return UNKNOWN;
 
+        int s = IcdO3RuleTable.parseFixedCode(site, "C", 3);
+        int h = IcdO3RuleTable.parseFixedCode(histology, "", 4);
+        if (s != -1 && h != -1) {
+            String recode = getTable().lookup(s, h, -1, -1);
+            return recode == null ? UNKNOWN : recode;
+        }
+
+        // the values using other formats are compared as strings
         if (!isDataInitialized())
             initializeData();
 
@@ -58,13 +76,52 @@ public final class LymphoidNeoplasmRecodeUtils {
         return _DATA_2021 != null;
     }
 
-    private static synchronized void initializeData() {
+    static synchronized void initializeData() {
         if (_DATA_2021 != null)
             return;
 
         _DATA_2021 = readData("lymphoma-2021revision.csv");
     }
 
+    static IcdO3RuleTable<String> getTable() {
+        IcdO3RuleTable<String> table = _TABLE_2021;
+        if (table == null)
+            table = loadTable();
+        return table;
+    }
+
+    /**
+     * Compiles the data into a lookup table and writes it in the provided directory; this is called at build time, the table is then read from
+     * the resources instead of the data file.
+     * @param directory the directory to write to (the table is written under its resource path)
+     */
+    public static void writeRuleTables(Path directory) throws IOException {
+        Utils.writeRuleTable(directory, _RULE_TABLE_FILE, new IcdO3RuleTable<>(createRules()), Function.identity());
+    }
+
+    // the table is read from the resources generated at build time (see writeRuleTables()), the data file is only read if it's not available
+    private static synchronized IcdO3RuleTable<String> loadTable() {
+        if (_TABLE_2021 == null) {
+            IcdO3RuleTable<String> table = Utils.readInternalRuleTable(_RULE_TABLE_FILE, Function.identity(), LymphoidNeoplasmRecodeUtils::createRules);
+            _TABLE_2021 = table != null ? table : new IcdO3RuleTable<>(createRules());
+        }
+        return _TABLE_2021;
+    }
+
+    private static List<IcdO3Rule<String>> createRules() {
+        List<IcdO3Rule<String>> rules = new ArrayList<>();
+        for (LymphoidNeoplasmRecodeData row : getData())
+            rules.add(row.toRule());
+        return rules;
+    }
+
+    static List<LymphoidNeoplasmRecodeData> getData() {
+        if (!isDataInitialized())
+            initializeData();
+
+        return _DATA_2021;
+    }
+
     @SuppressWarnings("SameParameterValue")
     private static List<LymphoidNeoplasmRecodeData> readData(String filename) {
         List<LymphoidNeoplasmRecodeData> result = new ArrayList<>();
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.AlgorithmListener;
+import com.imsweb.algorithms.AlgorithmOutput;
+
+/**
+ * Listener collecting execution statistics for each algorithm and loading statistics for each data file.
+ * <br/><br/>
+ * Usage:
+ * <pre>
+ *     AlgorithmMetrics metrics = new AlgorithmMetrics();
+ *     Algorithms.setListener(metrics);
+ *     metrics.registerMBeans(); // optional
+ *     ...
+ *     metrics.getAlgorithmStats().values().forEach(stats -> System.out.println(stats.getAlgorithmId() + ": " + stats.getAverageTimeNanos()));
+ * </pre>
+ * The MBeans are registered under the "com.imsweb.algorithms" domain, with one MBean per algorithm (type=Algorithm) and one per data file (type=DataLoad).
+ */
+public class AlgorithmMetrics implements AlgorithmListener {
+
+    public static final String JMX_DOMAIN = "com.imsweb.algorithms";
+
+    // the statistics, keyed by algorithm ID and by data name
+    private final Map<String, AlgorithmStats> _algorithmStats = new ConcurrentHashMap<>();
+    private final Map<String, DataLoadStats> _dataLoadStats = new ConcurrentHashMap<>();
+
+    // the MBean server the statistics are registered with, null if they are not exposed through JMX
+    private volatile MBeanServer _mbeanServer;
+
+    @Override
+    public void algorithmExecuted(Algorithm algorithm, List<AlgorithmInput> inputs, List<AlgorithmOutput> outputs, long durationNanos) {
+        AlgorithmStats stats = _algorithmStats.get(algorithm.getId());
+        if (stats == null)
+            stats = _algorithmStats.computeIfAbsent(algorithm.getId(), id -> register(new AlgorithmStats(algorithm)));
+        stats.record(inputs, outputs, durationNanos);
+    }
+
+    @Override
+    public void dataLoaded(String name, long durationNanos, long numBytes) {
+        _dataLoadStats.computeIfAbsent(name, n -> register(new DataLoadStats(n))).record(durationNanos, numBytes);
+    }
+
+    /**
+     * Returns the statistics of the algorithms that were executed, keyed by algorithm ID.
+     */
+    public Map<String, AlgorithmStats> getAlgorithmStats() {
+        return new TreeMap<>(_algorithmStats);
+    }
+
+    /**
+     * Returns the statistics of the requested algorithm, null if it was never executed.
+     */
+    public AlgorithmStats getAlgorithmStats(String algorithmId) {
+        return _algorithmStats.get(algorithmId);
+    }
+
+    /**
+     * Returns the statistics of the data that was loaded, keyed by data name.
+     */
+    public Map<String, DataLoadStats> getDataLoadStats() {
+        return new TreeMap<>(_dataLoadStats);
+    }
+
+    /**
+     * Removes all the statistics (and their MBeans, if they were registered).
+     */
+    public synchronized void reset() {
+        MBeanServer server = _mbeanServer;
+        if (server != null)
+            unregisterMBeans();
+        _algorithmStats.clear();
+        _dataLoadStats.clear();
+        if (server != null)
+            registerMBeans(server);
+    }
+
+    /**
+     * Exposes the statistics as MBeans using the platform MBean server; statistics created later are registered as well.
+     */
+    public void registerMBeans() {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Exposes the statistics as MBeans using the provided MBean server; statistics created later are registered as well.
+     */
+    public synchronized void registerMBeans(MBeanServer server) {
+        if (server == null)
+            throw new IllegalArgumentException("MBean server is required");
+        if (_mbeanServer != null)
+            throw new IllegalStateException("MBeans are already registered");
+        _mbeanServer = server;
+        _algorithmStats.values().forEach(this::register);
+        _dataLoadStats.values().forEach(this::register);
+    }
+
+    /**
+     * Removes the MBeans of the statistics; does nothing if they were not registered.
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = _mbeanServer;
+        if (server == null)
+            return;
+        _mbeanServer = null;
+
+        List<ObjectName> names = new ArrayList<>();
+        _algorithmStats.values().forEach(stats -> names.add(getObjectName(stats)));
+        _dataLoadStats.values().forEach(stats -> names.add(getObjectName(stats)));
+        try {
+            for (ObjectName name : names)
+                if (server.isRegistered(name))
+                    server.unregisterMBean(name);
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister MBeans", e);
+        }
+    }
+
+    private <T> T register(T stats) {
+        MBeanServer server = _mbeanServer;
+        if (server != null) {
+            try {
+                ObjectName name = getObjectName(stats);
+                if (!server.isRegistered(name))
+                    server.registerMBean(stats, name);
+            }
+            catch (JMException e) {
+                throw new IllegalStateException("Unable to register MBean", e);
+            }
+        }
+        return stats;
+    }
+
+    private static ObjectName getObjectName(Object stats) {
+        try {
+            if (stats instanceof AlgorithmStats)
+                return new ObjectName(JMX_DOMAIN + ":type=Algorithm,name=" + ObjectName.quote(((AlgorithmStats)stats).getAlgorithmId()));
+            return new ObjectName(JMX_DOMAIN + ":type=DataLoad,name=" + ObjectName.quote(((DataLoadStats)stats).getName()));
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Unable to create MBean name", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmField;
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.AlgorithmOutput;
+import com.imsweb.algorithms.internal.Utils;
+
+/**
+ * Execution statistics of an algorithm.
+ * <br/><br/>
+ * The latency histogram uses power-of-two buckets: bucket N counts the patients that took between 2^N and 2^(N+1) nanoseconds. When several
+ * patients are executed at once (batch), each of them is counted with the average duration of the batch.
+ */
+public final class AlgorithmStats implements AlgorithmStatsMXBean {
+
+    private static final int _NUM_BUCKETS = 64;
+
+    private final String _algorithmId;
+
+    private final LongAdder _numCalls = new LongAdder();
+
+    private final LongAdder _numPatients = new LongAdder();
+
+    private final LongAdder _numTumors = new LongAdder();
+
+    private final LongAdder _totalTimeNanos = new LongAdder();
+
+    private final AtomicLongArray _latencyHistogram = new AtomicLongArray(_NUM_BUCKETS);
+
+    // the unknown values of the patient and tumor output fields, and how many times each field was assigned one of them
+    private final Map<String, Set<String>> _patientUnknownValues = new HashMap<>();
+    private final Map<String, Set<String>> _tumorUnknownValues = new HashMap<>();
+    private final Map<String, LongAdder> _unknownValueCounts = new ConcurrentHashMap<>();
+
+    AlgorithmStats(Algorithm algorithm) {
+        _algorithmId = algorithm.getId();
+
+        Map<String, List<String>> unknownValues = algorithm.getUnknownValues();
+        if (unknownValues != null) {
+            for (AlgorithmField field : algorithm.getOutputFields()) {
+                List<String> values = unknownValues.get(field.getId());
+                if (values == null || values.isEmpty())
+                    continue;
+                if (AlgorithmField.DATA_LEVEL_PATIENT.equals(field.getDataLevel()))
+                    _patientUnknownValues.put(field.getId(), new HashSet<>(values));
+                else
+                    _tumorUnknownValues.put(field.getId(), new HashSet<>(values));
+                _unknownValueCounts.put(field.getId(), new LongAdder());
+            }
+        }
+    }
+
+    void record(List<AlgorithmInput> inputs, List<AlgorithmOutput> outputs, long durationNanos) {
+        int numPatients = inputs.size();
+        _numCalls.increment();
+        _numPatients.add(numPatients);
+        _totalTimeNanos.add(durationNanos);
+        if (numPatients > 0)
+            _latencyHistogram.addAndGet(getBucket(durationNanos / numPatients), numPatients);
+
+        for (int i = 0; i < numPatients; i++) {
+            _numTumors.add(Utils.extractTumors(inputs.get(i)).size());
+
+            // for in-place executions, the outputs are in the inputs
+            Map<String, Object> outputPatient;
+            if (outputs == null)
+                outputPatient = inputs.get(i).getPatient();
+            else
+                outputPatient = outputs.get(i) == null ? null : outputs.get(i).getPatient();
+            if (outputPatient != null)
+                countUnknownValues(outputPatient);
+        }
+    }
+
+    private void countUnknownValues(Map<String, Object> outputPatient) {
+        for (Entry<String, Set<String>> entry : _patientUnknownValues.entrySet())
+            if (entry.getValue().contains(outputPatient.get(entry.getKey())))
+                _unknownValueCounts.get(entry.getKey()).increment();
+        if (!_tumorUnknownValues.isEmpty())
+            for (Map<String, Object> outputTumor : Utils.extractTumors(outputPatient))
+                for (Entry<String, Set<String>> entry : _tumorUnknownValues.entrySet())
+                    if (entry.getValue().contains(outputTumor.get(entry.getKey())))
+                        _unknownValueCounts.get(entry.getKey()).increment();
+    }
+
+    private static int getBucket(long durationNanos) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, durationNanos));
+    }
+
+    @Override
+    public String getAlgorithmId() {
+        return _algorithmId;
+    }
+
+    /**
+     * Returns the number of executions (a batch counts as a single execution).
+     */
+    @Override
+    public long getNumCalls() {
+        return _numCalls.sum();
+    }
+
+    /**
+     * Returns the number of patients the algorithm was executed for.
+     */
+    @Override
+    public long getNumPatients() {
+        return _numPatients.sum();
+    }
+
+    /**
+     * Returns the number of tumors the algorithm was executed for.
+     */
+    @Override
+    public long getNumTumors() {
+        return _numTumors.sum();
+    }
+
+    /**
+     * Returns the total execution time, in nanoseconds.
+     */
+    @Override
+    public long getTotalTimeNanos() {
+        return _totalTimeNanos.sum();
+    }
+
+    /**
+     * Returns the average execution time per patient, in nanoseconds.
+     */
+    @Override
+    public long getAverageTimeNanos() {
+        long numPatients = getNumPatients();
+        return numPatients == 0 ? 0 : getTotalTimeNanos() / numPatients;
+    }
+
+    /**
+     * Returns the latency histogram (see the class documentation for the buckets); trailing empty buckets are not included.
+     */
+    @Override
+    public long[] getLatencyHistogram() {
+        int length = _NUM_BUCKETS;
+        while (length > 0 && _latencyHistogram.get(length - 1) == 0)
+            length--;
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++)
+            result[i] = _latencyHistogram.get(i);
+        return result;
+    }
+
+    /**
+     * Returns, for each output field that has unknown values (see Algorithm.getUnknownValues()), how many times it was assigned one of them.
+     */
+    @Override
+    public Map<String, Long> getUnknownValueCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        _unknownValueCounts.forEach((field, count) -> result.put(field, count.sum()));
+        return result;
+    }
+}
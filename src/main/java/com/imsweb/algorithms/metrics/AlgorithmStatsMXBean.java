@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the statistics of an algorithm (see AlgorithmStats).
+ */
+public interface AlgorithmStatsMXBean {
+
+    String getAlgorithmId();
+
+    long getNumCalls();
+
+    long getNumPatients();
+
+    long getNumTumors();
+
+    long getTotalTimeNanos();
+
+    long getAverageTimeNanos();
+
+    long[] getLatencyHistogram();
+
+    Map<String, Long> getUnknownValueCounts();
+}
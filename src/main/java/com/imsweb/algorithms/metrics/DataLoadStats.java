@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loading statistics of a data file used by the algorithms.
+ */
+public final class DataLoadStats implements DataLoadStatsMXBean {
+
+    private final String _name;
+
+    private final LongAdder _numLoads = new LongAdder();
+
+    private final LongAdder _totalTimeNanos = new LongAdder();
+
+    private final LongAdder _totalBytes = new LongAdder();
+
+    DataLoadStats(String name) {
+        _name = name;
+    }
+
+    void record(long durationNanos, long numBytes) {
+        _numLoads.increment();
+        _totalTimeNanos.add(durationNanos);
+        if (numBytes > 0)
+            _totalBytes.add(numBytes);
+    }
+
+    /**
+     * Returns the name of the data (usually the resource path).
+     */
+    @Override
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * Returns how many times the data was loaded (some data can be evicted and reloaded).
+     */
+    @Override
+    public long getNumLoads() {
+        return _numLoads.sum();
+    }
+
+    /**
+     * Returns the total loading time, in nanoseconds.
+     */
+    @Override
+    public long getTotalTimeNanos() {
+        return _totalTimeNanos.sum();
+    }
+
+    /**
+     * Returns the total number of bytes read (memory-mapped data is not counted).
+     */
+    @Override
+    public long getTotalBytes() {
+        return _totalBytes.sum();
+    }
+}
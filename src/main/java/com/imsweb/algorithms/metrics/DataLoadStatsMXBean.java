@@ -0,0 +1,18 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+/**
+ * JMX view of the loading statistics of a data file (see DataLoadStats).
+ */
+public interface DataLoadStatsMXBean {
+
+    String getName();
+
+    long getNumLoads();
+
+    long getTotalTimeNanos();
+
+    long getTotalBytes();
+}
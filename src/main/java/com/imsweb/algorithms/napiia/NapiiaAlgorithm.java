@@ -47,6 +47,8 @@ public class NapiiaAlgorithm extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_NAPIIA));
         _outputFields.add(Algorithms.getField(FIELD_NAPIIA_NEEDS_REVIEW));
         _outputFields.add(Algorithms.getField(FIELD_NAPIIA_REVIEW_REASON));
+
+        _dataLoaders.put("napiia/napiia-census-surnames", NapiiaUtils::initializeNameData);
     }
 
     @Override
@@ -429,6 +429,11 @@ public final class NapiiaUtils {
         }
     }
 
+    // force the initialization of the surname lookups
+    static void initializeNameData() {
+        codeName("?", _LKUP_NAPIIA_SURNAME_CENSUS_ASIAN);
+    }
+
     private static void readNameData(String file, Map<String, Short> map) {
         Utils.processInternalFileNoHeaders("napiia/" + file, line -> map.put(line.getField(0).toUpperCase(), Short.valueOf(line.getField(1))));
     }
@@ -51,6 +51,10 @@ public class NhiaAlgorithm extends AbstractAlgorithm {
         _inputFields.add(Algorithms.getField(FIELD_STATE_DX));
 
         _outputFields.add(Algorithms.getField(FIELD_NHIA));
+
+        _dataLoaders.put("nhia/nhia-low-hisp-ethn-counties.csv", NhiaUtils::getLowHispanicCountiesPerState);
+        _dataLoaders.put("nhia/nhia-heavily-hisp-names.csv", () -> NhiaUtils.isHeavilyHispanic("?"));
+        _dataLoaders.put("nhia/nhia-rarely-hisp-names.csv", () -> NhiaUtils.isRarelyHispanic("?"));
     }
 
     @Override
@@ -12,10 +12,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
-import com.imsweb.algorithms.StateCountyTractInputDto;
-import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
-import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.ALG_PERSISTENT_POVERTY;
@@ -41,34 +38,16 @@ public class PersistentPovertyAlgorithm extends AbstractAlgorithm {
         _inputFields.add(Algorithms.getField(FIELD_CENSUS_2010));
 
         _outputFields.add(Algorithms.getField(FIELD_PERSISTENT_POVERTY));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
     public AlgorithmOutput execute(AlgorithmInput input) {
         List<Map<String, Object>> outputTumors = new ArrayList<>();
         for (Map<String, Object> inputTumor : Utils.extractTumors(input)) {
-            StateCountyTractInputDto inputDto = createStateCountyTractInputDto(inputTumor);
-            
-            inputDto.applyRecodes();
-
-            String result = null;
-            if (inputDto.hasInvalidStateCountyOrCensusTract(CensusTract.CENSUS_2010))
-                result = PERSISTENT_POVERTY_UNK_A;
-            else if (inputDto.hasUnknownStateCountyOrCensusTract(CensusTract.CENSUS_2010))
-                result = PERSISTENT_POVERTY_UNK_D;
-            else if (inputDto.countyIsNotReported())
-                result = PERSISTENT_POVERTY_UNK_B;
-            else {
-                CensusData censusData = CountryData.getCensusData(inputDto, CensusTract.CENSUS_2010);
-                if (censusData != null)
-                    result = censusData.getPersistentPoverty();
-            }
-
-            if (result == null)
-                result = PERSISTENT_POVERTY_UNK_C;
-
             Map<String, Object> outputTumor = new HashMap<>();
-            outputTumor.put(FIELD_PERSISTENT_POVERTY, result);
+            outputTumor.put(FIELD_PERSISTENT_POVERTY, PersistentPovertyUtils.computePersistentPoverty(createStateCountyTractInputDto(inputTumor)));
 
             outputTumors.add(outputTumor);
         }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.persistentpoverty;
+
+import com.imsweb.algorithms.CensusDataLookup;
+import com.imsweb.algorithms.StateCountyTractInputDto;
+import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
+import com.imsweb.algorithms.internal.CensusData;
+
+import static com.imsweb.algorithms.persistentpoverty.PersistentPovertyAlgorithm.PERSISTENT_POVERTY_UNK_A;
+import static com.imsweb.algorithms.persistentpoverty.PersistentPovertyAlgorithm.PERSISTENT_POVERTY_UNK_B;
+import static com.imsweb.algorithms.persistentpoverty.PersistentPovertyAlgorithm.PERSISTENT_POVERTY_UNK_C;
+import static com.imsweb.algorithms.persistentpoverty.PersistentPovertyAlgorithm.PERSISTENT_POVERTY_UNK_D;
+
+public final class PersistentPovertyUtils {
+
+    private PersistentPovertyUtils() {
+        // no instances of this class allowed!
+    }
+
+    /**
+     * Computes the persistent poverty value for the provided input DTO
+     * <br/><br/>
+     * The provided input dto has the following parameters used in the calculation:
+     * <ul>
+     * <li>addressAtDxState (#80)</li>
+     * <li>countyAtDxAnalysis (#89)</li>
+     * <li>censusTract2010 (#135)</li>
+     * </ul>
+     * <br/><br/>
+     * The returned value will have the following values :
+     * <ul>
+     * <li>0 = Not persistent poverty</li>
+     * <li>1 = Persistent poverty</li>
+     * <li>A = State, county, or tract are invalid</li>
+     * <li>B = State and tract are valid, but county was not reported</li>
+     * <li>C = State + county + tract combination was not found</li>
+     * <li>D = State, county, or tract are blank or unknown</li>
+     * </ul>
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @return the computed persistent poverty value, never null
+     */
+    public static String computePersistentPoverty(StateCountyTractInputDto input) {
+        return computePersistentPoverty(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computePersistentPoverty(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed persistent poverty value, never null
+     */
+    public static String computePersistentPoverty(StateCountyTractInputDto input, CensusDataLookup lookup) {
+        input.applyRecodes();
+
+        String result = null;
+        if (input.hasInvalidStateCountyOrCensusTract(CensusTract.CENSUS_2010))
+            result = PERSISTENT_POVERTY_UNK_A;
+        else if (input.hasUnknownStateCountyOrCensusTract(CensusTract.CENSUS_2010))
+            result = PERSISTENT_POVERTY_UNK_D;
+        else if (input.countyIsNotReported())
+            result = PERSISTENT_POVERTY_UNK_B;
+        else {
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2010);
+            if (censusData != null)
+                result = censusData.getPersistentPoverty();
+        }
+
+        if (result == null)
+            result = PERSISTENT_POVERTY_UNK_C;
+
+        return result;
+    }
+}
@@ -12,6 +12,7 @@ import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
 import com.imsweb.algorithms.StateCountyInputDto;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS;
@@ -33,6 +34,8 @@ public class PrcdaAlgorithm extends AbstractAlgorithm {
 
         _unknownValues.put(FIELD_IHS_PRCDA, Collections.singletonList(PRCDA_UNKNOWN));
         _unknownValues.put(FIELD_IHS_PRCDA_2017, Collections.singletonList(PRCDA_UNKNOWN));
+
+        addCountryDataLoader(DatasetKind.PRCDA);
     }
 
     @Override
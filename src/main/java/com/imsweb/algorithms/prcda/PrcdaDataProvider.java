@@ -73,7 +73,10 @@ public class PrcdaDataProvider {
             return countyData.getPrcda();
     }
 
-    private Map<String, Map<String, CountyData>> loadPrcdaData() {
+    /**
+     * Loads the PRCDA data (states mapped to counties mapped to county data); the result is meant to be registered in CountryData.
+     */
+    public static Map<String, Map<String, CountyData>> loadPrcdaData() {
         Map<String, Map<String, CountyData>> result = new HashMap<>();
 
         Utils.processInternalFile("prcda/prcda.csv", line -> {
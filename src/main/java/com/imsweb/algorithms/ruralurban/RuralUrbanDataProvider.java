@@ -8,6 +8,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.internal.CensusData;
 import com.imsweb.algorithms.internal.CountryData;
 import com.imsweb.algorithms.internal.CountyData;
@@ -34,20 +35,14 @@ import static com.imsweb.algorithms.ruralurban.RuralUrbanUtils.URBAN_RURAL_INDIC
 public class RuralUrbanDataProvider {
 
     public String getUrbanRuralIndicatorCode(String tractCategory, String state, String county, String censusTract) {
+        return getUrbanRuralIndicatorCode(tractCategory, state, county, censusTract, CensusDataLookup.DIRECT);
+    }
+
+    public String getUrbanRuralIndicatorCode(String tractCategory, String state, String county, String censusTract, CensusDataLookup lookup) {
         if (tractCategory == null || state == null || county == null || censusTract == null)
             return URBAN_RURAL_INDICATOR_CODE_UNKNOWN;
 
-        // 2010 comes from the SEER tract data, 2000 comes from specific files...
-        if (!CountryData.getInstance().isTractDataInitialized(state))
-            CountryData.getInstance().initializeTractData(state);
-
-        StateData stateData = CountryData.getInstance().getTractData(state);
-        if (stateData == null)
-            return URBAN_RURAL_INDICATOR_CODE_UNKNOWN;
-        CountyData countyData = stateData.getCountyData(county);
-        if (countyData == null)
-            return URBAN_RURAL_INDICATOR_CODE_UNKNOWN;
-        CensusData censusData = countyData.getCensusData(censusTract);
+        CensusData censusData = lookup.getCensusData(state, county, censusTract);
         if (censusData == null)
             return URBAN_RURAL_INDICATOR_CODE_UNKNOWN;
 
@@ -70,20 +65,14 @@ public class RuralUrbanDataProvider {
     }
 
     public String getRuralUrbanCommutingArea(String tractCategory, String state, String county, String censusTract) {
+        return getRuralUrbanCommutingArea(tractCategory, state, county, censusTract, CensusDataLookup.DIRECT);
+    }
+
+    public String getRuralUrbanCommutingArea(String tractCategory, String state, String county, String censusTract, CensusDataLookup lookup) {
         if (tractCategory == null || state == null || county == null || censusTract == null)
             return RURAL_URBAN_COMMUTING_AREA_UNKNOWN;
 
-        // 2010 comes from the SEER tract data, 2000 comes from specific files...
-        if (!CountryData.getInstance().isTractDataInitialized(state))
-            CountryData.getInstance().initializeTractData(state);
-
-        StateData stateData = CountryData.getInstance().getTractData(state);
-        if (stateData == null)
-            return RURAL_URBAN_COMMUTING_AREA_UNKNOWN;
-        CountyData countyData = stateData.getCountyData(county);
-        if (countyData == null)
-            return RURAL_URBAN_COMMUTING_AREA_UNKNOWN;
-        CensusData censusData = countyData.getCensusData(censusTract);
+        CensusData censusData = lookup.getCensusData(state, county, censusTract);
         if (censusData == null)
             return RURAL_URBAN_COMMUTING_AREA_UNKNOWN;
 
@@ -137,7 +126,10 @@ public class RuralUrbanDataProvider {
         return result == null ? RURAL_URBAN_CONTINUUM_UNKNOWN : result;
     }
 
-    private Map<String, Map<String, CountyData>> loadRuralUrbanContinuumData() {
+    /**
+     * Loads the Rural Urban Continuum data (states mapped to counties mapped to county data); the result is meant to be registered in CountryData.
+     */
+    public static Map<String, Map<String, CountyData>> loadRuralUrbanContinuumData() {
         Map<String, Map<String, CountyData>> result = new HashMap<>();
 
         // load 1993 data
@@ -3,6 +3,7 @@
  */
 package com.imsweb.algorithms.ruralurban;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 
@@ -76,6 +77,17 @@ public final class RuralUrbanUtils {
      * @return the computed rural urban census value
      */
     public static RuralUrbanOutputDto computeUrbanRuralIndicatorCode(StateCountyTractInputDto input) {
+        return computeUrbanRuralIndicatorCode(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeUrbanRuralIndicatorCode(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed values
+     */
+    public static RuralUrbanOutputDto computeUrbanRuralIndicatorCode(StateCountyTractInputDto input, CensusDataLookup lookup) {
         RuralUrbanOutputDto result = new RuralUrbanOutputDto();
 
         input.applyRecodes();
@@ -88,7 +100,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setUrbanRuralIndicatorCode2000("B");
         else
-            result.setUrbanRuralIndicatorCode2000(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2000, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2000()));
+            result.setUrbanRuralIndicatorCode2000(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2000, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2000(), lookup));
 
         if (result.getUrbanRuralIndicatorCode2000() == null)
             result.setUrbanRuralIndicatorCode2000(URBAN_RURAL_INDICATOR_CODE_UNKNOWN);
@@ -101,7 +113,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setUrbanRuralIndicatorCode2010("B");
         else
-            result.setUrbanRuralIndicatorCode2010(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2010, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2010()));
+            result.setUrbanRuralIndicatorCode2010(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2010, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2010(), lookup));
 
         if (result.getUrbanRuralIndicatorCode2010() == null)
             result.setUrbanRuralIndicatorCode2010(URBAN_RURAL_INDICATOR_CODE_UNKNOWN);
@@ -114,7 +126,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setUrbanRuralIndicatorCode2020("B");
         else
-            result.setUrbanRuralIndicatorCode2020(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2020, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2020()));
+            result.setUrbanRuralIndicatorCode2020(_PROVIDER.getUrbanRuralIndicatorCode(TRACT_CATEGORY_2020, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2020(), lookup));
 
         if (result.getUrbanRuralIndicatorCode2020() == null)
             result.setUrbanRuralIndicatorCode2020(URBAN_RURAL_INDICATOR_CODE_UNKNOWN);
@@ -151,6 +163,17 @@ public final class RuralUrbanUtils {
      * @return the computed rural urban commuting area value
      */
     public static RuralUrbanOutputDto computeRuralUrbanCommutingArea(StateCountyTractInputDto input) {
+        return computeRuralUrbanCommutingArea(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeRuralUrbanCommutingArea(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed values
+     */
+    public static RuralUrbanOutputDto computeRuralUrbanCommutingArea(StateCountyTractInputDto input, CensusDataLookup lookup) {
         RuralUrbanOutputDto result = new RuralUrbanOutputDto();
 
         input.applyRecodes();
@@ -163,7 +186,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setRuralUrbanCommutingArea2000("B");
         else
-            result.setRuralUrbanCommutingArea2000(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2000, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2000()));
+            result.setRuralUrbanCommutingArea2000(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2000, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2000(), lookup));
 
         if (result.getRuralUrbanCommutingArea2000() == null)
             result.setRuralUrbanCommutingArea2000(RURAL_URBAN_COMMUTING_AREA_UNKNOWN);
@@ -176,7 +199,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setRuralUrbanCommutingArea2010("B");
         else
-            result.setRuralUrbanCommutingArea2010(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2010, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2010()));
+            result.setRuralUrbanCommutingArea2010(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2010, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2010(), lookup));
 
         if (result.getRuralUrbanCommutingArea2010() == null)
             result.setRuralUrbanCommutingArea2010(RURAL_URBAN_COMMUTING_AREA_UNKNOWN);
@@ -189,7 +212,7 @@ public final class RuralUrbanUtils {
         else if (input.countyIsNotReported())
             result.setRuralUrbanCommutingArea2020("B");
         else
-            result.setRuralUrbanCommutingArea2020(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2020, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2020()));
+            result.setRuralUrbanCommutingArea2020(_PROVIDER.getRuralUrbanCommutingArea(TRACT_CATEGORY_2020, input.getAddressAtDxState(), input.getCountyAtDxAnalysis(), input.getCensusTract2020(), lookup));
 
         if (result.getRuralUrbanCommutingArea2020() == null)
             result.setRuralUrbanCommutingArea2020(RURAL_URBAN_COMMUTING_AREA_UNKNOWN);
@@ -1,9 +1,8 @@
 package com.imsweb.algorithms.seersiterecode;
 
-import java.util.List;
 import java.util.Objects;
 
-import org.apache.commons.lang3.Range;
+import com.imsweb.algorithms.internal.IntRangeSet;
 
 /**
  * Internal site group DTO used to calculate the recode, this class should not be used outside of SEER*Utils...
@@ -17,15 +16,15 @@ public class SeerExecutableSiteGroupDto {
 
     private String _name;
 
-    private List<Object> _siteInclusions;
+    private IntRangeSet _siteInclusions;
 
-    private List<Object> _siteExclusions;
+    private IntRangeSet _siteExclusions;
 
-    private List<Object> _histologyInclusions;
+    private IntRangeSet _histologyInclusions;
 
-    private List<Object> _histologyExclusions;
+    private IntRangeSet _histologyExclusions;
 
-    private List<Object> _behaviorInclusions;
+    private IntRangeSet _behaviorInclusions;
 
     private Integer _minDxYear;
 
@@ -41,22 +40,34 @@ public class SeerExecutableSiteGroupDto {
         return _name;
     }
 
-    public List<Object> getSiteInclusions() {
+    public IntRangeSet getSiteInclusions() {
         return _siteInclusions;
     }
 
-    public List<Object> getSiteExclusions() {
+    public IntRangeSet getSiteExclusions() {
         return _siteExclusions;
     }
 
-    public List<Object> getHistologyInclusions() {
+    public IntRangeSet getHistologyInclusions() {
         return _histologyInclusions;
     }
 
-    public List<Object> getHistologyExclusions() {
+    public IntRangeSet getHistologyExclusions() {
         return _histologyExclusions;
     }
 
+    public IntRangeSet getBehaviorInclusions() {
+        return _behaviorInclusions;
+    }
+
+    public Integer getMinDxYear() {
+        return _minDxYear;
+    }
+
+    public Integer getMaxDxYear() {
+        return _maxDxYear;
+    }
+
     public String getRecode() {
         return _recode;
     }
@@ -65,23 +76,23 @@ public class SeerExecutableSiteGroupDto {
         _id = id;
     }
 
-    public void setSiteInclusions(List<Object> siteInclusions) {
+    public void setSiteInclusions(IntRangeSet siteInclusions) {
         _siteInclusions = siteInclusions;
     }
 
-    public void setSiteExclusions(List<Object> siteExclusions) {
+    public void setSiteExclusions(IntRangeSet siteExclusions) {
         _siteExclusions = siteExclusions;
     }
 
-    public void setHistologyInclusions(List<Object> histologyInclusions) {
+    public void setHistologyInclusions(IntRangeSet histologyInclusions) {
         _histologyInclusions = histologyInclusions;
     }
 
-    public void setHistologyExclusions(List<Object> histologyExclusions) {
+    public void setHistologyExclusions(IntRangeSet histologyExclusions) {
         _histologyExclusions = histologyExclusions;
     }
 
-    public void setBehaviorInclusions(List<Object> behaviorInclusions) {
+    public void setBehaviorInclusions(IntRangeSet behaviorInclusions) {
         _behaviorInclusions = behaviorInclusions;
     }
 
@@ -117,57 +128,39 @@ public class SeerExecutableSiteGroupDto {
     }
 
     public boolean matches(Integer site, Integer histology, Integer behavior, Integer dxYear) {
-        boolean siteOk;
-        boolean histOk = false;
-        boolean behOk = false;
-        boolean dxYearOk = false;
+        return matchesSite(site) && matchesHistology(histology) && matchesBehavior(behavior) && matchesDxYear(dxYear);
+    }
 
-        // check site
+    public boolean matchesSite(Integer site) {
         if (_siteInclusions != null)
-            siteOk = isContained(_siteInclusions, site);
-        else if (_siteExclusions != null)
-            siteOk = !isContained(_siteExclusions, site);
-        else
-            siteOk = true;
-
-        // check histology if needed
-        if (siteOk) {
-            if (_histologyInclusions != null)
-                histOk = isContained(_histologyInclusions, histology);
-            else if (_histologyExclusions != null)
-                histOk = !isContained(_histologyExclusions, histology);
-            else
-                histOk = true;
-        }
-
-        // check behavior if needed
-        if (siteOk && histOk) {
-            if (_behaviorInclusions != null)
-                behOk = isContained(_behaviorInclusions, behavior);
-            else
-                behOk = true;
-        }
-
-        // check min/max years if needed
-        if (siteOk && histOk && behOk) {
-            if (_minDxYear != null)
-                dxYearOk = dxYear != null && dxYear.compareTo(_minDxYear) >= 0;
-            else if (_maxDxYear != null)
-                dxYearOk = dxYear != null && dxYear.compareTo(_maxDxYear) <= 0;
-            else
-                dxYearOk = true;
-        }
-
-        return siteOk && histOk && behOk && dxYearOk;
-    }
-
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private boolean isContained(List<Object> list, Integer value) {
-        if (list == null)
-            return false;
-        for (Object obj : list)
-            if ((obj instanceof Range && ((Range)obj).contains(value)) || (obj.equals(value)))
-                return true;
-        return false;
+            return isContained(_siteInclusions, site);
+        if (_siteExclusions != null)
+            return !isContained(_siteExclusions, site);
+        return true;
+    }
+
+    public boolean matchesHistology(Integer histology) {
+        if (_histologyInclusions != null)
+            return isContained(_histologyInclusions, histology);
+        if (_histologyExclusions != null)
+            return !isContained(_histologyExclusions, histology);
+        return true;
+    }
+
+    public boolean matchesBehavior(Integer behavior) {
+        return _behaviorInclusions == null || isContained(_behaviorInclusions, behavior);
+    }
+
+    // only one of the min/max years is checked, the min year takes precedence
+    public boolean matchesDxYear(Integer dxYear) {
+        if (_minDxYear != null)
+            return dxYear != null && dxYear.compareTo(_minDxYear) >= 0;
+        if (_maxDxYear != null)
+            return dxYear != null && dxYear.compareTo(_maxDxYear) <= 0;
+        return true;
+    }
+
+    private static boolean isContained(IntRangeSet set, Integer value) {
+        return value != null && set.contains(value);
     }
 }
@@ -40,6 +40,9 @@ public class SeerSiteRecode2023Algorithm extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_SEER_SITE_RECODE_2023_EXPANDED));
 
         _unknownValues.put(FIELD_SEER_SITE_RECODE, Collections.singletonList(SeerSiteRecodeUtils.UNKNOWN_RECODE_2023));
+
+        _dataLoaders.put("seersiterecode/site-recode-data-2023.bin", () -> SeerSiteRecodeUtils.getTable(SeerSiteRecodeUtils.VERSION_2023));
+        _dataLoaders.put("seersiterecode/site-recode-data-2023-expanded.bin", () -> SeerSiteRecodeUtils.getTable(SeerSiteRecodeUtils.VERSION_2023_EXPANDED));
     }
 
     @Override
@@ -13,6 +13,9 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.FieldSchema;
+import com.imsweb.algorithms.PatientRecord;
+import com.imsweb.algorithms.TumorRecord;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_HIST_O3;
@@ -33,6 +36,8 @@ public class SeerSiteRecodeAlgorithm extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_SEER_SITE_RECODE));
 
         _unknownValues.put(FIELD_SEER_SITE_RECODE, Collections.singletonList(SeerSiteRecodeUtils.UNKNOWN_RECODE_2008));
+
+        _dataLoaders.put("seersiterecode/site-recode-data-2008.bin", () -> SeerSiteRecodeUtils.getTable(SeerSiteRecodeUtils.VERSION_2008));
     }
 
     @Override
@@ -49,4 +54,29 @@ public class SeerSiteRecodeAlgorithm extends AbstractAlgorithm {
 
         return AlgorithmOutput.of(outputPatient);
     }
+
+    @Override
+    public void executeInPlace(AlgorithmInput input) {
+        for (Map<String, Object> tumor : Utils.extractTumors(input)) {
+            String site = (String)tumor.get(FIELD_PRIMARY_SITE);
+            String hist = (String)tumor.get(FIELD_HIST_O3);
+            tumor.put(FIELD_SEER_SITE_RECODE, SeerSiteRecodeUtils.calculateSiteRecode(getVersion(), site, hist));
+        }
+    }
+
+    @Override
+    public void execute(PatientRecord input, Map<String, Object> parameters, PatientRecord output) {
+        FieldSchema schema = input.getSchema();
+        int siteSlot = schema.getSlot(FIELD_PRIMARY_SITE);
+        int histSlot = schema.getSlot(FIELD_HIST_O3);
+        int recodeSlot = schema.getSlot(FIELD_SEER_SITE_RECODE);
+
+        output.ensureTumors(input.getNumTumors());
+        for (int i = 0; i < input.getNumTumors(); i++) {
+            TumorRecord inputTumor = input.getTumor(i);
+            String site = (String)inputTumor.get(siteSlot);
+            String hist = (String)inputTumor.get(histSlot);
+            output.getTumor(i).set(recodeSlot, SeerSiteRecodeUtils.calculateSiteRecode(getVersion(), site, hist));
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.imsweb.algorithms.seersiterecode;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -8,11 +10,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import com.imsweb.algorithms.internal.IcdO3Rule;
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
 import com.imsweb.algorithms.internal.Utils;
 
 /**
@@ -64,9 +70,12 @@ public final class SeerSiteRecodeUtils {
     // nice data for the different versions, this is what is exposed to the outside world (lazy)
     private static final Map<String, List<SeerSiteGroupDto>> _DATA = new HashMap<>();
 
-    // optimized data for the different versions, this is what is used for the calculation (lazy)
+    // optimized data for the different versions (lazy)
     private static final Map<String, List<SeerExecutableSiteGroupDto>> _INTERNAL_DATA = new HashMap<>();
 
+    // compiled data for the different versions, this is what is used for the calculation (lazy)
+    private static final Map<String, IcdO3RuleTable<String>> _TABLES = new ConcurrentHashMap<>();
+
     // cached site regex
     private static final Pattern _SITE_PATTERN = Pattern.compile("C\\d+");
 
@@ -120,21 +129,12 @@ public final class SeerSiteRecodeUtils {
         if ((VERSION_2023.equals(version) || VERSION_2023_EXPANDED.equals(version)) && (!NumberUtils.isDigits(behavior) || !NumberUtils.isDigits(dxYear)))
             return result;
 
-        loadDataIfNeeded(version);
+        int b = NumberUtils.isDigits(behavior) ? Integer.parseInt(behavior) : -1;
+        int y = NumberUtils.isDigits(dxYear) ? Integer.parseInt(dxYear) : -1;
 
-        Integer s = Integer.valueOf(site.substring(1));
-        Integer h = Integer.valueOf(histology);
-        Integer b = NumberUtils.isDigits(behavior) ? Integer.valueOf(behavior) : null;
-        Integer y = NumberUtils.isDigits(dxYear) ? Integer.valueOf(dxYear) : null;
+        String recode = getTable(version).lookup(Integer.parseInt(site, 1, site.length(), 10), Integer.parseInt(histology), b, y);
 
-        for (SeerExecutableSiteGroupDto dto : _INTERNAL_DATA.get(version)) {
-            if (dto.matches(s, h, b, y)) {
-                result = dto.getRecode();
-                break;
-            }
-        }
-
-        return result;
+        return recode == null ? result : recode;
     }
 
     /**
@@ -176,23 +176,46 @@ public final class SeerSiteRecodeUtils {
         return _DATA.get(version);
     }
 
-    private static synchronized void loadDataIfNeeded(String version) {
-        if (_DATA.containsKey(version))
-            return;
+    static List<SeerExecutableSiteGroupDto> getInternalData(String version) {
+        loadDataIfNeeded(version);
+
+        return _INTERNAL_DATA.get(version);
+    }
+
+    static IcdO3RuleTable<String> getTable(String version) {
+        return _TABLES.computeIfAbsent(version, SeerSiteRecodeUtils::loadTable);
+    }
+
+    /**
+     * Compiles the data of every version into lookup tables and writes them in the provided directory; this is called at build time, the tables
+     * are then read from the resources instead of the data files.
+     * @param directory the directory to write to (the tables are written under their resource path)
+     */
+    public static void writeRuleTables(Path directory) throws IOException {
+        for (String version : _VERSIONS)
+            Utils.writeRuleTable(directory, getRuleTableFile(version), new IcdO3RuleTable<>(createRules(version)), Function.identity());
+    }
 
-        String file;
+    private static String getDataFile(String version) {
         if (VERSION_2023.equals(version))
-            file = "seersiterecode/site-recode-data-2023.csv";
+            return "seersiterecode/site-recode-data-2023.csv";
         else if (VERSION_2023_EXPANDED.equals(version))
-            file = "seersiterecode/site-recode-data-2023-expanded.csv";
+            return "seersiterecode/site-recode-data-2023-expanded.csv";
         else if (VERSION_2008.equals(version))
-            file = "seersiterecode/site-recode-data-2008.csv";
+            return "seersiterecode/site-recode-data-2008.csv";
         else if (VERSION_2003.equals(version))
-            file = "seersiterecode/site-recode-data-2003.csv";
+            return "seersiterecode/site-recode-data-2003.csv";
         else if (VERSION_2003_WITHOUT_KSM.equals(version))
-            file = "seersiterecode/site-recode-data-2003-without-kms.csv";
+            return "seersiterecode/site-recode-data-2003-without-kms.csv";
         else
             throw new IllegalStateException("Unsupported version: " + version);
+    }
+
+    private static synchronized void loadDataIfNeeded(String version) {
+        if (_DATA.containsKey(version))
+            return;
+
+        String file = getDataFile(version);
 
         List<SeerSiteGroupDto> groups = new ArrayList<>();
         _DATA.put(version, groups);
@@ -256,11 +279,11 @@ public final class SeerSiteRecodeUtils {
                 SeerExecutableSiteGroupDto executable = new SeerExecutableSiteGroupDto();
                 executable.setId(id);
                 executable.setName(name);
-                executable.setSiteInclusions(Utils.expandSitesAsIntegers(siteIn));
-                executable.setSiteExclusions(Utils.expandSitesAsIntegers(siteOut));
-                executable.setHistologyInclusions(Utils.expandHistologiesAsIntegers(histIn));
-                executable.setHistologyExclusions(Utils.expandHistologiesAsIntegers(histOut));
-                executable.setBehaviorInclusions(Utils.expandBehaviorsAsIntegers(behIn));
+                executable.setSiteInclusions(Utils.expandSitesAsRangeSet(siteIn));
+                executable.setSiteExclusions(Utils.expandSitesAsRangeSet(siteOut));
+                executable.setHistologyInclusions(Utils.expandHistologiesAsRangeSet(histIn));
+                executable.setHistologyExclusions(Utils.expandHistologiesAsRangeSet(histOut));
+                executable.setBehaviorInclusions(Utils.expandBehaviorsAsRangeSet(behIn));
                 if (NumberUtils.isDigits(yearMin))
                     executable.setMinDxYear(Integer.valueOf(yearMin));
                 if (NumberUtils.isDigits(yearMax))
@@ -270,4 +293,40 @@ public final class SeerSiteRecodeUtils {
             }
         });
     }
+
+    // the table is read from the resources generated at build time (see writeRuleTables()), the data file is only read if it's not available
+    private static IcdO3RuleTable<String> loadTable(String version) {
+        IcdO3RuleTable<String> table = Utils.readInternalRuleTable(getRuleTableFile(version), Function.identity(), () -> createRules(version));
+        return table != null ? table : new IcdO3RuleTable<>(createRules(version));
+    }
+
+    private static String getRuleTableFile(String version) {
+        return StringUtils.removeEnd(getDataFile(version), ".csv") + ".bin";
+    }
+
+    private static List<IcdO3Rule<String>> createRules(String version) {
+        loadDataIfNeeded(version);
+
+        List<IcdO3Rule<String>> rules = new ArrayList<>();
+        for (SeerExecutableSiteGroupDto executable : _INTERNAL_DATA.get(version))
+            rules.add(createRule(executable));
+        return rules;
+    }
+
+    // the inclusions of the groups take precedence over their exclusions, and only one of the min/max years is checked
+    private static IcdO3Rule<String> createRule(SeerExecutableSiteGroupDto group) {
+        IcdO3Rule<String> rule = new IcdO3Rule<>(group.getRecode());
+        rule.setSiteInclusions(group.getSiteInclusions());
+        if (group.getSiteInclusions() == null)
+            rule.setSiteExclusions(group.getSiteExclusions());
+        rule.setHistologyInclusions(group.getHistologyInclusions());
+        if (group.getHistologyInclusions() == null)
+            rule.setHistologyExclusions(group.getHistologyExclusions());
+        rule.setBehaviorInclusions(group.getBehaviorInclusions());
+        if (group.getMinDxYear() != null)
+            rule.setMinDxYear(group.getMinDxYear());
+        else if (group.getMaxDxYear() != null)
+            rule.setMaxDxYear(group.getMaxDxYear());
+        return rule;
+    }
 }
@@ -30,6 +30,7 @@ import com.thoughtworks.xstream.io.xml.XppDriver;
 import com.thoughtworks.xstream.security.NoTypePermission;
 import com.thoughtworks.xstream.security.WildcardTypePermission;
 
+import com.imsweb.algorithms.internal.Utils;
 import com.imsweb.algorithms.surgery.xml.SurgeryTablesXmlDto;
 
 /**
@@ -126,8 +127,11 @@ public final class SiteSpecificSurgeryUtils {
             _lock.readLock().unlock();
             _lock.writeLock().lock();
             try {
-                URL url = Thread.currentThread().getContextClassLoader().getResource("surgery/site-specific-surgery-tables-" + year + ".xml");
+                String resource = "surgery/site-specific-surgery-tables-" + year + ".xml";
+                long start = System.nanoTime();
+                URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
                 _data.put(year, new SurgeryTablesDto(readTables(url)));
+                Utils.notifyDataLoaded(resource, System.nanoTime() - start, -1);
                 _lock.readLock().lock();
             }
             finally {
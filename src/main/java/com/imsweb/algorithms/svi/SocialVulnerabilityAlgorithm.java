@@ -12,6 +12,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CDC_SVI_2018;
@@ -33,6 +34,8 @@ public class SocialVulnerabilityAlgorithm extends AbstractAlgorithm {
 
         _outputFields.add(Algorithms.getField(FIELD_CDC_SVI_2018));
         _outputFields.add(Algorithms.getField(FIELD_CDC_SVI_2022));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
@@ -3,10 +3,10 @@
  */
 package com.imsweb.algorithms.svi;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
 
 public final class SocialVulnerabilityIndexUtils {
 
@@ -48,6 +48,17 @@ public final class SocialVulnerabilityIndexUtils {
      * @return the computed CDC/ATSDR SVI value
      */
     public static SocialVulnerabilityIndexOutputDto computeSocialVulnerabilityIndex(StateCountyTractInputDto input) {
+        return computeSocialVulnerabilityIndex(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeSocialVulnerabilityIndex(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed output
+     */
+    public static SocialVulnerabilityIndexOutputDto computeSocialVulnerabilityIndex(StateCountyTractInputDto input, CensusDataLookup lookup) {
         SocialVulnerabilityIndexOutputDto result = new SocialVulnerabilityIndexOutputDto();
 
         input.applyRecodes();
@@ -60,7 +71,7 @@ public final class SocialVulnerabilityIndexUtils {
         else if (input.countyIsNotReported())
             result.setSviOverallStateBased2018(SVI_UNK_B);
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2010);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2010);
             if (censusData != null)
                 result.setSviOverallStateBased2018(censusData.getSviOverallStateBased2018());
             else
@@ -75,7 +86,7 @@ public final class SocialVulnerabilityIndexUtils {
         else if (input.countyIsNotReported())
             result.setSviOverallStateBased2022(SVI_UNK_B);
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2020);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2020);
             if (censusData != null)
                 result.setSviOverallStateBased2022(censusData.getSviOverallStateBased2022());
             else
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.tractattributes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.imsweb.algorithms.AbstractAlgorithm;
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmField;
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.AlgorithmOutput;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.CensusDataLookup;
+import com.imsweb.algorithms.StateCountyTractInputDto;
+import com.imsweb.algorithms.cancerreportingzone.CancerReportingZoneOutputDto;
+import com.imsweb.algorithms.cancerreportingzone.CancerReportingZoneUtils;
+import com.imsweb.algorithms.censustractpovertyindicator.CensusTractPovertyIndicatorInputDto;
+import com.imsweb.algorithms.censustractpovertyindicator.CensusTractPovertyIndicatorUtils;
+import com.imsweb.algorithms.ephtsubcounty.EphtSubCountyOutputDto;
+import com.imsweb.algorithms.ephtsubcounty.EphtSubCountyUtils;
+import com.imsweb.algorithms.internal.Utils;
+import com.imsweb.algorithms.persistentpoverty.PersistentPovertyUtils;
+import com.imsweb.algorithms.ruralurban.RuralUrbanOutputDto;
+import com.imsweb.algorithms.ruralurban.RuralUrbanUtils;
+import com.imsweb.algorithms.svi.SocialVulnerabilityIndexOutputDto;
+import com.imsweb.algorithms.svi.SocialVulnerabilityIndexUtils;
+import com.imsweb.algorithms.tractestcongressdist.TractEstCongressDistOutputDto;
+import com.imsweb.algorithms.tractestcongressdist.TractEstCongressDistUtils;
+import com.imsweb.algorithms.yostacspoverty.YostAcsPovertyInputDto;
+import com.imsweb.algorithms.yostacspoverty.YostAcsPovertyOutputDto;
+import com.imsweb.algorithms.yostacspoverty.YostAcsPovertyUtils;
+
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_AIAN;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_ALL_RACES;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_ASIAN_NHOPI;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_BLACK;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_HISP;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_WHITE;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_WHITE_NON_HISP;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_YOST_QUINTILE_STATE;
+import static com.imsweb.algorithms.Algorithms.FIELD_ACS_YOST_QUINTILE_US;
+import static com.imsweb.algorithms.Algorithms.FIELD_CANCER_REPORTING_ZONE;
+import static com.imsweb.algorithms.Algorithms.FIELD_CANCER_REPORTING_ZONE_TRACT_REQ;
+import static com.imsweb.algorithms.Algorithms.FIELD_CDC_SVI_2018;
+import static com.imsweb.algorithms.Algorithms.FIELD_CDC_SVI_2022;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2020;
+import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_POVERTY_INDICTR;
+import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS;
+import static com.imsweb.algorithms.Algorithms.FIELD_DX_DATE;
+import static com.imsweb.algorithms.Algorithms.FIELD_EPHT_2010_GEOID_20K;
+import static com.imsweb.algorithms.Algorithms.FIELD_EPHT_2010_GEOID_50K;
+import static com.imsweb.algorithms.Algorithms.FIELD_EPHT_2010_GEOID_5K;
+import static com.imsweb.algorithms.Algorithms.FIELD_PERSISTENT_POVERTY;
+import static com.imsweb.algorithms.Algorithms.FIELD_RUCA_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_RUCA_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_RUCA_2020;
+import static com.imsweb.algorithms.Algorithms.FIELD_RURAL_CONT_1993;
+import static com.imsweb.algorithms.Algorithms.FIELD_RURAL_CONT_2003;
+import static com.imsweb.algorithms.Algorithms.FIELD_RURAL_CONT_2013;
+import static com.imsweb.algorithms.Algorithms.FIELD_STATE_DX;
+import static com.imsweb.algorithms.Algorithms.FIELD_TRACT_EST_CONGRESS_DIST_118;
+import static com.imsweb.algorithms.Algorithms.FIELD_TRACT_EST_CONGRESS_DIST_119;
+import static com.imsweb.algorithms.Algorithms.FIELD_URIC_2000;
+import static com.imsweb.algorithms.Algorithms.FIELD_URIC_2010;
+import static com.imsweb.algorithms.Algorithms.FIELD_URIC_2020;
+
+/**
+ * Composite algorithm computing all the census tract based variables (rural urban, census poverty indicator, Yost/ACS poverty, EPHT sub-county,
+ * tract-estimated congressional district, cancer reporting zone, persistent poverty and SVI) in a single pass.
+ * <br/><br/>
+ * The values are the same as the ones returned by the individual algorithms, but the census data of a given tumor is resolved only once and shared
+ * by all the variables.
+ * <br/><br/>
+ * This algorithm is not registered since it would compute the same fields as the individual algorithms (which are registered); create an instance
+ * and use it in place of those algorithms (for example with AlgorithmsPlan.ofAlgorithms()).
+ */
+public class TractAttributesAlgorithm extends AbstractAlgorithm {
+
+    // the individual algorithms computed by this one
+    private static final List<String> _TRACT_ALGORITHMS = List.of(Algorithms.ALG_RURAL_URBAN, Algorithms.ALG_CENSUS_POVERTY, Algorithms.ALG_ACS_LINKAGE,
+            Algorithms.ALG_EPHT_SUBCOUNTY, Algorithms.ALG_TRACT_EST_CONGRESS_DIST, Algorithms.ALG_CANCER_REPORTING_ZONE, Algorithms.ALG_PERSISTENT_POVERTY,
+            Algorithms.ALG_SVI);
+
+    /**
+     * Constructor; the fields (and unknown values and data loaders) are the union of the ones of the registered individual algorithms, so the
+     * algorithms need to be initialized first.
+     */
+    public TractAttributesAlgorithm() {
+        super(Algorithms.ALG_TRACT_ATTRIBUTES, "Census Tract Attributes", "N/A");
+
+        for (String id : _TRACT_ALGORITHMS) {
+            Algorithm algorithm = Algorithms.getAlgorithm(id);
+            if (algorithm == null)
+                throw new IllegalStateException("Algorithm '" + id + "' is not registered");
+            for (AlgorithmField field : algorithm.getInputFields())
+                if (!_inputFields.contains(field))
+                    _inputFields.add(field);
+            for (AlgorithmField field : algorithm.getOutputFields())
+                if (!_outputFields.contains(field))
+                    _outputFields.add(field);
+            _unknownValues.putAll(algorithm.getUnknownValues());
+            _dataLoaders.putAll(algorithm.getDataLoaders());
+        }
+    }
+
+    @Override
+    public AlgorithmOutput execute(AlgorithmInput input) {
+        List<Map<String, Object>> outputTumors = new ArrayList<>();
+        for (Map<String, Object> inputTumor : Utils.extractTumors(input)) {
+            CensusDataLookup lookup = new CensusDataLookup();
+
+            // the recodes applied by the different utility methods are the same, so the same input can be used for all of them
+            StateCountyTractInputDto inputDto = createStateCountyTractInputDto(inputTumor);
+
+            Map<String, Object> outputTumor = new HashMap<>();
+
+            // rural urban
+            RuralUrbanOutputDto rucaOutputDto = RuralUrbanUtils.computeRuralUrbanCommutingArea(inputDto, lookup);
+            outputTumor.put(FIELD_RUCA_2000, rucaOutputDto.getRuralUrbanCommutingArea2000());
+            outputTumor.put(FIELD_RUCA_2010, rucaOutputDto.getRuralUrbanCommutingArea2010());
+            outputTumor.put(FIELD_RUCA_2020, rucaOutputDto.getRuralUrbanCommutingArea2020());
+            RuralUrbanOutputDto uricOutputDto = RuralUrbanUtils.computeUrbanRuralIndicatorCode(inputDto, lookup);
+            outputTumor.put(FIELD_URIC_2000, uricOutputDto.getUrbanRuralIndicatorCode2000());
+            outputTumor.put(FIELD_URIC_2010, uricOutputDto.getUrbanRuralIndicatorCode2010());
+            outputTumor.put(FIELD_URIC_2020, uricOutputDto.getUrbanRuralIndicatorCode2020());
+            RuralUrbanOutputDto continuumOutputDto = RuralUrbanUtils.computeRuralUrbanContinuum(inputDto);
+            outputTumor.put(FIELD_RURAL_CONT_1993, continuumOutputDto.getRuralUrbanContinuum1993());
+            outputTumor.put(FIELD_RURAL_CONT_2003, continuumOutputDto.getRuralUrbanContinuum2003());
+            outputTumor.put(FIELD_RURAL_CONT_2013, continuumOutputDto.getRuralUrbanContinuum2013());
+
+            // Yost/ACS poverty and census poverty indicator (those use the raw values of the input fields)
+            YostAcsPovertyInputDto yostInputDto = new YostAcsPovertyInputDto();
+            yostInputDto.setAddressAtDxState((String)inputTumor.get(FIELD_STATE_DX));
+            yostInputDto.setCountyAtDxAnalysis((String)inputTumor.get(FIELD_COUNTY_AT_DX_ANALYSIS));
+            yostInputDto.setCensusTract2010((String)inputTumor.get(FIELD_CENSUS_2010));
+            yostInputDto.setCensusTract2020((String)inputTumor.get(FIELD_CENSUS_2020));
+            yostInputDto.setDateOfDiagnosis((String)inputTumor.get(FIELD_DX_DATE));
+            YostAcsPovertyOutputDto yostOutputDto = YostAcsPovertyUtils.computeYostAcsPovertyData(yostInputDto, lookup);
+            outputTumor.put(FIELD_ACS_YOST_QUINTILE_US, yostOutputDto.getYostQuintileUS());
+            outputTumor.put(FIELD_ACS_YOST_QUINTILE_STATE, yostOutputDto.getYostQuintileState());
+            outputTumor.put(FIELD_ACS_POV_ALL_RACES, yostOutputDto.getAcsPctPovAllRaces());
+            outputTumor.put(FIELD_ACS_POV_WHITE, yostOutputDto.getAcsPctPovWhite());
+            outputTumor.put(FIELD_ACS_POV_BLACK, yostOutputDto.getAcsPctPovBlack());
+            outputTumor.put(FIELD_ACS_POV_AIAN, yostOutputDto.getAcsPctPovAIAN());
+            outputTumor.put(FIELD_ACS_POV_ASIAN_NHOPI, yostOutputDto.getAcsPctPovAsianNHOPI());
+            outputTumor.put(FIELD_ACS_POV_WHITE_NON_HISP, yostOutputDto.getAcsPctPovWhiteNonHisp());
+            outputTumor.put(FIELD_ACS_POV_HISP, yostOutputDto.getAcsPctPovHispanic());
+
+            CensusTractPovertyIndicatorInputDto povertyInputDto = new CensusTractPovertyIndicatorInputDto();
+            povertyInputDto.setAddressAtDxState((String)inputTumor.get(FIELD_STATE_DX));
+            povertyInputDto.setCountyAtDxAnalysis((String)inputTumor.get(FIELD_COUNTY_AT_DX_ANALYSIS));
+            povertyInputDto.setDateOfDiagnosisYear(Utils.extractYear((String)inputTumor.get(FIELD_DX_DATE)));
+            povertyInputDto.setCensusTract2000((String)inputTumor.get(FIELD_CENSUS_2000));
+            povertyInputDto.setCensusTract2010((String)inputTumor.get(FIELD_CENSUS_2010));
+            povertyInputDto.setCensusTract2020((String)inputTumor.get(FIELD_CENSUS_2020));
+            outputTumor.put(FIELD_CENSUS_POVERTY_INDICTR, CensusTractPovertyIndicatorUtils.computePovertyIndicator(povertyInputDto, lookup).getCensusTractPovertyIndicator());
+
+            // EPHT sub-county
+            EphtSubCountyOutputDto ephtOutputDto = EphtSubCountyUtils.computeEphtSubCounty(inputDto, lookup);
+            outputTumor.put(FIELD_EPHT_2010_GEOID_5K, ephtOutputDto.getEpht2010GeoId5k());
+            outputTumor.put(FIELD_EPHT_2010_GEOID_20K, ephtOutputDto.getEpht2010GeoId20k());
+            outputTumor.put(FIELD_EPHT_2010_GEOID_50K, ephtOutputDto.getEpht2010GeoId50k());
+
+            // tract-estimated congressional districts
+            TractEstCongressDistOutputDto congressDistOutputDto = TractEstCongressDistUtils.computeTractEstCongressDist(inputDto, lookup);
+            outputTumor.put(FIELD_TRACT_EST_CONGRESS_DIST_118, congressDistOutputDto.getTractEstCongressDist118());
+            outputTumor.put(FIELD_TRACT_EST_CONGRESS_DIST_119, congressDistOutputDto.getTractEstCongressDist119());
+
+            // cancer reporting zone
+            CancerReportingZoneOutputDto zoneOutputDto = CancerReportingZoneUtils.computeCancerReportingZone(inputDto, lookup);
+            outputTumor.put(FIELD_CANCER_REPORTING_ZONE, zoneOutputDto.getCancerReportingZone());
+            outputTumor.put(FIELD_CANCER_REPORTING_ZONE_TRACT_REQ, zoneOutputDto.getCancerReportingZoneTractReq());
+
+            // persistent poverty
+            outputTumor.put(FIELD_PERSISTENT_POVERTY, PersistentPovertyUtils.computePersistentPoverty(inputDto, lookup));
+
+            // SVI
+            SocialVulnerabilityIndexOutputDto sviOutputDto = SocialVulnerabilityIndexUtils.computeSocialVulnerabilityIndex(inputDto, lookup);
+            outputTumor.put(FIELD_CDC_SVI_2018, sviOutputDto.getSviOverallStateBased2018());
+            outputTumor.put(FIELD_CDC_SVI_2022, sviOutputDto.getSviOverallStateBased2022());
+
+            outputTumors.add(outputTumor);
+        }
+
+        return AlgorithmOutput.of(outputTumors);
+    }
+}
@@ -13,6 +13,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_CENSUS_2010;
@@ -37,6 +38,8 @@ public class TractEstCongressDistAlgorithm extends AbstractAlgorithm {
 
         _outputFields.add(Algorithms.getField(FIELD_TRACT_EST_CONGRESS_DIST_119));
         _unknownValues.put(FIELD_TRACT_EST_CONGRESS_DIST_119, Arrays.asList(TRACT_EST_CONGRESS_DIST_UNK_A, TRACT_EST_CONGRESS_DIST_UNK_D));
+
+        addCountryDataLoader(DatasetKind.TRACT);
     }
 
     @Override
@@ -3,10 +3,10 @@
  */
 package com.imsweb.algorithms.tractestcongressdist;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
 
 public final class TractEstCongressDistUtils {
 
@@ -50,6 +50,17 @@ public final class TractEstCongressDistUtils {
      * @return the computed Tract Estimated Congressional Districts value
      */
     public static TractEstCongressDistOutputDto computeTractEstCongressDist(StateCountyTractInputDto input) {
+        return computeTractEstCongressDist(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeTractEstCongressDist(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>StateCountyTractInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed output
+     */
+    public static TractEstCongressDistOutputDto computeTractEstCongressDist(StateCountyTractInputDto input, CensusDataLookup lookup) {
         TractEstCongressDistOutputDto result = new TractEstCongressDistOutputDto();
 
         input.applyRecodes();
@@ -62,7 +73,7 @@ public final class TractEstCongressDistUtils {
         else if (input.countyIsNotReported())
             result.setTractEstCongressDist118(TRACT_EST_CONGRESS_DIST_UNK_B);
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2010);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2010);
             if (censusData != null)
                 result.setTractEstCongressDist118(censusData.getCongressionalDistrict118());
             else
@@ -77,7 +88,7 @@ public final class TractEstCongressDistUtils {
         else if (input.countyIsNotReported())
             result.setTractEstCongressDist119(TRACT_EST_CONGRESS_DIST_UNK_B);
         else {
-            CensusData censusData = CountryData.getCensusData(input, CensusTract.CENSUS_2020);
+            CensusData censusData = lookup.getCensusData(input, CensusTract.CENSUS_2020);
             if (censusData != null)
                 result.setTractEstCongressDist119(censusData.getCongressionalDistrict119());
             else
@@ -35,6 +35,8 @@ public class TumorSizeOverTimeAlgorithm extends AbstractAlgorithm {
         _inputFields.add(Algorithms.getField(FIELD_TUMOR_SIZE_SUMMARY));
 
         _outputFields.add(Algorithms.getField(FIELD_TUMOR_SIZE_OVER_TIME));
+
+        _dataLoaders.put("tumorsizeovertime/edits.csv", () -> TumorSizeOverTimeUtils.isValidTumorSize("?", 0));
     }
 
     @Override
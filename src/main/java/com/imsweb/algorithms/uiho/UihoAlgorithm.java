@@ -12,6 +12,7 @@ import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
 import com.imsweb.algorithms.StateCountyInputDto;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS;
@@ -34,6 +35,8 @@ public class UihoAlgorithm extends AbstractAlgorithm {
 
         _unknownValues.put(FIELD_UIHO, Collections.singletonList(UIHO_UNKNOWN));
         _unknownValues.put(FIELD_UIHO_CITY, Collections.singletonList(UIHO_CITY_UNKNOWN));
+
+        addCountryDataLoader(DatasetKind.UIHO);
     }
 
     @Override
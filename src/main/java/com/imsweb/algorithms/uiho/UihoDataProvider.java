@@ -67,7 +67,10 @@ public class UihoDataProvider {
         return countyData.getUihoCity();
     }
 
-    private Map<String, Map<String, CountyData>> loadUihoData() {
+    /**
+     * Loads the UIHO data (states mapped to counties mapped to county data); the result is meant to be registered in CountryData.
+     */
+    public static Map<String, Map<String, CountyData>> loadUihoData() {
         Map<String, Map<String, CountyData>> result = new HashMap<>();
 
         Utils.processInternalFile("uiho/uiho.csv", line -> {
@@ -7,6 +7,7 @@ import com.imsweb.algorithms.AbstractAlgorithm;
 import com.imsweb.algorithms.AlgorithmInput;
 import com.imsweb.algorithms.AlgorithmOutput;
 import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.internal.Utils;
 
 import static com.imsweb.algorithms.Algorithms.FIELD_ACS_POV_AIAN;
@@ -44,6 +45,8 @@ public class YostAcsPovertyAlgorithm extends AbstractAlgorithm {
         _outputFields.add(Algorithms.getField(FIELD_ACS_POV_ASIAN_NHOPI));
         _outputFields.add(Algorithms.getField(FIELD_ACS_POV_WHITE_NON_HISP));
         _outputFields.add(Algorithms.getField(FIELD_ACS_POV_HISP));
+
+        addCountryDataLoader(DatasetKind.YEAR_BASED_TRACT);
     }
 
     @Override
@@ -5,10 +5,8 @@ import java.time.LocalDate;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import com.imsweb.algorithms.CensusDataLookup;
 import com.imsweb.algorithms.internal.CensusData;
-import com.imsweb.algorithms.internal.CountryData;
-import com.imsweb.algorithms.internal.CountyData;
-import com.imsweb.algorithms.internal.StateData;
 import com.imsweb.algorithms.internal.YearData;
 
 /**
@@ -34,6 +32,17 @@ public final class YostAcsPovertyUtils {
      * @return the computed ACS data
      */
     public static YostAcsPovertyOutputDto computeYostAcsPovertyData(YostAcsPovertyInputDto input) {
+        return computeYostAcsPovertyData(input, CensusDataLookup.DIRECT);
+    }
+
+    /**
+     * Same as computeYostAcsPovertyData(input) but uses the provided lookup to resolve the census data; the lookup can be shared with other
+     * tract-based algorithms computed for the same tumor.
+     * @param input a <code>ACSLinkageInputDto</code> input object
+     * @param lookup the census data lookup to use
+     * @return the computed ACS data
+     */
+    public static YostAcsPovertyOutputDto computeYostAcsPovertyData(YostAcsPovertyInputDto input, CensusDataLookup lookup) {
         YostAcsPovertyOutputDto result = new YostAcsPovertyOutputDto();
 
         String state = input.getAddressAtDxState();
@@ -55,37 +64,28 @@ public final class YostAcsPovertyUtils {
 
             if (dxYear >= 2006 && dxYear <= LocalDate.now().getYear()) {
 
-                if (!CountryData.getInstance().isYearBasedTractDataInitialized(state))
-                    CountryData.getInstance().initializeYearBasedTractData(state);
-
-                StateData stateData = CountryData.getInstance().getYearBasedTractData(state);
-                if (stateData != null) {
-                    CountyData countyData = stateData.getCountyData(county);
-                    if (countyData != null) {
-                        CensusData censusData = countyData.getCensusData(dxYear <= 2015 ? census2010 : census2020);
-                        if (censusData != null) {
-
-                            int yearForLookup = dxYear;
-                            if (dxYear == 2006 || dxYear == 2007)
-                                yearForLookup = 2008;
-                            else if (dxYear == 2016 || dxYear == 2017)
-                                yearForLookup = 2018;
-                            else if (dxYear >= 2022)
-                                yearForLookup = 2021;
-
-                            YearData yearData = censusData.getYearData(String.valueOf(yearForLookup));
-                            if (yearData != null) {
-                                result.setYostQuintileUS(yearData.getYostQuintileUS());
-                                result.setYostQuintileState(yearData.getYostQuintileState());
-                                result.setAcsPctPovAllRaces(yearData.getAcsPctPovAllRaces());
-                                result.setAcsPctPovWhite(yearData.getAcsPctPovWhite());
-                                result.setAcsPctPovBlack(yearData.getAcsPctPovBlack());
-                                result.setAcsPctPovAsianNHOPI(yearData.getAcsPctPovAsianNHOPI());
-                                result.setAcsPctPovAIAN(yearData.getAcsPctPovAIAN());
-                                result.setAcsPctPovWhiteNonHisp(yearData.getAcsPctPovWhiteNonHisp());
-                                result.setAcsPctPovHispanic(yearData.getAcsPctPovHispanic());
-                            }
-                        }
+                CensusData censusData = lookup.getYearBasedCensusData(state, county, dxYear <= 2015 ? census2010 : census2020);
+                if (censusData != null) {
+
+                    int yearForLookup = dxYear;
+                    if (dxYear == 2006 || dxYear == 2007)
+                        yearForLookup = 2008;
+                    else if (dxYear == 2016 || dxYear == 2017)
+                        yearForLookup = 2018;
+                    else if (dxYear >= 2022)
+                        yearForLookup = 2021;
+
+                    YearData yearData = censusData.getYearData(String.valueOf(yearForLookup));
+                    if (yearData != null) {
+                        result.setYostQuintileUS(yearData.getYostQuintileUS());
+                        result.setYostQuintileState(yearData.getYostQuintileState());
+                        result.setAcsPctPovAllRaces(yearData.getAcsPctPovAllRaces());
+                        result.setAcsPctPovWhite(yearData.getAcsPctPovWhite());
+                        result.setAcsPctPovBlack(yearData.getAcsPctPovBlack());
+                        result.setAcsPctPovAsianNHOPI(yearData.getAcsPctPovAsianNHOPI());
+                        result.setAcsPctPovAIAN(yearData.getAcsPctPovAIAN());
+                        result.setAcsPctPovWhiteNonHisp(yearData.getAcsPctPovWhiteNonHisp());
+                        result.setAcsPctPovHispanic(yearData.getAcsPctPovHispanic());
                     }
                 }
             }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.imsweb.algorithms.internal.Utils;
+
+public class AlgorithmsEngineTest {
+
+    @BeforeClass
+    public static void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+    }
+
+    @Test
+    public void testProcess() {
+        List<String> ids = List.of(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_ICCC, Algorithms.ALG_NAPIIA, Algorithms.ALG_SEER_BEHAVIOR_RECODE);
+        List<Map<String, Object>> patients = createPatients(1000);
+
+        // expected outputs, computed one algorithm at a time
+        Map<Map<String, Object>, Map<String, Object>> expected = new IdentityHashMap<>();
+        for (Map<String, Object> patient : patients) {
+            Map<String, Object> outputPatient = new HashMap<>();
+            List<Map<String, Object>> outputTumors = new ArrayList<>();
+            for (String id : ids) {
+                AlgorithmInput input = new AlgorithmInput();
+                input.setPatient(patient);
+                Map<String, Object> output = Algorithms.getAlgorithm(id).execute(input).getPatient();
+                output.forEach((key, value) -> {
+                    if (!Algorithms.FIELD_TUMORS.equals(key))
+                        outputPatient.put(key, value);
+                });
+                List<Map<String, Object>> tumors = Utils.extractTumors(output);
+                for (int i = 0; i < tumors.size(); i++) {
+                    if (i == outputTumors.size())
+                        outputTumors.add(new HashMap<>());
+                    outputTumors.get(i).putAll(tumors.get(i));
+                }
+            }
+            outputPatient.put(Algorithms.FIELD_TUMORS, outputTumors);
+            expected.put(patient, outputPatient);
+        }
+
+        // order is preserved
+        AlgorithmsEngine engine = new AlgorithmsEngine(ids);
+        engine.setParallelism(4);
+        engine.setQueueCapacity(3);
+        engine.setBatchSize(7);
+        List<Map<String, Object>> processed = new ArrayList<>();
+        engine.process(patients.stream(), (patient, output) -> {
+            processed.add(patient);
+            Assert.assertEquals(expected.get(patient), output.getPatient());
+        });
+        Assert.assertEquals(patients.size(), processed.size());
+        for (int i = 0; i < patients.size(); i++)
+            Assert.assertSame(patients.get(i), processed.get(i));
+
+        // order is not preserved, using an external executor
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            engine.setPreserveOrder(false);
+            engine.setExecutor(executor);
+            Map<Map<String, Object>, Map<String, Object>> outputs = new IdentityHashMap<>();
+            engine.process(patients.iterator(), (patient, output) -> outputs.put(patient, output.getPatient()));
+            Assert.assertEquals(patients.size(), outputs.size());
+            for (Map<String, Object> patient : patients)
+                Assert.assertEquals(expected.get(patient), outputs.get(patient));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        // outputs written into the input patients
+        List<Map<String, Object>> inPlacePatients = createPatients(1000);
+        engine.setInPlace(true);
+        engine.setPreserveOrder(true);
+        engine.setExecutor(null);
+        List<Map<String, Object>> modified = new ArrayList<>();
+        engine.process(inPlacePatients.stream(), (patient, output) -> {
+            Assert.assertNull(output);
+            modified.add(patient);
+        });
+        Assert.assertEquals(inPlacePatients.size(), modified.size());
+        for (int i = 0; i < inPlacePatients.size(); i++) {
+            Assert.assertSame(inPlacePatients.get(i), modified.get(i));
+            for (Map.Entry<String, Object> entry : expected.get(patients.get(i)).entrySet())
+                if (!Algorithms.FIELD_TUMORS.equals(entry.getKey()))
+                    Assert.assertEquals(entry.getValue(), inPlacePatients.get(i).get(entry.getKey()));
+            List<Map<String, Object>> inputTumors = Utils.extractTumors(inPlacePatients.get(i));
+            List<Map<String, Object>> expectedTumors = Utils.extractTumors(expected.get(patients.get(i)));
+            for (int j = 0; j < expectedTumors.size(); j++)
+                for (Map.Entry<String, Object> entry : expectedTumors.get(j).entrySet())
+                    Assert.assertEquals(entry.getValue(), inputTumors.get(j).get(entry.getKey()));
+        }
+        engine.setInPlace(false);
+
+        // no patient
+        engine.process(Collections.emptyIterator(), (patient, output) -> Assert.fail());
+    }
+
+    @Test
+    public void testDefaultPlan() {
+        // every field is computed by a single algorithm; the composite tract algorithm would compute the tract fields a second time
+        Map<String, String> producers = new HashMap<>();
+        for (Algorithm algorithm : new AlgorithmsEngine().getPlan().getAlgorithms()) {
+            Assert.assertNotEquals(Algorithms.ALG_TRACT_ATTRIBUTES, algorithm.getId());
+            for (AlgorithmField field : algorithm.getOutputFields()) {
+                String other = producers.put(field.getId(), algorithm.getId());
+                Assert.assertNull(field.getId() + " is computed by " + other + " and " + algorithm.getId(), other);
+            }
+        }
+        Assert.assertEquals(Algorithms.ALG_RURAL_URBAN, producers.get(Algorithms.FIELD_RUCA_2010));
+        Assert.assertEquals(Algorithms.ALG_SVI, producers.get(Algorithms.FIELD_CDC_SVI_2018));
+    }
+
+    @Test
+    public void testProcessErrors() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new AlgorithmsEngine(List.of("unknown-algorithm")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new AlgorithmsEngine(Collections.emptyList()));
+
+        AlgorithmsEngine engine = new AlgorithmsEngine(List.of(Algorithms.ALG_SEER_SITE_RECODE));
+        Assert.assertThrows(IllegalArgumentException.class, () -> engine.setParallelism(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> engine.setBatchSize(0));
+
+        // errors in the consumer and in the algorithms are propagated to the caller
+        Assert.assertThrows(UnsupportedOperationException.class, () -> engine.process(createPatients(10).stream(), (patient, output) -> {
+            throw new UnsupportedOperationException();
+        }));
+        Map<String, Object> badPatient = new HashMap<>();
+        badPatient.put(Algorithms.FIELD_TUMORS, "not a list of tumors");
+        Assert.assertThrows(IllegalStateException.class, () -> engine.process(List.of(badPatient).iterator(), (patient, output) -> { }));
+    }
+
+    private static List<Map<String, Object>> createPatients(int numPatients) {
+        String[] sites = {"C340", "C182", "C619", "C500", "C710", null};
+        String[] histologies = {"8000", "8140", "9380", "8500", "9590"};
+        String[] behaviors = {"0", "1", "2", "3"};
+
+        Random random = new Random(1234);
+        List<Map<String, Object>> patients = new ArrayList<>();
+        for (int i = 0; i < numPatients; i++) {
+            Map<String, Object> patient = new HashMap<>();
+            patient.put(Algorithms.FIELD_RACE1, "0" + (1 + random.nextInt(8)));
+            List<Map<String, Object>> tumors = new ArrayList<>();
+            for (int j = 0; j <= random.nextInt(3); j++) {
+                Map<String, Object> tumor = new HashMap<>();
+                tumor.put(Algorithms.FIELD_PRIMARY_SITE, sites[random.nextInt(sites.length)]);
+                tumor.put(Algorithms.FIELD_HIST_O3, histologies[random.nextInt(histologies.length)]);
+                tumor.put(Algorithms.FIELD_BEHAV_O3, behaviors[random.nextInt(behaviors.length)]);
+                tumors.add(tumor);
+            }
+            patient.put(Algorithms.FIELD_TUMORS, tumors);
+            patients.add(patient);
+        }
+        return patients;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.imsweb.algorithms.internal.Utils;
+
+public class AlgorithmsPlanTest {
+
+    @BeforeClass
+    public static void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+    }
+
+    @Test
+    public void testPlan() {
+        AlgorithmsPlan plan = AlgorithmsPlan.of(List.of(Algorithms.ALG_PRCDA, Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS));
+        Assert.assertEquals(List.of(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS, Algorithms.ALG_PRCDA), getIds(plan));
+        Assert.assertEquals(Set.of(Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS), plan.getDependencies(Algorithms.ALG_PRCDA));
+        Assert.assertTrue(plan.getDependencies(Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS).isEmpty());
+        Assert.assertTrue(plan.getDependencies(Algorithms.ALG_SEER_SITE_RECODE).isEmpty());
+
+        // a plan can be created for all the registered algorithms
+        plan = AlgorithmsPlan.ofAlgorithms(Algorithms.getAlgorithms());
+        Assert.assertEquals(Algorithms.getAlgorithms().size(), plan.getAlgorithms().size());
+        List<String> ids = getIds(plan);
+        for (String id : ids)
+            for (String dependency : plan.getDependencies(id))
+                Assert.assertTrue(id, ids.indexOf(dependency) < ids.indexOf(id));
+
+        // chain of fake algorithms, requested in reverse order
+        Algorithm alg1 = createAlgorithm("alg1", "field0", "field1");
+        Algorithm alg2 = createAlgorithm("alg2", "field1", "field2");
+        Algorithm alg3 = createAlgorithm("alg3", "field2", "field3");
+        Assert.assertEquals(List.of("alg1", "alg2", "alg3"), getIds(AlgorithmsPlan.ofAlgorithms(List.of(alg3, alg2, alg1))));
+
+        // circular dependency
+        Algorithm alg4 = createAlgorithm("alg4", "field3", "field0");
+        Assert.assertThrows(IllegalStateException.class, () -> AlgorithmsPlan.ofAlgorithms(List.of(alg1, alg2, alg3, alg4)));
+
+        // a field needed by an algorithm can't be produced by several algorithms
+        Algorithm alg5 = createAlgorithm("alg5", "field0", "field1");
+        Assert.assertThrows(IllegalStateException.class, () -> AlgorithmsPlan.ofAlgorithms(List.of(alg1, alg2, alg5)));
+        Assert.assertEquals(List.of("alg1", "alg5"), getIds(AlgorithmsPlan.ofAlgorithms(List.of(alg1, alg5))));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> AlgorithmsPlan.of(List.of("unknown-algorithm")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> AlgorithmsPlan.of(Collections.emptyList()));
+        Assert.assertThrows(IllegalArgumentException.class, () -> AlgorithmsPlan.ofAlgorithms(List.of(alg1, alg1)));
+    }
+
+    @Test
+    public void testExecute() {
+        Map<String, Object> tumor = new HashMap<>();
+        tumor.put("field0", "A");
+        Map<String, Object> patient = new HashMap<>();
+        patient.put(Algorithms.FIELD_TUMORS, new ArrayList<>(List.of(tumor, new HashMap<>(tumor))));
+        AlgorithmInput input = new AlgorithmInput();
+        input.setPatient(patient);
+
+        // the outputs are fed to the next algorithms
+        AlgorithmsPlan plan = AlgorithmsPlan.ofAlgorithms(List.of(createAlgorithm("alg3", "field2", "field3"), createAlgorithm("alg2", "field1", "field2"),
+                createAlgorithm("alg1", "field0", "field1")));
+        List<Map<String, Object>> outputTumors = Utils.extractTumors(plan.execute(input).getPatient());
+        Assert.assertEquals(2, outputTumors.size());
+        for (Map<String, Object> outputTumor : outputTumors) {
+            Assert.assertEquals("A1", outputTumor.get("field1"));
+            Assert.assertEquals("A12", outputTumor.get("field2"));
+            Assert.assertEquals("A123", outputTumor.get("field3"));
+            Assert.assertFalse(outputTumor.containsKey("field0"));
+        }
+
+        // the input is not modified
+        Assert.assertEquals(Collections.singletonMap("field0", "A"), tumor);
+        Assert.assertEquals(2, Utils.extractTumors(patient).size());
+
+        // real algorithms: the PRCDA is computed from the county at DX analysis
+        Map<String, Object> realTumor = new HashMap<>();
+        realTumor.put(Algorithms.FIELD_DX_DATE, "20150101");
+        realTumor.put(Algorithms.FIELD_STATE_DX, "AK");
+        realTumor.put(Algorithms.FIELD_COUNTY_DX, "013");
+        realTumor.put(Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_2010, "999");
+        Map<String, Object> realPatient = new HashMap<>();
+        realPatient.put(Algorithms.FIELD_TUMORS, Collections.singletonList(realTumor));
+        AlgorithmInput realInput = new AlgorithmInput();
+        realInput.setPatient(realPatient);
+        Map<String, Object> outputTumor = Utils.extractTumors(AlgorithmsPlan.of(List.of(Algorithms.ALG_PRCDA, Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS))
+                .execute(realInput).getPatient()).getFirst();
+        Assert.assertEquals("013", outputTumor.get(Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS));
+        Assert.assertEquals("1", outputTumor.get(Algorithms.FIELD_IHS_PRCDA));
+        Assert.assertFalse(realTumor.containsKey(Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS));
+    }
+
+    @Test
+    public void testExecuteInPlace() {
+        Map<String, Object> tumor = new HashMap<>();
+        tumor.put("field0", "A");
+        Map<String, Object> patient = new HashMap<>();
+        patient.put(Algorithms.FIELD_TUMORS, new ArrayList<>(List.of(tumor)));
+        AlgorithmInput input = new AlgorithmInput();
+        input.setPatient(patient);
+
+        // the outputs are written into the input tumors (using the default implementation for the fake algorithms)
+        AlgorithmsPlan plan = AlgorithmsPlan.ofAlgorithms(List.of(createAlgorithm("alg2", "field1", "field2"), createAlgorithm("alg1", "field0", "field1")));
+        plan.executeInPlace(List.of(input));
+        Assert.assertSame(tumor, Utils.extractTumors(patient).getFirst());
+        Assert.assertEquals(Map.of("field0", "A", "field1", "A1", "field2", "A12"), tumor);
+
+        // real algorithms (some of them override the in-place execution) need to return the same values as the regular execution
+        List<String> ids = List.of(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_ICCC, Algorithms.ALG_SEER_BEHAVIOR_RECODE, Algorithms.ALG_PRCDA,
+                Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS);
+        String[][] values = {{"C340", "8000", "3", "AK", "013"}, {"C182", "8140", "3", "AK", "999"}, {"C710", "9380", "1", "WA", "033"}, {null, null, null, null, null}};
+        List<AlgorithmInput> inputs = new ArrayList<>();
+        for (String[] tumorValues : values) {
+            Map<String, Object> realTumor = new HashMap<>();
+            realTumor.put(Algorithms.FIELD_PRIMARY_SITE, tumorValues[0]);
+            realTumor.put(Algorithms.FIELD_HIST_O3, tumorValues[1]);
+            realTumor.put(Algorithms.FIELD_BEHAV_O3, tumorValues[2]);
+            realTumor.put(Algorithms.FIELD_DX_DATE, "20150101");
+            realTumor.put(Algorithms.FIELD_STATE_DX, tumorValues[3]);
+            realTumor.put(Algorithms.FIELD_COUNTY_DX, tumorValues[4]);
+            Map<String, Object> realPatient = new HashMap<>();
+            realPatient.put(Algorithms.FIELD_TUMORS, new ArrayList<>(List.of(realTumor, new HashMap<>(realTumor))));
+            AlgorithmInput realInput = new AlgorithmInput();
+            realInput.setPatient(realPatient);
+            inputs.add(realInput);
+        }
+        plan = AlgorithmsPlan.of(ids);
+        List<AlgorithmOutput> outputs = plan.executeBatch(inputs);
+        FieldSchema schema = FieldSchema.getDefault();
+        List<PatientRecord> records = new ArrayList<>();
+        for (AlgorithmInput realInput : inputs)
+            records.add(PatientRecord.of(schema, realInput.getPatient()));
+        plan.executeInPlace(inputs);
+        for (int i = 0; i < inputs.size(); i++) {
+            plan.executeInPlace(records.get(i), null);
+            List<Map<String, Object>> inputTumors = Utils.extractTumors(inputs.get(i).getPatient());
+            List<Map<String, Object>> outputTumors = Utils.extractTumors(outputs.get(i).getPatient());
+            Assert.assertEquals(outputTumors.size(), inputTumors.size());
+            for (int j = 0; j < outputTumors.size(); j++) {
+                Assert.assertFalse(outputTumors.get(j).isEmpty());
+                for (Map.Entry<String, Object> entry : outputTumors.get(j).entrySet()) {
+                    Assert.assertEquals(entry.getKey(), entry.getValue(), inputTumors.get(j).get(entry.getKey()));
+                    Assert.assertEquals(entry.getKey(), entry.getValue(), records.get(i).getTumor(j).get(entry.getKey()));
+                }
+            }
+        }
+    }
+
+    private static List<String> getIds(AlgorithmsPlan plan) {
+        return plan.getAlgorithms().stream().map(Algorithm::getId).collect(Collectors.toList());
+    }
+
+    // creates a fake algorithm appending its number to the value of the input tumor field
+    private static Algorithm createAlgorithm(String id, String inputField, String outputField) {
+        return new AbstractAlgorithm(id, id, "N/A") {
+            {
+                _inputFields.add(AlgorithmField.of(inputField, null, 4, inputField, inputField, AlgorithmField.DATA_LEVEL_TUMOR, false));
+                _outputFields.add(AlgorithmField.of(outputField, null, 4, outputField, outputField, AlgorithmField.DATA_LEVEL_TUMOR, false));
+            }
+
+            @Override
+            public AlgorithmOutput execute(AlgorithmInput input) {
+                List<Map<String, Object>> outputTumors = new ArrayList<>();
+                for (Map<String, Object> tumor : Utils.extractTumors(input))
+                    outputTumors.add(Collections.singletonMap(outputField, tumor.get(inputField) + id.substring(3)));
+                return AlgorithmOutput.of(outputTumors);
+            }
+        };
+    }
+}
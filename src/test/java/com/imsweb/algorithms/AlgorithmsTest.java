@@ -3,18 +3,23 @@
  */
 package com.imsweb.algorithms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.imsweb.algorithms.countyatdiagnosisanalysis.CountyAtDxAnalysisUtils;
+import com.imsweb.algorithms.internal.CountryData;
 import com.imsweb.algorithms.internal.Utils;
 import com.imsweb.algorithms.nhia.NhiaUtils;
 import com.imsweb.naaccrxml.NaaccrXmlDictionaryUtils;
@@ -388,6 +393,79 @@ public class AlgorithmsTest {
         Assert.assertEquals("4", Utils.extractTumors(alg.execute(input).getPatient()).getFirst().get(Algorithms.FIELD_BREAST_SUBTYPE));
     }
 
+    @Test
+    public void testExecuteBatch() {
+        List<AlgorithmInput> inputs = new ArrayList<>();
+        String[][] values = {{"C340", "8000", "3"}, {"C182", "8000", "3"}, {"C340", "8000", "3"}, {"C619", "8140", "3"}, {null, "8000", "3"}};
+        for (int i = 0; i < values.length; i++) {
+            Map<String, Object> tumMap = new HashMap<>();
+            tumMap.put(Algorithms.FIELD_PRIMARY_SITE, values[i][0]);
+            tumMap.put(Algorithms.FIELD_HIST_O3, values[i][1]);
+            tumMap.put(Algorithms.FIELD_BEHAV_O3, values[i][2]);
+            tumMap.put(Algorithms.FIELD_DX_DATE, "20150101");
+            tumMap.put(Algorithms.FIELD_STATE_DX, i % 2 == 0 ? "HI" : "AL");
+            tumMap.put(Algorithms.FIELD_COUNTY_DX, "003");
+            tumMap.put(Algorithms.FIELD_COUNTY_AT_DX_GEOCODE_2010, i % 2 == 0 ? "001" : "999");
+            tumMap.put(Algorithms.FIELD_CENSUS_CERTAINTY_2010, "1");
+            tumMap.put(Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS, "003");
+            tumMap.put(Algorithms.FIELD_CENSUS_2010, "003405");
+            Map<String, Object> patMap = new HashMap<>();
+            patMap.put(Algorithms.FIELD_TUMORS, i == 1 ? List.of(tumMap, new HashMap<>(tumMap)) : Collections.singletonList(tumMap));
+            AlgorithmInput input = new AlgorithmInput();
+            input.setPatient(patMap);
+            inputs.add(input);
+        }
+        inputs.add(new AlgorithmInput());
+
+        // the batch execution needs to return the same outputs as executing the inputs one at a time
+        for (String id : List.of(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_ICCC, Algorithms.ALG_COUNTY_AT_DIAGNOSIS_ANALYSIS, Algorithms.ALG_ACS_LINKAGE,
+                Algorithms.ALG_SEER_BEHAVIOR_RECODE)) {
+            Algorithm alg = Algorithms.getAlgorithm(id);
+            List<AlgorithmOutput> outputs = alg.executeBatch(inputs);
+            Assert.assertEquals(id, inputs.size(), outputs.size());
+            for (int i = 0; i < inputs.size(); i++)
+                Assert.assertEquals(id, alg.execute(inputs.get(i)).getPatient(), outputs.get(i).getPatient());
+        }
+        Assert.assertTrue(Algorithms.getAlgorithm(Algorithms.ALG_ICCC).executeBatch(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testWarmUp() {
+        Set<String> ids = new HashSet<>(Arrays.asList(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_DEATH_CLASSIFICATION, Algorithms.ALG_NHIA, Algorithms.ALG_RACE_1_RECODE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // the SEER Site Recode data is shared by two algorithms, it's loaded only once; the Race Recode algorithm doesn't have any data
+            Map<String, Long> report = Algorithms.warmUp(ids, executor);
+            Assert.assertEquals(new HashSet<>(Arrays.asList("seersiterecode/site-recode-data-2008.bin", "causespecific/data_2008_pre_bug_fix.txt",
+                    "nhia/nhia-low-hisp-ethn-counties.csv", "nhia/nhia-heavily-hisp-names.csv", "nhia/nhia-rarely-hisp-names.csv")), report.keySet());
+            Assert.assertTrue(report.values().stream().allMatch(time -> time >= 0));
+
+            Assert.assertThrows(IllegalArgumentException.class, () -> Algorithms.warmUp(Collections.singleton("unknown"), executor));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Algorithms.warmUp(ids, null));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWarmUpWithTractDataBudget() {
+        Set<String> ids = new HashSet<>(Arrays.asList(Algorithms.ALG_SVI, Algorithms.ALG_ACS_LINKAGE, Algorithms.ALG_PRCDA));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountryData.getInstance().setTractDataBudget(2, 0);
+        try {
+            // loading the tract data of every state would defeat the budget, only the other country datasets are loaded
+            Map<String, Long> report = Algorithms.warmUp(ids, executor);
+            Assert.assertEquals(Collections.singleton("country-data/prcda"), report.keySet());
+        }
+        finally {
+            CountryData.getInstance().setTractDataBudget(0, 0);
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testAlgorithms() {
 
@@ -430,9 +508,18 @@ public class AlgorithmsTest {
         };
 
         Assert.assertFalse(Algorithms.getAlgorithms().stream().anyMatch(alg -> "fake-id".equals(alg.getId())));
+        List<Algorithm> before = Algorithms.getAlgorithms();
         Algorithms.registerAlgorithm(fakeAlg);
         Assert.assertTrue(Algorithms.getAlgorithms().stream().anyMatch(alg -> "fake-id".equals(alg.getId())));
+        Assert.assertSame(fakeAlg, Algorithms.getAlgorithm("fake-id"));
+        Assert.assertEquals(before.size() + 1, Algorithms.getAlgorithms().size());
         Algorithms.unregisterAlgorithm(fakeAlg);
         Assert.assertFalse(Algorithms.getAlgorithms().stream().anyMatch(alg -> "fake-id".equals(alg.getId())));
+        Assert.assertNull(Algorithms.getAlgorithm("fake-id"));
+
+        // the returned lists are snapshots, they are not affected by later registrations and can't be modified
+        Assert.assertFalse(before.stream().anyMatch(alg -> "fake-id".equals(alg.getId())));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> before.add(fakeAlg));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> Algorithms.getAllFields().clear());
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.imsweb.algorithms.StateCountyTractInputDto.CensusTract;
+import com.imsweb.algorithms.internal.CensusData;
+import com.imsweb.algorithms.internal.CountryData;
+
+public class CensusDataLookupTest {
+
+    @Test
+    public void testLookup() {
+        CountryData.getInstance().initializeTractData("AL");
+        CountryData.getInstance().initializeYearBasedTractData("AL");
+
+        List<String[]> values = new ArrayList<>();
+        for (String tract : new String[] {"020100", "020200", "020300", "020400", "020500", "020600", "020700", "020800"})
+            values.add(new String[] {"AL", "001", tract});
+        Assert.assertNotNull(CountryData.getInstance().getTractCensusData("AL", "001", "020200"));
+        // unknown tracts and values that can't be packed into a key
+        values.add(new String[] {"AL", "001", "999999"});
+        values.add(new String[] {"AL", "1", "020200"});
+        values.add(new String[] {"AL", null, "020200"});
+
+        // more tracts than the lookup remembers, several times
+        CensusDataLookup lookup = new CensusDataLookup();
+        for (int i = 0; i < 3; i++) {
+            for (String[] value : values) {
+                CensusData expected = CountryData.getInstance().getTractCensusData(value[0], value[1], value[2]);
+                Assert.assertSame(expected, lookup.getCensusData(value[0], value[1], value[2]));
+                Assert.assertSame(expected, lookup.getCensusData(value[0], value[1], value[2]));
+                Assert.assertSame(expected, CensusDataLookup.DIRECT.getCensusData(value[0], value[1], value[2]));
+
+                CensusData expectedYearBased = CountryData.getInstance().getYearBasedTractCensusData(value[0], value[1], value[2]);
+                Assert.assertSame(expectedYearBased, lookup.getYearBasedCensusData(value[0], value[1], value[2]));
+                Assert.assertSame(expectedYearBased, lookup.getYearBasedCensusData(value[0], value[1], value[2]));
+                Assert.assertSame(expectedYearBased, CensusDataLookup.DIRECT.getYearBasedCensusData(value[0], value[1], value[2]));
+            }
+        }
+
+        StateCountyTractInputDto input = new StateCountyTractInputDto();
+        input.setAddressAtDxState("AL");
+        input.setCountyAtDxAnalysis("001");
+        input.setCensusTract2010("020200");
+        Assert.assertSame(CountryData.getInstance().getTractCensusData("AL", "001", "020200"), lookup.getCensusData(input, CensusTract.CENSUS_2010));
+        Assert.assertNull(lookup.getCensusData(input, CensusTract.CENSUS_2000));
+    }
+}
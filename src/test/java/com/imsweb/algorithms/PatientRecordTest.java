@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.imsweb.algorithms.internal.Utils;
+
+public class PatientRecordTest {
+
+    @BeforeClass
+    public static void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+    }
+
+    @Test
+    public void testSchema() {
+        FieldSchema schema = FieldSchema.getDefault();
+        Assert.assertSame(schema, FieldSchema.getDefault());
+        Assert.assertEquals(Algorithms.getAllFields().size(), schema.size());
+        for (AlgorithmField field : Algorithms.getAllFields())
+            Assert.assertEquals(field.getId(), schema.getFieldId(schema.getSlot(field.getId())));
+        Assert.assertEquals(-1, schema.getSlot("unknown-field"));
+        Assert.assertEquals(-1, schema.getSlot(Algorithms.FIELD_TUMORS));
+
+        AlgorithmField field = Algorithms.getField(Algorithms.FIELD_PRIMARY_SITE);
+        Assert.assertThrows(IllegalArgumentException.class, () -> FieldSchema.of(List.of(field, field)));
+    }
+
+    @Test
+    public void testRecord() {
+        FieldSchema schema = FieldSchema.of(List.of(Algorithms.getField(Algorithms.FIELD_RACE1), Algorithms.getField(Algorithms.FIELD_PRIMARY_SITE),
+                Algorithms.getField(Algorithms.FIELD_HIST_O3)));
+
+        PatientRecord patient = new PatientRecord(schema);
+        patient.set(Algorithms.FIELD_RACE1, "01");
+        patient.addTumor().set(schema.getSlot(Algorithms.FIELD_PRIMARY_SITE), "C500");
+        patient.addTumor().set(Algorithms.FIELD_HIST_O3, "8000");
+        Assert.assertEquals("01", patient.get(schema.getSlot(Algorithms.FIELD_RACE1)));
+        Assert.assertNull(patient.get(Algorithms.FIELD_PRIMARY_SITE));
+        Assert.assertNull(patient.get(-1));
+        Assert.assertEquals(2, patient.getNumTumors());
+        Assert.assertThrows(IllegalArgumentException.class, () -> patient.set("unknown-field", "1"));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> patient.getTumor(2));
+
+        // map view
+        Map<String, Object> map = patient.asMap();
+        Assert.assertEquals("01", map.get(Algorithms.FIELD_RACE1));
+        Assert.assertFalse(map.containsKey(Algorithms.FIELD_PRIMARY_SITE));
+        Assert.assertEquals(2, map.size());
+        List<Map<String, Object>> tumors = Utils.extractTumors(map);
+        Assert.assertEquals(2, tumors.size());
+        Assert.assertEquals(Map.of(Algorithms.FIELD_PRIMARY_SITE, "C500"), tumors.get(0));
+        Assert.assertEquals(Map.of(Algorithms.FIELD_HIST_O3, "8000"), tumors.get(1));
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(Algorithms.FIELD_RACE1, "01");
+        expected.put(Algorithms.FIELD_TUMORS, List.of(Map.of(Algorithms.FIELD_PRIMARY_SITE, "C500"), Map.of(Algorithms.FIELD_HIST_O3, "8000")));
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected, new HashMap<>(map));
+
+        // changes to the map view are written to the record
+        tumors.get(1).put(Algorithms.FIELD_PRIMARY_SITE, "C340");
+        tumors.add(Map.of(Algorithms.FIELD_HIST_O3, "8140"));
+        map.remove(Algorithms.FIELD_RACE1);
+        Assert.assertEquals("C340", patient.getTumor(1).get(Algorithms.FIELD_PRIMARY_SITE));
+        Assert.assertEquals("8140", patient.getTumor(2).get(Algorithms.FIELD_HIST_O3));
+        Assert.assertNull(patient.get(Algorithms.FIELD_RACE1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> map.put("unknown-field", "1"));
+
+        // records can be re-used
+        TumorRecord tumor = patient.getTumor(0);
+        patient.clear();
+        Assert.assertEquals(0, patient.getNumTumors());
+        Assert.assertTrue(Utils.extractTumors(map).isEmpty());
+        Assert.assertSame(tumor, patient.addTumor());
+        Assert.assertNull(tumor.get(Algorithms.FIELD_PRIMARY_SITE));
+
+        // records can be created from maps (unknown fields are ignored)
+        Map<String, Object> tumorMap = new HashMap<>();
+        tumorMap.put(Algorithms.FIELD_PRIMARY_SITE, "C619");
+        tumorMap.put("unknown-field", "1");
+        Map<String, Object> patientMap = new HashMap<>();
+        patientMap.put(Algorithms.FIELD_RACE1, "02");
+        patientMap.put(Algorithms.FIELD_TUMORS, List.of(tumorMap));
+        PatientRecord other = PatientRecord.of(schema, patientMap);
+        Assert.assertEquals("02", other.get(Algorithms.FIELD_RACE1));
+        Assert.assertEquals(1, other.getNumTumors());
+        Assert.assertEquals(Map.of(Algorithms.FIELD_PRIMARY_SITE, "C619"), other.getTumor(0).asMap());
+    }
+
+    @Test
+    public void testExecute() {
+        FieldSchema schema = FieldSchema.getDefault();
+        String[][] values = {{"C340", "8000", "3"}, {"C182", "8000", "3"}, {"C619", "8140", "3"}, {null, "8000", "3"}, {"C710", "9380", "1"}};
+
+        List<Map<String, Object>> tumors = new ArrayList<>();
+        for (String[] tumorValues : values) {
+            Map<String, Object> tumor = new HashMap<>();
+            tumor.put(Algorithms.FIELD_PRIMARY_SITE, tumorValues[0]);
+            tumor.put(Algorithms.FIELD_HIST_O3, tumorValues[1]);
+            tumor.put(Algorithms.FIELD_BEHAV_O3, tumorValues[2]);
+            tumors.add(tumor);
+        }
+        Map<String, Object> patient = new HashMap<>();
+        patient.put(Algorithms.FIELD_RACE1, "04");
+        patient.put(Algorithms.FIELD_TUMORS, tumors);
+        AlgorithmInput input = new AlgorithmInput();
+        input.setPatient(patient);
+
+        // the record-based execution needs to return the same values as the map-based one (whether the algorithm overrides it or not)
+        PatientRecord inputRecord = PatientRecord.of(schema, patient);
+        PatientRecord outputRecord = new PatientRecord(schema);
+        for (String id : List.of(Algorithms.ALG_SEER_SITE_RECODE, Algorithms.ALG_ICCC, Algorithms.ALG_NAPIIA, Algorithms.ALG_SEER_BEHAVIOR_RECODE)) {
+            Algorithm alg = Algorithms.getAlgorithm(id);
+            outputRecord.clear();
+            alg.execute(inputRecord, null, outputRecord);
+
+            Map<String, Object> output = alg.execute(input).getPatient();
+            for (AlgorithmField field : alg.getOutputFields()) {
+                if (AlgorithmField.DATA_LEVEL_PATIENT.equals(field.getDataLevel()))
+                    Assert.assertEquals(id, output.get(field.getId()), outputRecord.get(field.getId()));
+                else
+                    for (int i = 0; i < values.length; i++)
+                        Assert.assertEquals(id, Utils.extractTumors(output).get(i).get(field.getId()), outputRecord.getTumor(i).get(field.getId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeUtils;
+import com.imsweb.algorithms.braincnsrecode.BrainCnsRecodeUtils;
+import com.imsweb.algorithms.iccc.IcccRecodeUtils;
+import com.imsweb.algorithms.lymphoma.LymphoidNeoplasmRecodeUtils;
+import com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils;
+
+/**
+ * The lookup tables of the recodes are generated by the build (see the generateRecodeTables task); this makes sure the tables on the classpath
+ * are the ones created from the current data files (the tests of the recodes check those tables against the rules).
+ */
+public class RecodeTablesTest {
+
+    @Rule
+    public TemporaryFolder _tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void testGeneratedTables() throws IOException {
+        Path directory = _tmpFolder.getRoot().toPath();
+        SeerSiteRecodeUtils.writeRuleTables(directory);
+        IcccRecodeUtils.writeRuleTables(directory);
+        AyaSiteRecodeUtils.writeRuleTables(directory);
+        BrainCnsRecodeUtils.writeRuleTables(directory);
+        LymphoidNeoplasmRecodeUtils.writeRuleTables(directory);
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        Assert.assertEquals(12, files.size());
+
+        for (Path file : files) {
+            String resource = directory.relativize(file).toString().replace('\\', '/');
+            try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+                Assert.assertNotNull("Unable to find " + resource + ", the tables are generated by the build", is);
+                Assert.assertArrayEquals(resource, readTable(Files.newInputStream(file)), readTable(is));
+            }
+        }
+    }
+
+    private static byte[] readTable(InputStream is) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(is)) {
+            return gzip.readAllBytes();
+        }
+    }
+}
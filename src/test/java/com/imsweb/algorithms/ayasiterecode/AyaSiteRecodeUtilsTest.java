@@ -3,9 +3,14 @@
  */
 package com.imsweb.algorithms.ayasiterecode;
 
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+
 import static com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeUtils.ALG_VERSION_2008;
 import static com.imsweb.algorithms.ayasiterecode.AyaSiteRecodeUtils.ALG_VERSION_2020;
 
@@ -40,4 +45,32 @@ public class AyaSiteRecodeUtilsTest {
         Assert.assertEquals("204", AyaSiteRecodeUtils.calculateSiteRecode(ALG_VERSION_2020, "C420", "8000", "3"));
         Assert.assertEquals("218", AyaSiteRecodeUtils.calculateSiteRecode(ALG_VERSION_2020, "C420", "8000", "2"));
     }
+
+    @Test
+    public void testCompiledTable() {
+        Random random = new Random(42);
+        for (String version : List.of(ALG_VERSION_2008, ALG_VERSION_2020)) {
+            List<AyaSiteRecodeData> data = AyaSiteRecodeUtils.getData(version);
+            IcdO3RuleTable<String> table = AyaSiteRecodeUtils.getTable(version);
+            for (int i = 0; i < 100000; i++) {
+                String site = String.format("C%03d", random.nextInt(1000));
+                String hist = String.format("%04d", random.nextBoolean() ? 8000 + random.nextInt(2000) : random.nextInt(10000));
+                String beh = String.valueOf(random.nextInt(10));
+                Assert.assertEquals(site + "/" + hist + "/" + beh, findRecode(data, site, hist, beh, null), table.lookup(Integer.parseInt(site.substring(1)), Integer.parseInt(hist),
+                        Integer.parseInt(beh), -1));
+            }
+
+            // the values in other formats are compared as strings
+            String unknown = ALG_VERSION_2008.equals(version) ? "99" : "999";
+            for (String site : List.of("C42", "C4200", "c420"))
+                Assert.assertEquals(site, findRecode(data, site, "9827", "3", unknown), AyaSiteRecodeUtils.calculateSiteRecode(version, site, "9827", "3"));
+        }
+    }
+
+    private static String findRecode(List<AyaSiteRecodeData> data, String site, String hist, String beh, String unknown) {
+        for (AyaSiteRecodeData row : data)
+            if (row.matches(site, hist, beh))
+                return row.getRecode();
+        return unknown;
+    }
 }
@@ -3,9 +3,14 @@
  */
 package com.imsweb.algorithms.braincnsrecode;
 
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+
 import static com.imsweb.algorithms.braincnsrecode.BrainCnsRecodeUtils.ALG_VERSION_2020;
 
 public class BrainCnsRecodeUtilsTest {
@@ -126,4 +131,29 @@ public class BrainCnsRecodeUtilsTest {
         Assert.assertEquals("27", BrainCnsRecodeUtils.computeBrainCsnRecode(ALG_VERSION_2020, "C7523", "9361", "1"));
     }
 
+
+    @Test
+    public void testCompiledTable() {
+        List<BrainCnsRecodeData> data = BrainCnsRecodeUtils.getData();
+        IcdO3RuleTable<String> table = BrainCnsRecodeUtils.getTable();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String site = String.format("C%03d", random.nextInt(1000));
+            String hist = String.format("%04d", random.nextBoolean() ? 8000 + random.nextInt(2000) : random.nextInt(10000));
+            String beh = String.valueOf(random.nextInt(10));
+            Assert.assertEquals(site + "/" + hist + "/" + beh, findRecode(data, site, hist, beh, null), table.lookup(Integer.parseInt(site.substring(1)), Integer.parseInt(hist),
+                    Integer.parseInt(beh), -1));
+        }
+
+        // the values in other formats are compared as strings
+        for (String site : List.of("C72", "C7290", "c729"))
+            Assert.assertEquals(site, findRecode(data, site, "9385", "3", "99"), BrainCnsRecodeUtils.computeBrainCsnRecode(ALG_VERSION_2020, site, "9385", "3"));
+    }
+
+    private static String findRecode(List<BrainCnsRecodeData> data, String site, String hist, String beh, String unknown) {
+        for (BrainCnsRecodeData row : data)
+            if (row.matches(site, hist, beh))
+                return row.getRecode();
+        return unknown;
+    }
 }
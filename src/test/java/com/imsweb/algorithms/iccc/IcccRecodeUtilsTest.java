@@ -1,8 +1,14 @@
 package com.imsweb.algorithms.iccc;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+
 import static com.imsweb.algorithms.iccc.IcccRecodeUtils.VERSION_THIRD_EDITION;
 import static com.imsweb.algorithms.iccc.IcccRecodeUtils.VERSION_THIRD_EDITION_IARC_2017;
 import static com.imsweb.algorithms.iccc.IcccRecodeUtils.VERSION_WHO_2008;
@@ -155,4 +161,84 @@ public class IcccRecodeUtilsTest {
         Assert.assertEquals("01", IcccRecodeUtils.calculateIcccMajorCategory("011"));
         Assert.assertEquals("15", IcccRecodeUtils.calculateIcccMajorCategory("122"));
     }
+
+    @Test
+    public void testCalculateRecodes() {
+        IcccRecodeOutputDto recodes = IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION_IARC_2017, "C239", "9673", "3");
+        Assert.assertEquals("022", recodes.getRecode());
+        Assert.assertEquals("011", recodes.getRecodeExtended());
+        Assert.assertEquals("02", recodes.getMajorCategory());
+        Assert.assertSame(recodes, IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION_IARC_2017, "C098", "9673", "3"));
+
+        recodes = IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION_IARC_2017, "C239", "9673", "1");
+        Assert.assertEquals("999", recodes.getRecode());
+        Assert.assertEquals("999", recodes.getRecodeExtended());
+        Assert.assertEquals("99", recodes.getMajorCategory());
+        Assert.assertSame(IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION_IARC_2017, "", "8000", "2"), IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION_IARC_2017, null, null, null));
+
+        // no extended recode for the third edition
+        recodes = IcccRecodeUtils.calculateRecodes(VERSION_THIRD_EDITION, "C239", "9140", null);
+        Assert.assertEquals("058", recodes.getRecode());
+        Assert.assertEquals("999", recodes.getRecodeExtended());
+    }
+
+    @Test
+    public void testCompiledTable() {
+        for (String version : IcccRecodeUtils.getAvailableVersions()) {
+            List<IcccExecutableSiteGroupDto> groups = IcccRecodeUtils.getInternalData(version);
+            IcdO3RuleTable<IcccRecodeOutputDto> table = IcccRecodeUtils.getTable(version);
+
+            // every site/histology covered by the table, against the first matching group (all the behaviors for the valid histologies)
+            for (int site = 0; site <= IcdO3RuleTable.MAX_SITE; site++) {
+                List<IcccExecutableSiteGroupDto> siteGroups = new ArrayList<>();
+                for (IcccExecutableSiteGroupDto group : groups)
+                    if (group.matchesSite(site))
+                        siteGroups.add(group);
+                for (int hist = 0; hist <= IcdO3RuleTable.MAX_HISTOLOGY; hist++) {
+                    List<IcccExecutableSiteGroupDto> candidates = new ArrayList<>();
+                    for (IcccExecutableSiteGroupDto group : siteGroups)
+                        if (group.matchesHistology(hist))
+                            candidates.add(group);
+                    for (int behavior = hist >= 8000 ? -1 : 3; behavior <= (hist >= 8000 ? 9 : 3); behavior++)
+                        assertSameRecodes(candidates, table, site, hist, behavior);
+                }
+            }
+
+            // values not covered by the table
+            for (String site : List.of("C1000", "C500")) {
+                for (String hist : List.of("8000", "10000")) {
+                    IcccExecutableSiteGroupDto expected = null;
+                    for (IcccExecutableSiteGroupDto group : groups) {
+                        if (group.matches(Integer.valueOf(site.substring(1)), Integer.valueOf(hist), 3)) {
+                            expected = group;
+                            break;
+                        }
+                    }
+                    IcccRecodeOutputDto actual = IcccRecodeUtils.calculateRecodes(version, site, hist, "3");
+                    Assert.assertEquals(expected == null ? "999" : expected.getRecode(), actual.getRecode());
+                    Assert.assertEquals(expected == null || StringUtils.isEmpty(expected.getRecodeExtended()) ? "999" : expected.getRecodeExtended(), actual.getRecodeExtended());
+                }
+            }
+        }
+    }
+
+    private static void assertSameRecodes(List<IcccExecutableSiteGroupDto> candidates, IcdO3RuleTable<IcccRecodeOutputDto> table, int site, int hist, int behavior) {
+        IcccExecutableSiteGroupDto expected = null;
+        for (IcccExecutableSiteGroupDto group : candidates) {
+            if (group.matches(site, hist, behavior)) {
+                expected = group;
+                break;
+            }
+        }
+        IcccRecodeOutputDto actual = table.lookup(site, hist, behavior, -1);
+        String description = "site " + site + ", histology " + hist + " and behavior " + behavior;
+        if (expected == null)
+            Assert.assertNull(description, actual);
+        else {
+            Assert.assertNotNull(description, actual);
+            Assert.assertEquals(description, expected.getRecode(), actual.getRecode());
+            Assert.assertEquals(description, StringUtils.isEmpty(expected.getRecodeExtended()) ? "999" : expected.getRecodeExtended(), actual.getRecodeExtended());
+            Assert.assertEquals(description, IcccRecodeUtils.calculateIcccMajorCategory(expected.getRecode()), actual.getMajorCategory());
+        }
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CensusDataTableTest {
+
+    @Test
+    public void testKey() {
+        Assert.assertNotEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", "001", "020100"));
+        Assert.assertNotEquals(CensusDataTable.key("AL", "001", "020100"), CensusDataTable.key("AL", "001", "020200"));
+        Assert.assertNotEquals(CensusDataTable.key("AL", "001", "020100"), CensusDataTable.key("AL", "003", "020100"));
+        Assert.assertNotEquals(CensusDataTable.key("AL", "001", "020100"), CensusDataTable.key("AK", "001", "020100"));
+        Assert.assertNotEquals(CensusDataTable.key("ZZ", "999", "999999"), CensusDataTable.NO_KEY);
+
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key(null, "001", "020100"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", null, "020100"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", "001", null));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("al", "001", "020100"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("ALA", "001", "020100"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", "1", "020100"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", "001", "0201"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", "001", "02010A"));
+        Assert.assertEquals(CensusDataTable.NO_KEY, CensusDataTable.key("AL", " 01", "020100"));
+    }
+
+    @Test
+    public void testTable() {
+        Map<String, StateData> stateData = new HashMap<>();
+        for (String state : new String[] {"AK", "AL", "CA", "WY"}) {
+            StateData data = new StateData();
+            for (int county = 1; county <= 25; county += 2) {
+                CountyData countyData = new CountyData();
+                for (int tract = 0; tract < 40; tract++)
+                    countyData.getData().put(String.format("%06d", tract * 100), new CensusData());
+                data.getData().put(String.format("%03d", county), countyData);
+            }
+            stateData.put(state, data);
+        }
+        // values that can't be packed are ignored by the table
+        stateData.get("AL").getData().get("001").getData().put("99999", new CensusData());
+
+        for (Entry<String, StateData> stateEntry : stateData.entrySet()) {
+            CensusDataTable table = stateEntry.getValue().getCensusDataTable(stateEntry.getKey());
+            for (Entry<String, CountyData> countyEntry : stateEntry.getValue().getData().entrySet())
+                for (Entry<String, CensusData> tractEntry : countyEntry.getValue().getData().entrySet())
+                    if (tractEntry.getKey().length() == 6)
+                        Assert.assertSame(tractEntry.getValue(), table.get(CensusDataTable.key(stateEntry.getKey(), countyEntry.getKey(), tractEntry.getKey())));
+            Assert.assertNull(table.get(CensusDataTable.key(stateEntry.getKey(), "002", "000100")));
+            Assert.assertNull(table.get(CensusDataTable.key(stateEntry.getKey(), "001", "000150")));
+            Assert.assertNull(table.get(CensusDataTable.key("NY", "001", "000100")));
+
+            // the table is created only once, and it's not shared with a copy of the data
+            Assert.assertSame(table, stateEntry.getValue().getCensusDataTable(stateEntry.getKey()));
+            Assert.assertNotSame(table, new StateData(stateEntry.getValue()).getCensusDataTable(stateEntry.getKey()));
+        }
+
+        Assert.assertNull(new StateData().getCensusDataTable("AL").get(CensusDataTable.key("AL", "001", "000100")));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CensusDataTest {
+
+    @Test
+    public void testCodes() {
+        CensusData data = new CensusData();
+        Assert.assertNull(data.getCommutingArea2010());
+        Assert.assertNull(data.getEpht2010GeoId5k());
+
+        data.setCommutingArea2010("A");
+        data.setIndicatorCode2010("1");
+        data.setCongressionalDistrict118("01");
+        data.setEpht2010GeoId5k("00060713015");
+        Assert.assertEquals("A", data.getCommutingArea2010());
+        Assert.assertEquals("1", data.getIndicatorCode2010());
+        Assert.assertEquals("01", data.getCongressionalDistrict118());
+        Assert.assertEquals("00060713015", data.getEpht2010GeoId5k());
+        Assert.assertNull(data.getCommutingArea2000());
+
+        data.setIndicatorCode2010(null);
+        Assert.assertNull(data.getIndicatorCode2010());
+
+        // same values should share the same instance
+        CensusData other = new CensusData();
+        other.setCommutingArea2010(new String("A"));
+        Assert.assertSame(data.getCommutingArea2010(), other.getCommutingArea2010());
+    }
+
+    @Test
+    public void testYearData() {
+        CensusData data = new CensusData();
+        Assert.assertNull(data.getYearData("2008"));
+
+        YearData yearData = data.getOrCreateYearData(2008);
+        yearData.setYostQuintileUS("2");
+        yearData.setYostQuintileState("");
+        yearData.setAcsPctPovAllRaces("14.76");
+        yearData.setAcsPctPovWhite("0.05");
+        yearData.setAcsPctPovBlack("100.00");
+        yearData.setAcsPctPovAIAN("");
+        yearData.setAcsPctPovHispanic("3.10");
+        data.getOrCreateYearData(2009).setAcsPctPovAllRaces("1.00");
+
+        yearData = data.getYearData("2008");
+        Assert.assertEquals("2", yearData.getYostQuintileUS());
+        Assert.assertEquals("", yearData.getYostQuintileState());
+        Assert.assertEquals("14.76", yearData.getAcsPctPovAllRaces());
+        Assert.assertEquals("0.05", yearData.getAcsPctPovWhite());
+        Assert.assertEquals("100.00", yearData.getAcsPctPovBlack());
+        Assert.assertEquals("", yearData.getAcsPctPovAIAN());
+        Assert.assertEquals("3.10", yearData.getAcsPctPovHispanic());
+        Assert.assertNull(yearData.getAcsPctPovAsianNHOPI());
+        Assert.assertEquals("1.00", data.getYearData("2009").getAcsPctPovAllRaces());
+        Assert.assertNull(data.getYearData("2010").getAcsPctPovAllRaces());
+
+        Assert.assertNull(data.getYearData(String.valueOf(CountryData.TRACT_YEAR_MIN_VAL - 1)));
+        Assert.assertNull(data.getYearData(String.valueOf(CountryData.TRACT_YEAR_MAX_VAL + 1)));
+        Assert.assertNull(data.getYearData("XXXX"));
+        Assert.assertNull(data.getYearData(null));
+
+        // standalone year data
+        yearData = new YearData();
+        Assert.assertNull(yearData.getAcsPctPovAllRaces());
+        yearData.setAcsPctPovAllRaces("9.99");
+        Assert.assertEquals("9.99", yearData.getAcsPctPovAllRaces());
+
+        // values that can't be stored as fixed-point values are returned unchanged
+        for (String value : List.of("9.9", "ABC", "09.99", "-1.00", "999.99", "1000.00", " 1.00"))
+            yearData.setAcsPctPovAllRaces(value);
+        for (String value : List.of("9.9", "ABC", "09.99", "-1.00", "999.99", "1000.00", " 1.00")) {
+            yearData.setAcsPctPovWhite(value);
+            Assert.assertEquals(value, yearData.getAcsPctPovWhite());
+        }
+        Assert.assertEquals(" 1.00", yearData.getAcsPctPovAllRaces());
+        yearData.setAcsPctPovWhite("327.67");
+        Assert.assertEquals("327.67", yearData.getAcsPctPovWhite());
+        yearData.setAcsPctPovWhite("0.00");
+        Assert.assertEquals("0.00", yearData.getAcsPctPovWhite());
+    }
+}
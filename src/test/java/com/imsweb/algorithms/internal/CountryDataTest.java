@@ -3,20 +3,42 @@
  */
 package com.imsweb.algorithms.internal;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.imsweb.algorithms.StateCountyTractInputDto;
 import com.imsweb.algorithms.censustractpovertyindicator.CensusTractPovertyIndicatorInputDto;
 import com.imsweb.algorithms.censustractpovertyindicator.CensusTractPovertyIndicatorUtils;
+import com.imsweb.algorithms.internal.CountryData.DatasetKind;
 import com.imsweb.algorithms.ruralurban.RuralUrbanUtils;
 
 public class CountryDataTest {
@@ -24,6 +46,259 @@ public class CountryDataTest {
     // using this to disable this test in the integration build!
     private static final boolean _RUN_FULL_TEST = false;
 
+    @Rule
+    public TemporaryFolder _tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void testInitializeTractDataForMultipleStates() {
+        CountryData.getInstance().uninitializeAllData();
+        try {
+            CountryData.getInstance().initializeTractData(Arrays.asList("AL", "AK", "ZZ"), true);
+            for (String state : Arrays.asList("AL", "AK", "ZZ")) {
+                Assert.assertTrue(CountryData.getInstance().isTractDataInitialized(state));
+                Assert.assertTrue(CountryData.getInstance().isYearBasedTractDataInitialized(state));
+            }
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("CA"));
+            Assert.assertNull(CountryData.getInstance().getTractData("ZZ"));
+
+            CensusData censusData = CountryData.getInstance().getTractData("AL").getCountyData("001").getCensusData("020200");
+            Assert.assertEquals("1", censusData.getIndicatorCode2010());
+            Assert.assertEquals("2", censusData.getYearData("2008").getYostQuintileUS());
+            Assert.assertEquals("14.76", censusData.getYearData("2008").getAcsPctPovAllRaces());
+
+            // initializing all the states should keep the data that was already loaded
+            CountryData.getInstance().initializeAllTractData();
+            Assert.assertTrue(CountryData.getInstance().isTractDataInitialized("CA"));
+            Assert.assertTrue(CountryData.getInstance().isYearBasedTractDataInitialized("CA"));
+            Assert.assertNotNull(CountryData.getInstance().getTractData("CA"));
+            censusData = CountryData.getInstance().getTractData("AL").getCountyData("001").getCensusData("020200");
+            Assert.assertEquals("1", censusData.getIndicatorCode2010());
+            Assert.assertEquals("14.76", censusData.getYearData("2008").getAcsPctPovAllRaces());
+        }
+        finally {
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
+    @Test
+    public void testTractCensusData() {
+        CountryData.getInstance().uninitializeAllData();
+        try {
+            Assert.assertThrows(IllegalStateException.class, () -> CountryData.getInstance().getTractCensusData("AL", "001", "020200"));
+
+            CountryData.getInstance().initializeTractData(Arrays.asList("AL", "AK"), false);
+            for (String state : Arrays.asList("AL", "AK")) {
+                StateData stateData = CountryData.getInstance().getTractData(state);
+                for (Entry<String, CountyData> countyEntry : stateData.getData().entrySet())
+                    for (Entry<String, CensusData> tractEntry : countyEntry.getValue().getData().entrySet())
+                        Assert.assertSame(tractEntry.getValue(), CountryData.getInstance().getTractCensusData(state, countyEntry.getKey(), tractEntry.getKey()));
+            }
+            Assert.assertNull(CountryData.getInstance().getTractCensusData("AL", "001", "999999"));
+            Assert.assertNull(CountryData.getInstance().getTractCensusData("AL", "999", "020200"));
+            Assert.assertNull(CountryData.getInstance().getTractCensusData("AL", "001", null));
+            Assert.assertThrows(IllegalStateException.class, () -> CountryData.getInstance().getTractCensusData("CA", "001", "020200"));
+            Assert.assertThrows(IllegalStateException.class, () -> CountryData.getInstance().getYearBasedTractCensusData("AL", "001", "020200"));
+
+            // the lookups need to see the data initialized after they were first used
+            CountryData.getInstance().initializeTractData("CA");
+            StateData stateData = CountryData.getInstance().getTractData("CA");
+            Entry<String, CountyData> countyEntry = stateData.getData().entrySet().iterator().next();
+            Entry<String, CensusData> tractEntry = countyEntry.getValue().getData().entrySet().iterator().next();
+            Assert.assertSame(tractEntry.getValue(), CountryData.getInstance().getTractCensusData("CA", countyEntry.getKey(), tractEntry.getKey()));
+        }
+        finally {
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        CountryData.getInstance().uninitializeAllData();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Set<DatasetKind> datasets = EnumSet.allOf(DatasetKind.class);
+            Map<DatasetKind, Integer> loaded = new ConcurrentHashMap<>();
+            CountryData.getInstance().preload(Arrays.asList("AL", "AK"), datasets, pool, (dataset, numLoaded, numRequested) -> {
+                Assert.assertEquals(datasets.size(), numRequested);
+                loaded.put(dataset, numLoaded);
+            }).get(1, TimeUnit.MINUTES);
+
+            Assert.assertEquals(datasets, loaded.keySet());
+            Assert.assertEquals(new HashSet<>(loaded.values()), new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6)));
+            for (String state : Arrays.asList("AL", "AK")) {
+                Assert.assertTrue(CountryData.getInstance().isTractDataInitialized(state));
+                Assert.assertTrue(CountryData.getInstance().isYearBasedTractDataInitialized(state));
+                Assert.assertTrue(CountryData.getInstance().isContinuumDataInitialized(state));
+            }
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("CA"));
+            Assert.assertFalse(CountryData.getInstance().isContinuumDataInitialized("CA"));
+            Assert.assertTrue(CountryData.getInstance().isPrcdaDataInitialized());
+            Assert.assertTrue(CountryData.getInstance().isUihoDataInitialized());
+            Assert.assertTrue(CountryData.getInstance().isCountyAtDxAnalysisInitialized());
+            Assert.assertNotNull(CountryData.getInstance().getContinuumStateData("AL").getCountyData("001").getUrbanContinuum2013());
+
+            // only the year-based data for all the states
+            CountryData.getInstance().preload(null, EnumSet.of(DatasetKind.YEAR_BASED_TRACT), pool).get(1, TimeUnit.MINUTES);
+            Assert.assertTrue(CountryData.getInstance().isYearBasedTractDataInitialized("CA"));
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("CA"));
+        }
+        finally {
+            pool.shutdown();
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
+    @Test
+    public void testTractDataBudget() {
+        CountryData.getInstance().uninitializeAllData();
+        try {
+            CountryData.getInstance().setTractDataBudget(2, 0);
+            long numEvictions = CountryData.getInstance().getNumTractDataEvictions();
+            long numReloads = CountryData.getInstance().getNumTractDataReloads();
+
+            CountryData.getInstance().initializeTractData("AL");
+            CountryData.getInstance().initializeTractData("AK");
+            Assert.assertEquals(numEvictions, CountryData.getInstance().getNumTractDataEvictions());
+            Assert.assertNotNull(CountryData.getInstance().getTractData("AK"));
+
+            // AL is the least recently used state, it should be evicted
+            CountryData.getInstance().initializeTractData("CA");
+            Assert.assertEquals(numEvictions + 1, CountryData.getInstance().getNumTractDataEvictions());
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("AL"));
+            Assert.assertTrue(CountryData.getInstance().isTractDataInitialized("AK"));
+            Assert.assertTrue(CountryData.getInstance().isTractDataInitialized("CA"));
+
+            // evicted data is transparently reloaded (and AK gets evicted)
+            StateData stateData = CountryData.getInstance().getTractData("AL");
+            Assert.assertNotNull(stateData);
+            Assert.assertTrue(stateData.hasTractData());
+            Assert.assertEquals(numReloads + 1, CountryData.getInstance().getNumTractDataReloads());
+            Assert.assertEquals(numEvictions + 2, CountryData.getInstance().getNumTractDataEvictions());
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("AK"));
+
+            // states that were never loaded still can't be accessed
+            Assert.assertThrows(IllegalStateException.class, () -> CountryData.getInstance().getTractData("NY"));
+
+            // a tiny budget evicts everything
+            Assert.assertTrue(CountryData.getInstance().getEstimatedTractDataSize() > 0);
+            CountryData.getInstance().setTractDataBudget(0, 1);
+            Assert.assertEquals(0, CountryData.getInstance().getEstimatedTractDataSize());
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("AL"));
+            Assert.assertFalse(CountryData.getInstance().isTractDataInitialized("CA"));
+        }
+        finally {
+            CountryData.getInstance().setTractDataBudget(0, 0);
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
+    @Test
+    public void testTractDataSource() throws IOException {
+        CountryData.getInstance().uninitializeAllData();
+        try {
+            // use the first line of the default data, with a different cancer reporting zone, as the "new" data
+            String line;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                    Objects.requireNonNull(Thread.currentThread().getContextClassLoader().getResourceAsStream("tract/tract-data.txt.gz"))), StandardCharsets.US_ASCII))) {
+                line = reader.readLine();
+            }
+            String state = line.substring(0, 2);
+            String county = line.substring(2, 5);
+            String tract = line.substring(5, 11);
+            int offset = 0;
+            for (Entry<String, Integer> entry : CountryData.getTractFields().entrySet()) {
+                if ("cancerReportingZone".equals(entry.getKey()))
+                    break;
+                offset += entry.getValue();
+            }
+            String newLine = line.substring(0, offset) + "Z123456789" + line.substring(offset + 10);
+
+            Path dir = _tmpFolder.newFolder().toPath();
+            Path textFile = dir.resolve(state + ".txt.gz");
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(textFile)), StandardCharsets.US_ASCII)) {
+                writer.write(newLine + "\n");
+            }
+            Path snapshotFile = _tmpFolder.newFile().toPath();
+            TractDataSnapshot.write(textFile, snapshotFile);
+
+            CountryData.getInstance().initializeTractData(state);
+            StateData oldData = CountryData.getInstance().getTractData(state);
+            String oldValue = oldData.getCountyData(county).getCensusData(tract).getCancerReportingZone();
+            Assert.assertNotEquals("Z123456789", oldValue);
+
+            for (TractDataSource source : Arrays.asList(TractDataSource.ofDirectory(dir), TractDataSource.ofTextFile(textFile), TractDataSource.ofSnapshot(snapshotFile))) {
+                CountryData.getInstance().setTractDataSource(source);
+                Assert.assertSame(source, CountryData.getInstance().getTractDataSource());
+
+                // the loaded data is replaced, but the data that was already returned is not modified
+                Assert.assertTrue(CountryData.getInstance().isTractDataInitialized(state));
+                Assert.assertEquals("Z123456789", CountryData.getInstance().getTractData(state).getCountyData(county).getCensusData(tract).getCancerReportingZone());
+                Assert.assertEquals(oldValue, oldData.getCountyData(county).getCensusData(tract).getCancerReportingZone());
+            }
+
+            // switching back to the default source
+            CountryData.getInstance().setTractDataSource(TractDataSource.ofResources());
+            Assert.assertEquals(oldValue, CountryData.getInstance().getTractData(state).getCountyData(county).getCensusData(tract).getCancerReportingZone());
+        }
+        finally {
+            CountryData.getInstance().setTractDataSource(TractDataSource.ofResources());
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        CountryData.getInstance().uninitializeAllData();
+        try {
+            CountyData continuumData = new CountyData();
+            continuumData.setUrbanContinuum2013("01");
+            CountryData.getInstance().initializeContinuumData("XX", Collections.singletonMap("XX", Collections.singletonMap("001", continuumData)));
+            StateData stateData = CountryData.getInstance().getContinuumStateData("XX");
+            Assert.assertEquals("01", stateData.getCountyData("001").getUrbanContinuum2013());
+
+            CountyData prcdaData = new CountyData();
+            prcdaData.setPrcda("1");
+            CountryData.getInstance().initializePrcdaData(Collections.singletonMap("XX", Collections.singletonMap("001", prcdaData)));
+
+            // data that was already returned should never be modified
+            Assert.assertNull(stateData.getCountyData("001").getPrcda());
+
+            StateData newStateData = CountryData.getInstance().getPrcdaData("XX");
+            Assert.assertNotSame(stateData, newStateData);
+            Assert.assertEquals("1", newStateData.getCountyData("001").getPrcda());
+            Assert.assertEquals("01", newStateData.getCountyData("001").getUrbanContinuum2013());
+            Assert.assertSame(newStateData, CountryData.getInstance().getContinuumStateData("XX"));
+
+            // registering county data shouldn't copy the tract data, but loading the tract data of a state shouldn't modify the published one
+            CountryData.getInstance().initializeTractData("AK");
+            stateData = CountryData.getInstance().getTractData("AK");
+            String county = stateData.getData().keySet().iterator().next();
+            String tract = stateData.getCountyData(county).getData().keySet().iterator().next();
+            CensusData censusData = stateData.getCountyData(county).getCensusData(tract);
+            Assert.assertNull(censusData.getYearData("2008"));
+
+            CountyData uihoData = new CountyData();
+            uihoData.setUiho("1");
+            CountryData.getInstance().initializeUihoData(Collections.singletonMap("AK", Collections.singletonMap(county, uihoData)));
+            newStateData = CountryData.getInstance().getTractData("AK");
+            Assert.assertNotSame(stateData, newStateData);
+            Assert.assertEquals("1", newStateData.getCountyData(county).getUiho());
+            Assert.assertNull(stateData.getCountyData(county).getUiho());
+            Assert.assertSame(censusData, newStateData.getCountyData(county).getCensusData(tract));
+
+            CountryData.getInstance().initializeYearBasedTractData("AK");
+            Assert.assertNull(censusData.getYearData("2008"));
+            CensusData newCensusData = CountryData.getInstance().getYearBasedTractData("AK").getCountyData(county).getCensusData(tract);
+            Assert.assertNotSame(censusData, newCensusData);
+            Assert.assertNotNull(newCensusData.getYearData("2008"));
+            Assert.assertEquals(censusData.getCommutingArea2010(), newCensusData.getCommutingArea2010());
+            Assert.assertEquals("1", CountryData.getInstance().getUihoData("AK").getCountyData(county).getUiho());
+        }
+        finally {
+            CountryData.getInstance().uninitializeAllData();
+        }
+    }
+
     @Test
     @SuppressWarnings({"java:S2925", "ResultOfMethodCallIgnored"}) // calling Thread.sleep
     public void testConcurrency() throws InterruptedException {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IcdO3RuleTableTest {
+
+    @Test
+    public void testToCodeRanges() {
+        Assert.assertNull(IcdO3Rule.toCodeRanges(null, "C", 3));
+        Assert.assertEquals(IntRangeSet.EMPTY, IcdO3Rule.toCodeRanges(new ArrayList<>(), "C", 3));
+        Assert.assertEquals(IntRangeSet.of(500, 509, 619, 619), IcdO3Rule.toCodeRanges(List.of(Range.of("C500", "C509"), "C619"), "C", 3));
+        Assert.assertEquals(IntRangeSet.of(8000, 8005), IcdO3Rule.toCodeRanges(List.of(Range.of("8000", "8005")), "", 4));
+
+        // values that are not codes are used as bounds (like when they are compared as strings), but not as single values
+        Assert.assertEquals(IntRangeSet.of(420, 429), IcdO3Rule.toCodeRanges(List.of(Range.of("C42", "C429")), "C", 3));
+        Assert.assertEquals(IntRangeSet.of(0, 419), IcdO3Rule.toCodeRanges(List.of(Range.of("C", "C42")), "C", 3));
+        Assert.assertEquals(IntRangeSet.of(999, 999), IcdO3Rule.toCodeRanges(List.of(Range.of("C999", "D")), "C", 3));
+        Assert.assertEquals(IntRangeSet.EMPTY, IcdO3Rule.toCodeRanges(List.of("C42", "C4200", Range.of("D000", "D999")), "C", 3));
+    }
+
+    @Test
+    public void testParseFixedCode() {
+        Assert.assertEquals(500, IcdO3RuleTable.parseFixedCode("C500", "C", 3));
+        Assert.assertEquals(8, IcdO3RuleTable.parseFixedCode("0008", "", 4));
+        Assert.assertEquals(-1, IcdO3RuleTable.parseFixedCode(null, "C", 3));
+        Assert.assertEquals(-1, IcdO3RuleTable.parseFixedCode("C50", "C", 3));
+        Assert.assertEquals(-1, IcdO3RuleTable.parseFixedCode("C5000", "C", 3));
+        Assert.assertEquals(-1, IcdO3RuleTable.parseFixedCode("500", "C", 3));
+        Assert.assertEquals(-1, IcdO3RuleTable.parseFixedCode("C50A", "C", 3));
+    }
+
+    @Test
+    public void testLookup() {
+        // first match wins
+        IcdO3Rule<String> rule1 = new IcdO3Rule<>("1");
+        rule1.setSiteInclusions(IntRangeSet.of(500, 509));
+        rule1.setHistologyExclusions(IntRangeSet.of(9590, 9993));
+        rule1.setBehaviorInclusions(IntRangeSet.of(3, 3));
+        IcdO3Rule<String> rule2 = new IcdO3Rule<>("2");
+        rule2.setSiteInclusions(IntRangeSet.of(500, 509));
+        rule2.setMinDxYear(2020);
+        IcdO3Rule<String> rule3 = new IcdO3Rule<>("3");
+        rule3.setHistologyInclusions(IntRangeSet.of(9590, 9993));
+        rule3.setMaxDxYear(2019);
+        IcdO3Rule<String> rule4 = new IcdO3Rule<>("4");
+        rule4.setSiteExclusions(IntRangeSet.of(0, 99));
+        IcdO3RuleTable<String> table = new IcdO3RuleTable<>(List.of(rule1, rule2, rule3, rule4));
+
+        Assert.assertEquals(4, table.getRules().size());
+        Assert.assertEquals("1", table.lookup(500, 8000, 3, -1));
+        Assert.assertEquals("2", table.lookup(500, 9590, 3, 2020));
+        Assert.assertEquals("3", table.lookup(500, 9590, 3, 2019));
+        Assert.assertEquals("4", table.lookup(500, 9590, 3, -1));
+        Assert.assertEquals("4", table.lookup(500, 8000, -1, -1));
+        Assert.assertEquals("3", table.lookup(50, 9590, 2, 2000));
+        Assert.assertNull(table.lookup(50, 8000, 3, 2020));
+
+        // the values outside of the table are checked against the rules
+        Assert.assertEquals("4", table.lookup(1000, 8000, 3, -1));
+        Assert.assertEquals("4", table.lookup(500, 10000, 15, -1));
+        Assert.assertNull(table.lookup(50, 10000, 15, -1));
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        IcdO3Rule<String> rule1 = new IcdO3Rule<>("1");
+        rule1.setSiteInclusions(IntRangeSet.of(500, 509));
+        rule1.setMinDxYear(2020);
+        IcdO3Rule<String> rule2 = new IcdO3Rule<>(null);
+        rule2.setHistologyInclusions(IntRangeSet.of(9590, 9993));
+        IcdO3Rule<String> rule3 = new IcdO3Rule<>("3");
+        rule3.setSiteExclusions(IntRangeSet.of(0, 99));
+        rule3.setMaxDxYear(2019);
+        List<IcdO3Rule<String>> rules = List.of(rule1, rule2, rule3);
+        IcdO3RuleTable<String> table = new IcdO3RuleTable<>(rules);
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        table.write(os, r -> r);
+        IcdO3RuleTable<String> readTable = IcdO3RuleTable.read(new ByteArrayInputStream(os.toByteArray()), r -> r, () -> rules);
+        for (int site : new int[] {50, 500, 1000})
+            for (int hist : new int[] {8000, 9590, 10000})
+                for (int year : new int[] {-1, 2019, 2020})
+                    Assert.assertEquals(table.lookup(site, hist, 3, year), readTable.lookup(site, hist, 3, year));
+
+        // the table is written the same way every time
+        ByteArrayOutputStream os2 = new ByteArrayOutputStream();
+        readTable.write(os2, r -> r);
+        Assert.assertArrayEquals(os.toByteArray(), os2.toByteArray());
+
+        try {
+            IcdO3RuleTable.read(new ByteArrayInputStream(new byte[] {1, 2, 3}), r -> r, () -> rules);
+            Assert.fail("Expected an exception");
+        }
+        catch (IOException | IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLookupRandomRules() {
+        Random random = new Random(42);
+        List<IcdO3Rule<Integer>> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            IcdO3Rule<Integer> rule = new IcdO3Rule<>(i);
+            if (random.nextBoolean())
+                rule.setSiteInclusions(createRanges(random, 999));
+            else if (random.nextBoolean())
+                rule.setSiteExclusions(createRanges(random, 999));
+            if (random.nextBoolean())
+                rule.setHistologyInclusions(createRanges(random, 9999));
+            if (random.nextBoolean())
+                rule.setHistologyExclusions(createRanges(random, 9999));
+            if (random.nextBoolean())
+                rule.setBehaviorInclusions(createRanges(random, 9));
+            if (random.nextInt(4) == 0)
+                rule.setMinDxYear(2000 + random.nextInt(20));
+            if (random.nextInt(4) == 0)
+                rule.setMaxDxYear(2010 + random.nextInt(20));
+            rules.add(rule);
+        }
+        IcdO3RuleTable<Integer> table = new IcdO3RuleTable<>(rules);
+
+        for (int i = 0; i < 100000; i++) {
+            int site = random.nextInt(1000);
+            int hist = random.nextInt(10000);
+            int behavior = random.nextInt(11) - 1;
+            int year = random.nextInt(5) == 0 ? -1 : 1995 + random.nextInt(40);
+            Integer expected = null;
+            for (IcdO3Rule<Integer> rule : rules) {
+                if (rule.matches(site, hist, behavior, year)) {
+                    expected = rule.getResult();
+                    break;
+                }
+            }
+            Assert.assertEquals(Arrays.asList(site, hist, behavior, year).toString(), expected, table.lookup(site, hist, behavior, year));
+        }
+    }
+
+    private static IntRangeSet createRanges(Random random, int maxValue) {
+        int[] ranges = new int[(random.nextInt(3) + 1) * 2];
+        for (int i = 0; i < ranges.length; i += 2) {
+            ranges[i] = random.nextInt(maxValue + 1);
+            ranges[i + 1] = Math.min(maxValue, ranges[i] + random.nextInt(maxValue / 5 + 1));
+        }
+        return IntRangeSet.of(ranges);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntRangeSetTest {
+
+    @Test
+    public void testOf() {
+        Assert.assertSame(IntRangeSet.EMPTY, IntRangeSet.of());
+        Assert.assertTrue(IntRangeSet.of().isEmpty());
+
+        // the ranges are sorted, overlapping and adjacent ranges are merged
+        IntRangeSet set = IntRangeSet.of(20, 25, 1, 3, 4, 5, 10, 12, 11, 15, 30, 30);
+        Assert.assertEquals(4, set.getNumRanges());
+        Assert.assertEquals("1-5,10-15,20-25,30", set.toString());
+        Assert.assertEquals(1, set.getStart(0));
+        Assert.assertEquals(5, set.getEnd(0));
+        Assert.assertEquals(set, IntRangeSet.of(1, 5, 10, 15, 20, 25, 30, 30));
+        Assert.assertEquals(set.hashCode(), IntRangeSet.of(1, 5, 10, 15, 20, 25, 30, 30).hashCode());
+        Assert.assertNotEquals(set, IntRangeSet.of(1, 5));
+
+        Assert.assertEquals("-5--1,2147483647", IntRangeSet.of(Integer.MAX_VALUE, Integer.MAX_VALUE, -5, -1).toString());
+        Assert.assertEquals("-2147483648-2147483647", IntRangeSet.of(Integer.MIN_VALUE, 0, 1, Integer.MAX_VALUE).toString());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntRangeSet.of(1, 2, 3));
+        Assert.assertThrows(IllegalArgumentException.class, () -> IntRangeSet.of(2, 1));
+    }
+
+    @Test
+    public void testContains() {
+        IntRangeSet set = IntRangeSet.of(10, 15, 20, 20);
+        Assert.assertFalse(set.contains(9));
+        Assert.assertTrue(set.contains(10));
+        Assert.assertTrue(set.contains(12));
+        Assert.assertTrue(set.contains(15));
+        Assert.assertFalse(set.contains(16));
+        Assert.assertTrue(set.contains(20));
+        Assert.assertFalse(set.contains(21));
+        Assert.assertFalse(IntRangeSet.EMPTY.contains(0));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            int[] bounds = new int[(random.nextInt(5) + 1) * 2];
+            for (int j = 0; j < bounds.length; j += 2) {
+                bounds[j] = random.nextInt(100);
+                bounds[j + 1] = bounds[j] + random.nextInt(10);
+            }
+            set = IntRangeSet.of(bounds);
+            for (int value = -1; value <= 110; value++) {
+                boolean expected = false;
+                for (int j = 0; j < bounds.length; j += 2)
+                    expected |= value >= bounds[j] && value <= bounds[j + 1];
+                Assert.assertEquals(expected, set.contains(value));
+            }
+        }
+    }
+}
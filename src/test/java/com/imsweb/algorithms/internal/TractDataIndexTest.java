@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TractDataIndexTest {
+
+    @Test
+    public void testIndex() throws IOException {
+        List<String> lines = Arrays.asList("AK001000100", "AL001020200", "AL003010100", "CA001000100");
+
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        ByteArrayOutputStream indexData = new ByteArrayOutputStream();
+        TractDataIndex.write(new ByteArrayInputStream(gzip(lines)), blocks, indexData);
+        TractDataIndex index = TractDataIndex.read(new ByteArrayInputStream(indexData.toByteArray()));
+
+        Assert.assertEquals(Arrays.asList("AK", "AL", "CA"), List.copyOf(index.getStates()));
+        Assert.assertEquals(0, index.getOffset("AK"));
+        Assert.assertEquals(index.getLength("AK"), index.getOffset("AL"));
+        Assert.assertEquals(blocks.size(), index.getOffset("CA") + index.getLength("CA"));
+        Assert.assertEquals(-1, index.getOffset("ZZ"));
+        Assert.assertEquals(0, index.getLength("ZZ"));
+
+        // each block can be inflated on its own
+        byte[] data = blocks.toByteArray();
+        Assert.assertEquals(lines.subList(0, 1), gunzip(Arrays.copyOfRange(data, (int)index.getOffset("AK"), (int)index.getOffset("AK") + index.getLength("AK"))));
+        Assert.assertEquals(lines.subList(1, 3), gunzip(Arrays.copyOfRange(data, (int)index.getOffset("AL"), (int)index.getOffset("AL") + index.getLength("AL"))));
+        Assert.assertEquals(lines.subList(3, 4), gunzip(Arrays.copyOfRange(data, (int)index.getOffset("CA"), (int)index.getOffset("CA") + index.getLength("CA"))));
+
+        // but the entire file is still a valid GZip file
+        Assert.assertEquals(lines, gunzip(data));
+
+        // lines need to be sorted by state
+        Assert.assertThrows(IllegalStateException.class, () -> TractDataIndex.write(new ByteArrayInputStream(gzip(Arrays.asList("AL001020200", "AK001000100", "AL003010100"))),
+                new ByteArrayOutputStream(), new ByteArrayOutputStream()));
+
+        // invalid index
+        Assert.assertThrows(IllegalStateException.class, () -> TractDataIndex.read(new ByteArrayInputStream("AK;0;10\n".getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    private static byte[] gzip(List<String> lines) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(data), StandardCharsets.US_ASCII)) {
+            for (String line : lines)
+                writer.write(line + "\n");
+        }
+        return data.toByteArray();
+    }
+
+    private static List<String> gunzip(byte[] data) throws IOException {
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return Arrays.asList(new String(is.readAllBytes(), StandardCharsets.US_ASCII).split("\n"));
+        }
+    }
+}
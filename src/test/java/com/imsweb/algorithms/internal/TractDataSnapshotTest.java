@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map.Entry;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TractDataSnapshotTest {
+
+    @Test
+    public void testSnapshot() throws IOException {
+        String line1 = createLine("AK", "001", "000100", "0001200005");
+        String line2 = createLine("AL", "001", "020200", "10000     ");
+        String line3 = createLine("AL", "003", "010100", "          ");
+
+        TractDataSnapshot snapshot = createSnapshot(line1, line2, line3);
+
+        Assert.assertEquals(2, snapshot.getStates().size());
+        Assert.assertEquals(0, snapshot.getFirstRecord("AK"));
+        Assert.assertEquals(1, snapshot.getNumRecords("AK"));
+        Assert.assertEquals(1, snapshot.getFirstRecord("AL"));
+        Assert.assertEquals(2, snapshot.getNumRecords("AL"));
+        Assert.assertEquals(-1, snapshot.getFirstRecord("ZZ"));
+        Assert.assertEquals(0, snapshot.getNumRecords("ZZ"));
+
+        // every value should be returned as it would be after reading the text file
+        TractDataSnapshot.RecordReader reader = snapshot.newRecordReader();
+        String[] lines = {line1, line2, line3};
+        for (int record = 0; record < lines.length; record++) {
+            CensusData censusData = new CensusData();
+            reader.readYearBasedValues(record, censusData);
+            int index = 0;
+            for (Entry<String, Integer> entry : CountryData.getTractFields().entrySet()) {
+                String expected = lines[record].substring(index, index + entry.getValue());
+                if ("yearData".equals(entry.getKey())) {
+                    int yearIndex = 0;
+                    for (int year = CountryData.TRACT_YEAR_MIN_VAL; year <= CountryData.TRACT_YEAR_MAX_VAL; year++) {
+                        YearData yearData = censusData.getYearData(String.valueOf(year));
+                        for (Entry<String, Integer> yearEntry : CountryData.getTractYearBasedFields().entrySet()) {
+                            String expectedYearValue = expected.substring(yearIndex, yearIndex + yearEntry.getValue()).trim();
+                            Assert.assertEquals(getExpectedYearValue(yearEntry.getKey(), expectedYearValue), getYearValue(yearData, yearEntry.getKey()));
+                            yearIndex += yearEntry.getValue();
+                        }
+                    }
+                }
+                else if (!"stateAbbreviation".equals(entry.getKey()))
+                    Assert.assertEquals(StringUtils.trimToNull(expected), reader.getTractValue(record, entry.getKey()));
+                index += entry.getValue();
+            }
+        }
+
+        // the regular values are shared between the records
+        Assert.assertSame(reader.getTractValue(0, "cancerReportingZone"), reader.getTractValue(2, "cancerReportingZone"));
+        Assert.assertSame(reader.getTractValue(0, "countyFips"), reader.getTractValue(1, "countyFips"));
+
+        // lines need to be sorted by state
+        Assert.assertThrows(IllegalStateException.class, () -> createSnapshot(line2, line1, line3));
+    }
+
+    private static String getExpectedYearValue(String field, String value) {
+        if (!field.startsWith("percentBelowPoverty") || value.isEmpty())
+            return value;
+        return Integer.parseInt(value.substring(0, 3)) + "." + value.substring(3);
+    }
+
+    private static String getYearValue(YearData yearData, String field) {
+        return switch (field) {
+            case "yostUsBasedQuintile" -> yearData.getYostQuintileUS();
+            case "yostStateBasedQuintile" -> yearData.getYostQuintileState();
+            case "percentBelowPovertyAllRaces" -> yearData.getAcsPctPovAllRaces();
+            case "percentBelowPovertyWhite" -> yearData.getAcsPctPovWhite();
+            case "percentBelowPovertyBlack" -> yearData.getAcsPctPovBlack();
+            case "percentBelowPovertyAmIndian" -> yearData.getAcsPctPovAIAN();
+            case "percentBelowPovertyAsian" -> yearData.getAcsPctPovAsianNHOPI();
+            case "percentBelowPovertyWhiteNotHisp" -> yearData.getAcsPctPovWhiteNonHisp();
+            case "percentBelowPovertyHisp" -> yearData.getAcsPctPovHispanic();
+            default -> throw new IllegalArgumentException("Unknown year-based field: " + field);
+        };
+    }
+
+    private static String createLine(String state, String county, String tract, String yearValues) {
+        StringBuilder buf = new StringBuilder();
+        for (Entry<String, Integer> entry : CountryData.getTractFields().entrySet()) {
+            if ("stateAbbreviation".equals(entry.getKey()))
+                buf.append(state);
+            else if ("countyFips".equals(entry.getKey()))
+                buf.append(county);
+            else if ("censusTract".equals(entry.getKey()))
+                buf.append(tract);
+            else if ("yearData".equals(entry.getKey())) {
+                // each year uses the two quintiles followed by the provided poverty values, repeated for all the poverty fields
+                for (int year = CountryData.TRACT_YEAR_MIN_VAL; year <= CountryData.TRACT_YEAR_MAX_VAL; year++) {
+                    buf.append(year % 5 + 1).append(' ');
+                    for (int i = 0; i < CountryData.getTractYearBasedFields().size() - 2; i++)
+                        buf.append(yearValues, (year + i) % 2 * 5, (year + i) % 2 * 5 + 5);
+                }
+            }
+            else
+                buf.append(StringUtils.rightPad(StringUtils.left(entry.getKey(), entry.getValue() - 1), entry.getValue()));
+        }
+        return buf.toString();
+    }
+
+    private static TractDataSnapshot createSnapshot(String... lines) throws IOException {
+        ByteArrayOutputStream textData = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(textData), StandardCharsets.US_ASCII)) {
+            for (String line : lines)
+                writer.write(line + "\n");
+        }
+
+        ByteArrayOutputStream snapshotData = new ByteArrayOutputStream();
+        TractDataSnapshot.write(new ByteArrayInputStream(textData.toByteArray()), snapshotData);
+
+        return TractDataSnapshot.read(new ByteArrayInputStream(snapshotData.toByteArray()));
+    }
+}
@@ -44,6 +44,22 @@ public class UtilsTest {
         Assert.assertEquals(result, Utils.expandSites("C34"));
     }
 
+    @Test
+    public void testExpandAsRangeSet() {
+        Assert.assertNull(Utils.expandSitesAsRangeSet(null));
+        Assert.assertNull(Utils.expandSitesAsRangeSet(" "));
+        Assert.assertEquals(IntRangeSet.of(340, 349, 619, 619), Utils.expandSitesAsRangeSet("C619,C340-C349"));
+
+        Assert.assertNull(Utils.expandHistologiesAsRangeSet(""));
+        Assert.assertEquals(IntRangeSet.of(8000, 8005, 8010, 8010), Utils.expandHistologiesAsRangeSet("8000-8005,8010"));
+        Assert.assertThrows(IllegalStateException.class, () -> Utils.expandHistologiesAsRangeSet("800"));
+        Assert.assertThrows(IllegalStateException.class, () -> Utils.expandHistologiesAsRangeSet("8000-800"));
+
+        Assert.assertNull(Utils.expandBehaviorsAsRangeSet(null));
+        Assert.assertEquals(IntRangeSet.of(2, 3), Utils.expandBehaviorsAsRangeSet("2-3"));
+        Assert.assertThrows(IllegalStateException.class, () -> Utils.expandBehaviorsAsRangeSet("12"));
+    }
+
     @Test
     public void testExtractPatient() {
         AlgorithmInput input = new AlgorithmInput();
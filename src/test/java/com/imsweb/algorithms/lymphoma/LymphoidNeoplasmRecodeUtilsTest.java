@@ -3,9 +3,14 @@
  */
 package com.imsweb.algorithms.lymphoma;
 
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+
 import static com.imsweb.algorithms.lymphoma.LymphoidNeoplasmRecodeUtils.ALG_VERSION_2021;
 
 public class LymphoidNeoplasmRecodeUtilsTest {
@@ -64,4 +69,27 @@ public class LymphoidNeoplasmRecodeUtilsTest {
         Assert.assertEquals("44", LymphoidNeoplasmRecodeUtils.calculateSiteRecode(ALG_VERSION_2021, "C809", "9971"));
         Assert.assertEquals("99", LymphoidNeoplasmRecodeUtils.calculateSiteRecode(ALG_VERSION_2021, "C809", "8000"));
     }
+
+    @Test
+    public void testCompiledTable() {
+        List<LymphoidNeoplasmRecodeData> data = LymphoidNeoplasmRecodeUtils.getData();
+        IcdO3RuleTable<String> table = LymphoidNeoplasmRecodeUtils.getTable();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String site = String.format("C%03d", random.nextInt(1000));
+            String hist = String.format("%04d", random.nextBoolean() ? 9500 + random.nextInt(500) : random.nextInt(10000));
+            Assert.assertEquals(site + "/" + hist, findRecode(data, site, hist, null), table.lookup(Integer.parseInt(site.substring(1)), Integer.parseInt(hist), -1, -1));
+        }
+
+        // the values in other formats are compared as strings
+        for (String site : List.of("C80", "C8090", "809"))
+            Assert.assertEquals(site, findRecode(data, site, "9651", "99"), LymphoidNeoplasmRecodeUtils.calculateSiteRecode(ALG_VERSION_2021, site, "9651"));
+    }
+
+    private static String findRecode(List<LymphoidNeoplasmRecodeData> data, String site, String hist, String unknown) {
+        for (LymphoidNeoplasmRecodeData row : data)
+            if (row.matches(site, hist))
+                return row.getRecode();
+        return unknown;
+    }
 }
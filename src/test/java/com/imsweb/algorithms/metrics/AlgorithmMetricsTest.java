@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.Utils;
+import com.imsweb.algorithms.seersiterecode.SeerSiteRecodeAlgorithm;
+
+public class AlgorithmMetricsTest {
+
+    @BeforeClass
+    public static void setup() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+    }
+
+    @After
+    public void cleanup() {
+        Algorithms.setListener(null);
+    }
+
+    @Test
+    public void testMetrics() {
+        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        Algorithms.setListener(metrics);
+
+        // three known sites and two unknown ones
+        Algorithm algorithm = Algorithms.getAlgorithm(Algorithms.ALG_SEER_SITE_RECODE);
+        Assert.assertNotEquals(SeerSiteRecodeAlgorithm.class, algorithm.getClass());
+        algorithm.execute(createInput("C500", "C619"));
+        algorithm.executeBatch(List.of(createInput("C340"), createInput((String)null)));
+        algorithm.executeInPlace(createInput((String)null));
+
+        AlgorithmStats stats = metrics.getAlgorithmStats(Algorithms.ALG_SEER_SITE_RECODE);
+        Assert.assertEquals(3, stats.getNumCalls());
+        Assert.assertEquals(4, stats.getNumPatients());
+        Assert.assertEquals(5, stats.getNumTumors());
+        Assert.assertTrue(stats.getTotalTimeNanos() > 0);
+        Assert.assertEquals(stats.getTotalTimeNanos() / 4, stats.getAverageTimeNanos());
+        long numHistogramPatients = 0;
+        for (long count : stats.getLatencyHistogram())
+            numHistogramPatients += count;
+        Assert.assertEquals(4, numHistogramPatients);
+        Assert.assertEquals(Map.of(Algorithms.FIELD_SEER_SITE_RECODE, 2L), stats.getUnknownValueCounts());
+        Assert.assertNull(metrics.getAlgorithmStats(Algorithms.ALG_ICCC));
+        Assert.assertEquals(List.of(Algorithms.ALG_SEER_SITE_RECODE), new ArrayList<>(metrics.getAlgorithmStats().keySet()));
+
+        // data loading
+        Utils.processInternalFile("seersiterecode/site-recode-data-2023.csv", record -> {});
+        DataLoadStats loadStats = metrics.getDataLoadStats().get("seersiterecode/site-recode-data-2023.csv");
+        Assert.assertNotNull(loadStats);
+        Assert.assertEquals(1, loadStats.getNumLoads());
+        Assert.assertTrue(loadStats.getTotalBytes() > 0);
+
+        // no listener, no instrumentation
+        Algorithms.setListener(null);
+        Assert.assertEquals(SeerSiteRecodeAlgorithm.class, Algorithms.getAlgorithm(Algorithms.ALG_SEER_SITE_RECODE).getClass());
+        algorithm.execute(createInput("C500"));
+        Assert.assertEquals(4, stats.getNumPatients());
+
+        metrics.reset();
+        Assert.assertTrue(metrics.getAlgorithmStats().isEmpty());
+        Assert.assertTrue(metrics.getDataLoadStats().isEmpty());
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        Algorithms.setListener(metrics);
+
+        Algorithms.getAlgorithm(Algorithms.ALG_SEER_SITE_RECODE).execute(createInput("C500"));
+        metrics.registerMBeans(server);
+        Assert.assertThrows(IllegalStateException.class, () -> metrics.registerMBeans(server));
+        Algorithms.getAlgorithm(Algorithms.ALG_ICCC).execute(createInput("C500"));
+
+        // statistics created before and after the registration are both available
+        ObjectName name = new ObjectName(AlgorithmMetrics.JMX_DOMAIN + ":type=Algorithm,name=" + ObjectName.quote(Algorithms.ALG_SEER_SITE_RECODE));
+        Assert.assertEquals(1L, server.getAttribute(name, "NumPatients"));
+        name = new ObjectName(AlgorithmMetrics.JMX_DOMAIN + ":type=Algorithm,name=" + ObjectName.quote(Algorithms.ALG_ICCC));
+        Assert.assertEquals(1L, server.getAttribute(name, "NumTumors"));
+
+        metrics.unregisterMBeans();
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    private static AlgorithmInput createInput(String... sites) {
+        List<Map<String, Object>> tumors = new ArrayList<>();
+        for (String site : sites) {
+            Map<String, Object> tumor = new HashMap<>();
+            tumor.put(Algorithms.FIELD_PRIMARY_SITE, site);
+            tumor.put(Algorithms.FIELD_HIST_O3, "8000");
+            tumors.add(tumor);
+        }
+        Map<String, Object> patient = new HashMap<>();
+        patient.put(Algorithms.FIELD_TUMORS, tumors);
+        AlgorithmInput input = new AlgorithmInput();
+        input.setPatient(patient);
+        return input;
+    }
+}
@@ -1,11 +1,20 @@
 package com.imsweb.algorithms.seersiterecode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.algorithms.internal.IcdO3RuleTable;
+
+import static com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils.UNKNOWN_RECODE_2008;
+import static com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils.UNKNOWN_RECODE_2023;
 import static com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils.VERSION_2003;
 import static com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils.VERSION_2003_WITHOUT_KSM;
 import static com.imsweb.algorithms.seersiterecode.SeerSiteRecodeUtils.VERSION_2008;
@@ -216,4 +225,65 @@ public class SeerSiteRecodeUtilsTest {
         Assert.assertEquals("Other Oral Cavity and Pharynx", SeerSiteRecodeUtils.getRecodeName("20100", VERSION_2003_WITHOUT_KSM));
         Assert.assertEquals("Descending Colon", SeerSiteRecodeUtils.getRecodeName("21047", VERSION_2003_WITHOUT_KSM));
     }
+
+    @Test
+    public void testCompiledTable() {
+        for (String version : SeerSiteRecodeUtils.getAvailableVersions()) {
+            List<SeerExecutableSiteGroupDto> groups = SeerSiteRecodeUtils.getInternalData(version);
+            IcdO3RuleTable<String> table = SeerSiteRecodeUtils.getTable(version);
+
+            // the behaviors and years that can make a difference
+            List<Integer> behaviors = new ArrayList<>();
+            for (int behavior = -1; behavior <= 9; behavior++)
+                behaviors.add(behavior);
+            Set<Integer> years = new TreeSet<>(List.of(-1, 2023));
+            for (SeerExecutableSiteGroupDto group : groups)
+                for (Integer year : Arrays.asList(group.getMinDxYear(), group.getMaxDxYear()))
+                    if (year != null)
+                        years.addAll(List.of(year - 1, year, year + 1));
+
+            // every site/histology covered by the table, against the first matching group (all the behaviors and years for the valid histologies)
+            for (int site = 0; site <= IcdO3RuleTable.MAX_SITE; site++) {
+                List<SeerExecutableSiteGroupDto> siteGroups = new ArrayList<>();
+                for (SeerExecutableSiteGroupDto group : groups)
+                    if (group.matchesSite(site))
+                        siteGroups.add(group);
+                for (int hist = 0; hist <= IcdO3RuleTable.MAX_HISTOLOGY; hist++) {
+                    List<SeerExecutableSiteGroupDto> candidates = new ArrayList<>();
+                    for (SeerExecutableSiteGroupDto group : siteGroups)
+                        if (group.matchesHistology(hist))
+                            candidates.add(group);
+                    boolean allCombinations = hist >= 8000;
+                    for (int behavior : allCombinations ? behaviors : List.of(3))
+                        for (int year : allCombinations ? years : Set.of(2023))
+                            assertSameRecode(candidates, table, site, hist, behavior, year);
+                }
+            }
+
+            // values not covered by the table
+            String unknown = VERSION_2023.equals(version) || VERSION_2023_EXPANDED.equals(version) ? UNKNOWN_RECODE_2023 : UNKNOWN_RECODE_2008;
+            Assert.assertEquals(findRecode(groups, 1000, 8000, unknown), SeerSiteRecodeUtils.calculateSiteRecode(version, "C1000", "8000", "3", "2023"));
+            Assert.assertEquals(findRecode(groups, 500, 10000, unknown), SeerSiteRecodeUtils.calculateSiteRecode(version, "C500", "10000", "3", "2023"));
+        }
+    }
+
+    private static void assertSameRecode(List<SeerExecutableSiteGroupDto> candidates, IcdO3RuleTable<String> table, int site, int hist, int behavior, int year) {
+        String expected = null;
+        for (SeerExecutableSiteGroupDto group : candidates) {
+            if (group.matches(site, hist, behavior == -1 ? null : behavior, year == -1 ? null : year)) {
+                expected = group.getRecode();
+                break;
+            }
+        }
+        String actual = table.lookup(site, hist, behavior, year);
+        if (!Objects.equals(expected, actual))
+            Assert.fail("Expected " + expected + " but got " + actual + " for site " + site + ", histology " + hist + ", behavior " + behavior + " and year " + year);
+    }
+
+    private static String findRecode(List<SeerExecutableSiteGroupDto> groups, int site, int hist, String unknown) {
+        for (SeerExecutableSiteGroupDto group : groups)
+            if (group.matches(site, hist, 3, 2023))
+                return group.getRecode();
+        return unknown;
+    }
 }
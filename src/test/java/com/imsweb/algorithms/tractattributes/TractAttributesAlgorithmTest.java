@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.algorithms.tractattributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.imsweb.algorithms.Algorithm;
+import com.imsweb.algorithms.AlgorithmField;
+import com.imsweb.algorithms.AlgorithmInput;
+import com.imsweb.algorithms.Algorithms;
+import com.imsweb.algorithms.internal.Utils;
+
+public class TractAttributesAlgorithmTest {
+
+    @Test
+    public void testExecute() {
+        if (!Algorithms.isInitialized())
+            Algorithms.initialize();
+
+        // the composite algorithm is not registered, it would duplicate the individual ones
+        Assert.assertNull(Algorithms.getAlgorithm(Algorithms.ALG_TRACT_ATTRIBUTES));
+
+        Algorithm alg = new TractAttributesAlgorithm();
+
+        List<Map<String, Object>> tumors = new ArrayList<>();
+        tumors.add(createTumor("AL", "001", "020100", "020200", "020200", "20040101"));
+        tumors.add(createTumor("AL", "001", "020100", "020200", "020200", "2010"));
+        tumors.add(createTumor("AL", "001", "020100", "020200", "020200", "2019"));
+        tumors.add(createTumor("al", "001 ", "020100", " 020200", "020200", "2023"));
+        tumors.add(createTumor("LO", "071", "007903", "007903", "007903", "2012"));
+        tumors.add(createTumor("PR", "001", "956300", "956300", "956300", "2017"));
+        tumors.add(createTumor("AL", "000", "020100", "020200", "020200", "2012"));
+        tumors.add(createTumor("AL", "999", "999999", "999999", "999999", "2012"));
+        tumors.add(createTumor("XX", "001", "020100", "020200", "020200", "2012"));
+        tumors.add(createTumor(null, null, null, null, null, null));
+
+        AlgorithmInput input = new AlgorithmInput();
+        Map<String, Object> patMap = new HashMap<>();
+        patMap.put(Algorithms.FIELD_TUMORS, tumors);
+        input.setPatient(patMap);
+
+        List<Map<String, Object>> fusedTumors = Utils.extractTumors(alg.execute(input).getPatient());
+        Assert.assertEquals(tumors.size(), fusedTumors.size());
+
+        // the composite algorithm needs to return the exact same values as the individual ones
+        List<String> ids = Arrays.asList(Algorithms.ALG_RURAL_URBAN, Algorithms.ALG_CENSUS_POVERTY, Algorithms.ALG_ACS_LINKAGE, Algorithms.ALG_EPHT_SUBCOUNTY,
+                Algorithms.ALG_TRACT_EST_CONGRESS_DIST, Algorithms.ALG_CANCER_REPORTING_ZONE, Algorithms.ALG_PERSISTENT_POVERTY, Algorithms.ALG_SVI);
+        int numFields = 0;
+        for (String id : ids) {
+            Algorithm individualAlg = Algorithms.getAlgorithm(id);
+            List<Map<String, Object>> individualTumors = Utils.extractTumors(individualAlg.execute(input).getPatient());
+            for (AlgorithmField field : individualAlg.getOutputFields()) {
+                Assert.assertTrue(field.getId(), alg.getOutputFields().contains(field));
+                for (int i = 0; i < tumors.size(); i++)
+                    Assert.assertEquals(id + "/" + field.getId() + "/" + i, individualTumors.get(i).get(field.getId()), fusedTumors.get(i).get(field.getId()));
+                numFields++;
+            }
+            for (AlgorithmField field : individualAlg.getInputFields())
+                Assert.assertTrue(field.getId(), alg.getInputFields().contains(field));
+        }
+        Assert.assertEquals(numFields, alg.getOutputFields().size());
+    }
+
+    private static Map<String, Object> createTumor(String state, String county, String tract2000, String tract2010, String tract2020, String dxDate) {
+        Map<String, Object> tumor = new HashMap<>();
+        tumor.put(Algorithms.FIELD_STATE_DX, state);
+        tumor.put(Algorithms.FIELD_COUNTY_AT_DX_ANALYSIS, county);
+        tumor.put(Algorithms.FIELD_CENSUS_2000, tract2000);
+        tumor.put(Algorithms.FIELD_CENSUS_2010, tract2010);
+        tumor.put(Algorithms.FIELD_CENSUS_2020, tract2020);
+        tumor.put(Algorithms.FIELD_DX_DATE, dxDate);
+        return tumor;
+    }
+}
@@ -33,6 +33,8 @@ import de.siegmar.fastcsv.reader.CsvReader;
 import de.siegmar.fastcsv.reader.NamedCsvRecord;
 
 import com.imsweb.algorithms.internal.CountryData;
+import com.imsweb.algorithms.internal.TractDataIndex;
+import com.imsweb.algorithms.internal.TractDataSnapshot;
 import com.imsweb.layout.LayoutUtils;
 import com.imsweb.layout.record.fixed.FixedColumnsLayout;
 
@@ -124,6 +126,10 @@ public class TractDataLab {
         //   A handful of fields are "year based"; instead of having a second file that repeats the state/county/tract, those
         //   were added to the regular data file as a single "yearData" field which itself is a fixed-column value.
         //   The CountryData class defines a second list of "year-based" fields, as well as a min/max value for the years.
+        //
+        //   Once the text file is created, a binary snapshot of that file is also created (see TractDataSnapshot); that snapshot is used by
+        //   CountryData when it's available, and doesn't need to be modified when fields are added since it uses the fields definition from CountryData.
+        //   The text file itself is written as one GZip block per state, with a small index (see TractDataIndex) so a single state can be inflated.
         // !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
 
         // I created a layout to be able to easily read the big fixed-column census tract file; that layout needs to agree on the "dictionary" provided on the SEER website:
@@ -269,6 +275,12 @@ public class TractDataLab {
                 writer.newLine();
             }
         }
+
+        // re-write the text file as one GZip block per state, and create its index
+        TractDataIndex.write(outputFile, Paths.get(System.getProperty("user.dir") + "\\src\\main\\resources\\tract\\tract-data.idx"));
+
+        // create the binary snapshot from the text file
+        TractDataSnapshot.write(outputFile, Paths.get(System.getProperty("user.dir") + "\\src\\main\\resources\\tract\\tract-data.bin"));
     }
 
     private static String cleanTractValue(int lineNum, Map<String, String> line, String sourceField, String targetField) {